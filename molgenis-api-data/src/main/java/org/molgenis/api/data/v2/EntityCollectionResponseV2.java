@@ -2,8 +2,6 @@ package org.molgenis.api.data.v2;
 
 import static java.util.Objects.requireNonNull;
 
-import java.util.List;
-import java.util.Map;
 import org.molgenis.api.data.v1.EntityPager;
 import org.molgenis.data.DataService;
 import org.molgenis.data.Fetch;
@@ -19,7 +17,7 @@ class EntityCollectionResponseV2 {
   private final Long total;
   private final String prevHref;
   private final String nextHref;
-  private final List<Map<String, Object>> items;
+  private final EntityItemsV2 items;
 
   public EntityCollectionResponseV2(String href) {
     this.href = requireNonNull(href);
@@ -35,7 +33,7 @@ class EntityCollectionResponseV2 {
   public EntityCollectionResponseV2(
       ServletUriComponentsBuilder uriBuilder,
       EntityPager entityPager,
-      List<Map<String, Object>> items,
+      EntityItemsV2 items,
       Fetch fetch,
       String href,
       EntityType meta,
@@ -84,7 +82,7 @@ class EntityCollectionResponseV2 {
     return nextHref;
   }
 
-  public List<Map<String, Object>> getItems() {
+  public EntityItemsV2 getItems() {
     return items;
   }
 }
@@ -0,0 +1,43 @@
+package org.molgenis.api.data.v2;
+
+import static java.util.Objects.requireNonNull;
+
+import com.google.gson.annotations.JsonAdapter;
+import javax.annotation.CheckForNull;
+import javax.annotation.Nullable;
+import org.molgenis.data.Entity;
+import org.molgenis.data.Fetch;
+
+/**
+ * Entity collection items that are written to the response while iterating over the entities
+ * instead of being converted to an intermediate response tree first.
+ *
+ * @see EntityItemsV2TypeAdapterFactory
+ */
+@JsonAdapter(EntityItemsV2TypeAdapterFactory.class)
+class EntityItemsV2 {
+  private final Iterable<Entity> entities;
+  private final Fetch fetch;
+  private final EntityUriPathCache entityUriPathCache;
+
+  EntityItemsV2(
+      Iterable<Entity> entities, @Nullable Fetch fetch, EntityUriPathCache entityUriPathCache) {
+    this.entities = requireNonNull(entities);
+    this.fetch = fetch;
+    this.entityUriPathCache = requireNonNull(entityUriPathCache);
+  }
+
+  Iterable<Entity> getEntities() {
+    return entities;
+  }
+
+  @CheckForNull
+  @Nullable
+  Fetch getFetch() {
+    return fetch;
+  }
+
+  EntityUriPathCache getEntityUriPathCache() {
+    return entityUriPathCache;
+  }
+}
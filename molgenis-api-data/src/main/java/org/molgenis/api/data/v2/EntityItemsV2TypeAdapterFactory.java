@@ -0,0 +1,167 @@
+package org.molgenis.api.data.v2;
+
+import static org.molgenis.api.data.v2.AttributeFilterToFetchConverter.createDefaultAttributeFetch;
+
+import com.google.gson.Gson;
+import com.google.gson.TypeAdapter;
+import com.google.gson.TypeAdapterFactory;
+import com.google.gson.reflect.TypeToken;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonWriter;
+import java.io.IOException;
+import java.time.Instant;
+import java.time.LocalDate;
+import javax.annotation.Nullable;
+import org.molgenis.data.Entity;
+import org.molgenis.data.Fetch;
+import org.molgenis.data.meta.AttributeType;
+import org.molgenis.data.meta.model.Attribute;
+import org.molgenis.util.UnexpectedEnumException;
+import org.molgenis.util.i18n.LanguageService;
+
+/**
+ * Writes {@link EntityItemsV2} directly to the JSON output. The output is identical to the
+ * serialization of the list of entity value maps that was created for each collection response.
+ */
+class EntityItemsV2TypeAdapterFactory implements TypeAdapterFactory {
+  @SuppressWarnings("unchecked")
+  @Override
+  public <T> TypeAdapter<T> create(Gson gson, TypeToken<T> type) {
+    if (type.getRawType() != EntityItemsV2.class) {
+      return null;
+    }
+    return (TypeAdapter<T>) new EntityItemsV2TypeAdapter(gson);
+  }
+
+  private static class EntityItemsV2TypeAdapter extends TypeAdapter<EntityItemsV2> {
+    private final TypeAdapter<Boolean> booleanAdapter;
+    private final TypeAdapter<String> stringAdapter;
+    private final TypeAdapter<Double> doubleAdapter;
+    private final TypeAdapter<Integer> intAdapter;
+    private final TypeAdapter<Long> longAdapter;
+
+    EntityItemsV2TypeAdapter(Gson gson) {
+      // use the configured adapters to write values exactly like the value maps were written
+      this.booleanAdapter = gson.getAdapter(Boolean.class);
+      this.stringAdapter = gson.getAdapter(String.class);
+      this.doubleAdapter = gson.getAdapter(Double.class);
+      this.intAdapter = gson.getAdapter(Integer.class);
+      this.longAdapter = gson.getAdapter(Long.class);
+    }
+
+    @Override
+    public void write(JsonWriter out, EntityItemsV2 entityItems) throws IOException {
+      new EntityItemsWriter(out, entityItems.getEntityUriPathCache())
+          .writeEntities(entityItems.getEntities(), entityItems.getFetch());
+    }
+
+    @Override
+    public EntityItemsV2 read(JsonReader in) {
+      throw new UnsupportedOperationException();
+    }
+
+    private class EntityItemsWriter {
+      private final JsonWriter out;
+      private final EntityUriPathCache entityUriPathCache;
+      private String languageCode;
+
+      EntityItemsWriter(JsonWriter out, EntityUriPathCache entityUriPathCache) {
+        this.out = out;
+        this.entityUriPathCache = entityUriPathCache;
+      }
+
+      void writeEntities(Iterable<Entity> entities, @Nullable Fetch fetch) throws IOException {
+        out.beginArray();
+        for (Entity entity : entities) {
+          writeEntity(entity, fetch);
+        }
+        out.endArray();
+      }
+
+      private void writeEntity(Entity entity, @Nullable Fetch fetch) throws IOException {
+        out.beginObject();
+        out.name("_href");
+        stringAdapter.write(
+            out,
+            entityUriPathCache.getEntityUriPath(
+                entity.getEntityType().getId(), entity.getIdValue()));
+        for (Attribute attr : entity.getEntityType().getAtomicAttributes()) {
+          if (fetch == null || fetch.hasField(attr)) {
+            out.name(attr.getName());
+            writeValue(entity, attr, fetch);
+          }
+        }
+        out.endObject();
+      }
+
+      private void writeValue(Entity entity, Attribute attr, @Nullable Fetch fetch)
+          throws IOException {
+        String attrName = attr.getName();
+        AttributeType dataType = attr.getDataType();
+        switch (dataType) {
+          case BOOL:
+            booleanAdapter.write(out, entity.getBoolean(attrName));
+            break;
+          case CATEGORICAL:
+          case XREF:
+          case FILE:
+            Entity refEntity = entity.getEntity(attrName);
+            if (refEntity != null) {
+              writeEntity(refEntity, fetch != null ? fetch.getFetch(attr) : getDefaultFetch(attr));
+            } else {
+              out.nullValue();
+            }
+            break;
+          case CATEGORICAL_MREF:
+          case MREF:
+          case ONE_TO_MANY:
+            Iterable<Entity> refEntities = entity.getEntities(attrName);
+            if (refEntities != null) {
+              writeEntities(
+                  refEntities, fetch != null ? fetch.getFetch(attrName) : getDefaultFetch(attr));
+            } else {
+              out.nullValue();
+            }
+            break;
+          case COMPOUND:
+            throw new RuntimeException("Invalid data type [" + dataType + "]");
+          case DATE:
+            LocalDate dateValue = entity.getLocalDate(attrName);
+            stringAdapter.write(out, dateValue != null ? dateValue.toString() : null);
+            break;
+          case DATE_TIME:
+            Instant dateTimeValue = entity.getInstant(attrName);
+            stringAdapter.write(out, dateTimeValue != null ? dateTimeValue.toString() : null);
+            break;
+          case DECIMAL:
+            doubleAdapter.write(out, entity.getDouble(attrName));
+            break;
+          case EMAIL:
+          case ENUM:
+          case HTML:
+          case HYPERLINK:
+          case SCRIPT:
+          case STRING:
+          case TEXT:
+            stringAdapter.write(out, entity.getString(attrName));
+            break;
+          case INT:
+            intAdapter.write(out, entity.getInt(attrName));
+            break;
+          case LONG:
+            longAdapter.write(out, entity.getLong(attrName));
+            break;
+          default:
+            throw new UnexpectedEnumException(dataType);
+        }
+      }
+
+      private Fetch getDefaultFetch(Attribute attr) {
+        if (languageCode == null) {
+          languageCode = LanguageService.getCurrentUserLanguageCode();
+        }
+        return createDefaultAttributeFetch(attr, languageCode);
+      }
+    }
+  }
+}
@@ -0,0 +1,38 @@
+package org.molgenis.api.data.v2;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.util.Objects.requireNonNull;
+import static org.springframework.web.util.UriUtils.encodePathSegment;
+
+import java.util.HashMap;
+import java.util.Map;
+import org.springframework.util.StringUtils;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
+
+/**
+ * Creates entity URI paths for a single request. The collection path is built once per entity
+ * type, entity paths are created by appending the encoded entity id to that path.
+ */
+class EntityUriPathCache {
+  private final ServletUriComponentsBuilder uriBuilder;
+  private final Map<String, String> entityTypeUriPathPrefixes = new HashMap<>();
+
+  EntityUriPathCache(ServletUriComponentsBuilder uriBuilder) {
+    this.uriBuilder = requireNonNull(uriBuilder);
+  }
+
+  /** @return <servletMappingPath>/v2/<entityTypeId>/<entityId> */
+  String getEntityUriPath(String entityTypeId, Object entityId) {
+    String entityIdStr = entityId.toString();
+    if (!StringUtils.hasText(entityIdStr)
+        || entityIdStr.indexOf('{') != -1
+        || entityIdStr.indexOf('}') != -1) {
+      // the uri builder drops empty segments and treats braces as uri template variables
+      return UriUtils.createEntityUriPath(uriBuilder, entityTypeId, entityId);
+    }
+    String uriPathPrefix =
+        entityTypeUriPathPrefixes.computeIfAbsent(
+            entityTypeId, id -> UriUtils.createEntityCollectionUriPath(uriBuilder, id) + '/');
+    return uriPathPrefix + encodePathSegment(entityIdStr, UTF_8);
+  }
+}
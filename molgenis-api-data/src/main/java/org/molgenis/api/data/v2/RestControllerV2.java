@@ -754,20 +754,15 @@ public class RestControllerV2 {
           UriUtils.createEntityCollectionUriPath(uriBuilder, entityTypeId));
     } else {
       Long count = dataService.count(entityTypeId, new QueryImpl<>(q).setOffset(0).setPageSize(0));
-      Iterable<Entity> it;
+      List<Entity> entities;
       if (count > 0 && q.getPageSize() > 0) {
-        it = () -> dataService.findAll(entityTypeId, q).iterator();
+        // retrieve entities in the transaction, they are written after the transaction completed
+        entities = dataService.findAll(entityTypeId, q).collect(toList());
       } else {
-        it = Collections.emptyList();
-      }
-      EntityPager pager = new EntityPager(request.getStart(), request.getNum(), count, it);
-
-      List<Map<String, Object>> entities = new ArrayList<>();
-      for (Entity entity : it) {
-        Map<String, Object> responseData = new LinkedHashMap<>();
-        createEntityValuesResponse(uriBuilder, entity, fetch, responseData);
-        entities.add(responseData);
+        entities = Collections.emptyList();
       }
+      EntityPager pager = new EntityPager(request.getStart(), request.getNum(), count, entities);
+      EntityItemsV2 items = new EntityItemsV2(entities, fetch, new EntityUriPathCache(uriBuilder));
 
       UriComponentsBuilder builder = UriComponentsBuilder.fromUriString(getFullURL(httpRequest));
 
@@ -786,7 +781,7 @@ public class RestControllerV2 {
       return new EntityCollectionResponseV2(
           uriBuilder,
           pager,
-          entities,
+          items,
           fetch,
           UriUtils.createEntityCollectionUriPath(uriBuilder, entityTypeId),
           entityType,
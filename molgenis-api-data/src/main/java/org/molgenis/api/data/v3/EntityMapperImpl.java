@@ -33,7 +33,7 @@ public class EntityMapperImpl implements EntityMapper {
 
   @Override
   public EntityResponse map(Entity entity, Selection filter, Selection expand) {
-    return mapRecursive(entity, filter, expand, 0);
+    return mapRecursive(entity, filter, expand, 0, new EntityUriCache());
   }
 
   @Override
@@ -44,7 +44,8 @@ public class EntityMapperImpl implements EntityMapper {
       int size,
       int number,
       int total) {
-    EntitiesResponse.Builder builder = mapRecursive(entityCollection, filter, expand, 0);
+    EntitiesResponse.Builder builder =
+        mapRecursive(entityCollection, filter, expand, 0, new EntityUriCache());
 
     LinksResponse linksResponse = LinksUtils.createLinksResponse(number, size, total);
 
@@ -61,7 +62,11 @@ public class EntityMapperImpl implements EntityMapper {
   }
 
   private EntityResponse mapRecursive(
-      Entity entity, Selection filter, Selection expand, int depth) {
+      Entity entity,
+      Selection filter,
+      Selection expand,
+      int depth,
+      EntityUriCache entityUriCache) {
     if (depth > MAX_DEPTH) {
       throw new IllegalArgumentException("max_depth exceeded: " + depth);
     }
@@ -74,17 +79,22 @@ public class EntityMapperImpl implements EntityMapper {
           .forEach(
               attribute ->
                   dataMap.put(
-                      attribute.getName(), mapRecursive(entity, attribute, filter, expand, depth)));
+                      attribute.getName(),
+                      mapRecursive(entity, attribute, filter, expand, depth, entityUriCache)));
 
       builder.setData(dataMap);
     }
 
-    URI uri = createEntityResponseUri(entity);
+    URI uri = entityUriCache.getEntityUri(entity, null);
     return builder.setLinks(LinksResponse.create(null, uri, null)).build();
   }
 
   private EntitiesResponse.Builder mapRecursive(
-      EntityCollection entityCollection, Selection filter, Selection expand, int depth) {
+      EntityCollection entityCollection,
+      Selection filter,
+      Selection expand,
+      int depth,
+      EntityUriCache entityUriCache) {
     if (depth > MAX_DEPTH) {
       throw new IllegalArgumentException("max_depth exceeded: " + depth);
     }
@@ -93,7 +103,7 @@ public class EntityMapperImpl implements EntityMapper {
     if (filter.hasItems()) {
       List<EntityResponse> entityResponses =
           entityCollection.getEntities().stream()
-              .map(entity -> mapRecursive(entity, filter, expand, depth))
+              .map(entity -> mapRecursive(entity, filter, expand, depth, entityUriCache))
               .collect(toList());
       builder.setItems(entityResponses);
     }
@@ -102,7 +112,12 @@ public class EntityMapperImpl implements EntityMapper {
   }
 
   private Object mapRecursive(
-      Entity entity, Attribute attribute, Selection filter, Selection expand, int depth) {
+      Entity entity,
+      Attribute attribute,
+      Selection filter,
+      Selection expand,
+      int depth,
+      EntityUriCache entityUriCache) {
     Object value;
 
     String attributeName = attribute.getName();
@@ -114,12 +129,12 @@ public class EntityMapperImpl implements EntityMapper {
       case CATEGORICAL:
       case FILE:
       case XREF:
-        value = mapReference(entity, attribute, filter, expand, depth + 1);
+        value = mapReference(entity, attribute, filter, expand, depth + 1, entityUriCache);
         break;
       case CATEGORICAL_MREF:
       case MREF:
       case ONE_TO_MANY:
-        value = mapReferences(entity, attribute, filter, expand, depth + 1);
+        value = mapReferences(entity, attribute, filter, expand, depth + 1, entityUriCache);
         break;
       case DATE:
         value = entity.getLocalDate(attributeName);
@@ -154,7 +169,12 @@ public class EntityMapperImpl implements EntityMapper {
   }
 
   private @Nullable @CheckForNull EntityResponse mapReference(
-      Entity entity, Attribute attribute, Selection filter, Selection expand, int depth) {
+      Entity entity,
+      Attribute attribute,
+      Selection filter,
+      Selection expand,
+      int depth,
+      EntityUriCache entityUriCache) {
     Entity refEntity = entity.getEntity(attribute.getName());
     if (refEntity == null) {
       // note that returning an empty EntityResponse with a link and no data would not make sense,
@@ -164,12 +184,17 @@ public class EntityMapperImpl implements EntityMapper {
 
     Selection refFilter = getReferenceFilter(attribute, filter, expand);
     Selection refExpand = getReferenceExpand(attribute, expand);
-    return mapRecursive(refEntity, refFilter, refExpand, depth);
+    return mapRecursive(refEntity, refFilter, refExpand, depth, entityUriCache);
   }
 
   private EntitiesResponse mapReferences(
-      Entity entity, Attribute attribute, Selection filter, Selection expand, int depth) {
-    URI uri = createEntityResponseUri(entity, attribute.getName());
+      Entity entity,
+      Attribute attribute,
+      Selection filter,
+      Selection expand,
+      int depth,
+      EntityUriCache entityUriCache) {
+    URI uri = entityUriCache.getEntityUri(entity, attribute.getName());
     if (expand.hasItem(attribute.getName())) {
       String refEntityTypeId = attribute.getRefEntity().getId();
       List<Entity> refEntities = stream(entity.getEntities(attribute.getName())).collect(toList());
@@ -183,7 +208,7 @@ public class EntityMapperImpl implements EntityMapper {
 
       Selection refFilter = getReferenceFilter(attribute, filter, expand);
       Selection refExpand = getReferenceExpand(attribute, expand);
-      return mapRecursive(entityCollection, refFilter, refExpand, depth)
+      return mapRecursive(entityCollection, refFilter, refExpand, depth, entityUriCache)
           .setLinks(LinksResponse.create(null, uri, null))
           .build();
     } else {
@@ -204,10 +229,6 @@ public class EntityMapperImpl implements EntityMapper {
         : Selection.EMPTY_SELECTION;
   }
 
-  private URI createEntityResponseUri(Entity entity) {
-    return createEntityResponseUri(entity, null);
-  }
-
   private URI createEntitiesResponseUri() {
     return createEntitiesResponseUri(null);
   }
@@ -220,16 +241,4 @@ public class EntityMapperImpl implements EntityMapper {
     }
     return builder.build().toUri();
   }
-
-  private URI createEntityResponseUri(Entity entity, @Nullable @CheckForNull String attributeName) {
-    UriComponentsBuilder uriComponentsBuilder =
-        MolgenisServletUriComponentsBuilder.fromCurrentRequestUri()
-            .replacePath(null)
-            .path(EntityController.API_ENTITY_PATH)
-            .pathSegment(entity.getEntityType().getId(), entity.getIdValue().toString());
-    if (attributeName != null) {
-      uriComponentsBuilder.pathSegment(attributeName);
-    }
-    return uriComponentsBuilder.build().toUri();
-  }
 }
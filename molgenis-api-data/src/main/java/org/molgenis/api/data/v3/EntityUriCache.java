@@ -0,0 +1,37 @@
+package org.molgenis.api.data.v3;
+
+import java.net.URI;
+import java.util.HashMap;
+import java.util.Map;
+import javax.annotation.CheckForNull;
+import javax.annotation.Nullable;
+import org.molgenis.api.support.MolgenisServletUriComponentsBuilder;
+import org.molgenis.data.Entity;
+import org.springframework.web.util.UriComponentsBuilder;
+
+/**
+ * Creates entity URIs for a single request. The URI builder based on the current request is created
+ * once per entity type instead of once per entity.
+ */
+class EntityUriCache {
+  private final Map<String, UriComponentsBuilder> entityTypeUriBuilders = new HashMap<>();
+
+  URI getEntityUri(Entity entity, @Nullable @CheckForNull String attributeName) {
+    UriComponentsBuilder uriComponentsBuilder =
+        entityTypeUriBuilders
+            .computeIfAbsent(entity.getEntityType().getId(), this::createEntityTypeUriBuilder)
+            .cloneBuilder()
+            .pathSegment(entity.getIdValue().toString());
+    if (attributeName != null) {
+      uriComponentsBuilder.pathSegment(attributeName);
+    }
+    return uriComponentsBuilder.build().toUri();
+  }
+
+  private UriComponentsBuilder createEntityTypeUriBuilder(String entityTypeId) {
+    return MolgenisServletUriComponentsBuilder.fromCurrentRequestUri()
+        .replacePath(null)
+        .path(EntityController.API_ENTITY_PATH)
+        .pathSegment(entityTypeId);
+  }
+}
@@ -0,0 +1,163 @@
+package org.molgenis.api.data.v2;
+
+import static java.util.Arrays.asList;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.molgenis.data.meta.AttributeType.BOOL;
+import static org.molgenis.data.meta.AttributeType.DATE;
+import static org.molgenis.data.meta.AttributeType.DECIMAL;
+import static org.molgenis.data.meta.AttributeType.INT;
+import static org.molgenis.data.meta.AttributeType.MREF;
+import static org.molgenis.data.meta.AttributeType.STRING;
+import static org.molgenis.data.meta.AttributeType.XREF;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import java.time.LocalDate;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.molgenis.data.Entity;
+import org.molgenis.data.Fetch;
+import org.molgenis.data.meta.AttributeType;
+import org.molgenis.data.meta.model.Attribute;
+import org.molgenis.data.meta.model.EntityType;
+import org.molgenis.test.AbstractMockitoTest;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
+
+@MockitoSettings(strictness = Strictness.LENIENT)
+class EntityItemsV2TypeAdapterFactoryTest extends AbstractMockitoTest {
+  private Gson gson;
+  private EntityUriPathCache entityUriPathCache;
+
+  @BeforeEach
+  void setUpBeforeEach() {
+    gson = new GsonBuilder().disableHtmlEscaping().setPrettyPrinting().create();
+
+    MockHttpServletRequest request = new MockHttpServletRequest();
+    request.setServletPath("/myservlet");
+    ServletUriComponentsBuilder uriBuilder =
+        ServletUriComponentsBuilder.fromServletMapping(request);
+    uriBuilder.encode();
+    entityUriPathCache = new EntityUriPathCache(uriBuilder);
+  }
+
+  @Test
+  void testWrite() {
+    Attribute refIdAttr = createAttribute("refId", STRING);
+    EntityType refEntityType = createEntityType("refType", refIdAttr);
+    Entity refEntity0 = createEntity(refEntityType, "ref/0");
+    when(refEntity0.getString("refId")).thenReturn("ref/0");
+    Entity refEntity1 = createEntity(refEntityType, "ref1");
+    when(refEntity1.getString("refId")).thenReturn("ref1");
+
+    Attribute idAttr = createAttribute("id", INT);
+    Attribute labelAttr = createAttribute("label", STRING);
+    Attribute boolAttr = createAttribute("bool", BOOL);
+    Attribute dateAttr = createAttribute("date", DATE);
+    Attribute decimalAttr = createAttribute("decimal", DECIMAL);
+    Attribute xrefAttr = createAttribute("xref", XREF);
+    Attribute mrefAttr = createAttribute("mref", MREF);
+    Attribute excludedAttr = createAttribute("excluded", STRING);
+    EntityType entityType =
+        createEntityType(
+            "my type",
+            idAttr,
+            labelAttr,
+            boolAttr,
+            dateAttr,
+            decimalAttr,
+            xrefAttr,
+            mrefAttr,
+            excludedAttr);
+
+    Entity entity0 = createEntity(entityType, 0);
+    when(entity0.getInt("id")).thenReturn(0);
+    when(entity0.getString("label")).thenReturn("<label> & \"quotes\"");
+    when(entity0.getBoolean("bool")).thenReturn(true);
+    when(entity0.getLocalDate("date")).thenReturn(LocalDate.of(2020, 1, 31));
+    when(entity0.getDouble("decimal")).thenReturn(1.5);
+    when(entity0.getEntity("xref")).thenReturn(refEntity0);
+    when(entity0.getEntities("mref")).thenReturn(asList(refEntity0, refEntity1));
+    when(entity0.getString("excluded")).thenReturn("excluded");
+
+    Entity entity1 = createEntity(entityType, 1);
+    when(entity1.getInt("id")).thenReturn(1);
+    when(entity1.getEntities("mref")).thenReturn(List.of());
+
+    Fetch refFetch = new Fetch().field("refId");
+    Fetch fetch =
+        new Fetch()
+            .field("id")
+            .field("label")
+            .field("bool")
+            .field("date")
+            .field("decimal")
+            .field("xref", refFetch)
+            .field("mref", refFetch);
+
+    Map<String, Object> refEntity0Map = new LinkedHashMap<>();
+    refEntity0Map.put("_href", "/myservlet/api/v2/refType/ref%2F0");
+    refEntity0Map.put("refId", "ref/0");
+    Map<String, Object> refEntity1Map = new LinkedHashMap<>();
+    refEntity1Map.put("_href", "/myservlet/api/v2/refType/ref1");
+    refEntity1Map.put("refId", "ref1");
+
+    Map<String, Object> entity0Map = new LinkedHashMap<>();
+    entity0Map.put("_href", "/myservlet/api/v2/my%20type/0");
+    entity0Map.put("id", 0);
+    entity0Map.put("label", "<label> & \"quotes\"");
+    entity0Map.put("bool", true);
+    entity0Map.put("date", "2020-01-31");
+    entity0Map.put("decimal", 1.5);
+    entity0Map.put("xref", refEntity0Map);
+    entity0Map.put("mref", asList(refEntity0Map, refEntity1Map));
+
+    Map<String, Object> entity1Map = new LinkedHashMap<>();
+    entity1Map.put("_href", "/myservlet/api/v2/my%20type/1");
+    entity1Map.put("id", 1);
+    entity1Map.put("label", null);
+    entity1Map.put("bool", null);
+    entity1Map.put("date", null);
+    entity1Map.put("decimal", null);
+    entity1Map.put("xref", null);
+    entity1Map.put("mref", List.of());
+
+    EntityItemsV2 entityItems =
+        new EntityItemsV2(asList(entity0, entity1), fetch, entityUriPathCache);
+    assertEquals(gson.toJson(asList(entity0Map, entity1Map)), gson.toJson(entityItems));
+  }
+
+  @Test
+  void testWriteNoEntities() {
+    EntityItemsV2 entityItems = new EntityItemsV2(List.of(), null, entityUriPathCache);
+    assertEquals("[]", gson.toJson(entityItems));
+  }
+
+  private static Attribute createAttribute(String name, AttributeType type) {
+    Attribute attribute = mock(Attribute.class);
+    when(attribute.getName()).thenReturn(name);
+    when(attribute.getDataType()).thenReturn(type);
+    return attribute;
+  }
+
+  private static EntityType createEntityType(String id, Attribute... attributes) {
+    EntityType entityType = mock(EntityType.class);
+    when(entityType.getId()).thenReturn(id);
+    when(entityType.getAtomicAttributes()).thenReturn(asList(attributes));
+    return entityType;
+  }
+
+  private static Entity createEntity(EntityType entityType, Object id) {
+    Entity entity = mock(Entity.class);
+    when(entity.getEntityType()).thenReturn(entityType);
+    when(entity.getIdValue()).thenReturn(id);
+    return entity;
+  }
+}
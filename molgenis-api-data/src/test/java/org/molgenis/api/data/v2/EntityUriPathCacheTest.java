@@ -0,0 +1,41 @@
+package org.molgenis.api.data.v2;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.molgenis.api.data.v2.UriUtils.createEntityUriPath;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
+
+class EntityUriPathCacheTest {
+  private ServletUriComponentsBuilder uriBuilder;
+  private EntityUriPathCache entityUriPathCache;
+
+  @BeforeEach
+  void setUpBeforeMethod() {
+    MockHttpServletRequest request = new MockHttpServletRequest();
+    request.setServletPath("/myservlet");
+    uriBuilder = ServletUriComponentsBuilder.fromServletMapping(request);
+    uriBuilder.encode();
+    entityUriPathCache = new EntityUriPathCache(uriBuilder);
+  }
+
+  @ParameterizedTest
+  @ValueSource(strings = {"MyEntityId", "my id", "a/b", "x?y#z", "é%ü", "{id}", " ", "a:b@c;d"})
+  void testGetEntityUriPath(String entityId) {
+    String entityTypeId = "My Entity/Type";
+    assertEquals(
+        createEntityUriPath(uriBuilder, entityTypeId, entityId),
+        entityUriPathCache.getEntityUriPath(entityTypeId, entityId));
+  }
+
+  @ParameterizedTest
+  @ValueSource(ints = {-1, 0, 123})
+  void testGetEntityUriPathNumericId(int entityId) {
+    assertEquals(
+        createEntityUriPath(uriBuilder, "MyEntityTypeId", entityId),
+        entityUriPathCache.getEntityUriPath("MyEntityTypeId", entityId));
+  }
+}
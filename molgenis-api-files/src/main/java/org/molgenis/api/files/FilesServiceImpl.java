@@ -1,16 +1,26 @@
 package org.molgenis.api.files;
 
 import static java.nio.channels.Channels.newChannel;
+import static java.nio.charset.StandardCharsets.US_ASCII;
+import static java.util.Collections.emptyList;
 import static java.util.Objects.requireNonNull;
 import static org.molgenis.data.file.model.FileMetaMetadata.FILE_META;
+import static org.springframework.http.HttpHeaders.ACCEPT_RANGES;
 import static org.springframework.http.HttpHeaders.CONTENT_DISPOSITION;
+import static org.springframework.http.HttpHeaders.CONTENT_RANGE;
 import static org.springframework.http.HttpHeaders.CONTENT_TYPE;
+import static org.springframework.http.HttpHeaders.IF_RANGE;
+import static org.springframework.http.HttpStatus.NOT_MODIFIED;
+import static org.springframework.http.HttpStatus.PARTIAL_CONTENT;
+import static org.springframework.http.HttpStatus.REQUESTED_RANGE_NOT_SATISFIABLE;
 
 import com.google.common.io.ByteStreams;
 import java.io.IOException;
+import java.io.OutputStream;
 import java.io.UncheckedIOException;
 import java.nio.channels.Channels;
 import java.nio.channels.ReadableByteChannel;
+import java.util.List;
 import java.util.concurrent.CompletableFuture;
 import javax.servlet.http.HttpServletRequest;
 import org.molgenis.data.DataService;
@@ -19,9 +29,12 @@ import org.molgenis.data.file.BlobMetadata;
 import org.molgenis.data.file.BlobStore;
 import org.molgenis.data.file.model.FileMeta;
 import org.molgenis.data.file.model.FileMetaFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpRange;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Component;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.util.MimeTypeUtils;
 import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 
@@ -70,24 +83,132 @@ class FilesServiceImpl implements FilesService {
 
   @Transactional(readOnly = true)
   @Override
-  public ResponseEntity<StreamingResponseBody> download(String fileId) {
+  public ResponseEntity<StreamingResponseBody> download(
+      String fileId, HttpHeaders requestHeaders) {
     FileMeta fileMeta = getFileMeta(fileId);
 
-    ResponseEntity.BodyBuilder builder = ResponseEntity.ok();
-    builder.header(CONTENT_TYPE, fileMeta.getContentType());
-    builder.header(CONTENT_DISPOSITION, "attachment; filename=\"" + fileMeta.getFilename() + "\"");
+    // blobs are never modified, so the blob identifier is a strong entity tag
+    String eTag = '"' + fileId + '"';
+    if (isNotModified(requestHeaders, eTag)) {
+      return ResponseEntity.status(NOT_MODIFIED).eTag(eTag).build();
+    }
 
     Long contentLength = fileMeta.getSize();
+    List<HttpRange> ranges =
+        contentLength != null ? getRanges(requestHeaders, eTag) : emptyList();
+    if (!ranges.isEmpty() && !isSatisfiable(ranges, contentLength)) {
+      return ResponseEntity.status(REQUESTED_RANGE_NOT_SATISFIABLE)
+          .header(CONTENT_RANGE, "bytes */" + contentLength)
+          .build();
+    }
+
+    ResponseEntity.BodyBuilder builder =
+        ranges.isEmpty() ? ResponseEntity.ok() : ResponseEntity.status(PARTIAL_CONTENT);
+    builder.header(CONTENT_DISPOSITION, "attachment; filename=\"" + fileMeta.getFilename() + "\"");
+    builder.eTag(eTag);
     if (contentLength != null) {
-      builder.contentLength(contentLength);
+      builder.header(ACCEPT_RANGES, "bytes");
+    }
+
+    if (ranges.isEmpty()) {
+      builder.header(CONTENT_TYPE, fileMeta.getContentType());
+      if (contentLength != null) {
+        builder.contentLength(contentLength);
+      }
+      return builder.body(
+          outputStream -> {
+            try (ReadableByteChannel fromChannel = blobStore.newChannel(fileId)) {
+              ByteStreams.copy(fromChannel, Channels.newChannel(outputStream));
+            }
+          });
+    } else if (ranges.size() == 1) {
+      HttpRange range = ranges.get(0);
+      long start = range.getRangeStart(contentLength);
+      long end = range.getRangeEnd(contentLength);
+      builder.header(CONTENT_TYPE, fileMeta.getContentType());
+      builder.header(CONTENT_RANGE, toContentRange(start, end, contentLength));
+      builder.contentLength(end - start + 1);
+      return builder.body(outputStream -> copyRange(fileId, start, end, outputStream));
+    } else {
+      String boundary = MimeTypeUtils.generateMultipartBoundaryString();
+      builder.header(CONTENT_TYPE, "multipart/byteranges; boundary=" + boundary);
+      return builder.body(
+          outputStream ->
+              writeMultipartRanges(
+                  fileId,
+                  fileMeta.getContentType(),
+                  contentLength,
+                  ranges,
+                  boundary,
+                  outputStream));
+    }
+  }
+
+  private static boolean isNotModified(HttpHeaders requestHeaders, String eTag) {
+    return requestHeaders.getIfNoneMatch().stream()
+        .anyMatch(value -> value.equals("*") || value.equals(eTag) || value.equals("W/" + eTag));
+  }
+
+  /** Returns the requested byte ranges, or an empty list if the whole file should be sent. */
+  private static List<HttpRange> getRanges(HttpHeaders requestHeaders, String eTag) {
+    String ifRange = requestHeaders.getFirst(IF_RANGE);
+    if (ifRange != null && !ifRange.equals(eTag)) {
+      return emptyList();
     }
+    try {
+      return requestHeaders.getRange();
+    } catch (IllegalArgumentException e) {
+      // a syntactically invalid range header must be ignored (RFC 7233 section 3.1)
+      return emptyList();
+    }
+  }
+
+  private static boolean isSatisfiable(List<HttpRange> ranges, long contentLength) {
+    try {
+      ranges.forEach(range -> range.getRangeStart(contentLength));
+      return true;
+    } catch (IllegalArgumentException e) {
+      return false;
+    }
+  }
+
+  private void writeMultipartRanges(
+      String fileId,
+      String contentType,
+      long contentLength,
+      List<HttpRange> ranges,
+      String boundary,
+      OutputStream outputStream)
+      throws IOException {
+    for (HttpRange range : ranges) {
+      long start = range.getRangeStart(contentLength);
+      long end = range.getRangeEnd(contentLength);
+
+      StringBuilder partHeaders = new StringBuilder();
+      partHeaders.append("\r\n--").append(boundary).append("\r\n");
+      if (contentType != null) {
+        partHeaders.append(CONTENT_TYPE).append(": ").append(contentType).append("\r\n");
+      }
+      partHeaders
+          .append(CONTENT_RANGE)
+          .append(": ")
+          .append(toContentRange(start, end, contentLength))
+          .append("\r\n\r\n");
+      outputStream.write(partHeaders.toString().getBytes(US_ASCII));
+      copyRange(fileId, start, end, outputStream);
+    }
+    outputStream.write(("\r\n--" + boundary + "--\r\n").getBytes(US_ASCII));
+  }
+
+  private void copyRange(String fileId, long start, long end, OutputStream outputStream)
+      throws IOException {
+    try (ReadableByteChannel fromChannel = blobStore.newChannel(fileId, start, end - start + 1)) {
+      ByteStreams.copy(fromChannel, Channels.newChannel(outputStream));
+    }
+  }
 
-    return builder.body(
-        outputStream -> {
-          try (ReadableByteChannel fromChannel = blobStore.newChannel(fileId)) {
-            ByteStreams.copy(fromChannel, Channels.newChannel(outputStream));
-          }
-        });
+  private static String toContentRange(long start, long end, long contentLength) {
+    return "bytes " + start + '-' + end + '/' + contentLength;
   }
 
   private FileMeta createFileMeta(
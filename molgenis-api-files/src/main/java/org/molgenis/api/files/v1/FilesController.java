@@ -30,6 +30,7 @@ import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestController;
@@ -80,10 +81,11 @@ class FilesController extends ApiController {
 
   @ApiOperation("Download file (see documentation)")
   @GetMapping(value = "/{fileId}", params = "alt=media")
-  public ResponseEntity<StreamingResponseBody> downloadFile(@PathVariable("fileId") String fileId) {
+  public ResponseEntity<StreamingResponseBody> downloadFile(
+      @PathVariable("fileId") String fileId, @RequestHeader HttpHeaders requestHeaders) {
     validateReadPermission();
 
-    return filesService.download(fileId);
+    return filesService.download(fileId, requestHeaders);
   }
 
   @ApiOperation("Delete file (see documentation)")
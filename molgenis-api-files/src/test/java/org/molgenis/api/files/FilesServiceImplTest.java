@@ -1,16 +1,25 @@
 package org.molgenis.api.files;
 
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyNoMoreInteractions;
 import static org.mockito.Mockito.when;
 import static org.springframework.http.ContentDisposition.parse;
+import static org.springframework.http.HttpStatus.NOT_MODIFIED;
 import static org.springframework.http.HttpStatus.OK;
+import static org.springframework.http.HttpStatus.PARTIAL_CONTENT;
+import static org.springframework.http.HttpStatus.REQUESTED_RANGE_NOT_SATISFIABLE;
 import static org.springframework.http.MediaType.valueOf;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.channels.Channels;
 import java.util.concurrent.ExecutionException;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -22,6 +31,7 @@ import org.molgenis.data.file.BlobStore;
 import org.molgenis.data.file.model.FileMeta;
 import org.molgenis.data.file.model.FileMetaFactory;
 import org.molgenis.test.AbstractMockitoTest;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.mock.web.MockHttpServletRequest;
 import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
@@ -99,11 +109,97 @@ class FilesServiceImplTest extends AbstractMockitoTest {
     when(fileMeta.getFilename()).thenReturn(filename);
     when(dataService.findOneById("sys_FileMeta", fileId, FileMeta.class)).thenReturn(fileMeta);
 
-    ResponseEntity<StreamingResponseBody> responseEntity = filesApiServiceImpl.download(fileId);
+    ResponseEntity<StreamingResponseBody> responseEntity = filesApiServiceImpl.download(fileId, new HttpHeaders());
     assertEquals(OK, responseEntity.getStatusCode());
     assertEquals(valueOf(contentType), responseEntity.getHeaders().getContentType());
     assertEquals(
         parse("attachment; filename=\"filename\""),
         responseEntity.getHeaders().getContentDisposition());
   }
+
+  @Test
+  void testDownloadNotModified() {
+    String fileId = "MyFileId";
+    FileMeta fileMeta = mock(FileMeta.class);
+    when(dataService.findOneById("sys_FileMeta", fileId, FileMeta.class)).thenReturn(fileMeta);
+
+    HttpHeaders requestHeaders = new HttpHeaders();
+    requestHeaders.setIfNoneMatch("\"MyFileId\"");
+    ResponseEntity<StreamingResponseBody> responseEntity =
+        filesApiServiceImpl.download(fileId, requestHeaders);
+    assertEquals(NOT_MODIFIED, responseEntity.getStatusCode());
+    assertEquals("\"MyFileId\"", responseEntity.getHeaders().getETag());
+  }
+
+  @Test
+  void testDownloadRange() throws IOException {
+    String fileId = "MyFileId";
+    FileMeta fileMeta = mock(FileMeta.class);
+    when(fileMeta.getContentType()).thenReturn("application/octet-stream");
+    when(fileMeta.getSize()).thenReturn(10L);
+    when(dataService.findOneById("sys_FileMeta", fileId, FileMeta.class)).thenReturn(fileMeta);
+    when(blobStore.newChannel(fileId, 2L, 3L))
+        .thenReturn(Channels.newChannel(new ByteArrayInputStream(new byte[] {2, 3, 4})));
+
+    HttpHeaders requestHeaders = new HttpHeaders();
+    requestHeaders.set("Range", "bytes=2-4");
+    ResponseEntity<StreamingResponseBody> responseEntity =
+        filesApiServiceImpl.download(fileId, requestHeaders);
+    assertEquals(PARTIAL_CONTENT, responseEntity.getStatusCode());
+    assertEquals("bytes 2-4/10", responseEntity.getHeaders().getFirst("Content-Range"));
+    assertEquals(3L, responseEntity.getHeaders().getContentLength());
+
+    ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+    responseEntity.getBody().writeTo(outputStream);
+    assertArrayEquals(new byte[] {2, 3, 4}, outputStream.toByteArray());
+  }
+
+  @Test
+  void testDownloadRangeIfRangeMismatch() {
+    String fileId = "MyFileId";
+    FileMeta fileMeta = mock(FileMeta.class);
+    when(fileMeta.getSize()).thenReturn(10L);
+    when(dataService.findOneById("sys_FileMeta", fileId, FileMeta.class)).thenReturn(fileMeta);
+
+    HttpHeaders requestHeaders = new HttpHeaders();
+    requestHeaders.set("Range", "bytes=2-4");
+    requestHeaders.set("If-Range", "\"OtherFileId\"");
+    ResponseEntity<StreamingResponseBody> responseEntity =
+        filesApiServiceImpl.download(fileId, requestHeaders);
+    assertEquals(OK, responseEntity.getStatusCode());
+  }
+
+  @Test
+  void testDownloadMultipleRanges() {
+    String fileId = "MyFileId";
+    FileMeta fileMeta = mock(FileMeta.class);
+    when(fileMeta.getSize()).thenReturn(10L);
+    when(dataService.findOneById("sys_FileMeta", fileId, FileMeta.class)).thenReturn(fileMeta);
+
+    HttpHeaders requestHeaders = new HttpHeaders();
+    requestHeaders.set("Range", "bytes=0-1,5-6");
+    ResponseEntity<StreamingResponseBody> responseEntity =
+        filesApiServiceImpl.download(fileId, requestHeaders);
+    assertEquals(PARTIAL_CONTENT, responseEntity.getStatusCode());
+    assertTrue(
+        responseEntity
+            .getHeaders()
+            .getFirst("Content-Type")
+            .startsWith("multipart/byteranges; boundary="));
+  }
+
+  @Test
+  void testDownloadRangeNotSatisfiable() {
+    String fileId = "MyFileId";
+    FileMeta fileMeta = mock(FileMeta.class);
+    when(fileMeta.getSize()).thenReturn(10L);
+    when(dataService.findOneById("sys_FileMeta", fileId, FileMeta.class)).thenReturn(fileMeta);
+
+    HttpHeaders requestHeaders = new HttpHeaders();
+    requestHeaders.set("Range", "bytes=20-30");
+    ResponseEntity<StreamingResponseBody> responseEntity =
+        filesApiServiceImpl.download(fileId, requestHeaders);
+    assertEquals(REQUESTED_RANGE_NOT_SATISFIABLE, responseEntity.getStatusCode());
+    assertEquals("bytes */10", responseEntity.getHeaders().getFirst("Content-Range"));
+  }
 }
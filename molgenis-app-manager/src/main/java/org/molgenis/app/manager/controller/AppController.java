@@ -1,15 +1,25 @@
 package org.molgenis.app.manager.controller;
 
 import static java.net.URLConnection.guessContentTypeFromName;
+import static java.nio.file.StandardOpenOption.READ;
 import static java.util.Objects.requireNonNull;
+import static org.molgenis.app.manager.service.impl.AppManagerServiceImpl.BROTLI_EXTENSION;
+import static org.molgenis.app.manager.service.impl.AppManagerServiceImpl.GZIP_EXTENSION;
 import static org.molgenis.data.plugin.model.PluginPermission.VIEW_PLUGIN;
 import static org.molgenis.web.bootstrap.PluginPopulator.APP_PREFIX;
+import static org.springframework.http.HttpHeaders.ACCEPT_ENCODING;
+import static org.springframework.http.HttpHeaders.CACHE_CONTROL;
 import static org.springframework.http.HttpHeaders.CONTENT_DISPOSITION;
+import static org.springframework.http.HttpHeaders.CONTENT_ENCODING;
+import static org.springframework.http.HttpHeaders.VARY;
 
 import java.io.File;
-import java.io.FileInputStream;
 import java.io.IOException;
-import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.util.regex.Pattern;
 import javax.annotation.CheckForNull;
 import javax.annotation.Nullable;
 import javax.servlet.http.HttpServletRequest;
@@ -27,10 +37,10 @@ import org.molgenis.web.menu.MenuReaderService;
 import org.springframework.context.i18n.LocaleContextHolder;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
-import org.springframework.util.FileCopyUtils;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.context.request.ServletWebRequest;
 import org.springframework.web.servlet.ModelAndView;
 import org.springframework.web.servlet.view.RedirectView;
 
@@ -40,6 +50,13 @@ public class AppController extends PluginController {
   public static final String ID = "app";
   public static final String URI = PluginController.PLUGIN_URI_PREFIX + ID;
 
+  /** Resources with a content hash in their name, e.g. 'app.3f2a1b9c.js', never change */
+  private static final Pattern FINGERPRINTED_RESOURCE =
+      Pattern.compile(".+[.-][0-9a-fA-F]{8,}\\..+");
+
+  private static final String CACHE_CONTROL_IMMUTABLE = "public, max-age=31536000, immutable";
+  private static final String CACHE_CONTROL_REVALIDATE = "no-cache";
+
   private final FileStore fileStore;
   private final AppManagerService appManagerService;
   private final UserPermissionEvaluator userPermissionEvaluator;
@@ -87,7 +104,7 @@ public class AppController extends PluginController {
       throw new AppIsInactiveException(appName);
     } else if (isResourceRequest(wildCardPath)) {
       // Copies resource to response and returns null to short circuit the template filter
-      serveAppResource(response, wildCardPath, appResponse);
+      serveAppResource(request, response, wildCardPath, appResponse);
       return null;
     } else {
       return serveAppTemplate(appName, model, appResponse);
@@ -111,22 +128,87 @@ public class AppController extends PluginController {
     return new ModelAndView("view-app");
   }
 
+  /**
+   * Serves an app resource with a strong ETag based on the content-hash manifest created at
+   * upload time. Serves a precompressed variant if the client accepts it.
+   */
   private void serveAppResource(
-      HttpServletResponse response, String wildCardPath, AppResponse appResponse)
+      HttpServletRequest request,
+      HttpServletResponse response,
+      String wildCardPath,
+      AppResponse appResponse)
       throws IOException {
     File requestedResource =
         fileStore.inSubdir(appResponse.getResourceFolder()).getFileUnchecked(wildCardPath);
+
+    String contentEncoding = null;
+    File servedResource = requestedResource;
+    String acceptEncoding = request.getHeader(ACCEPT_ENCODING);
+    File brotliResource = new File(requestedResource.getPath() + BROTLI_EXTENSION);
+    File gzipResource = new File(requestedResource.getPath() + GZIP_EXTENSION);
+    if (acceptsEncoding(acceptEncoding, "br") && brotliResource.isFile()) {
+      contentEncoding = "br";
+      servedResource = brotliResource;
+    } else if (acceptsEncoding(acceptEncoding, "gzip") && gzipResource.isFile()) {
+      contentEncoding = "gzip";
+      servedResource = gzipResource;
+    }
+    if (brotliResource.isFile() || gzipResource.isFile()) {
+      response.setHeader(VARY, ACCEPT_ENCODING);
+    }
+
+    String contentHash = appManagerService.getResourceManifest(appResponse).get(wildCardPath);
+    if (contentHash != null) {
+      String eTag = contentEncoding != null ? contentHash + '-' + contentEncoding : contentHash;
+      response.setHeader(CACHE_CONTROL, getCacheControl(requestedResource.getName()));
+      if (new ServletWebRequest(request, response)
+          .checkNotModified('"' + eTag + '"', requestedResource.lastModified())) {
+        return;
+      }
+    }
+
     response.setContentType(guessMimeType(requestedResource.getName()));
-    response.setContentLength((int) requestedResource.length());
+    response.setContentLengthLong(servedResource.length());
+    if (contentEncoding != null) {
+      response.setHeader(CONTENT_ENCODING, contentEncoding);
+    }
     response.setHeader(
         CONTENT_DISPOSITION,
         "attachment; filename=" + requestedResource.getName().replace(" ", "_"));
 
-    try (InputStream is = new FileInputStream(requestedResource)) {
-      FileCopyUtils.copy(is, response.getOutputStream());
+    transferTo(servedResource, response.getOutputStream());
+  }
+
+  private static void transferTo(File file, OutputStream outputStream) throws IOException {
+    try (FileChannel fileChannel = FileChannel.open(file.toPath(), READ)) {
+      WritableByteChannel targetChannel = Channels.newChannel(outputStream);
+      long size = fileChannel.size();
+      long position = 0;
+      while (position < size) {
+        position += fileChannel.transferTo(position, size - position, targetChannel);
+      }
     }
   }
 
+  private static boolean acceptsEncoding(@Nullable String acceptEncoding, String encoding) {
+    if (acceptEncoding == null) {
+      return false;
+    }
+    for (String token : acceptEncoding.split(",")) {
+      String[] parts = token.trim().split(";");
+      if (parts[0].trim().equalsIgnoreCase(encoding)) {
+        return parts.length == 1 || !parts[1].trim().matches("q=0(\\.0*)?");
+      }
+    }
+    return false;
+  }
+
+  private static String getCacheControl(String fileName) {
+    return FINGERPRINTED_RESOURCE.matcher(fileName).matches()
+        ? CACHE_CONTROL_IMMUTABLE
+        : CACHE_CONTROL_REVALIDATE;
+  }
+
   private static String extractWildcardPath(HttpServletRequest request, String key) {
     int index = request.getRequestURI().indexOf(key);
     return request.getRequestURI().substring(index + key.length());
@@ -3,6 +3,7 @@ package org.molgenis.app.manager.service;
 import java.io.IOException;
 import java.io.InputStream;
 import java.util.List;
+import java.util.Map;
 import org.molgenis.app.manager.exception.CouldNotDeleteAppException;
 import org.molgenis.app.manager.exception.InvalidAppArchiveException;
 import org.molgenis.app.manager.meta.App;
@@ -83,4 +84,13 @@ public interface AppManagerService {
    * @return UTF-8 file-content
    */
   String extractFileContent(String appDir, String fileName);
+
+  /**
+   * Get the content-hash manifest of the static resources served by an app. The manifest is
+   * created when the app is uploaded and lazily for apps that were uploaded without one.
+   *
+   * @param appResponse app
+   * @return map of resource path (e.g. '/js/app.js') to hex-encoded SHA-256 content hash
+   */
+  Map<String, String> getResourceManifest(AppResponse appResponse);
 }
@@ -8,14 +8,29 @@ import static java.util.stream.Collectors.toList;
 import static org.apache.commons.io.FileUtils.deleteDirectory;
 
 import com.google.common.collect.Maps;
+import com.google.common.hash.Hashing;
+import com.google.common.io.MoreFiles;
 import com.google.gson.Gson;
 import com.google.gson.JsonSyntaxException;
+import com.google.gson.reflect.TypeToken;
 import java.io.File;
 import java.io.FileInputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.lang.reflect.Type;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Stream;
+import java.util.zip.GZIPOutputStream;
 import org.apache.commons.io.IOUtils;
 import org.molgenis.app.manager.exception.AppAlreadyExistsException;
 import org.molgenis.app.manager.exception.AppArchiveMissingFilesException;
@@ -49,14 +64,22 @@ public class AppManagerServiceImpl implements AppManagerService {
   public static final String ZIP_INDEX_FILE = "index.html";
   public static final String ZIP_CONFIG_FILE = "config.json";
   public static final String APP_PLUGIN_ROOT = "app/";
+  public static final String APP_RESOURCE_MANIFEST_FILE = "resource-manifest.json";
+  public static final String GZIP_EXTENSION = ".gz";
+  public static final String BROTLI_EXTENSION = ".br";
 
   private static final String APPS_TMP_DIR = "apps_tmp";
+  private static final Set<String> COMPRESSIBLE_EXTENSIONS =
+      Set.of("js", "css", "map", "json", "html", "svg", "txt");
+  private static final Type RESOURCE_MANIFEST_TYPE =
+      new TypeToken<Map<String, String>>() {}.getType();
 
   private final AppFactory appFactory;
   private final DataService dataService;
   private final FileStore fileStore;
   private final Gson gson;
   private final PluginFactory pluginFactory;
+  private final Map<String, Map<String, String>> resourceManifests = new ConcurrentHashMap<>();
 
   public AppManagerServiceImpl(
       AppFactory appFactory,
@@ -117,6 +140,7 @@ public class AppManagerServiceImpl implements AppManagerService {
     if (app.isActive()) {
       deactivateApp(app);
     }
+    resourceManifests.remove(app.getResourceFolder());
     try {
       deleteDirectory(fileStore.getFileUnchecked(app.getResourceFolder()));
     } catch (IOException err) {
@@ -172,9 +196,16 @@ public class AppManagerServiceImpl implements AppManagerService {
       throw new AppAlreadyExistsException(appConfig.getName());
     }
 
-    fileStore.move(tempDir, APPS_DIR + separator + appConfig.getName());
+    String appDirName = APPS_DIR + separator + appConfig.getName();
+    fileStore.move(tempDir, appDirName);
     fileStore.deleteDirectory(APPS_TMP_DIR);
 
+    File appDir = fileStore.getFileUnchecked(appDirName);
+    if (appDir.isDirectory()) {
+      precompressResources(appDir.toPath());
+      writeResourceManifest(appDir.toPath());
+    }
+
     return appConfig;
   }
 
@@ -210,6 +241,87 @@ public class AppManagerServiceImpl implements AppManagerService {
     return utf8Encodedfiletostring(indexFile);
   }
 
+  @Override
+  public Map<String, String> getResourceManifest(AppResponse appResponse) {
+    return resourceManifests.computeIfAbsent(
+        appResponse.getResourceFolder(), this::readOrCreateResourceManifest);
+  }
+
+  private Map<String, String> readOrCreateResourceManifest(String resourceFolder) {
+    Path appDir = fileStore.getFileUnchecked(resourceFolder).toPath();
+    Path manifestFile = appDir.resolve(APP_RESOURCE_MANIFEST_FILE);
+    try {
+      if (Files.exists(manifestFile)) {
+        try (Reader reader = Files.newBufferedReader(manifestFile, UTF_8)) {
+          return gson.fromJson(reader, RESOURCE_MANIFEST_TYPE);
+        }
+      }
+      // app was uploaded before resource manifests existed
+      return writeResourceManifest(appDir);
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  /**
+   * Creates a gzipped variant next to every compressible resource unless the archive already
+   * contains one. Variants that do not reduce the size are discarded.
+   */
+  private static void precompressResources(Path appDir) throws IOException {
+    for (Path resource : listResources(appDir)) {
+      if (!isCompressible(resource)) {
+        continue;
+      }
+      Path gzipResource = resource.resolveSibling(resource.getFileName() + GZIP_EXTENSION);
+      if (Files.exists(gzipResource)) {
+        continue;
+      }
+      try (OutputStream outputStream =
+          new GZIPOutputStream(Files.newOutputStream(gzipResource))) {
+        Files.copy(resource, outputStream);
+      }
+      if (Files.size(gzipResource) >= Files.size(resource)) {
+        Files.delete(gzipResource);
+      }
+    }
+  }
+
+  private Map<String, String> writeResourceManifest(Path appDir) throws IOException {
+    Map<String, String> manifest = new TreeMap<>();
+    for (Path resource : listResources(appDir)) {
+      String resourcePath = '/' + appDir.relativize(resource).toString().replace(separator, "/");
+      String contentHash = MoreFiles.asByteSource(resource).hash(Hashing.sha256()).toString();
+      manifest.put(resourcePath, contentHash);
+    }
+    try (Writer writer =
+        Files.newBufferedWriter(appDir.resolve(APP_RESOURCE_MANIFEST_FILE), UTF_8)) {
+      gson.toJson(manifest, RESOURCE_MANIFEST_TYPE, writer);
+    }
+    return manifest;
+  }
+
+  /** Returns all app files except precompressed variants and the resource manifest. */
+  private static List<Path> listResources(Path appDir) throws IOException {
+    try (Stream<Path> paths = Files.walk(appDir)) {
+      return paths
+          .filter(Files::isRegularFile)
+          .filter(path -> !isPrecompressedVariant(path))
+          .filter(path -> !path.getFileName().toString().equals(APP_RESOURCE_MANIFEST_FILE))
+          .collect(toList());
+    }
+  }
+
+  private static boolean isPrecompressedVariant(Path path) {
+    String fileName = path.getFileName().toString();
+    return fileName.endsWith(GZIP_EXTENSION) || fileName.endsWith(BROTLI_EXTENSION);
+  }
+
+  private static boolean isCompressible(Path path) {
+    String fileName = path.getFileName().toString();
+    int index = fileName.lastIndexOf('.');
+    return index != -1 && COMPRESSIBLE_EXTENSIONS.contains(fileName.substring(index + 1));
+  }
+
   private String generatePluginId(App app) {
     return PluginPopulator.APP_PREFIX + app.getName();
   }
@@ -9,6 +9,7 @@ import static org.mockito.Mockito.when;
 import static org.molgenis.data.plugin.model.PluginPermission.VIEW_PLUGIN;
 import static org.molgenis.web.bootstrap.PluginPopulator.APP_PREFIX;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.model;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.view;
@@ -18,6 +19,7 @@ import java.io.File;
 import java.net.URI;
 import java.net.URISyntaxException;
 import java.net.URL;
+import java.util.Map;
 import org.junit.jupiter.api.AfterAll;
 import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.BeforeEach;
@@ -199,6 +201,38 @@ public class AppControllerTest extends AbstractMockitoSpringContextTests {
         .getResponse();
   }
 
+  @Test
+  void testServeResourceWithETag() throws Exception {
+    PluginIdentity pluginIdentity = new PluginIdentity("app/app1/");
+    when(userPermissionEvaluator.hasPermission(pluginIdentity, VIEW_PLUGIN)).thenReturn(true);
+    URL resourceUrl = Resources.getResource(AppControllerTest.class, "/index.html");
+    File testJs = new File(new URI(resourceUrl.toString()).getPath());
+    when(fakeAppFileStore.getFileUnchecked("/js/test.js")).thenReturn(testJs);
+    when(appManagerService.getResourceManifest(appResponse))
+        .thenReturn(Map.of("/js/test.js", "abc123"));
+
+    mockMvc
+        .perform(get(AppController.URI + "/app1/js/test.js"))
+        .andExpect(status().isOk())
+        .andExpect(header().string("ETag", "\"abc123\""))
+        .andExpect(header().string("Cache-Control", "no-cache"));
+  }
+
+  @Test
+  void testServeResourceNotModified() throws Exception {
+    PluginIdentity pluginIdentity = new PluginIdentity("app/app1/");
+    when(userPermissionEvaluator.hasPermission(pluginIdentity, VIEW_PLUGIN)).thenReturn(true);
+    URL resourceUrl = Resources.getResource(AppControllerTest.class, "/index.html");
+    File testJs = new File(new URI(resourceUrl.toString()).getPath());
+    when(fakeAppFileStore.getFileUnchecked("/js/test.js")).thenReturn(testJs);
+    when(appManagerService.getResourceManifest(appResponse))
+        .thenReturn(Map.of("/js/test.js", "abc123"));
+
+    mockMvc
+        .perform(get(AppController.URI + "/app1/js/test.js").header("If-None-Match", "\"abc123\""))
+        .andExpect(status().isNotModified());
+  }
+
   @Configuration
   @EnableWebMvc
   static class Config {
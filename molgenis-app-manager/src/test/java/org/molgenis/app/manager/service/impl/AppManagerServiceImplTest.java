@@ -14,6 +14,7 @@ import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.mockito.MockitoAnnotations.initMocks;
 import static org.molgenis.app.manager.service.impl.AppManagerServiceImpl.APPS_DIR;
+import static org.molgenis.app.manager.service.impl.AppManagerServiceImpl.APP_RESOURCE_MANIFEST_FILE;
 import static org.molgenis.web.bootstrap.PluginPopulator.APP_PREFIX;
 
 import com.google.common.io.Files;
@@ -25,8 +26,10 @@ import java.io.InputStream;
 import java.net.URI;
 import java.net.URISyntaxException;
 import java.net.URL;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Paths;
 import java.util.List;
+import java.util.Map;
 import org.apache.commons.io.FileUtils;
 import org.apache.commons.io.IOUtils;
 import org.junit.jupiter.api.AfterAll;
@@ -373,4 +376,38 @@ class AppManagerServiceImplTest {
 
     verify(dataService).add(AppMetadata.APP, app);
   }
+
+  @Test
+  void testCheckAndObtainConfigCreatesResourceManifest() throws IOException {
+    InputStream is = AppManagerServiceImplTest.class.getResourceAsStream("/config.json");
+    File jsDir = new File(tempDir, "js");
+    assertThat(jsDir.mkdir()).isTrue();
+    Files.asCharSink(new File(jsDir, "app.js"), StandardCharsets.UTF_8)
+        .write("var a = 1;\n".repeat(100));
+    when(fileStore.getFileUnchecked(APPS_DIR + separator + "example2"))
+        .thenReturn(new File(tempDir, "non-existing"))
+        .thenReturn(tempDir);
+
+    appManagerServiceImpl.checkAndObtainConfig("tempDir", IOUtils.toString(is, UTF_8));
+
+    assertThat(new File(jsDir, "app.js.gz")).exists();
+    assertThat(new File(tempDir, APP_RESOURCE_MANIFEST_FILE)).exists();
+  }
+
+  @Test
+  void testGetResourceManifest() throws IOException {
+    File jsDir = new File(tempDir, "js");
+    assertThat(jsDir.mkdir()).isTrue();
+    Files.asCharSink(new File(jsDir, "app.js"), StandardCharsets.UTF_8).write("abc");
+    AppResponse appResponse = AppResponse.create(app);
+    when(fileStore.getFileUnchecked("folder")).thenReturn(tempDir);
+
+    Map<String, String> manifest = appManagerServiceImpl.getResourceManifest(appResponse);
+
+    assertEquals(
+        Map.of(
+            "/js/app.js", "ba7816bf8f01cfea414140de5dae2223b00361a396177a9cb410ff61f20015ad"),
+        manifest);
+    assertThat(new File(tempDir, APP_RESOURCE_MANIFEST_FILE)).exists();
+  }
 }
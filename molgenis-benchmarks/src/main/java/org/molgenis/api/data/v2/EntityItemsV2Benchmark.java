@@ -0,0 +1,46 @@
+package org.molgenis.api.data.v2;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import java.io.Writer;
+import java.util.concurrent.TimeUnit;
+import org.molgenis.benchmarks.AbstractEntityBenchmark;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
+
+/** Writes the items of a REST API v2 entity collection response to JSON. */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+public class EntityItemsV2Benchmark extends AbstractEntityBenchmark {
+  private Gson gson;
+  private ServletUriComponentsBuilder uriBuilder;
+
+  @Setup
+  public void setUpGson() {
+    gson = new GsonBuilder().disableHtmlEscaping().create();
+
+    MockHttpServletRequest request = new MockHttpServletRequest();
+    request.setServletPath("/api");
+    uriBuilder = ServletUriComponentsBuilder.fromServletMapping(request);
+    uriBuilder.encode();
+  }
+
+  @Benchmark
+  public void toJson() {
+    // entity URI paths are cached per request
+    EntityItemsV2 entityItems =
+        new EntityItemsV2(entities, null, new EntityUriPathCache(uriBuilder));
+    gson.toJson(entityItems, Writer.nullWriter());
+  }
+}
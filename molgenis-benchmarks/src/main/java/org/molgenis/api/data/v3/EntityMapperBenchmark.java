@@ -0,0 +1,72 @@
+package org.molgenis.api.data.v3;
+
+import java.util.concurrent.TimeUnit;
+import org.molgenis.api.data.v3.EntityCollection.Page;
+import org.molgenis.api.data.v3.model.EntitiesResponse;
+import org.molgenis.api.model.Selection;
+import org.molgenis.benchmarks.AbstractEntityBenchmark;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+/** Maps a page of entities to a REST API v3 response. */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+public class EntityMapperBenchmark extends AbstractEntityBenchmark {
+  private EntityMapper entityMapper;
+  private EntityCollection entityCollection;
+
+  @Setup
+  public void setUpEntityMapper() {
+    // entity URIs are created from the current request, inherited by the benchmark threads
+    MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/data");
+    RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request), true);
+
+    entityMapper = new EntityMapperImpl();
+    entityCollection =
+        EntityCollection.builder()
+            .setEntityTypeId(entityType.getId())
+            .setEntities(entities)
+            .setPage(Page.create(0, nrEntities, nrEntities))
+            .build();
+  }
+
+  @TearDown
+  public void tearDownEntityMapper() {
+    RequestContextHolder.resetRequestAttributes();
+  }
+
+  @Benchmark
+  public EntitiesResponse map() {
+    return entityMapper.map(
+        entityCollection,
+        Selection.FULL_SELECTION,
+        Selection.EMPTY_SELECTION,
+        nrEntities,
+        0,
+        nrEntities);
+  }
+
+  @Benchmark
+  public EntitiesResponse mapExpandReferences() {
+    return entityMapper.map(
+        entityCollection,
+        Selection.FULL_SELECTION,
+        Selection.FULL_SELECTION,
+        nrEntities,
+        0,
+        nrEntities);
+  }
+}
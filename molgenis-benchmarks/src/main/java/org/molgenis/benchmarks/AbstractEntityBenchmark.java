@@ -0,0 +1,42 @@
+package org.molgenis.benchmarks;
+
+import java.util.List;
+import org.molgenis.data.Entity;
+import org.molgenis.data.meta.model.EntityType;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Benchmark state with a synthetic entity type and entities.
+ *
+ * @see SyntheticEntityTypeFactory
+ */
+@State(Scope.Benchmark)
+public abstract class AbstractEntityBenchmark {
+  /** Number of attributes per entity type, at least the number of synthetic attribute types */
+  @Param({"10", "100"})
+  public int width;
+
+  /** Number of referenced entity type levels */
+  @Param({"1", "3"})
+  public int depth;
+
+  @Param({"100"})
+  public int nrEntities;
+
+  protected EntityType entityType;
+  protected List<Entity> entities;
+
+  @Setup
+  public void setUpEntities() {
+    if (width < SyntheticEntityTypeFactory.ATTRIBUTE_TYPES.size()) {
+      throw new IllegalArgumentException(
+          "width must be at least " + SyntheticEntityTypeFactory.ATTRIBUTE_TYPES.size());
+    }
+    SyntheticEntityTypeFactory factory = BenchmarkContext.getBean(SyntheticEntityTypeFactory.class);
+    entityType = factory.createEntityType(width, depth);
+    entities = factory.createEntities(entityType, nrEntities);
+  }
+}
@@ -0,0 +1,72 @@
+package org.molgenis.benchmarks;
+
+import org.molgenis.data.DataService;
+import org.molgenis.data.EntityFactoryRegistry;
+import org.molgenis.data.EntityManagerImpl;
+import org.molgenis.data.EntityReferenceCreator;
+import org.molgenis.data.EntityReferenceCreatorImpl;
+import org.molgenis.data.meta.model.AttributeFactory;
+import org.molgenis.data.meta.model.AttributeMetadata;
+import org.molgenis.data.meta.model.EntityTypeFactory;
+import org.molgenis.data.meta.model.EntityTypeMetadata;
+import org.molgenis.data.meta.model.MetaPackage;
+import org.molgenis.data.meta.model.PackageFactory;
+import org.molgenis.data.meta.model.PackageMetadata;
+import org.molgenis.data.meta.model.TagFactory;
+import org.molgenis.data.meta.model.TagMetadata;
+import org.molgenis.data.populate.AutoValuePopulator;
+import org.molgenis.data.populate.DefaultValuePopulator;
+import org.molgenis.data.populate.EntityPopulator;
+import org.molgenis.data.populate.IdGeneratorImpl;
+import org.molgenis.data.support.DataServiceImpl;
+import org.molgenis.data.system.model.RootSystemPackage;
+import org.molgenis.util.ApplicationContextProvider;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
+import org.springframework.core.convert.ConversionService;
+import org.springframework.format.support.DefaultFormattingConversionService;
+
+/**
+ * Metadata model beans required to create entity types and entities without a database or
+ * Elasticsearch. The data service has no repositories, references are created but cannot be
+ * resolved.
+ */
+@Configuration
+@Import({
+  RootSystemPackage.class,
+  EntityPopulator.class,
+  AutoValuePopulator.class,
+  DefaultValuePopulator.class,
+  IdGeneratorImpl.class,
+  EntityFactoryRegistry.class,
+  EntityManagerImpl.class,
+  EntityTypeMetadata.class,
+  EntityTypeFactory.class,
+  AttributeMetadata.class,
+  AttributeFactory.class,
+  PackageMetadata.class,
+  PackageFactory.class,
+  TagMetadata.class,
+  TagFactory.class,
+  MetaPackage.class,
+  ApplicationContextProvider.class,
+  SyntheticEntityTypeFactory.class
+})
+public class BenchmarkConfig {
+  @Bean
+  public DataService dataService() {
+    return new DataServiceImpl();
+  }
+
+  @Bean
+  public EntityReferenceCreator entityReferenceCreator(
+      DataService dataService, EntityFactoryRegistry entityFactoryRegistry) {
+    return new EntityReferenceCreatorImpl(dataService, entityFactoryRegistry);
+  }
+
+  @Bean
+  public ConversionService conversionService() {
+    return new DefaultFormattingConversionService();
+  }
+}
@@ -0,0 +1,46 @@
+package org.molgenis.benchmarks;
+
+import static com.google.common.collect.Lists.newArrayList;
+
+import java.util.Map;
+import org.molgenis.data.meta.SystemEntityType;
+import org.molgenis.data.meta.model.AttributeMetadata;
+import org.molgenis.data.meta.model.EntityTypeMetadata;
+import org.molgenis.data.util.GenericDependencyResolver;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+
+/**
+ * Application context shared by the benchmarks in a JMH fork. The metadata model is bootstrapped
+ * once, like the bootstrapper does on application startup.
+ */
+public class BenchmarkContext {
+  static final String BACKEND = "PostgreSQL";
+
+  private static AnnotationConfigApplicationContext applicationContext;
+
+  private BenchmarkContext() {
+    throw new IllegalStateException("Do not instantiate");
+  }
+
+  public static synchronized <T> T getBean(Class<T> beanClass) {
+    if (applicationContext == null) {
+      applicationContext = createApplicationContext();
+    }
+    return applicationContext.getBean(beanClass);
+  }
+
+  private static AnnotationConfigApplicationContext createApplicationContext() {
+    AnnotationConfigApplicationContext context =
+        new AnnotationConfigApplicationContext(BenchmarkConfig.class);
+
+    EntityTypeMetadata entityTypeMeta = context.getBean(EntityTypeMetadata.class);
+    entityTypeMeta.setBackendEnumOptions(newArrayList(BACKEND));
+    context.getBean(AttributeMetadata.class).bootstrap(entityTypeMeta);
+    Map<String, SystemEntityType> systemEntityTypeMap =
+        context.getBeansOfType(SystemEntityType.class);
+    new GenericDependencyResolver()
+        .resolve(systemEntityTypeMap.values(), SystemEntityType::getDependencies)
+        .forEach(systemEntityType -> systemEntityType.bootstrap(entityTypeMeta));
+    return context;
+  }
+}
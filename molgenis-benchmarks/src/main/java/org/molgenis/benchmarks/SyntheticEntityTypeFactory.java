@@ -0,0 +1,169 @@
+package org.molgenis.benchmarks;
+
+import static java.util.Arrays.asList;
+import static java.util.Collections.emptyList;
+import static java.util.Objects.requireNonNull;
+import static java.util.stream.Collectors.toList;
+import static org.molgenis.data.meta.AttributeType.BOOL;
+import static org.molgenis.data.meta.AttributeType.DATE;
+import static org.molgenis.data.meta.AttributeType.DATE_TIME;
+import static org.molgenis.data.meta.AttributeType.DECIMAL;
+import static org.molgenis.data.meta.AttributeType.INT;
+import static org.molgenis.data.meta.AttributeType.LONG;
+import static org.molgenis.data.meta.AttributeType.MREF;
+import static org.molgenis.data.meta.AttributeType.STRING;
+import static org.molgenis.data.meta.AttributeType.TEXT;
+import static org.molgenis.data.meta.AttributeType.XREF;
+import static org.molgenis.data.meta.model.EntityType.AttributeRole.ROLE_ID;
+import static org.molgenis.data.meta.model.EntityType.AttributeRole.ROLE_LABEL;
+import static org.molgenis.data.util.EntityTypeUtils.isMultipleReferenceType;
+import static org.molgenis.data.util.EntityTypeUtils.isReferenceType;
+
+import com.google.common.collect.Streams;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.stream.IntStream;
+import javax.annotation.CheckForNull;
+import javax.annotation.Nullable;
+import org.molgenis.data.Entity;
+import org.molgenis.data.meta.AttributeType;
+import org.molgenis.data.meta.model.Attribute;
+import org.molgenis.data.meta.model.AttributeFactory;
+import org.molgenis.data.meta.model.EntityType;
+import org.molgenis.data.meta.model.EntityTypeFactory;
+import org.molgenis.data.support.DynamicEntity;
+import org.molgenis.data.util.EntityTypeUtils;
+import org.molgenis.util.UnexpectedEnumException;
+import org.springframework.stereotype.Component;
+
+/**
+ * Creates synthetic entity types and entities of configurable width and depth. Attribute 'attr0' is
+ * the id attribute, the types of the other attributes cycle through {@link #ATTRIBUTE_TYPES}, so
+ * e.g. 'attr1' is an INT attribute and 'attr8' is a XREF attribute. Reference attributes refer to
+ * the entity type one level deeper, on the deepest level they are replaced by STRING attributes.
+ */
+@Component
+public class SyntheticEntityTypeFactory {
+  public static final List<AttributeType> ATTRIBUTE_TYPES =
+      asList(STRING, INT, LONG, DECIMAL, BOOL, DATE, DATE_TIME, TEXT, XREF, MREF);
+
+  private static final int NR_REF_ENTITIES = 10;
+  private static final String TEXT_VALUE =
+      "Lorem ipsum dolor sit amet, consectetur adipiscing elit, sed do eiusmod tempor incididunt"
+          + " ut labore et dolore magna aliqua.";
+
+  private final EntityTypeFactory entityTypeFactory;
+  private final AttributeFactory attributeFactory;
+
+  SyntheticEntityTypeFactory(
+      EntityTypeFactory entityTypeFactory, AttributeFactory attributeFactory) {
+    this.entityTypeFactory = requireNonNull(entityTypeFactory);
+    this.attributeFactory = requireNonNull(attributeFactory);
+  }
+
+  public static String getAttributeName(int index) {
+    return "attr" + index;
+  }
+
+  /**
+   * @param width number of attributes of each entity type
+   * @param depth number of entity type levels below the created entity type
+   */
+  public EntityType createEntityType(int width, int depth) {
+    return createEntityType(width, depth, 0);
+  }
+
+  private EntityType createEntityType(int width, int depth, int level) {
+    EntityType refEntityType = level < depth ? createEntityType(width, depth, level + 1) : null;
+
+    String entityTypeId = "benchmark_w" + width + "_d" + depth + "_l" + level;
+    EntityType entityType =
+        entityTypeFactory
+            .create(entityTypeId)
+            .setLabel(entityTypeId)
+            .setBackend(BenchmarkContext.BACKEND);
+    entityType.setIndexingDepth(depth - level);
+    entityType.addAttribute(createAttribute(0, STRING), ROLE_ID, ROLE_LABEL);
+    for (int i = 1; i < width; i++) {
+      AttributeType type = ATTRIBUTE_TYPES.get(i % ATTRIBUTE_TYPES.size());
+      if (isReferenceType(type) && refEntityType == null) {
+        type = STRING;
+      }
+      Attribute attribute = createAttribute(i, type);
+      if (isReferenceType(type)) {
+        attribute.setRefEntity(refEntityType);
+      }
+      entityType.addAttribute(attribute);
+    }
+    return entityType;
+  }
+
+  private Attribute createAttribute(int index, AttributeType type) {
+    return attributeFactory.create().setName(getAttributeName(index)).setDataType(type);
+  }
+
+  /** Creates entities that share a fixed number of referenced entities on each level. */
+  public List<Entity> createEntities(EntityType entityType, int nrEntities) {
+    EntityType refEntityType = getRefEntityType(entityType);
+    List<Entity> refEntities =
+        refEntityType != null ? createEntities(refEntityType, NR_REF_ENTITIES) : emptyList();
+    return IntStream.range(0, nrEntities)
+        .mapToObj(i -> createEntity(entityType, i, refEntities))
+        .collect(toList());
+  }
+
+  @Nullable
+  @CheckForNull
+  private static EntityType getRefEntityType(EntityType entityType) {
+    return Streams.stream(entityType.getAtomicAttributes())
+        .filter(EntityTypeUtils::isReferenceType)
+        .map(Attribute::getRefEntity)
+        .findFirst()
+        .orElse(null);
+  }
+
+  private static Entity createEntity(EntityType entityType, int index, List<Entity> refEntities) {
+    Entity entity = new DynamicEntity(entityType);
+    for (Attribute attribute : entityType.getAtomicAttributes()) {
+      Object value;
+      if (attribute.isIdAttribute()) {
+        value = "id" + index;
+      } else if (isMultipleReferenceType(attribute)) {
+        value =
+            asList(
+                refEntities.get(index % NR_REF_ENTITIES),
+                refEntities.get((index + 1) % NR_REF_ENTITIES));
+      } else {
+        value = createValue(attribute.getDataType(), index, refEntities);
+      }
+      entity.set(attribute.getName(), value);
+    }
+    return entity;
+  }
+
+  private static Object createValue(AttributeType type, int index, List<Entity> refEntities) {
+    switch (type) {
+      case BOOL:
+        return index % 2 == 0;
+      case DATE:
+        return LocalDate.ofEpochDay(index);
+      case DATE_TIME:
+        return Instant.ofEpochSecond(index);
+      case DECIMAL:
+        return index + 0.5;
+      case INT:
+        return index;
+      case LONG:
+        return index * 1000000L;
+      case STRING:
+        return "value" + index;
+      case TEXT:
+        return TEXT_VALUE;
+      case XREF:
+        return refEntities.get(index % NR_REF_ENTITIES);
+      default:
+        throw new UnexpectedEnumException(type);
+    }
+  }
+}
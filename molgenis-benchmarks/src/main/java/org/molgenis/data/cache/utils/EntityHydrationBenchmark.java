@@ -0,0 +1,51 @@
+package org.molgenis.data.cache.utils;
+
+import static java.util.stream.Collectors.toList;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.molgenis.benchmarks.AbstractEntityBenchmark;
+import org.molgenis.benchmarks.BenchmarkContext;
+import org.molgenis.data.Entity;
+import org.molgenis.data.EntityManager;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/** Dehydrates and hydrates all entities, like the L2 and L3 caches do. */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+public class EntityHydrationBenchmark extends AbstractEntityBenchmark {
+  private EntityHydration entityHydration;
+  private List<Map<String, Object>> dehydratedEntities;
+
+  @Setup
+  public void setUpEntityHydration() {
+    entityHydration = new EntityHydration(BenchmarkContext.getBean(EntityManager.class));
+    dehydratedEntities = entities.stream().map(entityHydration::dehydrate).collect(toList());
+  }
+
+  @Benchmark
+  public void dehydrate(Blackhole blackhole) {
+    for (Entity entity : entities) {
+      blackhole.consume(entityHydration.dehydrate(entity));
+    }
+  }
+
+  @Benchmark
+  public void hydrate(Blackhole blackhole) {
+    for (Map<String, Object> dehydratedEntity : dehydratedEntities) {
+      blackhole.consume(entityHydration.hydrate(dehydratedEntity, entityType));
+    }
+  }
+}
@@ -0,0 +1,44 @@
+package org.molgenis.data.elasticsearch.generator;
+
+import java.util.concurrent.TimeUnit;
+import org.molgenis.benchmarks.AbstractEntityBenchmark;
+import org.molgenis.data.Entity;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/** Creates the documents of all entities, like indexing a repository does. */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+public class DocumentContentBuilderBenchmark extends AbstractEntityBenchmark {
+  private DocumentContentBuilder documentContentBuilder;
+
+  @Setup
+  public void setUpDocumentContentBuilder() {
+    documentContentBuilder = new DocumentContentBuilder(new DocumentIdGenerator());
+  }
+
+  @Benchmark
+  public void createDocument(Blackhole blackhole) {
+    for (Entity entity : entities) {
+      blackhole.consume(documentContentBuilder.createDocument(entity));
+    }
+  }
+
+  @Benchmark
+  public void createDocumentReferenceDocumentCache(Blackhole blackhole) {
+    ReferenceDocumentCache referenceDocumentCache = new ReferenceDocumentCache();
+    for (Entity entity : entities) {
+      blackhole.consume(documentContentBuilder.createDocument(entity, referenceDocumentCache));
+    }
+  }
+}
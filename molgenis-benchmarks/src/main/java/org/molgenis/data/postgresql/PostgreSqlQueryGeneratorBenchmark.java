@@ -0,0 +1,61 @@
+package org.molgenis.data.postgresql;
+
+import static java.util.Arrays.asList;
+import static org.molgenis.benchmarks.SyntheticEntityTypeFactory.getAttributeName;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.molgenis.benchmarks.AbstractEntityBenchmark;
+import org.molgenis.data.Entity;
+import org.molgenis.data.Query;
+import org.molgenis.data.Sort;
+import org.molgenis.data.support.QueryImpl;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.Warmup;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+public class PostgreSqlQueryGeneratorBenchmark extends AbstractEntityBenchmark {
+  private Query<Entity> query;
+
+  @Setup
+  public void setUpQuery() {
+    query =
+        new QueryImpl<>()
+            .eq(getAttributeName(2), 1000000L)
+            .and()
+            .nest()
+            .gt(getAttributeName(1), 10)
+            .or()
+            .le(getAttributeName(3), 2.5)
+            .unnest()
+            .and()
+            .in(getAttributeName(8), asList("id1", "id2"))
+            .and()
+            .eq(getAttributeName(9), "id3")
+            .sort(new Sort(getAttributeName(6)))
+            .pageSize(100);
+  }
+
+  @Benchmark
+  public List<Object> getSqlSelect() {
+    List<Object> parameters = new ArrayList<>();
+    parameters.add(PostgreSqlQueryGenerator.getSqlSelect(entityType, query, parameters, true));
+    return parameters;
+  }
+
+  @Benchmark
+  public String getSqlInsert() {
+    return PostgreSqlQueryGenerator.getSqlInsert(entityType);
+  }
+}
@@ -0,0 +1,66 @@
+package org.molgenis.data.validation;
+
+import static java.util.Arrays.asList;
+import static org.molgenis.benchmarks.SyntheticEntityTypeFactory.getAttributeName;
+
+import java.util.concurrent.TimeUnit;
+import org.molgenis.benchmarks.AbstractEntityBenchmark;
+import org.molgenis.benchmarks.BenchmarkContext;
+import org.molgenis.data.Entity;
+import org.molgenis.data.EntityManager;
+import org.molgenis.data.Fetch;
+import org.molgenis.data.Query;
+import org.molgenis.data.support.QueryImpl;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Validates a query with string values, like the REST APIs create them. Validation converts the
+ * query values in place, so the query is created in the benchmark method.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+public class QueryValidatorBenchmark extends AbstractEntityBenchmark {
+  private QueryValidator queryValidator;
+
+  @Setup
+  public void setUpQueryValidator() {
+    queryValidator =
+        new QueryValidator(new FetchValidatorImpl(), BenchmarkContext.getBean(EntityManager.class));
+  }
+
+  @Benchmark
+  public Query<Entity> validate() {
+    Query<Entity> query =
+        new QueryImpl<>()
+            .eq(getAttributeName(2), "1000000")
+            .and()
+            .nest()
+            .gt(getAttributeName(1), "10")
+            .or()
+            .le(getAttributeName(3), "2.5")
+            .unnest()
+            .and()
+            .eq(getAttributeName(5), "2020-01-31")
+            .and()
+            .in(getAttributeName(8), asList("id1", "id2"))
+            .and()
+            .eq(getAttributeName(9), "id3")
+            .fetch(
+                new Fetch()
+                    .field(getAttributeName(0))
+                    .field(getAttributeName(1))
+                    .field(getAttributeName(8), new Fetch().field(getAttributeName(0))));
+    queryValidator.validate(query, entityType);
+    return query;
+  }
+}
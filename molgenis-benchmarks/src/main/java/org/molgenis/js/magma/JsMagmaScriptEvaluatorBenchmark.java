@@ -0,0 +1,73 @@
+package org.molgenis.js.magma;
+
+import java.util.concurrent.TimeUnit;
+import org.molgenis.benchmarks.AbstractEntityBenchmark;
+import org.molgenis.data.Entity;
+import org.molgenis.js.graal.GraalScriptEngine;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Evaluates MagmaScript expressions for all entities in one script context, like mapping a
+ * source does.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+public class JsMagmaScriptEvaluatorBenchmark extends AbstractEntityBenchmark {
+  private static final String ARITHMETIC_EXPRESSION =
+      "$('attr1').plus($('attr3').value()).times(2).value()";
+  private static final String CATEGORY_EXPRESSION =
+      "$('attr4').map({'true': 'yes', 'false': 'no'}, 'unknown', 'missing').value()";
+
+  private final JsMagmaScriptEvaluator jsMagmaScriptEvaluator = new JsMagmaScriptEvaluator();
+
+  /** Graal contexts are bound to a thread, each benchmark thread gets its own script context. */
+  @State(Scope.Thread)
+  public static class ScriptContextState {
+    private JsMagmaScriptContext context;
+
+    @Setup(Level.Trial)
+    public void setUpContext() {
+      context = new JsMagmaScriptContext(new GraalScriptEngine().createContext());
+      JsMagmaScriptContextHolder.setContext(context);
+      context.enter();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDownContext() {
+      context.leave();
+      context.close();
+      JsMagmaScriptContextHolder.clearContext();
+    }
+  }
+
+  @Benchmark
+  public void evalArithmetic(ScriptContextState scriptContextState, Blackhole blackhole) {
+    eval(ARITHMETIC_EXPRESSION, blackhole);
+  }
+
+  @Benchmark
+  public void evalCategoryMapping(ScriptContextState scriptContextState, Blackhole blackhole) {
+    eval(CATEGORY_EXPRESSION, blackhole);
+  }
+
+  private void eval(String expression, Blackhole blackhole) {
+    for (Entity entity : entities) {
+      blackhole.consume(jsMagmaScriptEvaluator.eval(expression, entity));
+    }
+  }
+}
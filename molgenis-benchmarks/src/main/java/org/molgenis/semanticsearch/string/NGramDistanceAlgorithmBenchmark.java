@@ -0,0 +1,81 @@
+package org.molgenis.semanticsearch.string;
+
+import static java.util.stream.Collectors.toList;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/** Scores a query against a list of ontology term like strings, like SORTA matching does. */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@State(Scope.Benchmark)
+public class NGramDistanceAlgorithmBenchmark {
+  private static final String[] WORDS = {
+    "body", "mass", "index", "systolic", "blood", "pressure", "diastolic", "heart", "rate",
+    "glucose", "fasting", "plasma", "cholesterol", "total", "waist", "circumference", "hip",
+    "height", "weight", "smoking"
+  };
+  private static final String QUERY = "fasting plasma glucose";
+
+  @Param({"1000"})
+  public int nrTerms;
+
+  private List<String> terms;
+  private List<NGramProfile> termProfiles;
+  private NGramProfile queryProfile;
+
+  @Setup
+  public void setUpTerms() {
+    terms =
+        IntStream.range(0, nrTerms)
+            .mapToObj(
+                i ->
+                    WORDS[i % WORDS.length]
+                        + ' '
+                        + WORDS[(i * 7 + 3) % WORDS.length]
+                        + ' '
+                        + WORDS[(i * 13 + 5) % WORDS.length]
+                        + ' '
+                        + i)
+            .collect(toList());
+    termProfiles = terms.stream().map(term -> NGramProfile.create(term, true)).collect(toList());
+    queryProfile = NGramProfile.create(QUERY, true);
+  }
+
+  @Benchmark
+  public void createProfile(Blackhole blackhole) {
+    for (String term : terms) {
+      blackhole.consume(NGramProfile.create(term, true));
+    }
+  }
+
+  @Benchmark
+  public void scoreProfiles(Blackhole blackhole) {
+    for (NGramProfile termProfile : termProfiles) {
+      blackhole.consume(queryProfile.score(termProfile));
+    }
+  }
+
+  @Benchmark
+  public void stringMatching(Blackhole blackhole) {
+    for (String term : terms) {
+      blackhole.consume(NGramDistanceAlgorithm.stringMatching(QUERY, term));
+    }
+  }
+}
@@ -0,0 +1,41 @@
+package org.molgenis.web.rsql;
+
+import java.util.concurrent.TimeUnit;
+import org.molgenis.benchmarks.AbstractEntityBenchmark;
+import org.molgenis.data.Entity;
+import org.molgenis.data.Query;
+import org.molgenis.data.Repository;
+import org.molgenis.data.mem.InMemoryRepository;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.Warmup;
+
+/** Parses the RSQL 'q' parameter of the REST API v1 and v2 into a query. */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+public class MolgenisRSQLBenchmark extends AbstractEntityBenchmark {
+  private static final String RSQL =
+      "attr2==1000000;(attr1=gt=10,attr3=le=2.5);attr5==2020-01-31;attr8=in=(id1,id2);attr9==id3";
+
+  private MolgenisRSQL molgenisRSQL;
+  private Repository<Entity> repository;
+
+  @Setup
+  public void setUpMolgenisRSQL() {
+    molgenisRSQL = new MolgenisRSQL(new RsqlConfig().rsqlParser());
+    repository = new InMemoryRepository(entityType);
+  }
+
+  @Benchmark
+  public Query<Entity> createQuery() {
+    return molgenisRSQL.createQuery(RSQL, repository);
+  }
+}
@@ -204,6 +204,7 @@ public abstract class MolgenisWebAppConfig implements WebMvcConfigurer {
   public void addInterceptors(InterceptorRegistry registry) {
     String pluginInterceptPattern = PluginController.PLUGIN_URI_PREFIX + "**";
     registry.addInterceptor(molgenisInterceptor());
+    registry.addInterceptor(staleIndexInterceptor());
     registry.addInterceptor(molgenisPluginInterceptor()).addPathPatterns(pluginInterceptPattern);
   }
 
@@ -231,6 +232,11 @@ public abstract class MolgenisWebAppConfig implements WebMvcConfigurer {
         userAccountService);
   }
 
+  @Bean
+  public StaleIndexInterceptor staleIndexInterceptor() {
+    return new StaleIndexInterceptor();
+  }
+
   @Bean
   public PropertiesMessageSource formMessageSource() {
     return new PropertiesMessageSource("form");
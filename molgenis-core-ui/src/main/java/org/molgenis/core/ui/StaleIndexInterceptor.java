@@ -0,0 +1,26 @@
+package org.molgenis.core.ui;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import org.molgenis.data.index.StaleIndexContextHolder;
+import org.springframework.web.servlet.handler.HandlerInterceptorAdapter;
+
+/**
+ * Interceptor that collects the entity types that were queried from a stale index during a request.
+ *
+ * @see StaleIndexResponseBodyAdvice
+ */
+public class StaleIndexInterceptor extends HandlerInterceptorAdapter {
+  @Override
+  public boolean preHandle(
+      HttpServletRequest request, HttpServletResponse response, Object handler) {
+    StaleIndexContextHolder.start();
+    return true;
+  }
+
+  @Override
+  public void afterCompletion(
+      HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+    StaleIndexContextHolder.clear();
+  }
+}
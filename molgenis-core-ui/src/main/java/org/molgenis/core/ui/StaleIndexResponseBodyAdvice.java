@@ -0,0 +1,43 @@
+package org.molgenis.core.ui;
+
+import java.util.Set;
+import org.molgenis.data.index.StaleIndexContextHolder;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyAdvice;
+
+/**
+ * Adds a response header listing the entity types whose results were retrieved from an index that
+ * did not contain all committed changes yet, so that clients know that the response might be stale.
+ *
+ * @see StaleIndexInterceptor
+ */
+@ControllerAdvice
+public class StaleIndexResponseBodyAdvice implements ResponseBodyAdvice<Object> {
+  public static final String HEADER_STALE_INDEX = "X-Molgenis-Stale-Index";
+
+  @Override
+  public boolean supports(
+      MethodParameter returnType, Class<? extends HttpMessageConverter<?>> converterType) {
+    return true;
+  }
+
+  @Override
+  public Object beforeBodyWrite(
+      Object body,
+      MethodParameter returnType,
+      MediaType selectedContentType,
+      Class<? extends HttpMessageConverter<?>> selectedConverterType,
+      ServerHttpRequest request,
+      ServerHttpResponse response) {
+    Set<String> staleEntityTypeIds = StaleIndexContextHolder.getStaleEntityTypeIds();
+    if (!staleEntityTypeIds.isEmpty()) {
+      response.getHeaders().set(HEADER_STALE_INDEX, String.join(",", staleEntityTypeIds));
+    }
+    return body;
+  }
+}
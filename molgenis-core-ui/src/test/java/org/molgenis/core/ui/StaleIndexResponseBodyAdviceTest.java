@@ -0,0 +1,67 @@
+package org.molgenis.core.ui;
+
+import static java.util.Arrays.asList;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.mockito.Mockito.verifyZeroInteractions;
+import static org.mockito.Mockito.when;
+import static org.molgenis.core.ui.StaleIndexResponseBodyAdvice.HEADER_STALE_INDEX;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.molgenis.data.index.StaleIndexContextHolder;
+import org.molgenis.test.AbstractMockitoTest;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.StringHttpMessageConverter;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+
+class StaleIndexResponseBodyAdviceTest extends AbstractMockitoTest {
+  @Mock private MethodParameter returnType;
+  @Mock private ServerHttpRequest request;
+  @Mock private ServerHttpResponse response;
+  private StaleIndexResponseBodyAdvice staleIndexResponseBodyAdvice;
+
+  @BeforeEach
+  void setUpBeforeEach() {
+    staleIndexResponseBodyAdvice = new StaleIndexResponseBodyAdvice();
+    StaleIndexContextHolder.start();
+  }
+
+  @AfterEach
+  void tearDownAfterEach() {
+    StaleIndexContextHolder.clear();
+  }
+
+  @Test
+  void testBeforeBodyWrite() {
+    StaleIndexContextHolder.addStaleEntityTypeId("entityType0");
+    StaleIndexContextHolder.addStaleEntityTypeId("entityType1");
+    HttpHeaders headers = new HttpHeaders();
+    when(response.getHeaders()).thenReturn(headers);
+    Object body = new Object();
+    assertSame(body, beforeBodyWrite(body));
+    assertEquals(asList("entityType0,entityType1"), headers.get(HEADER_STALE_INDEX));
+  }
+
+  @Test
+  void testBeforeBodyWriteNoStaleIndex() {
+    Object body = new Object();
+    assertSame(body, beforeBodyWrite(body));
+    verifyZeroInteractions(response);
+  }
+
+  private Object beforeBodyWrite(Object body) {
+    return staleIndexResponseBodyAdvice.beforeBodyWrite(
+        body,
+        returnType,
+        MediaType.TEXT_PLAIN,
+        StringHttpMessageConverter.class,
+        request,
+        response);
+  }
+}
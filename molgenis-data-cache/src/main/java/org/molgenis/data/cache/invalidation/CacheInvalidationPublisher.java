@@ -0,0 +1,42 @@
+package org.molgenis.data.cache.invalidation;
+
+import static java.util.Objects.requireNonNull;
+
+import org.molgenis.data.transaction.CacheInvalidation;
+import org.molgenis.data.transaction.CacheInvalidationBus;
+import org.molgenis.data.transaction.TransactionInformation;
+import org.molgenis.data.transaction.TransactionListener;
+import org.molgenis.data.transaction.TransactionManager;
+import org.springframework.stereotype.Component;
+
+/**
+ * Publishes the entities and repositories dirtied by a committed transaction on the {@link
+ * CacheInvalidationBus} so that other nodes can evict them from their L2 and L3 caches.
+ */
+@Component
+public class CacheInvalidationPublisher implements TransactionListener {
+  private final TransactionInformation transactionInformation;
+  private final CacheInvalidationBus cacheInvalidationBus;
+
+  CacheInvalidationPublisher(
+      TransactionManager transactionManager,
+      TransactionInformation transactionInformation,
+      CacheInvalidationBus cacheInvalidationBus) {
+    this.transactionInformation = requireNonNull(transactionInformation);
+    this.cacheInvalidationBus = requireNonNull(cacheInvalidationBus);
+    requireNonNull(transactionManager).addTransactionListener(this);
+  }
+
+  @Override
+  public void afterCommitTransaction(String transactionId) {
+    CacheInvalidation cacheInvalidation =
+        CacheInvalidation.create(
+            transactionInformation.getDirtyEntities(),
+            transactionInformation.getDirtyRepositories(),
+            transactionInformation.getEntirelyDirtyRepositories(),
+            false);
+    if (!cacheInvalidation.isEmpty()) {
+      cacheInvalidationBus.publish(cacheInvalidation);
+    }
+  }
+}
@@ -6,6 +6,8 @@ import static org.slf4j.LoggerFactory.getLogger;
 import com.github.benmanes.caffeine.cache.Caffeine;
 import com.github.benmanes.caffeine.guava.CaffeinatedGuava;
 import com.google.common.cache.Cache;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
 import java.util.Map;
 import java.util.Optional;
 import java.util.stream.Stream;
@@ -33,11 +35,27 @@ public class L1Cache implements TransactionListener {
   private static final int MAX_CACHE_SIZE = 25_000;
   private final ThreadLocal<CombinedEntityCache> caches;
   private final EntityHydration entityHydration;
+  private final Counter hitCounter;
+  private final Counter missCounter;
 
-  L1Cache(TransactionManager transactionManager, EntityHydration entityHydration) {
+  L1Cache(
+      TransactionManager transactionManager,
+      EntityHydration entityHydration,
+      MeterRegistry meterRegistry) {
     caches = new ThreadLocal<>();
     this.entityHydration = requireNonNull(entityHydration);
     requireNonNull(transactionManager).addTransactionListener(this);
+
+    // the caches only live as long as a transaction, count the gets of all caches together
+    hitCounter = createGetsCounter(meterRegistry, "hit");
+    missCounter = createGetsCounter(meterRegistry, "miss");
+  }
+
+  private static Counter createGetsCounter(MeterRegistry meterRegistry, String result) {
+    return Counter.builder("cache.gets")
+        .tag("cache", "l1")
+        .tag("result", result)
+        .register(meterRegistry);
   }
 
   @Override
@@ -115,6 +133,11 @@ public class L1Cache implements TransactionListener {
       return Optional.empty();
     }
     Optional<CacheHit<Entity>> result = cache.getIfPresent(entityType, entityId, fetch);
+    if (result.isPresent()) {
+      hitCounter.increment();
+    } else {
+      missCounter.increment();
+    }
 
     if (LOG.isDebugEnabled()) {
       if (result.isPresent()) {
@@ -29,6 +29,9 @@ import org.molgenis.data.Repository;
 import org.molgenis.data.cache.utils.EntityHydration;
 import org.molgenis.data.meta.MetaDataService;
 import org.molgenis.data.meta.model.EntityType;
+import org.molgenis.data.transaction.CacheInvalidation;
+import org.molgenis.data.transaction.CacheInvalidationBus;
+import org.molgenis.data.transaction.CacheInvalidationListener;
 import org.molgenis.data.transaction.TransactionInformation;
 import org.molgenis.data.transaction.TransactionListener;
 import org.molgenis.data.transaction.TransactionManager;
@@ -39,7 +42,7 @@ import org.springframework.stereotype.Service;
 
 /** In-memory cache of entities read from cacheable repositories. */
 @Service
-public class L2Cache implements TransactionListener {
+public class L2Cache implements TransactionListener, CacheInvalidationListener {
   private static final Logger LOG = LoggerFactory.getLogger(L2Cache.class);
   private static final int MAX_CACHE_SIZE_PER_ENTITY = 1000;
   /** maps entity id to the loading cache with Object key and Optional dehydrated entity value */
@@ -53,12 +56,14 @@ public class L2Cache implements TransactionListener {
       TransactionManager transactionManager,
       EntityHydration entityHydration,
       TransactionInformation transactionInformation,
-      MeterRegistry meterRegistry) {
+      MeterRegistry meterRegistry,
+      CacheInvalidationBus cacheInvalidationBus) {
     this.entityHydration = requireNonNull(entityHydration);
     this.transactionInformation = requireNonNull(transactionInformation);
     this.meterRegistry = requireNonNull(meterRegistry);
     caches = newConcurrentMap();
     requireNonNull(transactionManager).addTransactionListener(this);
+    requireNonNull(cacheInvalidationBus).addCacheInvalidationListener(this);
   }
 
   @Override
@@ -68,6 +73,17 @@ public class L2Cache implements TransactionListener {
     transactionInformation.getDirtyEntities().forEach(this::evict);
   }
 
+  @Override
+  public void onCacheInvalidation(CacheInvalidation cacheInvalidation) {
+    cacheInvalidation.getEntirelyDirtyRepositories().forEach(caches::remove);
+    cacheInvalidation.getDirtyEntities().forEach(this::evict);
+  }
+
+  @Override
+  public void onCacheInvalidationsMissed() {
+    caches.clear();
+  }
+
   private void evict(EntityKey entityKey) {
     LoadingCache<Object, Optional<Map<String, Object>>> cache =
         caches.get(entityKey.getEntityTypeId());
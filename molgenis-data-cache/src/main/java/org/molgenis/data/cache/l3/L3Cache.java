@@ -3,57 +3,194 @@ package org.molgenis.data.cache.l3;
 import static com.google.common.collect.Maps.newConcurrentMap;
 import static java.util.Objects.requireNonNull;
 import static java.util.concurrent.TimeUnit.MINUTES;
+import static java.util.stream.Collectors.groupingBy;
+import static java.util.stream.Collectors.mapping;
 import static java.util.stream.Collectors.toList;
+import static java.util.stream.Collectors.toSet;
 import static org.slf4j.LoggerFactory.getLogger;
 
 import com.github.benmanes.caffeine.cache.Caffeine;
 import com.github.benmanes.caffeine.guava.CaffeinatedGuava;
+import com.google.common.base.Splitter;
 import com.google.common.cache.CacheLoader;
 import com.google.common.cache.LoadingCache;
+import com.google.common.collect.ImmutableMap;
 import io.micrometer.core.instrument.MeterRegistry;
 import io.micrometer.core.instrument.binder.cache.GuavaCacheMetrics;
+import java.util.Collections;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
 import java.util.concurrent.ConcurrentMap;
 import javax.annotation.Nonnull;
 import org.molgenis.data.Entity;
+import org.molgenis.data.EntityKey;
 import org.molgenis.data.Fetch;
 import org.molgenis.data.Query;
 import org.molgenis.data.Repository;
+import org.molgenis.data.meta.model.EntityType;
 import org.molgenis.data.support.QueryImpl;
+import org.molgenis.data.transaction.CacheInvalidation;
+import org.molgenis.data.transaction.CacheInvalidationBus;
+import org.molgenis.data.transaction.CacheInvalidationListener;
 import org.molgenis.data.transaction.TransactionInformation;
 import org.molgenis.data.transaction.TransactionListener;
 import org.molgenis.data.transaction.TransactionManager;
 import org.slf4j.Logger;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 
-/** In-memory Query cache containing Queries and resulting ids from cacheable repositories */
+/**
+ * In-memory Query cache containing Queries and resulting ids from cacheable repositories.
+ *
+ * <p>The size of the query cache of an entity type is bounded by the total number of cached ids,
+ * configurable per entity type. After commit only the queries that could be affected by the rows
+ * changed in the transaction are evicted.
+ */
 @Service
-public class L3Cache implements TransactionListener {
+public class L3Cache implements TransactionListener, CacheInvalidationListener {
   private static final Logger LOG = getLogger(L3Cache.class);
-  private static final int MAX_CACHE_SIZE_PER_QUERY = 1000;
+  private static final int MAX_TRACKED_CHANGES_PER_ENTITY_TYPE = 1000;
 
   /** maps entity name to the loading cache with Query key and List of Identifiers */
   private final ConcurrentMap<String, LoadingCache<Query<Entity>, List<Object>>> caches =
       newConcurrentMap();
 
+  /** changes to cacheable repositories in the current transaction */
+  private final ThreadLocal<L3CacheChanges> transactionChanges = new ThreadLocal<>();
+
   private final TransactionInformation transactionInformation;
 
   private final MeterRegistry meterRegistry;
 
+  private final long maxIds;
+  private final Map<String, Long> maxIdsPerEntityType;
+  private final long expireAfterAccessMinutes;
+
+  /**
+   * @param maxIds maximum total number of ids cached for the queries of a single entity type
+   * @param maxIdsPerEntityType comma-separated overrides of maxIds, e.g. "entityTypeId=50000"
+   * @param expireAfterAccessMinutes time after which queries that are not accessed are evicted
+   */
   public L3Cache(
       TransactionManager transactionManager,
       TransactionInformation transactionInformation,
-      MeterRegistry meterRegistry) {
+      MeterRegistry meterRegistry,
+      CacheInvalidationBus cacheInvalidationBus,
+      @Value("${l3cache.maxIds:100000}") long maxIds,
+      @Value("${l3cache.maxIds.entityTypes:}") String maxIdsPerEntityType,
+      @Value("${l3cache.expireAfterAccessMinutes:10}") long expireAfterAccessMinutes) {
     this.transactionInformation = requireNonNull(transactionInformation);
     this.meterRegistry = requireNonNull(meterRegistry);
+    this.maxIds = maxIds;
+    this.maxIdsPerEntityType = parseMaxIdsPerEntityType(requireNonNull(maxIdsPerEntityType));
+    this.expireAfterAccessMinutes = expireAfterAccessMinutes;
     requireNonNull(transactionManager).addTransactionListener(this);
+    requireNonNull(cacheInvalidationBus).addCacheInvalidationListener(this);
+  }
+
+  private static Map<String, Long> parseMaxIdsPerEntityType(String maxIdsPerEntityType) {
+    Map<String, String> values =
+        Splitter.on(',')
+            .trimResults()
+            .omitEmptyStrings()
+            .withKeyValueSeparator(Splitter.on('=').trimResults())
+            .split(maxIdsPerEntityType);
+    ImmutableMap.Builder<String, Long> builder = ImmutableMap.builder();
+    values.forEach((entityTypeId, value) -> builder.put(entityTypeId, Long.valueOf(value)));
+    return builder.build();
+  }
+
+  @Override
+  public void transactionStarted(String transactionId) {
+    transactionChanges.set(new L3CacheChanges(MAX_TRACKED_CHANGES_PER_ENTITY_TYPE));
+  }
+
+  @Override
+  public void doCleanupAfterCompletion(String transactionId) {
+    transactionChanges.remove();
+  }
+
+  /** Registers an added or updated entity of a cacheable repository in the current transaction. */
+  void putUpdate(Entity entity) {
+    L3CacheChanges changes = transactionChanges.get();
+    if (changes != null) {
+      changes.putUpdate(entity);
+    }
+  }
+
+  /** Registers a deleted entity of a cacheable repository in the current transaction. */
+  void putDeletion(EntityType entityType, Object entityId) {
+    L3CacheChanges changes = transactionChanges.get();
+    if (changes != null) {
+      changes.putDeletion(entityType, entityId);
+    }
   }
 
   @Override
   public void afterCommitTransaction(String transactionId) {
-    transactionInformation.getDirtyRepositories().forEach(caches::remove);
+    L3CacheChanges changes = transactionChanges.get();
+    Set<String> entirelyDirtyRepositories = transactionInformation.getEntirelyDirtyRepositories();
+    Map<String, Set<Object>> dirtyEntityIds =
+        transactionInformation.getDirtyEntities().stream()
+            .collect(groupingBy(EntityKey::getEntityTypeId, mapping(EntityKey::getId, toSet())));
+
+    for (String entityTypeId : transactionInformation.getDirtyRepositories()) {
+      LoadingCache<Query<Entity>, List<Object>> cache = caches.get(entityTypeId);
+      if (cache == null) {
+        continue;
+      }
+      Map<Object, Entity> changedEntities = null;
+      if (changes != null && !entirelyDirtyRepositories.contains(entityTypeId)) {
+        changedEntities =
+            changes.getChanges(
+                entityTypeId, dirtyEntityIds.getOrDefault(entityTypeId, Collections.emptySet()));
+      }
+      if (changedEntities == null) {
+        caches.remove(entityTypeId);
+      } else {
+        evictAffectedQueries(entityTypeId, cache, changedEntities);
+      }
+    }
+  }
+
+  /** Other nodes don't share their changed rows, so drop the caches of all dirty repositories. */
+  @Override
+  public void onCacheInvalidation(CacheInvalidation cacheInvalidation) {
+    cacheInvalidation.getDirtyRepositories().forEach(caches::remove);
+  }
+
+  @Override
+  public void onCacheInvalidationsMissed() {
+    caches.clear();
+  }
+
+  private static void evictAffectedQueries(
+      String entityTypeId,
+      LoadingCache<Query<Entity>, List<Object>> cache,
+      Map<Object, Entity> changedEntities) {
+    LOG.trace("Evicting affected queries from Query cache for entity type {}", entityTypeId);
+    cache
+        .asMap()
+        .entrySet()
+        .removeIf(entry -> isAffected(entry.getKey(), entry.getValue(), changedEntities));
+  }
+
+  /**
+   * Returns whether the result of a cached query could have changed: the cached ids contain a
+   * changed entity or a changed entity could match the query rules. Queries with an offset are
+   * always affected, because changes in preceding pages shift their results.
+   */
+  private static boolean isAffected(
+      Query<Entity> query, List<Object> ids, Map<Object, Entity> changedEntities) {
+    if (query.getOffset() > 0 || !Collections.disjoint(ids, changedEntities.keySet())) {
+      return true;
+    }
+    return changedEntities.values().stream()
+        .filter(Objects::nonNull)
+        .anyMatch(entity -> QueryRuleMatcher.mayMatch(query.getRules(), entity));
   }
 
   public List<Object> get(Repository<Entity> repository, Query<Entity> query) {
@@ -76,14 +213,16 @@ public class L3Cache implements TransactionListener {
   private LoadingCache<Query<Entity>, List<Object>> createQueryCache(
       Repository<Entity> repository) {
     LOG.trace("Creating Query cache for repository {}", repository.getName());
+    String entityTypeId = repository.getEntityType().getId();
     LoadingCache<Query<Entity>, List<Object>> cache =
         CaffeinatedGuava.build(
             Caffeine.newBuilder()
                 .recordStats()
-                .maximumSize(MAX_CACHE_SIZE_PER_QUERY)
-                .expireAfterAccess(10, MINUTES),
+                .maximumWeight(maxIdsPerEntityType.getOrDefault(entityTypeId, maxIds))
+                .weigher((Query<Entity> query, List<Object> ids) -> ids.size() + 1)
+                .expireAfterAccess(expireAfterAccessMinutes, MINUTES),
             createCacheLoader(repository));
-    GuavaCacheMetrics.monitor(meterRegistry, cache, "l3." + repository.getEntityType().getId());
+    GuavaCacheMetrics.monitor(meterRegistry, cache, "l3." + entityTypeId);
     return cache;
   }
 
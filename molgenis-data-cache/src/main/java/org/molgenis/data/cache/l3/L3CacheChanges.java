@@ -0,0 +1,67 @@
+package org.molgenis.data.cache.l3;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import javax.annotation.CheckForNull;
+import javax.annotation.Nullable;
+import org.molgenis.data.Entity;
+import org.molgenis.data.meta.model.EntityType;
+
+/**
+ * Rows of cacheable repositories that were added, updated or deleted within a single transaction.
+ * Used to evict only the affected queries from the {@link L3Cache} after commit. Once the number
+ * of changes for an entity type exceeds the limit the changes are no longer tracked and the whole
+ * query cache of that entity type gets evicted.
+ */
+class L3CacheChanges {
+  private final int maxChangesPerEntityType;
+
+  /** maps entity type id to entity id and the changed entity or null if the entity was deleted */
+  private final Map<String, Map<Object, Entity>> changes = new HashMap<>();
+
+  private final Set<String> untrackedEntityTypeIds = new HashSet<>();
+
+  L3CacheChanges(int maxChangesPerEntityType) {
+    this.maxChangesPerEntityType = maxChangesPerEntityType;
+  }
+
+  void putUpdate(Entity entity) {
+    put(entity.getEntityType(), entity.getIdValue(), entity);
+  }
+
+  void putDeletion(EntityType entityType, Object entityId) {
+    put(entityType, entityId, null);
+  }
+
+  private void put(EntityType entityType, Object entityId, @Nullable Entity entity) {
+    String entityTypeId = entityType.getId();
+    if (untrackedEntityTypeIds.contains(entityTypeId)) {
+      return;
+    }
+    Map<Object, Entity> entityTypeChanges =
+        changes.computeIfAbsent(entityTypeId, id -> new HashMap<>());
+    entityTypeChanges.put(entityId, entity);
+    if (entityTypeChanges.size() > maxChangesPerEntityType) {
+      changes.remove(entityTypeId);
+      untrackedEntityTypeIds.add(entityTypeId);
+    }
+  }
+
+  /**
+   * Returns the changes for the given entity type if they include all given dirty entity ids.
+   *
+   * @return map of entity id to changed entity (or null for deleted entities) or null if the
+   *     changes for this entity type are incomplete
+   */
+  @CheckForNull
+  @Nullable
+  Map<Object, Entity> getChanges(String entityTypeId, Set<Object> dirtyEntityIds) {
+    Map<Object, Entity> entityTypeChanges = changes.get(entityTypeId);
+    if (entityTypeChanges == null || !entityTypeChanges.keySet().containsAll(dirtyEntityIds)) {
+      return null;
+    }
+    return entityTypeChanges;
+  }
+}
@@ -20,6 +20,9 @@ import org.slf4j.Logger;
  * Retrieves identifiers from the {@link L3Cache} based on a {@link Query} if {@link
  * RepositoryCapability#CACHEABLE}.
  *
+ * <p>Registers single entity changes with the {@link L3Cache} so that after commit only the
+ * affected queries are evicted.
+ *
  * <p>Delegates to the underlying {@link Repository}
  */
 public class L3CacheRepositoryDecorator extends AbstractRepositoryDecorator<Entity> {
@@ -86,4 +89,36 @@ public class L3CacheRepositoryDecorator extends AbstractRepositoryDecorator<Enti
     }
     return delegate().findOne(query);
   }
+
+  @Override
+  public void add(Entity entity) {
+    delegate().add(entity);
+    if (cacheable) {
+      l3Cache.putUpdate(entity);
+    }
+  }
+
+  @Override
+  public void update(Entity entity) {
+    delegate().update(entity);
+    if (cacheable) {
+      l3Cache.putUpdate(entity);
+    }
+  }
+
+  @Override
+  public void delete(Entity entity) {
+    delegate().delete(entity);
+    if (cacheable) {
+      l3Cache.putDeletion(getEntityType(), entity.getIdValue());
+    }
+  }
+
+  @Override
+  public void deleteById(Object id) {
+    delegate().deleteById(id);
+    if (cacheable) {
+      l3Cache.putDeletion(getEntityType(), id);
+    }
+  }
 }
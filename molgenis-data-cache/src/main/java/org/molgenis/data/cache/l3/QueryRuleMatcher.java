@@ -0,0 +1,232 @@
+package org.molgenis.data.cache.l3;
+
+import static java.util.stream.Collectors.toList;
+
+import com.google.common.collect.Streams;
+import java.math.BigDecimal;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Objects;
+import java.util.function.IntPredicate;
+import javax.annotation.Nullable;
+import org.molgenis.data.Entity;
+import org.molgenis.data.QueryRule;
+import org.molgenis.data.meta.model.Attribute;
+
+/**
+ * Conservatively evaluates {@link QueryRule}s against an in-memory {@link Entity}. Only the
+ * attributes and operators that can be evaluated exactly are supported, all other rules evaluate to
+ * {@link Match#UNKNOWN} so that callers can treat the entity as a potential match.
+ */
+class QueryRuleMatcher {
+  enum Match {
+    YES,
+    NO,
+    UNKNOWN;
+
+    Match and(Match other) {
+      if (this == NO || other == NO) {
+        return NO;
+      }
+      return this == YES && other == YES ? YES : UNKNOWN;
+    }
+
+    Match or(Match other) {
+      if (this == YES || other == YES) {
+        return YES;
+      }
+      return this == NO && other == NO ? NO : UNKNOWN;
+    }
+
+    Match not() {
+      if (this == UNKNOWN) {
+        return UNKNOWN;
+      }
+      return this == YES ? NO : YES;
+    }
+  }
+
+  private QueryRuleMatcher() {}
+
+  /**
+   * Returns whether the entity could be part of the result of a query with the given rules.
+   *
+   * @return <code>false</code> if the entity is known not to match, <code>true</code> otherwise
+   */
+  static boolean mayMatch(List<QueryRule> rules, Entity entity) {
+    return match(rules, entity) != Match.NO;
+  }
+
+  /** Evaluates a list of rules in which AND takes precedence over OR. */
+  static Match match(List<QueryRule> rules, Entity entity) {
+    Match anyMatch = Match.NO;
+    Match allMatch = Match.YES;
+    boolean negate = false;
+    for (QueryRule rule : rules) {
+      switch (rule.getOperator()) {
+        case AND:
+          break;
+        case OR:
+          anyMatch = anyMatch.or(allMatch);
+          allMatch = Match.YES;
+          break;
+        case NOT:
+          negate = !negate;
+          break;
+        default:
+          Match match = matchRule(rule, entity);
+          allMatch = allMatch.and(negate ? match.not() : match);
+          negate = false;
+          break;
+      }
+    }
+    return anyMatch.or(allMatch);
+  }
+
+  private static Match matchRule(QueryRule rule, Entity entity) {
+    if (rule.getOperator() == QueryRule.Operator.NESTED) {
+      return match(rule.getNestedRules(), entity);
+    }
+
+    String field = rule.getField();
+    if (field == null) {
+      return Match.UNKNOWN;
+    }
+    Attribute attribute = entity.getEntityType().getAttribute(field);
+    if (attribute == null || attribute.isMappedBy() || attribute.hasExpression()) {
+      return Match.UNKNOWN;
+    }
+    List<Object> values = getValues(entity.get(field));
+
+    switch (rule.getOperator()) {
+      case EQUALS:
+        return matchEquals(values, rule.getValue());
+      case IN:
+        return matchIn(values, rule.getValue());
+      case LESS:
+        return matchComparison(values, rule.getValue(), compared -> compared < 0);
+      case LESS_EQUAL:
+        return matchComparison(values, rule.getValue(), compared -> compared <= 0);
+      case GREATER:
+        return matchComparison(values, rule.getValue(), compared -> compared > 0);
+      case GREATER_EQUAL:
+        return matchComparison(values, rule.getValue(), compared -> compared >= 0);
+      case RANGE:
+        return matchRange(values, rule.getValue());
+      default:
+        return Match.UNKNOWN;
+    }
+  }
+
+  private static Match matchEquals(List<Object> values, @Nullable Object queryValue) {
+    if (queryValue == null) {
+      return values.isEmpty() ? Match.YES : Match.NO;
+    }
+    Match match = Match.NO;
+    for (Object value : values) {
+      match = match.or(matchValue(value, toValue(queryValue)));
+    }
+    return match;
+  }
+
+  private static Match matchIn(List<Object> values, @Nullable Object queryValue) {
+    if (!(queryValue instanceof Iterable<?>)) {
+      return Match.UNKNOWN;
+    }
+    Match match = Match.NO;
+    for (Object inValue : (Iterable<?>) queryValue) {
+      match = match.or(matchEquals(values, inValue));
+    }
+    return match;
+  }
+
+  private static Match matchRange(List<Object> values, @Nullable Object queryValue) {
+    if (!(queryValue instanceof Iterable<?>)) {
+      return Match.UNKNOWN;
+    }
+    Iterator<?> range = ((Iterable<?>) queryValue).iterator();
+    Object from = range.hasNext() ? range.next() : null;
+    Object to = range.hasNext() ? range.next() : null;
+    if (from == null || to == null) {
+      return Match.UNKNOWN;
+    }
+    return matchComparison(values, from, compared -> compared >= 0)
+        .and(matchComparison(values, to, compared -> compared <= 0));
+  }
+
+  private static Match matchComparison(
+      List<Object> values, @Nullable Object queryValue, IntPredicate predicate) {
+    if (values.size() != 1 || queryValue == null) {
+      return Match.UNKNOWN;
+    }
+    Integer compared = compare(values.get(0), toValue(queryValue));
+    if (compared == null) {
+      return Match.UNKNOWN;
+    }
+    return predicate.test(compared) ? Match.YES : Match.NO;
+  }
+
+  private static Match matchValue(Object value, Object queryValue) {
+    if (value instanceof String && queryValue instanceof String) {
+      if (value.equals(queryValue)) {
+        return Match.YES;
+      }
+      // the index might compare strings case-insensitively
+      return ((String) value).equalsIgnoreCase((String) queryValue) ? Match.UNKNOWN : Match.NO;
+    }
+    if (value instanceof Number && queryValue instanceof Number) {
+      Integer compared = compareNumbers((Number) value, (Number) queryValue);
+      if (compared == null) {
+        return Match.UNKNOWN;
+      }
+      return compared == 0 ? Match.YES : Match.NO;
+    }
+    if (value.getClass() != queryValue.getClass()) {
+      return Match.UNKNOWN;
+    }
+    return Objects.equals(value, queryValue) ? Match.YES : Match.NO;
+  }
+
+  @Nullable
+  @SuppressWarnings({"unchecked", "rawtypes"})
+  private static Integer compare(Object value, Object queryValue) {
+    if (value instanceof Number && queryValue instanceof Number) {
+      return compareNumbers((Number) value, (Number) queryValue);
+    }
+    if (value instanceof String
+        || value.getClass() != queryValue.getClass()
+        || !(value instanceof Comparable)) {
+      // string ordering depends on the collation of the backend
+      return null;
+    }
+    return ((Comparable) value).compareTo(queryValue);
+  }
+
+  @Nullable
+  private static Integer compareNumbers(Number number, Number otherNumber) {
+    if (!isFinite(number) || !isFinite(otherNumber)) {
+      return null;
+    }
+    return new BigDecimal(number.toString()).compareTo(new BigDecimal(otherNumber.toString()));
+  }
+
+  private static boolean isFinite(Number number) {
+    return !(number instanceof Double || number instanceof Float)
+        || Double.isFinite(number.doubleValue());
+  }
+
+  /** Returns the identifiers of referenced entities or the value itself. */
+  private static List<Object> getValues(@Nullable Object value) {
+    if (value == null) {
+      return List.of();
+    }
+    if (value instanceof Iterable<?>) {
+      return Streams.stream((Iterable<?>) value).map(QueryRuleMatcher::toValue).collect(toList());
+    }
+    return List.of(toValue(value));
+  }
+
+  private static Object toValue(Object value) {
+    return value instanceof Entity ? ((Entity) value).getIdValue() : value;
+  }
+}
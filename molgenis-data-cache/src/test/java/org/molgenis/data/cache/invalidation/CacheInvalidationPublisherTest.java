@@ -0,0 +1,60 @@
+package org.molgenis.data.cache.invalidation;
+
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+import java.util.Set;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.molgenis.data.EntityKey;
+import org.molgenis.data.transaction.CacheInvalidation;
+import org.molgenis.data.transaction.CacheInvalidationBus;
+import org.molgenis.data.transaction.TransactionInformation;
+import org.molgenis.data.transaction.TransactionManager;
+import org.molgenis.test.AbstractMockitoTest;
+
+class CacheInvalidationPublisherTest extends AbstractMockitoTest {
+  @Mock private TransactionManager transactionManager;
+  @Mock private TransactionInformation transactionInformation;
+  @Mock private CacheInvalidationBus cacheInvalidationBus;
+  private CacheInvalidationPublisher cacheInvalidationPublisher;
+
+  @BeforeEach
+  void setUpBeforeEach() {
+    cacheInvalidationPublisher =
+        new CacheInvalidationPublisher(
+            transactionManager, transactionInformation, cacheInvalidationBus);
+  }
+
+  @Test
+  void testCacheInvalidationPublisher() {
+    verify(transactionManager).addTransactionListener(cacheInvalidationPublisher);
+  }
+
+  @Test
+  void testAfterCommitTransaction() {
+    EntityKey entityKey = EntityKey.create("entityTypeId", 1);
+    when(transactionInformation.getDirtyEntities()).thenReturn(Set.of(entityKey));
+    when(transactionInformation.getDirtyRepositories()).thenReturn(Set.of("entityTypeId"));
+    when(transactionInformation.getEntirelyDirtyRepositories()).thenReturn(Set.of());
+
+    cacheInvalidationPublisher.afterCommitTransaction("transactionId");
+
+    verify(cacheInvalidationBus)
+        .publish(
+            CacheInvalidation.create(Set.of(entityKey), Set.of("entityTypeId"), Set.of(), false));
+  }
+
+  @Test
+  void testAfterCommitTransactionNothingDirty() {
+    when(transactionInformation.getDirtyEntities()).thenReturn(Set.of());
+    when(transactionInformation.getDirtyRepositories()).thenReturn(Set.of());
+    when(transactionInformation.getEntirelyDirtyRepositories()).thenReturn(Set.of());
+
+    cacheInvalidationPublisher.afterCommitTransaction("transactionId");
+
+    verifyNoInteractions(cacheInvalidationBus);
+  }
+}
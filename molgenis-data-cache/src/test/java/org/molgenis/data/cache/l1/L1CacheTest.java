@@ -4,6 +4,8 @@ import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.when;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import java.util.Collections;
 import java.util.Map;
 import java.util.Optional;
@@ -24,11 +26,13 @@ class L1CacheTest extends AbstractMockitoTest {
 
   @Mock TransactionManager transactionManager;
   @Mock EntityHydration entityHydration;
+  private MeterRegistry meterRegistry;
   private L1Cache l1Cache;
 
   @BeforeEach
   void setUpBeforeMethod() {
-    l1Cache = new L1Cache(transactionManager, entityHydration);
+    meterRegistry = new SimpleMeterRegistry();
+    l1Cache = new L1Cache(transactionManager, entityHydration, meterRegistry);
     l1Cache.transactionStarted(TRANSACTION_ID);
   }
 
@@ -119,4 +123,18 @@ class L1CacheTest extends AbstractMockitoTest {
 
     assertEquals(Optional.empty(), l1Cache.get(entityType, entityId));
   }
+
+  @Test
+  void getCountsHitsAndMisses() {
+    EntityType entityType =
+        when(mock(EntityType.class).getId()).thenReturn("MyEntityTypeId").getMock();
+    l1Cache.putDeletion(entityType, "id0");
+
+    l1Cache.get(entityType, "id0");
+    l1Cache.get(entityType, "id1");
+    l1Cache.get(entityType, "id2");
+
+    assertEquals(1, meterRegistry.get("cache.gets").tag("result", "hit").counter().count());
+    assertEquals(2, meterRegistry.get("cache.gets").tag("result", "miss").counter().count());
+  }
 }
@@ -42,6 +42,7 @@ import org.molgenis.data.meta.model.EntityType;
 import org.molgenis.data.support.DynamicEntity;
 import org.molgenis.data.support.EntityWithComputedAttributes;
 import org.molgenis.data.support.PartialEntity;
+import org.molgenis.data.transaction.CacheInvalidationBus;
 import org.molgenis.data.transaction.TransactionInformation;
 import org.molgenis.data.transaction.TransactionManager;
 import org.molgenis.data.util.EntityUtils;
@@ -64,6 +65,8 @@ class L2CacheTest extends AbstractMolgenisSpringTest {
   @Autowired private EntityManager entityManager;
 
   @Mock private TransactionManager transactionManager;
+
+  @Mock private CacheInvalidationBus cacheInvalidationBus;
   @Mock private Repository<Entity> repository;
   @Mock private TransactionInformation transactionInformation;
   @Captor private ArgumentCaptor<Stream<Object>> idStreamCaptor;
@@ -92,7 +95,12 @@ class L2CacheTest extends AbstractMolgenisSpringTest {
     when(repository.getName()).thenReturn(emd.getId());
 
     l2Cache =
-        new L2Cache(transactionManager, entityHydration, transactionInformation, meterRegistry);
+        new L2Cache(
+            transactionManager,
+            entityHydration,
+            transactionInformation,
+            meterRegistry,
+            cacheInvalidationBus);
   }
 
   @Test
@@ -196,6 +196,20 @@ class L3CacheRepositoryDecoratorTest extends AbstractMolgenisSpringTest {
     verifyNoMoreInteractions(l3Cache);
   }
 
+  @Test
+  void testUpdate() {
+    l3CacheRepositoryDecorator.update(entity1);
+    verify(delegateRepository).update(entity1);
+    verify(l3Cache).putUpdate(entity1);
+  }
+
+  @Test
+  void testDeleteById() {
+    l3CacheRepositoryDecorator.deleteById(3);
+    verify(delegateRepository).deleteById(3);
+    verify(l3Cache).putDeletion(entityType, 3);
+  }
+
   @Configuration
   static class Config {
     @Bean
@@ -1,6 +1,7 @@
 package org.molgenis.data.cache.l3;
 
 import static java.util.Arrays.asList;
+import static java.util.Collections.singletonList;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.fail;
 import static org.mockito.Mockito.atLeast;
@@ -27,6 +28,7 @@ import org.mockito.junit.jupiter.MockitoSettings;
 import org.mockito.quality.Strictness;
 import org.molgenis.data.AbstractMolgenisSpringTest;
 import org.molgenis.data.Entity;
+import org.molgenis.data.EntityKey;
 import org.molgenis.data.Fetch;
 import org.molgenis.data.MolgenisDataException;
 import org.molgenis.data.Query;
@@ -36,6 +38,7 @@ import org.molgenis.data.meta.model.EntityType;
 import org.molgenis.data.meta.model.EntityTypeFactory;
 import org.molgenis.data.support.DynamicEntity;
 import org.molgenis.data.support.QueryImpl;
+import org.molgenis.data.transaction.CacheInvalidationBus;
 import org.molgenis.data.transaction.TransactionInformation;
 import org.molgenis.data.transaction.TransactionManager;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -60,6 +63,8 @@ class L3CacheTest extends AbstractMolgenisSpringTest {
 
   @Mock private TransactionManager transactionManager;
 
+  @Mock private CacheInvalidationBus cacheInvalidationBus;
+
   private MeterRegistry meterRegistry = new SimpleMeterRegistry();
 
   @Autowired private EntityTypeFactory entityTypeFactory;
@@ -91,7 +96,15 @@ class L3CacheTest extends AbstractMolgenisSpringTest {
     when(decoratedRepository.getName()).thenReturn(repositoryName);
     when(decoratedRepository.getEntityType()).thenReturn(entityType);
 
-    l3Cache = new L3Cache(transactionManager, transactionInformation, meterRegistry);
+    l3Cache =
+        new L3Cache(
+            transactionManager,
+            transactionInformation,
+            meterRegistry,
+            cacheInvalidationBus,
+            1000,
+            "",
+            10);
   }
 
   @Test
@@ -190,4 +203,97 @@ class L3CacheTest extends AbstractMolgenisSpringTest {
     verify(decoratedRepository, atLeast(0)).getEntityType();
     verifyNoMoreInteractions(decoratedRepository);
   }
+
+  @Test
+  void testAfterCommitTransactionUnaffectedQuery() {
+    Fetch idAttributeFetch = new Fetch().field(entityType.getIdAttribute().getName());
+    Query<Entity> fetchLessQuery = new QueryImpl<>().eq(COUNTRY, "NL").fetch(idAttributeFetch);
+    when(decoratedRepository.findAll(fetchLessQuery)).thenReturn(Stream.of(entity1, entity2));
+
+    Query<Entity> query = new QueryImpl<>().eq(COUNTRY, "NL");
+    assertEquals(asList(1, 2), l3Cache.get(decoratedRepository, query));
+
+    l3Cache.transactionStarted("ABCDE");
+    entity3.set(COUNTRY, "BE");
+    l3Cache.putUpdate(entity3);
+    when(transactionInformation.getDirtyRepositories())
+        .thenReturn(Collections.singleton(repositoryName));
+    when(transactionInformation.getDirtyEntities())
+        .thenReturn(Collections.singleton(EntityKey.create(entityType, 3)));
+    l3Cache.afterCommitTransaction("ABCDE");
+    l3Cache.doCleanupAfterCompletion("ABCDE");
+
+    assertEquals(asList(1, 2), l3Cache.get(decoratedRepository, query));
+    verify(decoratedRepository, times(1)).findAll(fetchLessQuery);
+  }
+
+  @Test
+  void testAfterCommitTransactionMatchingQuery() {
+    Fetch idAttributeFetch = new Fetch().field(entityType.getIdAttribute().getName());
+    Query<Entity> fetchLessQuery = new QueryImpl<>().eq(COUNTRY, "NL").fetch(idAttributeFetch);
+    when(decoratedRepository.findAll(fetchLessQuery)).thenReturn(Stream.of(entity1, entity2));
+
+    Query<Entity> query = new QueryImpl<>().eq(COUNTRY, "NL");
+    assertEquals(asList(1, 2), l3Cache.get(decoratedRepository, query));
+
+    l3Cache.transactionStarted("ABCDE");
+    entity3.set(COUNTRY, "NL");
+    l3Cache.putUpdate(entity3);
+    when(transactionInformation.getDirtyRepositories())
+        .thenReturn(Collections.singleton(repositoryName));
+    when(transactionInformation.getDirtyEntities())
+        .thenReturn(Collections.singleton(EntityKey.create(entityType, 3)));
+    l3Cache.afterCommitTransaction("ABCDE");
+    l3Cache.doCleanupAfterCompletion("ABCDE");
+
+    when(decoratedRepository.findAll(fetchLessQuery))
+        .thenReturn(Stream.of(entity1, entity2, entity3));
+    assertEquals(asList(1, 2, 3), l3Cache.get(decoratedRepository, query));
+    verify(decoratedRepository, times(2)).findAll(fetchLessQuery);
+  }
+
+  @Test
+  void testAfterCommitTransactionDeletedEntity() {
+    Fetch idAttributeFetch = new Fetch().field(entityType.getIdAttribute().getName());
+    Query<Entity> fetchLessQuery = new QueryImpl<>().eq(COUNTRY, "NL").fetch(idAttributeFetch);
+    when(decoratedRepository.findAll(fetchLessQuery)).thenReturn(Stream.of(entity1, entity2));
+
+    Query<Entity> query = new QueryImpl<>().eq(COUNTRY, "NL");
+    assertEquals(asList(1, 2), l3Cache.get(decoratedRepository, query));
+
+    l3Cache.transactionStarted("ABCDE");
+    l3Cache.putDeletion(entityType, 2);
+    when(transactionInformation.getDirtyRepositories())
+        .thenReturn(Collections.singleton(repositoryName));
+    when(transactionInformation.getDirtyEntities())
+        .thenReturn(Collections.singleton(EntityKey.create(entityType, 2)));
+    l3Cache.afterCommitTransaction("ABCDE");
+    l3Cache.doCleanupAfterCompletion("ABCDE");
+
+    when(decoratedRepository.findAll(fetchLessQuery)).thenReturn(Stream.of(entity1));
+    assertEquals(singletonList(1), l3Cache.get(decoratedRepository, query));
+    verify(decoratedRepository, times(2)).findAll(fetchLessQuery);
+  }
+
+  @Test
+  void testAfterCommitTransactionUntrackedChanges() {
+    Fetch idAttributeFetch = new Fetch().field(entityType.getIdAttribute().getName());
+    Query<Entity> fetchLessQuery = new QueryImpl<>().eq(COUNTRY, "NL").fetch(idAttributeFetch);
+    when(decoratedRepository.findAll(fetchLessQuery)).thenReturn(Stream.of(entity1, entity2));
+
+    Query<Entity> query = new QueryImpl<>().eq(COUNTRY, "NL");
+    assertEquals(asList(1, 2), l3Cache.get(decoratedRepository, query));
+
+    l3Cache.transactionStarted("ABCDE");
+    when(transactionInformation.getDirtyRepositories())
+        .thenReturn(Collections.singleton(repositoryName));
+    when(transactionInformation.getDirtyEntities())
+        .thenReturn(Collections.singleton(EntityKey.create(entityType, 3)));
+    l3Cache.afterCommitTransaction("ABCDE");
+    l3Cache.doCleanupAfterCompletion("ABCDE");
+
+    when(decoratedRepository.findAll(fetchLessQuery)).thenReturn(Stream.of(entity1));
+    assertEquals(singletonList(1), l3Cache.get(decoratedRepository, query));
+    verify(decoratedRepository, times(2)).findAll(fetchLessQuery);
+  }
 }
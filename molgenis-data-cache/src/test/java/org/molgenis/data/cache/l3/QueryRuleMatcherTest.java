@@ -0,0 +1,88 @@
+package org.molgenis.data.cache.l3;
+
+import static java.util.Arrays.asList;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.when;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.molgenis.data.Entity;
+import org.molgenis.data.Query;
+import org.molgenis.data.cache.l3.QueryRuleMatcher.Match;
+import org.molgenis.data.meta.model.Attribute;
+import org.molgenis.data.meta.model.EntityType;
+import org.molgenis.data.support.QueryImpl;
+import org.molgenis.test.AbstractMockitoTest;
+
+@MockitoSettings(strictness = Strictness.LENIENT)
+class QueryRuleMatcherTest extends AbstractMockitoTest {
+  @Mock private Entity entity;
+  @Mock private EntityType entityType;
+  @Mock private Attribute countryAttribute;
+  @Mock private Attribute ageAttribute;
+
+  @BeforeEach
+  void setUpBeforeEach() {
+    when(entity.getEntityType()).thenReturn(entityType);
+    when(entityType.getAttribute("country")).thenReturn(countryAttribute);
+    when(entityType.getAttribute("age")).thenReturn(ageAttribute);
+    when(entity.get("country")).thenReturn("NL");
+    when(entity.get("age")).thenReturn(42);
+  }
+
+  @Test
+  void testMatchEquals() {
+    assertEquals(Match.YES, match(new QueryImpl<>().eq("country", "NL")));
+    assertEquals(Match.NO, match(new QueryImpl<>().eq("country", "GB")));
+  }
+
+  @Test
+  void testMatchEqualsCaseInsensitive() {
+    assertEquals(Match.UNKNOWN, match(new QueryImpl<>().eq("country", "nl")));
+  }
+
+  @Test
+  void testMatchIn() {
+    assertEquals(Match.YES, match(new QueryImpl<>().in("country", asList("GB", "NL"))));
+    assertEquals(Match.NO, match(new QueryImpl<>().in("country", asList("GB", "BE"))));
+  }
+
+  @Test
+  void testMatchComparison() {
+    assertEquals(Match.YES, match(new QueryImpl<>().lt("age", 50L)));
+    assertEquals(Match.NO, match(new QueryImpl<>().gt("age", 50)));
+    assertEquals(Match.YES, match(new QueryImpl<>().rng("age", 40, 42)));
+  }
+
+  @Test
+  void testMatchAndOrNot() {
+    Query<Entity> query =
+        new QueryImpl<>().eq("country", "GB").or().eq("age", 42).and().gt("age", 1);
+    assertEquals(Match.YES, match(query));
+    assertEquals(Match.NO, match(new QueryImpl<>().eq("country", "NL").and().gt("age", 50)));
+    assertEquals(Match.NO, match(new QueryImpl<>().not().eq("country", "NL")));
+  }
+
+  @Test
+  void testMatchUnsupportedOperator() {
+    assertEquals(Match.UNKNOWN, match(new QueryImpl<>().search("country", "NL")));
+    assertEquals(Match.UNKNOWN, match(new QueryImpl<>().not().like("country", "N")));
+  }
+
+  @Test
+  void testMatchUnknownAttribute() {
+    assertEquals(Match.UNKNOWN, match(new QueryImpl<>().eq("ref.country", "NL")));
+  }
+
+  @Test
+  void testMayMatchWithoutRules() {
+    assertEquals(Match.YES, match(new QueryImpl<>()));
+  }
+
+  private Match match(Query<Entity> query) {
+    return QueryRuleMatcher.match(query.getRules(), entity);
+  }
+}
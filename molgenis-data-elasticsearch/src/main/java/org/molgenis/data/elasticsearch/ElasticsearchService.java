@@ -5,7 +5,11 @@ import static org.molgenis.data.util.EntityTypeUtils.createFetchForReindexing;
 
 import com.google.common.collect.Iterators;
 import com.google.common.collect.Streams;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.concurrent.atomic.AtomicLong;
 import java.util.stream.Stream;
 import org.apache.lucene.search.Explanation;
@@ -22,6 +26,7 @@ import org.molgenis.data.elasticsearch.client.ClientFacade;
 import org.molgenis.data.elasticsearch.client.model.SearchHit;
 import org.molgenis.data.elasticsearch.client.model.SearchHits;
 import org.molgenis.data.elasticsearch.generator.ContentGenerators;
+import org.molgenis.data.elasticsearch.generator.ReferenceDocumentCache;
 import org.molgenis.data.elasticsearch.generator.model.Document;
 import org.molgenis.data.elasticsearch.generator.model.DocumentAction;
 import org.molgenis.data.elasticsearch.generator.model.Index;
@@ -83,9 +88,11 @@ public class ElasticsearchService implements SearchService, IndexService {
     }
 
     createIndex(entityType);
+    // referenced entity sub-documents are reused across batches
+    ReferenceDocumentCache referenceDocumentCache = new ReferenceDocumentCache();
     repository.forEachBatched(
         createFetchForReindexing(entityType),
-        entities -> index(entityType, entities.stream()),
+        entities -> index(entityType, entities.stream(), referenceDocumentCache),
         BATCH_SIZE);
   }
 
@@ -107,6 +114,23 @@ public class ElasticsearchService implements SearchService, IndexService {
     return clientFacade.getCount(queryBuilder, index);
   }
 
+  @Override
+  public Map<String, Long> count(List<EntityType> entityTypes, Query<Entity> q, Duration timeout) {
+    Map<Index, QueryBuilder> queries = new LinkedHashMap<>();
+    Map<Index, String> entityTypeIds = new HashMap<>();
+    for (EntityType entityType : entityTypes) {
+      Index index = contentGenerators.createIndex(entityType);
+      queries.put(index, contentGenerators.createQuery(q, entityType));
+      entityTypeIds.put(index, entityType.getId());
+    }
+
+    Map<String, Long> counts = new HashMap<>();
+    clientFacade
+        .getCounts(queries, timeout)
+        .forEach((index, count) -> counts.put(entityTypeIds.get(index), count));
+    return counts;
+  }
+
   @Override
   public Stream<Object> search(EntityType entityType, Query<Entity> q) {
     int from = q.getOffset();
@@ -204,9 +228,16 @@ public class ElasticsearchService implements SearchService, IndexService {
 
   @Override
   public long index(EntityType entityType, Stream<? extends Entity> entities) {
+    return index(entityType, entities, new ReferenceDocumentCache());
+  }
+
+  private long index(
+      EntityType entityType,
+      Stream<? extends Entity> entities,
+      ReferenceDocumentCache referenceDocumentCache) {
     Index index = contentGenerators.createIndex(entityType);
     Stream<DocumentAction> documentActionStream =
-        entities.map(entity -> this.toDocumentAction(index, entity));
+        entities.map(entity -> this.toDocumentAction(index, entity, referenceDocumentCache));
 
     AtomicLong count = new AtomicLong(0L);
     clientFacade.processDocumentActions(
@@ -218,8 +249,9 @@ public class ElasticsearchService implements SearchService, IndexService {
     return count.get();
   }
 
-  private DocumentAction toDocumentAction(Index index, Entity entity) {
-    Document document = contentGenerators.createDocument(entity);
+  private DocumentAction toDocumentAction(
+      Index index, Entity entity, ReferenceDocumentCache referenceDocumentCache) {
+    Document document = contentGenerators.createDocument(entity, referenceDocumentCache);
     return DocumentAction.create(index, document, DocumentAction.Operation.INDEX);
   }
 
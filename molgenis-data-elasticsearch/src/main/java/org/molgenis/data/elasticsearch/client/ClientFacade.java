@@ -2,6 +2,7 @@ package org.molgenis.data.elasticsearch.client;
 
 import static java.lang.String.format;
 import static java.util.Arrays.stream;
+import static java.util.Collections.emptyMap;
 import static java.util.Collections.singletonList;
 import static java.util.Objects.requireNonNull;
 import static java.util.stream.Collectors.joining;
@@ -10,14 +11,19 @@ import static org.elasticsearch.action.DocWriteRequest.OpType.INDEX;
 import static org.molgenis.data.elasticsearch.ElasticsearchService.MAX_BATCH_SIZE;
 import static org.molgenis.util.stream.MapCollectors.toLinkedMap;
 
+import com.google.common.collect.Iterables;
 import java.io.Closeable;
+import java.time.Duration;
 import java.util.Arrays;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Map.Entry;
 import java.util.concurrent.TimeUnit;
 import java.util.stream.Stream;
 import org.apache.lucene.search.Explanation;
 import org.elasticsearch.ElasticsearchException;
+import org.elasticsearch.ElasticsearchTimeoutException;
 import org.elasticsearch.ResourceAlreadyExistsException;
 import org.elasticsearch.ResourceNotFoundException;
 import org.elasticsearch.action.DocWriteRequest;
@@ -37,12 +43,15 @@ import org.elasticsearch.action.explain.ExplainRequestBuilder;
 import org.elasticsearch.action.explain.ExplainResponse;
 import org.elasticsearch.action.index.IndexRequestBuilder;
 import org.elasticsearch.action.index.IndexResponse;
+import org.elasticsearch.action.search.MultiSearchRequestBuilder;
+import org.elasticsearch.action.search.MultiSearchResponse;
 import org.elasticsearch.action.search.SearchRequestBuilder;
 import org.elasticsearch.action.search.SearchResponse;
 import org.elasticsearch.action.search.ShardSearchFailure;
 import org.elasticsearch.action.support.replication.ReplicationResponse;
 import org.elasticsearch.client.Client;
 import org.elasticsearch.client.Requests;
+import org.elasticsearch.common.unit.TimeValue;
 import org.elasticsearch.common.xcontent.XContentBuilder;
 import org.elasticsearch.index.query.QueryBuilder;
 import org.elasticsearch.search.aggregations.AggregationBuilder;
@@ -72,6 +81,7 @@ import org.slf4j.LoggerFactory;
  */
 public class ClientFacade implements Closeable {
   private static final Logger LOG = LoggerFactory.getLogger(ClientFacade.class);
+  private static final int MULTI_SEARCH_BATCH_SIZE = 100;
 
   private final Client client;
   private final SettingsContentBuilder settingsBuilder;
@@ -302,6 +312,71 @@ public class ClientFacade implements Closeable {
     return totalHits;
   }
 
+  /**
+   * Counts docs in multiple indexes using multi search requests, each request counts docs in at
+   * most {@link #MULTI_SEARCH_BATCH_SIZE} indexes.
+   *
+   * @param queries count query per index
+   * @param timeout time budget for counting docs in all indexes
+   * @return number of docs per index, indexes in which docs could not be counted within the time
+   *     budget are absent
+   */
+  public Map<Index, Long> getCounts(Map<Index, QueryBuilder> queries, Duration timeout) {
+    Map<Index, Long> counts = new HashMap<>();
+    long deadline = System.nanoTime() + timeout.toNanos();
+    for (List<Entry<Index, QueryBuilder>> batch :
+        Iterables.partition(queries.entrySet(), MULTI_SEARCH_BATCH_SIZE)) {
+      long remainingMillis = TimeUnit.NANOSECONDS.toMillis(deadline - System.nanoTime());
+      if (remainingMillis <= 0) {
+        LOG.debug("Time budget exceeded, not counting docs in remaining index(es)");
+        break;
+      }
+      counts.putAll(getCounts(batch, TimeValue.timeValueMillis(remainingMillis)));
+    }
+    return counts;
+  }
+
+  private Map<Index, Long> getCounts(List<Entry<Index, QueryBuilder>> queries, TimeValue timeout) {
+    List<Index> indexes = queries.stream().map(Entry::getKey).collect(toList());
+    if (LOG.isTraceEnabled()) {
+      LOG.trace("Counting docs in index(es) '{}' ...", toString(indexes));
+    }
+
+    MultiSearchRequestBuilder multiSearchRequest = client.prepareMultiSearch();
+    for (Entry<Index, QueryBuilder> entry : queries) {
+      SearchRequestBuilder searchRequest =
+          createSearchRequest(entry.getValue(), null, 0, null, null, singletonList(entry.getKey()));
+      multiSearchRequest.add(searchRequest.setTimeout(timeout));
+    }
+
+    MultiSearchResponse multiSearchResponse;
+    try {
+      multiSearchResponse = multiSearchRequest.get(timeout);
+    } catch (ElasticsearchTimeoutException e) {
+      LOG.warn("Timeout while counting docs in index(es) '{}'.", toString(indexes));
+      return emptyMap();
+    } catch (ElasticsearchException e) {
+      LOG.error("", e);
+      throw new IndexException(format("Error counting docs in index(es) '%s'.", toString(indexes)));
+    }
+
+    Map<Index, Long> counts = new HashMap<>();
+    MultiSearchResponse.Item[] items = multiSearchResponse.getResponses();
+    for (int i = 0; i < items.length; i++) {
+      Index index = indexes.get(i);
+      MultiSearchResponse.Item item = items[i];
+      if (item.isFailure()) {
+        LOG.debug("Error counting docs in index '{}'.", index.getName(), item.getFailure());
+      } else if (item.getResponse().isTimedOut() || item.getResponse().getFailedShards() > 0) {
+        LOG.debug("Incomplete count of docs in index '{}'.", index.getName());
+      } else {
+        counts.put(index, item.getResponse().getHits().getTotalHits());
+      }
+    }
+    LOG.debug("Counted docs in {} of {} index(es).", counts.size(), indexes.size());
+    return counts;
+  }
+
   public SearchHits search(QueryBuilder query, int from, int size, List<Index> indexes) {
     return search(query, from, size, null, indexes);
   }
@@ -62,4 +62,8 @@ public class ContentGenerators {
   public Document createDocument(Entity entity) {
     return documentGenerator.createDocument(entity);
   }
+
+  public Document createDocument(Entity entity, ReferenceDocumentCache referenceDocumentCache) {
+    return documentGenerator.createDocument(entity, referenceDocumentCache);
+  }
 }
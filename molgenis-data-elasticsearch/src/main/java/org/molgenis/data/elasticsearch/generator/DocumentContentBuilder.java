@@ -7,6 +7,10 @@ import com.google.common.collect.Iterables;
 import java.io.IOException;
 import java.time.Instant;
 import java.time.LocalDate;
+import javax.annotation.CheckForNull;
+import javax.annotation.Nullable;
+import org.elasticsearch.common.bytes.BytesReference;
+import org.elasticsearch.common.io.stream.BytesStreamOutput;
 import org.elasticsearch.common.xcontent.XContentBuilder;
 import org.elasticsearch.common.xcontent.XContentFactory;
 import org.elasticsearch.common.xcontent.XContentGenerator;
@@ -39,13 +43,27 @@ class DocumentContentBuilder {
    * @return Elasticsearch document source content
    */
   Document createDocument(Entity entity) {
+    return createDocument(entity, null);
+  }
+
+  /**
+   * Create Elasticsearch document source content from entity, reusing referenced entity
+   * sub-documents that were created before.
+   *
+   * @param entity the entity to convert to document source content
+   * @param referenceDocumentCache cache of referenced entity sub-documents, or <code>null</code> to
+   *     create all sub-documents
+   * @return Elasticsearch document source content
+   */
+  Document createDocument(
+      Entity entity, @Nullable @CheckForNull ReferenceDocumentCache referenceDocumentCache) {
     int maxIndexingDepth = entity.getEntityType().getIndexingDepth();
     XContentBuilder contentBuilder;
     try {
       contentBuilder = XContentFactory.contentBuilder(JSON);
       XContentGenerator generator = contentBuilder.generator();
       generator.writeStartObject();
-      createRec(entity, generator, 0, maxIndexingDepth);
+      createRec(entity, generator, 0, maxIndexingDepth, referenceDocumentCache);
       generator.writeEndObject();
     } catch (IOException e) {
       throw new RuntimeException(e);
@@ -54,16 +72,26 @@ class DocumentContentBuilder {
     return Document.create(documentId, contentBuilder);
   }
 
-  private void createRec(Entity entity, XContentGenerator generator, int depth, int maxDepth)
+  private void createRec(
+      Entity entity,
+      XContentGenerator generator,
+      int depth,
+      int maxDepth,
+      @Nullable ReferenceDocumentCache referenceDocumentCache)
       throws IOException {
     for (Attribute attr : entity.getEntityType().getAtomicAttributes()) {
       generator.writeFieldName(documentIdGenerator.generateId(attr));
-      createRec(entity, attr, generator, depth, maxDepth);
+      createRec(entity, attr, generator, depth, maxDepth, referenceDocumentCache);
     }
   }
 
   private void createRec(
-      Entity entity, Attribute attr, XContentGenerator generator, int depth, int maxDepth)
+      Entity entity,
+      Attribute attr,
+      XContentGenerator generator,
+      int depth,
+      int maxDepth,
+      @Nullable ReferenceDocumentCache referenceDocumentCache)
       throws IOException {
     String attrName = attr.getName();
     AttributeType attrType = attr.getDataType();
@@ -107,13 +135,13 @@ class DocumentContentBuilder {
       case XREF:
       case FILE:
         Entity xrefEntity = entity.getEntity(attrName);
-        writeReference(generator, depth, maxDepth, xrefEntity);
+        writeReference(generator, depth, maxDepth, xrefEntity, referenceDocumentCache);
         break;
       case CATEGORICAL_MREF:
       case MREF:
       case ONE_TO_MANY:
         Iterable<Entity> mrefEntities = entity.getEntities(attrName);
-        writeMultiReference(generator, depth, maxDepth, mrefEntities);
+        writeMultiReference(generator, depth, maxDepth, mrefEntities, referenceDocumentCache);
         break;
       case COMPOUND:
         throw new IllegalAttributeTypeException(attrType);
@@ -123,12 +151,20 @@ class DocumentContentBuilder {
   }
 
   private void writeMultiReference(
-      XContentGenerator generator, int depth, int maxDepth, Iterable<Entity> mrefEntities)
+      XContentGenerator generator,
+      int depth,
+      int maxDepth,
+      Iterable<Entity> mrefEntities,
+      @Nullable ReferenceDocumentCache referenceDocumentCache)
       throws IOException {
     if (!Iterables.isEmpty(mrefEntities)) {
+      if (referenceDocumentCache != null && depth < maxDepth) {
+        writeCachedSubDocuments(generator, depth, maxDepth, mrefEntities, referenceDocumentCache);
+        return;
+      }
       generator.writeStartArray();
       for (Entity mrefEntity : mrefEntities) {
-        createRecReferenceAttribute(generator, depth, maxDepth, mrefEntity);
+        createRecReferenceAttribute(generator, depth, maxDepth, mrefEntity, referenceDocumentCache);
       }
       generator.writeEndArray();
     } else {
@@ -137,9 +173,14 @@ class DocumentContentBuilder {
   }
 
   private void writeReference(
-      XContentGenerator generator, int depth, int maxDepth, Entity xrefEntity) throws IOException {
+      XContentGenerator generator,
+      int depth,
+      int maxDepth,
+      Entity xrefEntity,
+      @Nullable ReferenceDocumentCache referenceDocumentCache)
+      throws IOException {
     if (xrefEntity != null) {
-      createRecReferenceAttribute(generator, depth, maxDepth, xrefEntity);
+      createRecReferenceAttribute(generator, depth, maxDepth, xrefEntity, referenceDocumentCache);
     } else {
       generator.writeNull();
     }
@@ -203,15 +244,73 @@ class DocumentContentBuilder {
   }
 
   private void createRecReferenceAttribute(
-      XContentGenerator generator, int depth, int maxDepth, Entity xrefEntity) throws IOException {
+      XContentGenerator generator,
+      int depth,
+      int maxDepth,
+      Entity xrefEntity,
+      @Nullable ReferenceDocumentCache referenceDocumentCache)
+      throws IOException {
     if (depth < maxDepth) {
-      generator.writeStartObject();
-      createRec(xrefEntity, generator, depth + 1, maxDepth);
-      generator.writeEndObject();
+      if (referenceDocumentCache != null) {
+        BytesReference subDocument =
+            getSubDocument(depth, maxDepth, xrefEntity, referenceDocumentCache);
+        generator.writeRawValue(subDocument, JSON);
+      } else {
+        generator.writeStartObject();
+        createRec(xrefEntity, generator, depth + 1, maxDepth, null);
+        generator.writeEndObject();
+      }
     } else {
       Attribute xrefIdAttr = xrefEntity.getEntityType().getLabelAttribute();
-      createRec(xrefEntity, xrefIdAttr, generator, depth + 1, maxDepth);
+      createRec(xrefEntity, xrefIdAttr, generator, depth + 1, maxDepth, null);
+    }
+  }
+
+  /**
+   * Writes the sub-documents of multiple referenced entities as one raw array value. The generator
+   * doesn't write the separators between raw array elements, so the array is written manually.
+   */
+  private void writeCachedSubDocuments(
+      XContentGenerator generator,
+      int depth,
+      int maxDepth,
+      Iterable<Entity> mrefEntities,
+      ReferenceDocumentCache referenceDocumentCache)
+      throws IOException {
+    try (BytesStreamOutput arrayOutput = new BytesStreamOutput()) {
+      arrayOutput.write('[');
+      boolean first = true;
+      for (Entity mrefEntity : mrefEntities) {
+        if (!first) {
+          arrayOutput.write(',');
+        }
+        getSubDocument(depth, maxDepth, mrefEntity, referenceDocumentCache).writeTo(arrayOutput);
+        first = false;
+      }
+      arrayOutput.write(']');
+      generator.writeRawValue(arrayOutput.bytes(), JSON);
+    }
+  }
+
+  /** Returns the sub-document of a referenced entity, serializing it only if it isn't cached */
+  private BytesReference getSubDocument(
+      int depth, int maxDepth, Entity xrefEntity, ReferenceDocumentCache referenceDocumentCache)
+      throws IOException {
+    String entityTypeId = xrefEntity.getEntityType().getId();
+    Object entityId = xrefEntity.getIdValue();
+    int remainingDepth = maxDepth - depth;
+
+    BytesReference subDocument = referenceDocumentCache.get(entityTypeId, entityId, remainingDepth);
+    if (subDocument == null) {
+      XContentBuilder subDocumentBuilder = XContentFactory.contentBuilder(JSON);
+      XContentGenerator subDocumentGenerator = subDocumentBuilder.generator();
+      subDocumentGenerator.writeStartObject();
+      createRec(xrefEntity, subDocumentGenerator, depth + 1, maxDepth, referenceDocumentCache);
+      subDocumentGenerator.writeEndObject();
+      subDocument = subDocumentBuilder.bytes();
+      referenceDocumentCache.put(entityTypeId, entityId, remainingDepth, subDocument);
     }
+    return subDocument;
   }
 
   private static String toElasticsearchId(Object entityId) {
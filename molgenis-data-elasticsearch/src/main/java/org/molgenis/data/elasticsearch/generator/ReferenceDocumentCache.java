@@ -0,0 +1,64 @@
+package org.molgenis.data.elasticsearch.generator;
+
+import static java.util.Objects.requireNonNull;
+
+import com.google.auto.value.AutoValue;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import javax.annotation.CheckForNull;
+import javax.annotation.Nullable;
+import org.elasticsearch.common.bytes.BytesReference;
+
+/**
+ * Bounded cache of serialized referenced entity sub-documents for the documents created while
+ * indexing a repository. Entities referenced by many other entities, e.g. categories, are only
+ * serialized once and their sub-documents are copied into the referring documents. A cache should
+ * only be used for the duration of one indexing operation: entity changes trigger a reindex of
+ * the referring entity types with a new cache.
+ */
+public class ReferenceDocumentCache {
+  private static final long DEFAULT_MAX_BYTES = 32L * 1024 * 1024;
+
+  private final Cache<Key, BytesReference> subDocuments;
+
+  public ReferenceDocumentCache() {
+    this(DEFAULT_MAX_BYTES);
+  }
+
+  ReferenceDocumentCache(long maxBytes) {
+    this.subDocuments =
+        CacheBuilder.newBuilder()
+            .maximumWeight(maxBytes)
+            .<Key, BytesReference>weigher((key, subDocument) -> subDocument.length())
+            .build();
+  }
+
+  /**
+   * @param entityTypeId referenced entity type identifier
+   * @param entityId referenced entity identifier
+   * @param remainingDepth the number of reference levels that the sub-document contains
+   */
+  @Nullable
+  @CheckForNull
+  BytesReference get(String entityTypeId, Object entityId, int remainingDepth) {
+    return subDocuments.getIfPresent(Key.create(entityTypeId, entityId, remainingDepth));
+  }
+
+  void put(String entityTypeId, Object entityId, int remainingDepth, BytesReference subDocument) {
+    requireNonNull(subDocument);
+    subDocuments.put(Key.create(entityTypeId, entityId, remainingDepth), subDocument);
+  }
+
+  @AutoValue
+  abstract static class Key {
+    abstract String getEntityTypeId();
+
+    abstract Object getEntityId();
+
+    abstract int getRemainingDepth();
+
+    static Key create(String entityTypeId, Object entityId, int remainingDepth) {
+      return new AutoValue_ReferenceDocumentCache_Key(entityTypeId, entityId, remainingDepth);
+    }
+  }
+}
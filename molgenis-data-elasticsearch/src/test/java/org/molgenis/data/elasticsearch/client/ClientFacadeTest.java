@@ -5,7 +5,10 @@ import static ch.qos.logback.classic.Level.ERROR;
 import static ch.qos.logback.classic.Level.TRACE;
 import static ch.qos.logback.classic.Level.WARN;
 import static java.util.Collections.emptyList;
+import static java.util.Collections.emptyMap;
+import static java.util.Collections.singletonMap;
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.Mockito.any;
 import static org.mockito.Mockito.argThat;
@@ -20,8 +23,11 @@ import ch.qos.logback.classic.Level;
 import ch.qos.logback.classic.spi.ILoggingEvent;
 import ch.qos.logback.core.Appender;
 import com.google.common.collect.ImmutableList;
+import java.time.Duration;
+import java.util.Map;
 import java.util.stream.Stream;
 import org.elasticsearch.ElasticsearchException;
+import org.elasticsearch.ElasticsearchTimeoutException;
 import org.elasticsearch.ResourceAlreadyExistsException;
 import org.elasticsearch.ResourceNotFoundException;
 import org.elasticsearch.action.admin.indices.create.CreateIndexRequestBuilder;
@@ -37,6 +43,7 @@ import org.elasticsearch.action.explain.ExplainRequestBuilder;
 import org.elasticsearch.action.explain.ExplainResponse;
 import org.elasticsearch.action.index.IndexRequestBuilder;
 import org.elasticsearch.action.index.IndexResponse;
+import org.elasticsearch.action.search.MultiSearchRequestBuilder;
 import org.elasticsearch.action.search.SearchRequestBuilder;
 import org.elasticsearch.action.search.SearchResponse;
 import org.elasticsearch.action.search.ShardSearchFailure;
@@ -46,6 +53,7 @@ import org.elasticsearch.client.AdminClient;
 import org.elasticsearch.client.Client;
 import org.elasticsearch.client.IndicesAdminClient;
 import org.elasticsearch.common.settings.Settings;
+import org.elasticsearch.common.unit.TimeValue;
 import org.elasticsearch.common.xcontent.XContentBuilder;
 import org.elasticsearch.index.query.QueryBuilder;
 import org.elasticsearch.index.shard.ShardId;
@@ -97,6 +105,8 @@ class ClientFacadeTest {
 
   @Mock private SearchResponse searchResponse;
 
+  @Mock private MultiSearchRequestBuilder multiSearchRequestBuilder;
+
   @Mock private QueryBuilder queryBuilder;
 
   @Mock private AggregationBuilder aggregationBuilder;
@@ -168,6 +178,7 @@ class ClientFacadeTest {
         refreshResponse,
         searchRequestBuilder,
         searchResponse,
+        multiSearchRequestBuilder,
         queryBuilder,
         aggregationBuilder,
         explainRequestBuilder,
@@ -384,6 +395,41 @@ class ClientFacadeTest {
         .containsPattern("Timeout while counting docs in index\\(es\\) 'index'\\.");
   }
 
+  @Test
+  void testGetCountsThrowsException() {
+    Index index = Index.create("index");
+
+    when(client.prepareMultiSearch()).thenReturn(multiSearchRequestBuilder);
+    when(client.prepareSearch("index")).thenReturn(searchRequestBuilder);
+    when(searchRequestBuilder.setTimeout(any(TimeValue.class))).thenReturn(searchRequestBuilder);
+    when(multiSearchRequestBuilder.get(any(TimeValue.class)))
+        .thenThrow(new ElasticsearchException("exception"));
+
+    Map<Index, QueryBuilder> queries = singletonMap(index, queryBuilder);
+    Duration timeout = Duration.ofSeconds(1);
+    Exception exception =
+        assertThrows(IndexException.class, () -> clientFacade.getCounts(queries, timeout));
+    assertThat(exception.getMessage())
+        .containsPattern("Error counting docs in index\\(es\\) 'index'\\.");
+  }
+
+  @Test
+  void testGetCountsTimeout() {
+    Index index = Index.create("index");
+
+    when(client.prepareMultiSearch()).thenReturn(multiSearchRequestBuilder);
+    when(client.prepareSearch("index")).thenReturn(searchRequestBuilder);
+    when(searchRequestBuilder.setTimeout(any(TimeValue.class))).thenReturn(searchRequestBuilder);
+    when(multiSearchRequestBuilder.get(any(TimeValue.class)))
+        .thenThrow(new ElasticsearchTimeoutException("timeout"));
+
+    assertEquals(
+        emptyMap(),
+        clientFacade.getCounts(singletonMap(index, queryBuilder), Duration.ofSeconds(1)));
+    verify(mockAppender)
+        .doAppend(matcher(WARN, "Timeout while counting docs in index(es) 'index'."));
+  }
+
   @Test
   void testSearchTimedOut() {
     Index index = Index.create("index");
@@ -1,12 +1,19 @@
 package org.molgenis.data.elasticsearch.generator;
 
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.util.Arrays.asList;
 import static java.util.Collections.emptyList;
 import static java.util.Collections.singletonList;
+import static org.elasticsearch.common.bytes.BytesReference.toBytes;
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.molgenis.data.meta.AttributeType.CATEGORICAL;
 import static org.molgenis.data.meta.AttributeType.CATEGORICAL_MREF;
@@ -284,6 +291,83 @@ class DocumentContentBuilderTest extends AbstractMockitoTest {
     assertDocumentEquals(document, expectedContent);
   }
 
+  @Test
+  void createDocumentReferenceDocumentCache() {
+    String refAttrIdentifier = "refAttr";
+    Entity refEntity = createEntity(refAttrIdentifier, AttributeType.STRING);
+    when(refEntity.getString(refAttrIdentifier)).thenReturn("str");
+
+    String attrIdentifier = "attr";
+    Entity entity = createEntity(attrIdentifier, AttributeType.XREF);
+    when(entity.getEntity(attrIdentifier)).thenReturn(refEntity);
+    Entity otherEntity = createEntity(attrIdentifier, AttributeType.XREF);
+    when(otherEntity.getEntity(attrIdentifier)).thenReturn(refEntity);
+
+    ReferenceDocumentCache referenceDocumentCache = new ReferenceDocumentCache();
+    Document document = documentContentBuilder.createDocument(entity, referenceDocumentCache);
+    Document otherDocument =
+        documentContentBuilder.createDocument(otherEntity, referenceDocumentCache);
+
+    String expectedContent = "{\"attr\":{\"refAttr\":\"str\"}}";
+    assertDocumentEquals(document, expectedContent);
+    assertDocumentEquals(otherDocument, expectedContent);
+    verify(refEntity, times(1)).getString(refAttrIdentifier);
+  }
+
+  @Test
+  void createDocumentMultiReferenceDocumentCache() {
+    String refAttrIdentifier = "refAttr";
+    Entity refEntity = createEntity(refAttrIdentifier, AttributeType.STRING);
+    when(refEntity.getString(refAttrIdentifier)).thenReturn("str");
+    Entity otherRefEntity = createEntity(refAttrIdentifier, AttributeType.STRING);
+    when(otherRefEntity.getIdValue()).thenReturn("otherId");
+    when(otherRefEntity.getString(refAttrIdentifier)).thenReturn("otherStr");
+
+    String attrIdentifier = "attr";
+    Entity entity = createEntity(attrIdentifier, AttributeType.MREF);
+    when(entity.getEntities(attrIdentifier)).thenReturn(asList(refEntity, otherRefEntity));
+    Entity otherEntity = createEntity(attrIdentifier, AttributeType.MREF);
+    when(otherEntity.getEntities(attrIdentifier)).thenReturn(asList(otherRefEntity, refEntity));
+
+    ReferenceDocumentCache referenceDocumentCache = new ReferenceDocumentCache();
+    Document document = documentContentBuilder.createDocument(entity, referenceDocumentCache);
+    Document otherDocument =
+        documentContentBuilder.createDocument(otherEntity, referenceDocumentCache);
+
+    assertDocumentEquals(
+        document, "{\"attr\":[{\"refAttr\":\"str\"},{\"refAttr\":\"otherStr\"}]}");
+    assertDocumentEquals(
+        otherDocument, "{\"attr\":[{\"refAttr\":\"otherStr\"},{\"refAttr\":\"str\"}]}");
+    verify(refEntity, times(1)).getString(refAttrIdentifier);
+    verify(otherRefEntity, times(1)).getString(refAttrIdentifier);
+  }
+
+  @Test
+  void createDocumentMultiReferenceDocumentCacheBytes() throws IOException {
+    String refAttrIdentifier = "refAttr";
+    Entity refEntity = createEntity(refAttrIdentifier, AttributeType.STRING);
+    when(refEntity.getString(refAttrIdentifier)).thenReturn("str");
+    Entity otherRefEntity = createEntity(refAttrIdentifier, AttributeType.STRING);
+    when(otherRefEntity.getIdValue()).thenReturn("otherId");
+    when(otherRefEntity.getString(refAttrIdentifier)).thenReturn("otherStr");
+
+    String attrIdentifier = "attr";
+    Entity entity = createEntity(attrIdentifier, AttributeType.MREF);
+    when(entity.getEntities(attrIdentifier))
+        .thenReturn(asList(refEntity, otherRefEntity, refEntity));
+
+    ReferenceDocumentCache referenceDocumentCache = new ReferenceDocumentCache();
+    Document cachedDocument = documentContentBuilder.createDocument(entity, referenceDocumentCache);
+    Document document = documentContentBuilder.createDocument(entity);
+
+    byte[] expectedBytes =
+        "{\"attr\":[{\"refAttr\":\"str\"},{\"refAttr\":\"otherStr\"},{\"refAttr\":\"str\"}]}"
+            .getBytes(UTF_8);
+    assertAll(
+        () -> assertArrayEquals(expectedBytes, toBytes(cachedDocument.getContent().bytes())),
+        () -> assertArrayEquals(expectedBytes, toBytes(document.getContent().bytes())));
+  }
+
   private static Entity createEntity(String attrIdentifier, AttributeType type) {
     return createEntity(attrIdentifier, type, 1);
   }
@@ -30,4 +30,13 @@ public interface BlobStore {
    * @throws java.io.UncheckedIOException if an error occurs reading/writing data.
    */
   ReadableByteChannel newChannel(String blobId);
+
+  /**
+   * Read a byte range of a binary large object
+   *
+   * @param position zero-based offset of the first byte to read
+   * @param length number of bytes to read
+   * @throws java.io.UncheckedIOException if an error occurs reading/writing data.
+   */
+  ReadableByteChannel newChannel(String blobId, long position, long length);
 }
@@ -31,4 +31,9 @@ public abstract class BlobStoreDecorator extends ForwardingObject implements Blo
   public ReadableByteChannel newChannel(String blobId) {
     return delegate().newChannel(blobId);
   }
+
+  @Override
+  public ReadableByteChannel newChannel(String blobId, long position, long length) {
+    return delegate().newChannel(blobId, position, length);
+  }
 }
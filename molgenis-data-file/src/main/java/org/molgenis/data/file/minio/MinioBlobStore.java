@@ -113,6 +113,27 @@ class MinioBlobStore implements BlobStore {
     return Channels.newChannel(inputStream);
   }
 
+  @Override
+  public ReadableByteChannel newChannel(String blobId, long position, long length) {
+    InputStream inputStream;
+    try {
+      inputStream = minioClientFacade.getObject(blobId, position, length);
+    } catch (InvalidBucketNameException
+        | NoSuchAlgorithmException
+        | InsufficientDataException
+        | InvalidKeyException
+        | NoResponseException
+        | XmlPullParserException
+        | ErrorResponseException
+        | InternalException
+        | InvalidArgumentException e) {
+      throw new UncheckedIOException(new IOException(e));
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+    return Channels.newChannel(inputStream);
+  }
+
   private String generateBlobId() {
     return idGenerator.generateId();
   }
@@ -69,4 +69,18 @@ class MinioClientFacade {
     LOG.trace("Streaming object '{}' in bucket '{}' ...", objectName, bucketName);
     return minioClient.getObject(bucketName, objectName);
   }
+
+  /** @see io.minio.MinioClient#getObject(java.lang.String, java.lang.String, long, Long) */
+  InputStream getObject(String objectName, long offset, long length)
+      throws InvalidBucketNameException, NoSuchAlgorithmException, InsufficientDataException,
+          IOException, InvalidKeyException, NoResponseException, XmlPullParserException,
+          ErrorResponseException, InternalException, InvalidArgumentException {
+    LOG.trace(
+        "Streaming bytes {}-{} of object '{}' in bucket '{}' ...",
+        offset,
+        offset + length - 1,
+        objectName,
+        bucketName);
+    return minioClient.getObject(bucketName, objectName, offset, length);
+  }
 }
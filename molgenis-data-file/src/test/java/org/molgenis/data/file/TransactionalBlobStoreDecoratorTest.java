@@ -61,6 +61,15 @@ class TransactionalBlobStoreDecoratorTest extends AbstractMockitoTest {
     assertEquals(readableByteChannel, transactionalBlobStoreDecorator.newChannel(blobId));
   }
 
+  @Test
+  void testNewChannelRange() {
+    String blobId = "MyBlobId";
+    ReadableByteChannel readableByteChannel = mock(ReadableByteChannel.class);
+    when(blobStore.newChannel(blobId, 10L, 20L)).thenReturn(readableByteChannel);
+    assertEquals(
+        readableByteChannel, transactionalBlobStoreDecorator.newChannel(blobId, 10L, 20L));
+  }
+
   @Test
   void testRollbackTransaction() {
     String blobId = "MyBlobId";
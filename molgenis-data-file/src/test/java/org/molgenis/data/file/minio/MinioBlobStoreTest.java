@@ -80,4 +80,15 @@ class MinioBlobStoreTest extends AbstractMockitoTest {
     when(minioClientFacade.getObject(blobId)).thenReturn(inputStream);
     assertDoesNotThrow(() -> minioBlobStore.newChannel(blobId));
   }
+
+  @Test
+  void testNewChannelRange()
+      throws IOException, InvalidKeyException, NoSuchAlgorithmException, InsufficientDataException,
+          InvalidArgumentException, InternalException, NoResponseException,
+          InvalidBucketNameException, XmlPullParserException, ErrorResponseException {
+    String blobId = "MyBlobId";
+    InputStream inputStream = mock(InputStream.class);
+    when(minioClientFacade.getObject(blobId, 10L, 20L)).thenReturn(inputStream);
+    assertDoesNotThrow(() -> minioBlobStore.newChannel(blobId, 10L, 20L));
+  }
 }
@@ -3,28 +3,29 @@ package org.molgenis.data.icd10;
 import static com.google.common.graph.Traverser.forTree;
 import static java.util.Collections.singletonList;
 import static java.util.Objects.requireNonNull;
-import static java.util.stream.Collectors.toList;
 
 import com.google.common.collect.Streams;
 import com.google.common.graph.Traverser;
-import java.util.Collection;
 import java.util.List;
-import org.molgenis.data.DataService;
 import org.molgenis.data.Entity;
 import org.molgenis.data.Query;
 import org.molgenis.data.QueryRule;
 import org.springframework.stereotype.Component;
 
+/**
+ * Expands IN and EQUALS rules on the ICD-10 attribute with the ids of all descendants of the
+ * queried classes. The descendants are looked up in the cached {@link Icd10ClassHierarchy}. The
+ * expanded IN rule of e.g. a chapter contains thousands of ids, the PostgreSQL repository binds
+ * these as one array parameter instead of generating a parameter per id.
+ */
 @Component
 public class CollectionsQueryTransformerImpl implements CollectionsQueryTransformer {
   private static final Traverser<QueryRule> RULE_TRAVERSER = forTree(QueryRule::getNestedRules);
 
-  private final Icd10ClassExpander icd10ClassExpander;
-  private final DataService dataService;
+  private final Icd10ClassHierarchyCache icd10ClassHierarchyCache;
 
-  CollectionsQueryTransformerImpl(Icd10ClassExpander icd10ClassExpander, DataService dataService) {
-    this.icd10ClassExpander = requireNonNull(icd10ClassExpander);
-    this.dataService = requireNonNull(dataService);
+  CollectionsQueryTransformerImpl(Icd10ClassHierarchyCache icd10ClassHierarchyCache) {
+    this.icd10ClassHierarchyCache = requireNonNull(icd10ClassHierarchyCache);
   }
 
   @Override
@@ -59,10 +60,7 @@ public class CollectionsQueryTransformerImpl implements CollectionsQueryTransfor
         throw new IllegalStateException("Can't expand queries other than IN or EQUALS");
     }
 
-    List<Entity> diseaseTypes =
-        dataService.findAll(icd10EntityTypeId, queryValues.stream()).collect(toList());
-
-    rule.setValue(expandDiseaseTypes(diseaseTypes));
+    rule.setValue(expandDiseaseTypes(queryValues, icd10EntityTypeId));
   }
 
   /**
@@ -77,8 +75,8 @@ public class CollectionsQueryTransformerImpl implements CollectionsQueryTransfor
             || nestedRule.getOperator() == QueryRule.Operator.EQUALS);
   }
 
-  /** Expand ICD-10 entities with all their children, grandchildren, etc. */
-  private Collection<Entity> expandDiseaseTypes(List<Entity> diseaseTypes) {
-    return icd10ClassExpander.expandClasses(diseaseTypes);
+  /** Expand ICD-10 identifiers with the identifiers of all their children, grandchildren, etc. */
+  private List<Object> expandDiseaseTypes(List<Object> diseaseTypeIds, String icd10EntityTypeId) {
+    return icd10ClassHierarchyCache.getHierarchy(icd10EntityTypeId).expandClassIds(diseaseTypeIds);
   }
 }
@@ -0,0 +1,130 @@
+package org.molgenis.data.icd10;
+
+import static java.util.Objects.requireNonNull;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Immutable descendant index of the classes of an ICD-10 entity type. The classes are stored in
+ * depth-first pre-order, so the descendants of a class are the contiguous range of positions that
+ * follows the position of the class. This allows classes to be expanded with all of their
+ * children, grandchildren, etc. without traversing or querying the hierarchy.
+ */
+class Icd10ClassHierarchy {
+  private final Object[] classIds;
+  private final int[] subtreeEnds;
+  private final Map<Object, int[]> classPositions;
+
+  private Icd10ClassHierarchy(
+      Object[] classIds, int[] subtreeEnds, Map<Object, int[]> classPositions) {
+    this.classIds = classIds;
+    this.subtreeEnds = subtreeEnds;
+    this.classPositions = classPositions;
+  }
+
+  static Builder builder() {
+    return new Builder();
+  }
+
+  /**
+   * Returns the ids of the classes and of all of their descendants in pre-order, unknown class ids
+   * are ignored
+   */
+  List<Object> expandClassIds(Collection<?> ids) {
+    List<int[]> ranges = new ArrayList<>();
+    for (Object id : ids) {
+      int[] positions = classPositions.get(id);
+      if (positions != null) {
+        for (int position : positions) {
+          ranges.add(new int[] {position, subtreeEnds[position]});
+        }
+      }
+    }
+    ranges.sort(Comparator.comparingInt(range -> range[0]));
+
+    // subtree ranges are either nested or disjoint, skip the ranges within a preceding range
+    Set<Object> expandedClassIds = new LinkedHashSet<>();
+    int end = 0;
+    for (int[] range : ranges) {
+      for (int i = Math.max(range[0], end); i < range[1]; i++) {
+        expandedClassIds.add(classIds[i]);
+      }
+      end = Math.max(end, range[1]);
+    }
+    return new ArrayList<>(expandedClassIds);
+  }
+
+  static class Builder {
+    private final Map<Object, List<Object>> childIdsByClassId = new LinkedHashMap<>();
+    private final Set<Object> childIds = new HashSet<>();
+
+    private Builder() {}
+
+    Builder addClass(Object id, List<Object> classChildIds) {
+      childIdsByClassId.put(requireNonNull(id), classChildIds);
+      childIds.addAll(classChildIds);
+      return this;
+    }
+
+    /**
+     * Classes without a parent are the roots of the hierarchy. A class with multiple parents is
+     * stored once for each parent and a child that is also an ancestor is ignored.
+     */
+    Icd10ClassHierarchy build() {
+      List<Object> orderedClassIds = new ArrayList<>();
+      List<Integer> subtreeEnds = new ArrayList<>();
+      Map<Object, List<Integer>> classPositions = new HashMap<>();
+      Set<Object> ancestorIds = new HashSet<>();
+
+      childIdsByClassId.keySet().stream()
+          .filter(id -> !childIds.contains(id))
+          .forEach(
+              id -> addSubtree(id, ancestorIds, orderedClassIds, subtreeEnds, classPositions));
+      // classes in a cycle don't have a root
+      childIdsByClassId.keySet().stream()
+          .filter(id -> !classPositions.containsKey(id))
+          .forEach(
+              id -> addSubtree(id, ancestorIds, orderedClassIds, subtreeEnds, classPositions));
+
+      Map<Object, int[]> classPositionArrays = new HashMap<>();
+      classPositions.forEach(
+          (id, positions) ->
+              classPositionArrays.put(
+                  id, positions.stream().mapToInt(Integer::intValue).toArray()));
+      return new Icd10ClassHierarchy(
+          orderedClassIds.toArray(),
+          subtreeEnds.stream().mapToInt(Integer::intValue).toArray(),
+          classPositionArrays);
+    }
+
+    private void addSubtree(
+        Object id,
+        Set<Object> ancestorIds,
+        List<Object> orderedClassIds,
+        List<Integer> subtreeEnds,
+        Map<Object, List<Integer>> classPositions) {
+      int position = orderedClassIds.size();
+      orderedClassIds.add(id);
+      subtreeEnds.add(position + 1);
+      classPositions.computeIfAbsent(id, key -> new ArrayList<>(1)).add(position);
+
+      ancestorIds.add(id);
+      for (Object childId : childIdsByClassId.getOrDefault(id, List.of())) {
+        if (!ancestorIds.contains(childId)) {
+          addSubtree(childId, ancestorIds, orderedClassIds, subtreeEnds, classPositions);
+        }
+      }
+      ancestorIds.remove(id);
+      subtreeEnds.set(position, orderedClassIds.size());
+    }
+  }
+}
@@ -0,0 +1,128 @@
+package org.molgenis.data.icd10;
+
+import static java.util.Objects.requireNonNull;
+import static java.util.stream.Collectors.toList;
+import static org.molgenis.security.core.runas.RunAsSystemAspect.runAsSystem;
+
+import com.google.common.collect.Streams;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import org.molgenis.data.DataService;
+import org.molgenis.data.Entity;
+import org.molgenis.data.Fetch;
+import org.molgenis.data.meta.model.EntityType;
+import org.molgenis.data.support.QueryImpl;
+import org.molgenis.data.transaction.CacheInvalidation;
+import org.molgenis.data.transaction.CacheInvalidationBus;
+import org.molgenis.data.transaction.CacheInvalidationListener;
+import org.molgenis.data.transaction.TransactionInformation;
+import org.molgenis.data.transaction.TransactionListener;
+import org.molgenis.data.transaction.TransactionManager;
+import org.springframework.stereotype.Component;
+
+/**
+ * Caches an {@link Icd10ClassHierarchy} per ICD-10 entity type. A hierarchy is created with one
+ * query on the ids and children of all classes and is evicted after the data of the ICD-10 entity
+ * type is changed on this or another node.
+ *
+ * <p>A hierarchy is created as system, so that it can be shared by all users. This doesn't disclose
+ * data: the hierarchy only contains class ids, which are only used to expand the rules of a query
+ * that is executed with the permissions of the caller.
+ */
+@Component
+class Icd10ClassHierarchyCache implements TransactionListener, CacheInvalidationListener {
+  static final String DISEASE_CLASS_CHILDREN_ATTRIBUTE_NAME = "children";
+
+  private final DataService dataService;
+  private final TransactionInformation transactionInformation;
+  private final Map<String, Icd10ClassHierarchy> hierarchies = new ConcurrentHashMap<>();
+
+  // guarded by this, incremented on each eviction
+  private long generation;
+
+  Icd10ClassHierarchyCache(
+      DataService dataService,
+      TransactionManager transactionManager,
+      TransactionInformation transactionInformation,
+      CacheInvalidationBus cacheInvalidationBus) {
+    this.dataService = requireNonNull(dataService);
+    this.transactionInformation = requireNonNull(transactionInformation);
+    requireNonNull(transactionManager).addTransactionListener(this);
+    requireNonNull(cacheInvalidationBus).addCacheInvalidationListener(this);
+  }
+
+  Icd10ClassHierarchy getHierarchy(String icd10EntityTypeId) {
+    Icd10ClassHierarchy hierarchy = hierarchies.get(icd10EntityTypeId);
+    if (hierarchy == null) {
+      // don't cache changes of the current transaction that might be rolled back
+      boolean cacheable =
+          !transactionInformation.getDirtyRepositories().contains(icd10EntityTypeId);
+      long hierarchyGeneration = getGeneration();
+      hierarchy = runAsSystem(() -> createHierarchy(icd10EntityTypeId));
+      if (cacheable) {
+        putHierarchy(icd10EntityTypeId, hierarchy, hierarchyGeneration);
+      }
+    }
+    return hierarchy;
+  }
+
+  private Icd10ClassHierarchy createHierarchy(String icd10EntityTypeId) {
+    EntityType entityType = dataService.getEntityType(icd10EntityTypeId);
+    Fetch fetch =
+        new Fetch()
+            .field(entityType.getIdAttribute().getName())
+            .field(DISEASE_CLASS_CHILDREN_ATTRIBUTE_NAME);
+
+    Icd10ClassHierarchy.Builder builder = Icd10ClassHierarchy.builder();
+    dataService
+        .findAll(icd10EntityTypeId, new QueryImpl<Entity>().fetch(fetch))
+        .forEach(
+            diseaseClass ->
+                builder.addClass(
+                    diseaseClass.getIdValue(),
+                    Streams.stream(diseaseClass.getEntities(DISEASE_CLASS_CHILDREN_ATTRIBUTE_NAME))
+                        .map(Entity::getIdValue)
+                        .collect(toList())));
+    return builder.build();
+  }
+
+  private synchronized long getGeneration() {
+    return generation;
+  }
+
+  private synchronized void putHierarchy(
+      String icd10EntityTypeId, Icd10ClassHierarchy hierarchy, long hierarchyGeneration) {
+    // the data might have changed while the hierarchy was being created
+    if (hierarchyGeneration == generation) {
+      hierarchies.put(icd10EntityTypeId, hierarchy);
+    }
+  }
+
+  private synchronized void evict(Set<String> entityTypeIds) {
+    if (!entityTypeIds.isEmpty()) {
+      generation++;
+      hierarchies.keySet().removeAll(entityTypeIds);
+    }
+  }
+
+  private synchronized void evictAll() {
+    generation++;
+    hierarchies.clear();
+  }
+
+  @Override
+  public void afterCommitTransaction(String transactionId) {
+    evict(transactionInformation.getDirtyRepositories());
+  }
+
+  @Override
+  public void onCacheInvalidation(CacheInvalidation cacheInvalidation) {
+    evict(cacheInvalidation.getDirtyRepositories());
+  }
+
+  @Override
+  public void onCacheInvalidationsMissed() {
+    evictAll();
+  }
+}
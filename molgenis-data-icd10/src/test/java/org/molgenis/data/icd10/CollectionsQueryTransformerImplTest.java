@@ -1,12 +1,10 @@
 package org.molgenis.data.icd10;
 
 import static java.util.Arrays.asList;
+import static java.util.Collections.emptyList;
 import static java.util.Collections.singletonList;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
-import static org.mockito.ArgumentMatchers.any;
-import static org.mockito.ArgumentMatchers.eq;
-import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.when;
 import static org.molgenis.data.icd10.Icd10ExpanderDecoratorTest.EXPAND_ATTRIBUTE;
 import static org.molgenis.data.icd10.Icd10ExpanderDecoratorTest.ICD10_ENTITY_TYPE_ID;
@@ -14,13 +12,11 @@ import static org.molgenis.data.icd10.Icd10ExpanderDecoratorTest.ICD10_ENTITY_TY
 import java.util.ArrayList;
 import java.util.Iterator;
 import java.util.List;
-import java.util.stream.Stream;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.MethodSource;
 import org.mockito.Mock;
-import org.molgenis.data.DataService;
 import org.molgenis.data.Entity;
 import org.molgenis.data.Query;
 import org.molgenis.data.support.QueryImpl;
@@ -29,41 +25,25 @@ import org.molgenis.test.AbstractMockitoTest;
 // javas: nested code blocks should be extracted & using the same literal string multiple times
 @SuppressWarnings({"java:S1199", "java:S1192"})
 class CollectionsQueryTransformerImplTest extends AbstractMockitoTest {
-  @Mock private DataService dataService;
+  private static final List<Object> EXPANDED_DISEASE_IDS = asList("disease", "expandedDisease");
 
-  @Mock private Icd10ClassExpander icd10ClassExpander;
+  @Mock private Icd10ClassHierarchyCache icd10ClassHierarchyCache;
 
   private CollectionsQueryTransformerImpl collectionsQueryTransformerImpl;
-  private static List<Entity> expandedDiseaseEntities;
-  private static Entity diseaseEntity;
 
-  @SuppressWarnings("unchecked")
   @BeforeEach
   void setUpBeforeMethod() {
-    collectionsQueryTransformerImpl =
-        new CollectionsQueryTransformerImpl(icd10ClassExpander, dataService);
-  }
-
-  /**
-   * Data providers are triggered before the @BeforeEach so this can be used to set up the required
-   * mocks
-   */
-  private static void setExpandedDiseaseEntities() {
-    diseaseEntity = mock(Entity.class);
-    Entity expandedDiseaseEntity = mock(Entity.class);
-    expandedDiseaseEntities = asList(diseaseEntity, expandedDiseaseEntity);
+    collectionsQueryTransformerImpl = new CollectionsQueryTransformerImpl(icd10ClassHierarchyCache);
   }
 
   @Test
   void testBbmriEricCollectionsQueryTransformerImpl() {
-    assertThrows(NullPointerException.class, () -> new CollectionsQueryTransformerImpl(null, null));
+    assertThrows(NullPointerException.class, () -> new CollectionsQueryTransformerImpl(null));
   }
 
   @SuppressWarnings("UnnecessaryLocalVariable")
   // javas: nested code blocks should be extracted & using the same literal string multiple times
   static Iterator<Object[]> nonTransformableQueryProvider() {
-    setExpandedDiseaseEntities();
-
     List<Object[]> dataList = new ArrayList<>();
 
     {
@@ -92,35 +72,33 @@ class CollectionsQueryTransformerImplTest extends AbstractMockitoTest {
   }
 
   static Iterator<Object[]> transformableQueryProvider() {
-    setExpandedDiseaseEntities();
-
     List<Object[]> dataList = new ArrayList<>();
 
     {
       Query query = new QueryImpl<>().eq(EXPAND_ATTRIBUTE, "disease");
-      Query expected = new QueryImpl<>().in(EXPAND_ATTRIBUTE, expandedDiseaseEntities);
+      Query expected = new QueryImpl<>().in(EXPAND_ATTRIBUTE, EXPANDED_DISEASE_IDS);
       dataList.add(new Object[] {query, expected});
     }
     {
       Query query = new QueryImpl<>().in(EXPAND_ATTRIBUTE, singletonList("disease"));
-      Query expected = new QueryImpl<>().in(EXPAND_ATTRIBUTE, expandedDiseaseEntities);
+      Query expected = new QueryImpl<>().in(EXPAND_ATTRIBUTE, EXPANDED_DISEASE_IDS);
       dataList.add(new Object[] {query, expected});
     }
     {
       Query query = new QueryImpl<>().in(EXPAND_ATTRIBUTE, asList("disease", "disease2"));
-      Query expected = new QueryImpl<>().in(EXPAND_ATTRIBUTE, expandedDiseaseEntities);
+      Query expected = new QueryImpl<>().in(EXPAND_ATTRIBUTE, EXPANDED_DISEASE_IDS);
       dataList.add(new Object[] {query, expected});
     }
     {
       Query query = new QueryImpl<>().in(EXPAND_ATTRIBUTE, asList("disease", "unknown disease"));
-      Query expected = new QueryImpl<>().in(EXPAND_ATTRIBUTE, expandedDiseaseEntities);
+      Query expected = new QueryImpl<>().in(EXPAND_ATTRIBUTE, EXPANDED_DISEASE_IDS);
       dataList.add(new Object[] {query, expected});
     }
     {
       Query query = new QueryImpl<>().eq(EXPAND_ATTRIBUTE, "disease").and().eq("otherAttr", "test");
       Query expected =
           new QueryImpl<>()
-              .in(EXPAND_ATTRIBUTE, expandedDiseaseEntities)
+              .in(EXPAND_ATTRIBUTE, EXPANDED_DISEASE_IDS)
               .and()
               .eq("otherAttr", "test");
       dataList.add(new Object[] {query, expected});
@@ -133,7 +111,7 @@ class CollectionsQueryTransformerImplTest extends AbstractMockitoTest {
               .in("otherAttr", singletonList("test"));
       Query expected =
           new QueryImpl<>()
-              .in(EXPAND_ATTRIBUTE, expandedDiseaseEntities)
+              .in(EXPAND_ATTRIBUTE, EXPANDED_DISEASE_IDS)
               .or()
               .in("otherAttr", singletonList("test"));
       dataList.add(new Object[] {query, expected});
@@ -142,21 +120,23 @@ class CollectionsQueryTransformerImplTest extends AbstractMockitoTest {
       Query query =
           new QueryImpl<>().in(EXPAND_ATTRIBUTE, singletonList("disease")).and().search("test");
       Query expected =
-          new QueryImpl<>().in(EXPAND_ATTRIBUTE, expandedDiseaseEntities).and().search("test");
+          new QueryImpl<>().in(EXPAND_ATTRIBUTE, EXPANDED_DISEASE_IDS).and().search("test");
       dataList.add(new Object[] {query, expected});
     }
 
     return dataList.iterator();
   }
 
-  @SuppressWarnings("unchecked")
   @ParameterizedTest
   @MethodSource("transformableQueryProvider")
   void testTransformableQueries(Query<Entity> query, Query<Entity> expectedTransformedQuery) {
-    when(dataService.findAll(eq(ICD10_ENTITY_TYPE_ID), any(Stream.class)))
-        .thenReturn(Stream.of(diseaseEntity));
-    when(icd10ClassExpander.expandClasses(singletonList(diseaseEntity)))
-        .thenReturn(expandedDiseaseEntities);
+    Icd10ClassHierarchy icd10ClassHierarchy =
+        Icd10ClassHierarchy.builder()
+            .addClass("disease", singletonList("expandedDisease"))
+            .addClass("expandedDisease", emptyList())
+            .build();
+    when(icd10ClassHierarchyCache.getHierarchy(ICD10_ENTITY_TYPE_ID))
+        .thenReturn(icd10ClassHierarchy);
 
     Query<Entity> transformedQuery =
         collectionsQueryTransformerImpl.transformQuery(
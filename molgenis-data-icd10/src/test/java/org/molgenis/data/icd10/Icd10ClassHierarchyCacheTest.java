@@ -0,0 +1,132 @@
+package org.molgenis.data.icd10;
+
+import static java.util.Collections.emptyList;
+import static java.util.Collections.emptySet;
+import static java.util.Collections.singletonList;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.molgenis.data.icd10.Icd10ClassHierarchyCache.DISEASE_CLASS_CHILDREN_ATTRIBUTE_NAME;
+import static org.molgenis.security.core.utils.SecurityUtils.currentUserIsSystem;
+
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.molgenis.data.DataService;
+import org.molgenis.data.Entity;
+import org.molgenis.data.Query;
+import org.molgenis.data.meta.model.Attribute;
+import org.molgenis.data.meta.model.EntityType;
+import org.molgenis.data.transaction.CacheInvalidation;
+import org.molgenis.data.transaction.CacheInvalidationBus;
+import org.molgenis.data.transaction.TransactionInformation;
+import org.molgenis.data.transaction.TransactionManager;
+import org.molgenis.test.AbstractMockitoTest;
+
+class Icd10ClassHierarchyCacheTest extends AbstractMockitoTest {
+  private static final String ICD10_ENTITY_TYPE_ID = "icd10";
+
+  @Mock private DataService dataService;
+  @Mock private TransactionManager transactionManager;
+  @Mock private TransactionInformation transactionInformation;
+  @Mock private CacheInvalidationBus cacheInvalidationBus;
+  private Icd10ClassHierarchyCache icd10ClassHierarchyCache;
+  private boolean createdAsSystem;
+
+  @SuppressWarnings("unchecked")
+  @BeforeEach
+  void setUpBeforeEach() {
+    icd10ClassHierarchyCache =
+        new Icd10ClassHierarchyCache(
+            dataService, transactionManager, transactionInformation, cacheInvalidationBus);
+
+    Attribute idAttribute = when(mock(Attribute.class).getName()).thenReturn("id").getMock();
+    EntityType entityType =
+        when(mock(EntityType.class).getIdAttribute()).thenReturn(idAttribute).getMock();
+    when(dataService.getEntityType(ICD10_ENTITY_TYPE_ID)).thenReturn(entityType);
+
+    Entity childClass = mock(Entity.class);
+    when(childClass.getIdValue()).thenReturn("C00");
+    when(childClass.getEntities(DISEASE_CLASS_CHILDREN_ATTRIBUTE_NAME)).thenReturn(emptyList());
+    Entity parentClass = mock(Entity.class);
+    when(parentClass.getIdValue()).thenReturn("C00-C14");
+    when(parentClass.getEntities(DISEASE_CLASS_CHILDREN_ATTRIBUTE_NAME))
+        .thenReturn(singletonList(childClass));
+    when(dataService.findAll(eq(ICD10_ENTITY_TYPE_ID), any(Query.class)))
+        .thenAnswer(
+            invocation -> {
+              createdAsSystem = currentUserIsSystem();
+              return Stream.of(parentClass, childClass);
+            });
+  }
+
+  @Test
+  void testGetHierarchy() {
+    when(transactionInformation.getDirtyRepositories()).thenReturn(emptySet());
+    Icd10ClassHierarchy hierarchy = icd10ClassHierarchyCache.getHierarchy(ICD10_ENTITY_TYPE_ID);
+    assertEquals(List.of("C00-C14", "C00"), hierarchy.expandClassIds(List.of("C00-C14")));
+    assertSame(hierarchy, icd10ClassHierarchyCache.getHierarchy(ICD10_ENTITY_TYPE_ID));
+  }
+
+  @Test
+  void testGetHierarchyCreatedAsSystem() {
+    when(transactionInformation.getDirtyRepositories()).thenReturn(emptySet());
+    icd10ClassHierarchyCache.getHierarchy(ICD10_ENTITY_TYPE_ID);
+    assertTrue(createdAsSystem);
+    assertFalse(currentUserIsSystem());
+  }
+
+  @Test
+  void testGetHierarchyDataChangedInTransaction() {
+    when(transactionInformation.getDirtyRepositories()).thenReturn(Set.of(ICD10_ENTITY_TYPE_ID));
+    Icd10ClassHierarchy hierarchy = icd10ClassHierarchyCache.getHierarchy(ICD10_ENTITY_TYPE_ID);
+    assertNotSame(hierarchy, icd10ClassHierarchyCache.getHierarchy(ICD10_ENTITY_TYPE_ID));
+  }
+
+  @Test
+  void testAfterCommitTransactionDataChanged() {
+    when(transactionInformation.getDirtyRepositories())
+        .thenReturn(emptySet())
+        .thenReturn(Set.of(ICD10_ENTITY_TYPE_ID))
+        .thenReturn(emptySet());
+    Icd10ClassHierarchy hierarchy = icd10ClassHierarchyCache.getHierarchy(ICD10_ENTITY_TYPE_ID);
+    icd10ClassHierarchyCache.afterCommitTransaction("transactionId");
+    assertNotSame(hierarchy, icd10ClassHierarchyCache.getHierarchy(ICD10_ENTITY_TYPE_ID));
+  }
+
+  @Test
+  void testAfterCommitTransactionOtherDataChanged() {
+    when(transactionInformation.getDirtyRepositories())
+        .thenReturn(emptySet())
+        .thenReturn(Set.of("myEntityType"));
+    Icd10ClassHierarchy hierarchy = icd10ClassHierarchyCache.getHierarchy(ICD10_ENTITY_TYPE_ID);
+    icd10ClassHierarchyCache.afterCommitTransaction("transactionId");
+    assertSame(hierarchy, icd10ClassHierarchyCache.getHierarchy(ICD10_ENTITY_TYPE_ID));
+  }
+
+  @Test
+  void testOnCacheInvalidation() {
+    when(transactionInformation.getDirtyRepositories()).thenReturn(emptySet());
+    Icd10ClassHierarchy hierarchy = icd10ClassHierarchyCache.getHierarchy(ICD10_ENTITY_TYPE_ID);
+    icd10ClassHierarchyCache.onCacheInvalidation(
+        CacheInvalidation.create(emptySet(), Set.of(ICD10_ENTITY_TYPE_ID), emptySet(), false));
+    assertNotSame(hierarchy, icd10ClassHierarchyCache.getHierarchy(ICD10_ENTITY_TYPE_ID));
+  }
+
+  @Test
+  void testOnCacheInvalidationsMissed() {
+    when(transactionInformation.getDirtyRepositories()).thenReturn(emptySet());
+    Icd10ClassHierarchy hierarchy = icd10ClassHierarchyCache.getHierarchy(ICD10_ENTITY_TYPE_ID);
+    icd10ClassHierarchyCache.onCacheInvalidationsMissed();
+    assertNotSame(hierarchy, icd10ClassHierarchyCache.getHierarchy(ICD10_ENTITY_TYPE_ID));
+  }
+}
@@ -0,0 +1,85 @@
+package org.molgenis.data.icd10;
+
+import static java.util.Arrays.asList;
+import static java.util.Collections.emptyList;
+import static java.util.Collections.singletonList;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class Icd10ClassHierarchyTest {
+  private Icd10ClassHierarchy icd10ClassHierarchy;
+
+  @BeforeEach
+  void setUpBeforeEach() {
+    icd10ClassHierarchy =
+        Icd10ClassHierarchy.builder()
+            .addClass("C00-C97", asList("C00-C14", "C15-C26"))
+            .addClass("C00-C14", asList("C00", "C01"))
+            .addClass("C00", asList("C00.0", "C00.1"))
+            .addClass("C00.0", emptyList())
+            .addClass("C00.1", emptyList())
+            .addClass("C01", emptyList())
+            .addClass("C15-C26", singletonList("C15"))
+            .addClass("C15", emptyList())
+            .addClass("D50-D89", singletonList("D50"))
+            .addClass("D50", emptyList())
+            .build();
+  }
+
+  @Test
+  void testExpandClassIdsLeaf() {
+    assertEquals(List.of("C01"), icd10ClassHierarchy.expandClassIds(List.of("C01")));
+  }
+
+  @Test
+  void testExpandClassIdsChapter() {
+    assertEquals(
+        List.of("C00-C97", "C00-C14", "C00", "C00.0", "C00.1", "C01", "C15-C26", "C15"),
+        icd10ClassHierarchy.expandClassIds(List.of("C00-C97")));
+  }
+
+  @Test
+  void testExpandClassIdsNested() {
+    assertEquals(
+        List.of("C00-C14", "C00", "C00.0", "C00.1", "C01"),
+        icd10ClassHierarchy.expandClassIds(List.of("C00", "C00-C14")));
+  }
+
+  @Test
+  void testExpandClassIdsDisjoint() {
+    assertEquals(
+        List.of("C00", "C00.0", "C00.1", "D50-D89", "D50"),
+        icd10ClassHierarchy.expandClassIds(List.of("D50-D89", "C00")));
+  }
+
+  @Test
+  void testExpandClassIdsUnknown() {
+    assertEquals(List.of("C15"), icd10ClassHierarchy.expandClassIds(List.of("unknown", "C15")));
+  }
+
+  @Test
+  void testExpandClassIdsMultipleParents() {
+    Icd10ClassHierarchy hierarchy =
+        Icd10ClassHierarchy.builder()
+            .addClass("A", singletonList("C"))
+            .addClass("B", singletonList("C"))
+            .addClass("C", singletonList("D"))
+            .addClass("D", emptyList())
+            .build();
+    assertEquals(List.of("B", "C", "D"), hierarchy.expandClassIds(List.of("B")));
+    assertEquals(List.of("A", "C", "D", "B"), hierarchy.expandClassIds(List.of("A", "B")));
+  }
+
+  @Test
+  void testExpandClassIdsCycle() {
+    Icd10ClassHierarchy hierarchy =
+        Icd10ClassHierarchy.builder()
+            .addClass("A", singletonList("B"))
+            .addClass("B", singletonList("A"))
+            .build();
+    assertEquals(List.of("A", "B"), hierarchy.expandClassIds(List.of("A")));
+  }
+}
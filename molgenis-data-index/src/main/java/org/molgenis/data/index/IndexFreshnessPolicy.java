@@ -0,0 +1,18 @@
+package org.molgenis.data.index;
+
+/**
+ * Determines how queries that are answered by the index deal with committed changes that are not
+ * indexed yet.
+ */
+enum IndexFreshnessPolicy {
+  /**
+   * Query the index right away, results might not contain changes that are not indexed yet. Such
+   * queries are reported to the {@link StaleIndexContextHolder}.
+   */
+  STALE,
+  /**
+   * Wait a bounded time for committed changes to be indexed before querying the index. Queries for
+   * which the wait timed out are reported to the {@link StaleIndexContextHolder}.
+   */
+  WAIT
+}
@@ -3,6 +3,7 @@ package org.molgenis.data.index;
 import static java.lang.String.format;
 import static java.util.Collections.unmodifiableSet;
 import static java.util.Objects.requireNonNull;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
 import static org.molgenis.data.QueryUtils.containsAnyOperator;
 import static org.molgenis.data.QueryUtils.containsComputedAttribute;
 import static org.molgenis.data.QueryUtils.containsNestedQueryRuleField;
@@ -31,7 +32,13 @@ import org.slf4j.LoggerFactory;
 
 /**
  * Decorator for indexed repositories. Sends all queries with operators that are not supported by
- * the decorated repository to the index.
+ * the decorated repository to the index. Queries that are supported by the decorated repository
+ * are always answered by the decorated repository, regardless of the state of the index.
+ *
+ * <p>The index might not contain all committed changes yet. Depending on the {@link
+ * IndexFreshnessPolicy} index queries either query the index right away or first wait a bounded
+ * time for committed changes to be indexed. Entity types whose index was queried while it did not
+ * contain all committed changes are reported to the {@link StaleIndexContextHolder}.
  */
 class IndexedRepositoryDecorator extends AbstractRepositoryDecorator<Entity> {
   private static final Logger LOG = LoggerFactory.getLogger(IndexedRepositoryDecorator.class);
@@ -40,6 +47,8 @@ class IndexedRepositoryDecorator extends AbstractRepositoryDecorator<Entity> {
 
   private final SearchService searchService;
   private final IndexJobScheduler indexJobScheduler;
+  private final IndexFreshnessPolicy indexFreshnessPolicy;
+  private final long maxWaitMillis;
 
   /** Operators NOT supported by the decorated repository. */
   private Set<Operator> unsupportedOperators;
@@ -47,10 +56,14 @@ class IndexedRepositoryDecorator extends AbstractRepositoryDecorator<Entity> {
   IndexedRepositoryDecorator(
       Repository<Entity> delegateRepository,
       SearchService searchService,
-      IndexJobScheduler indexJobScheduler) {
+      IndexJobScheduler indexJobScheduler,
+      IndexFreshnessPolicy indexFreshnessPolicy,
+      long maxWaitMillis) {
     super(delegateRepository);
     this.searchService = requireNonNull(searchService);
     this.indexJobScheduler = requireNonNull(indexJobScheduler);
+    this.indexFreshnessPolicy = requireNonNull(indexFreshnessPolicy);
+    this.maxWaitMillis = maxWaitMillis;
     Set<Operator> operators = getQueryOperators();
     operators.removeAll(delegate().getQueryOperators());
     unsupportedOperators = Collections.unmodifiableSet(operators);
@@ -71,7 +84,7 @@ class IndexedRepositoryDecorator extends AbstractRepositoryDecorator<Entity> {
           q,
           getEntityType().getId(),
           INDEX_REPOSITORY);
-      Object entityId = tryTwice(() -> searchService.searchOne(getEntityType(), q));
+      Object entityId = queryIndex(() -> searchService.searchOne(getEntityType(), q));
       return entityId != null ? delegate().findOneById(entityId, q.getFetch()) : null;
     }
   }
@@ -91,7 +104,7 @@ class IndexedRepositoryDecorator extends AbstractRepositoryDecorator<Entity> {
           q,
           getEntityType().getId(),
           INDEX_REPOSITORY);
-      Stream<Object> entityIds = tryTwice(() -> searchService.search(getEntityType(), q));
+      Stream<Object> entityIds = queryIndex(() -> searchService.search(getEntityType(), q));
       return delegate().findAll(entityIds, q.getFetch());
     }
   }
@@ -132,19 +145,42 @@ class IndexedRepositoryDecorator extends AbstractRepositoryDecorator<Entity> {
           q,
           getEntityType().getId(),
           INDEX_REPOSITORY);
-      return tryTwice(() -> searchService.count(getEntityType(), q));
+      return queryIndex(() -> searchService.count(getEntityType(), q));
     }
   }
 
   @Override
   public AggregateResult aggregate(AggregateQuery aggregateQuery) {
-    return tryTwice(() -> searchService.aggregate(getEntityType(), aggregateQuery));
+    return queryIndex(() -> searchService.aggregate(getEntityType(), aggregateQuery));
+  }
+
+  /**
+   * Executes an action on an index that may not contain all committed changes yet.
+   *
+   * @param action the action that gets executed
+   * @param <R> the result type of the action
+   * @return the result
+   */
+  private <R> R queryIndex(Supplier<R> action) {
+    if (indexFreshnessPolicy == IndexFreshnessPolicy.WAIT) {
+      if (!waitForIndexToBeStable()) {
+        StaleIndexContextHolder.addStaleEntityTypeId(getEntityType().getId());
+      }
+    } else if ((StaleIndexContextHolder.isStarted() || LOG.isDebugEnabled())
+        && !indexJobScheduler.isIndexStableIncludingReferences(getEntityType())) {
+      LOG.debug(
+          "Querying index for entity type [{}] that does not contain all committed changes",
+          getEntityType().getId());
+      StaleIndexContextHolder.addStaleEntityTypeId(getEntityType().getId());
+    }
+    return tryTwice(action);
   }
 
   /**
    * Executes an action on an index that may be unstable.
    *
-   * <p>If the Index was unknown, waits for the index to be stable and then tries again.
+   * <p>If the Index was unknown, waits a bounded time for the index to be stable and then tries
+   * again.
    *
    * @param action the action that gets executed
    * @param <R> the result type of the action
@@ -179,11 +215,22 @@ class IndexedRepositoryDecorator extends AbstractRepositoryDecorator<Entity> {
         && !containsNestedQueryRuleField(q);
   }
 
-  private void waitForIndexToBeStable() {
+  /** Returns whether the index became stable within the maximum wait time. */
+  private boolean waitForIndexToBeStable() {
     try {
-      indexJobScheduler.waitForIndexToBeStableIncludingReferences(getEntityType());
+      boolean stable =
+          indexJobScheduler.waitForIndexToBeStableIncludingReferences(
+              getEntityType(), maxWaitMillis, MILLISECONDS);
+      if (!stable) {
+        LOG.warn(
+            "Index for entity type [{}] is not stable after {} ms, results might be stale",
+            getEntityType().getId(),
+            maxWaitMillis);
+      }
+      return stable;
     } catch (InterruptedException e) {
       Thread.currentThread().interrupt();
+      return false;
     }
   }
 }
@@ -5,20 +5,29 @@ import static java.util.Objects.requireNonNull;
 import org.molgenis.data.Entity;
 import org.molgenis.data.Repository;
 import org.molgenis.data.index.job.IndexJobScheduler;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
 @Component
 public class IndexedRepositoryDecoratorFactory {
   private final SearchService searchService;
   private final IndexJobScheduler indexJobScheduler;
+  private final IndexFreshnessPolicy indexFreshnessPolicy;
+  private final long maxWaitMillis;
 
   IndexedRepositoryDecoratorFactory(
-      SearchService searchService, IndexJobScheduler indexJobScheduler) {
+      SearchService searchService,
+      IndexJobScheduler indexJobScheduler,
+      @Value("${index.read.freshness:STALE}") IndexFreshnessPolicy indexFreshnessPolicy,
+      @Value("${index.read.maxWaitMillis:30000}") long maxWaitMillis) {
     this.searchService = requireNonNull(searchService);
     this.indexJobScheduler = requireNonNull(indexJobScheduler);
+    this.indexFreshnessPolicy = requireNonNull(indexFreshnessPolicy);
+    this.maxWaitMillis = maxWaitMillis;
   }
 
   public IndexedRepositoryDecorator create(Repository<Entity> delegateRepository) {
-    return new IndexedRepositoryDecorator(delegateRepository, searchService, indexJobScheduler);
+    return new IndexedRepositoryDecorator(
+        delegateRepository, searchService, indexJobScheduler, indexFreshnessPolicy, maxWaitMillis);
   }
 }
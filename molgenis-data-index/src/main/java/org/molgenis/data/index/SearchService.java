@@ -1,5 +1,8 @@
 package org.molgenis.data.index;
 
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
 import java.util.stream.Stream;
 import org.molgenis.data.Entity;
 import org.molgenis.data.Query;
@@ -12,6 +15,16 @@ public interface SearchService {
 
   long count(EntityType entityType, Query<Entity> q);
 
+  /**
+   * Counts the entities that match the query for multiple entity types in as few requests as
+   * possible.
+   *
+   * @param timeout time budget for counting the entities of all entity types
+   * @return number of matching entities per entity type id, entity types for which the entities
+   *     could not be counted within the time budget are absent
+   */
+  Map<String, Long> count(List<EntityType> entityTypes, Query<Entity> q, Duration timeout);
+
   Object searchOne(EntityType entityType, Query<Entity> q);
 
   Stream<Object> search(EntityType entityType, Query<Entity> q);
@@ -0,0 +1,47 @@
+package org.molgenis.data.index;
+
+import static java.util.Collections.emptySet;
+import static java.util.Collections.unmodifiableSet;
+
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+/**
+ * Keeps track of the entity types for which the current thread queried an index that did not
+ * contain all committed changes, so that callers can be told that their results might be stale.
+ *
+ * <p>Entity types are only collected between {@link #start()} and {@link #clear()}, e.g. for the
+ * duration of a web request.
+ */
+public class StaleIndexContextHolder {
+  private static final ThreadLocal<Set<String>> staleEntityTypeIds = new ThreadLocal<>();
+
+  private StaleIndexContextHolder() {
+    throw new IllegalStateException("Do not instantiate");
+  }
+
+  public static void start() {
+    staleEntityTypeIds.set(new LinkedHashSet<>());
+  }
+
+  public static void clear() {
+    staleEntityTypeIds.remove();
+  }
+
+  static boolean isStarted() {
+    return staleEntityTypeIds.get() != null;
+  }
+
+  public static void addStaleEntityTypeId(String entityTypeId) {
+    Set<String> entityTypeIds = staleEntityTypeIds.get();
+    if (entityTypeIds != null) {
+      entityTypeIds.add(entityTypeId);
+    }
+  }
+
+  /** Returns the ids of the entity types that were queried from a stale index since the start. */
+  public static Set<String> getStaleEntityTypeIds() {
+    Set<String> entityTypeIds = staleEntityTypeIds.get();
+    return entityTypeIds != null ? unmodifiableSet(entityTypeIds) : emptySet();
+  }
+}
@@ -1,5 +1,7 @@
 package org.molgenis.data.index.job;
 
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
 import org.molgenis.data.meta.model.EntityType;
 
 /** Schedules {@link IndexJobService}s. */
@@ -16,5 +18,24 @@ public interface IndexJobScheduler {
 
   void waitForIndexToBeStableIncludingReferences(EntityType entityType) throws InterruptedException;
 
+  /**
+   * Waits at most the given time for all committed changes of the entity type and referenced
+   * entity types to be indexed.
+   *
+   * @return <code>true</code> if all committed changes are indexed, <code>false</code> if the
+   *     waiting time elapsed
+   */
+  boolean waitForIndexToBeStableIncludingReferences(
+      EntityType entityType, long timeout, TimeUnit unit) throws InterruptedException;
+
+  /**
+   * Returns whether all committed changes of the entity type and referenced entity types are
+   * indexed, index query results for the entity type might be stale if they aren't.
+   */
+  boolean isIndexStableIncludingReferences(EntityType entityType);
+
+  /** Returns the time since the oldest committed change that is not indexed yet. */
+  Duration getIndexLag();
+
   void cleanupJobExecutions();
 }
@@ -12,13 +12,12 @@ import static org.molgenis.jobs.model.JobExecutionMetaData.END_DATE;
 import static org.molgenis.jobs.model.JobExecutionMetaData.STATUS;
 import static org.molgenis.security.core.runas.RunAsSystemAspect.runAsSystem;
 
+import java.time.Duration;
 import java.time.Instant;
 import java.time.temporal.ChronoUnit;
 import java.util.Map;
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
 import java.util.stream.Stream;
-import javax.annotation.PreDestroy;
 import org.molgenis.data.DataService;
 import org.molgenis.data.Entity;
 import org.molgenis.data.index.meta.IndexActionGroup;
@@ -26,7 +25,6 @@ import org.molgenis.data.meta.model.EntityType;
 import org.molgenis.data.support.QueryImpl;
 import org.molgenis.jobs.JobExecutor;
 import org.molgenis.security.core.runas.RunAsSystem;
-import org.molgenis.util.ExecutorServiceUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.scheduling.annotation.Scheduled;
@@ -36,8 +34,6 @@ public class IndexJobSchedulerImpl implements IndexJobScheduler {
 
   private final DataService dataService;
   private final IndexJobExecutionFactory indexJobExecutionFactory;
-  // the executor for the index jobs.
-  private ExecutorService executorService = Executors.newSingleThreadExecutor();
   private final JobExecutor jobExecutor;
   private final IndexStatus indexStatus = new IndexStatus();
 
@@ -50,13 +46,6 @@ public class IndexJobSchedulerImpl implements IndexJobScheduler {
     this.jobExecutor = requireNonNull(jobExecutor);
   }
 
-  @PreDestroy
-  void preDestroy() {
-    if (executorService != null) {
-      ExecutorServiceUtils.shutdownAndAwaitTermination(executorService);
-    }
-  }
-
   @Override
   @RunAsSystem
   public void scheduleIndexJob(String transactionId) {
@@ -71,13 +60,15 @@ public class IndexJobSchedulerImpl implements IndexJobScheduler {
       Map<String, Long> numberOfActionsPerEntity =
           indexActions.collect(
               groupingBy(indexAction -> indexAction.getString(ENTITY_TYPE_ID), counting()));
-      indexStatus.addActionCounts(numberOfActionsPerEntity);
+      indexStatus.addActionCounts(transactionId, numberOfActionsPerEntity);
 
       IndexJobExecution indexJobExecution = indexJobExecutionFactory.create();
       indexJobExecution.setIndexActionJobID(transactionId);
+      // index jobs are dispatched like other jobs, the dispatcher runs them one at a time
       jobExecutor
-          .submit(indexJobExecution, executorService)
-          .whenComplete((a, b) -> indexStatus.removeActionCounts(numberOfActionsPerEntity));
+          .submit(indexJobExecution)
+          .whenComplete(
+              (a, b) -> indexStatus.removeActionCounts(transactionId, numberOfActionsPerEntity));
     } else {
       LOG.debug("No index job found for id [{}].", transactionId);
     }
@@ -96,6 +87,24 @@ public class IndexJobSchedulerImpl implements IndexJobScheduler {
     indexStatus.waitForIndexToBeStableIncludingReferences(entityType);
   }
 
+  @Override
+  @RunAsSystem
+  public boolean waitForIndexToBeStableIncludingReferences(
+      EntityType entityType, long timeout, TimeUnit unit) throws InterruptedException {
+    return indexStatus.waitForIndexToBeStableIncludingReferences(entityType, timeout, unit);
+  }
+
+  @Override
+  @RunAsSystem
+  public boolean isIndexStableIncludingReferences(EntityType entityType) {
+    return indexStatus.isIndexStableIncludingReferences(entityType);
+  }
+
+  @Override
+  public Duration getIndexLag() {
+    return indexStatus.getIndexLag();
+  }
+
   /**
    * Cleans up successful IndexJobExecutions that finished longer than five minutes ago. delay for a
    * minute to allow the transaction manager to become available
@@ -0,0 +1,33 @@
+package org.molgenis.data.index.job;
+
+import static java.util.Objects.requireNonNull;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.util.concurrent.TimeUnit;
+import javax.annotation.PostConstruct;
+import org.springframework.stereotype.Component;
+
+@Component
+public class IndexMetrics {
+
+  private final IndexJobScheduler indexJobScheduler;
+  private final MeterRegistry meterRegistry;
+
+  IndexMetrics(IndexJobScheduler indexJobScheduler, MeterRegistry meterRegistry) {
+    this.indexJobScheduler = requireNonNull(indexJobScheduler);
+    this.meterRegistry = requireNonNull(meterRegistry);
+  }
+
+  @PostConstruct
+  public void bindToRegistry() {
+    Gauge.builder("index.lag", indexJobScheduler, IndexMetrics::getIndexLagSeconds)
+        .description("The time since the oldest committed change that is not indexed yet")
+        .baseUnit("seconds")
+        .register(meterRegistry);
+  }
+
+  private static double getIndexLagSeconds(IndexJobScheduler indexJobScheduler) {
+    return indexJobScheduler.getIndexLag().toMillis() / (double) TimeUnit.SECONDS.toMillis(1);
+  }
+}
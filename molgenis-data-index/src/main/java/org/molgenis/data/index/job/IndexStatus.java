@@ -1,11 +1,18 @@
 package org.molgenis.data.index.job;
 
 import static com.google.common.collect.Streams.stream;
+import static java.util.Comparator.naturalOrder;
+import static java.util.Objects.requireNonNull;
 import static java.util.stream.Collectors.toSet;
 
 import com.google.common.util.concurrent.AtomicLongMap;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HashMap;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.locks.Condition;
 import java.util.concurrent.locks.Lock;
 import java.util.concurrent.locks.ReentrantLock;
@@ -14,38 +21,65 @@ import org.molgenis.data.meta.model.EntityType;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-/** Keeps track of outstanding index actions. */
+/**
+ * Keeps track of outstanding index actions. For each entity type the committed transactions with
+ * changes that are not indexed yet are tracked: the index of an entity type is stable if all
+ * committed changes are indexed, its freshness lag is the time since the oldest committed change
+ * that is not indexed yet.
+ */
 public class IndexStatus {
   private final Lock lock = new ReentrantLock();
   private final Condition allEntitiesStable = lock.newCondition();
   private final Condition singleEntityStable = lock.newCondition();
+  private final Clock clock;
 
   /** Counts how many actions are pending for each entity. */
   private AtomicLongMap<String> actionCountsPerEntity = AtomicLongMap.create();
 
+  /** Commit times of transactions with pending actions for each entity. */
+  private final Map<String, Map<String, Instant>> pendingCommitsPerEntity = new HashMap<>();
+
   private static final Logger LOG = LoggerFactory.getLogger(IndexStatus.class);
 
-  void addActionCounts(Map<String, Long> actionsRegistered) {
+  IndexStatus() {
+    this(Clock.systemUTC());
+  }
+
+  IndexStatus(Clock clock) {
+    this.clock = requireNonNull(clock);
+  }
+
+  void addActionCounts(String transactionId, Map<String, Long> actionsRegistered) {
     LOG.debug("addActionCounts {}", actionsRegistered);
+    Instant commitTime = clock.instant();
     lock.lock();
     try {
       for (Map.Entry<String, Long> addedForEntity : actionsRegistered.entrySet()) {
         final String entityTypeId = addedForEntity.getKey();
         final Long numberOfActions = addedForEntity.getValue();
         actionCountsPerEntity.addAndGet(entityTypeId, numberOfActions);
+        pendingCommitsPerEntity
+            .computeIfAbsent(entityTypeId, key -> new HashMap<>())
+            .put(transactionId, commitTime);
       }
     } finally {
       lock.unlock();
     }
   }
 
-  void removeActionCounts(Map<String, Long> actionsPerformed) {
+  void removeActionCounts(String transactionId, Map<String, Long> actionsPerformed) {
     LOG.debug("removeActionCount {}", actionsPerformed);
     lock.lock();
     try {
       for (Map.Entry<String, Long> actionsPerEntity : actionsPerformed.entrySet()) {
         final String entityTypeId = actionsPerEntity.getKey();
         Long numberOfActions = actionsPerEntity.getValue();
+        pendingCommitsPerEntity.computeIfPresent(
+            entityTypeId,
+            (key, pendingCommits) -> {
+              pendingCommits.remove(transactionId);
+              return pendingCommits.isEmpty() ? null : pendingCommits;
+            });
         if (actionCountsPerEntity.addAndGet(entityTypeId, -numberOfActions) == 0) {
           actionCountsPerEntity.removeAllZeros();
           LOG.debug("Entity {} is stable.", entityTypeId);
@@ -72,17 +106,65 @@ public class IndexStatus {
     }
   }
 
-  private boolean isIndexStableIncludingReferences(EntityType emd) {
-    if (isAllIndicesStable()) {
-      return true;
+  boolean isIndexStableIncludingReferences(EntityType emd) {
+    lock.lock();
+    try {
+      if (isAllIndicesStable()) {
+        return true;
+      }
+      return getEntityTypeIdsIncludingReferences(emd).stream()
+          .noneMatch(actionCountsPerEntity::containsKey);
+    } finally {
+      lock.unlock();
     }
+  }
+
+  private static Set<String> getEntityTypeIdsIncludingReferences(EntityType emd) {
     Set<String> referencedEntityIds =
         stream(emd.getAtomicAttributes())
             .filter(Attribute::hasRefEntity)
             .map(attribute -> attribute.getRefEntity().getId())
             .collect(toSet());
     referencedEntityIds.add(emd.getId());
-    return referencedEntityIds.stream().noneMatch(actionCountsPerEntity::containsKey);
+    return referencedEntityIds;
+  }
+
+  /**
+   * Waits at most the given time for the index of the entity type and the indices of referenced
+   * entity types to become stable.
+   *
+   * @return <code>true</code> if the indices are stable, <code>false</code> if the waiting time
+   *     elapsed
+   */
+  boolean waitForIndexToBeStableIncludingReferences(EntityType emd, long timeout, TimeUnit unit)
+      throws InterruptedException {
+    long nanos = unit.toNanos(timeout);
+    lock.lock();
+    try {
+      while (!isIndexStableIncludingReferences(emd)) {
+        if (nanos <= 0L) {
+          return false;
+        }
+        nanos = singleEntityStable.awaitNanos(nanos);
+      }
+      return true;
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  /** Returns the time since the oldest committed change that is not indexed yet. */
+  Duration getIndexLag() {
+    lock.lock();
+    try {
+      return pendingCommitsPerEntity.values().stream()
+          .flatMap(pendingCommits -> pendingCommits.values().stream())
+          .min(naturalOrder())
+          .map(commitTime -> Duration.between(commitTime, clock.instant()))
+          .orElse(Duration.ZERO);
+    } finally {
+      lock.unlock();
+    }
   }
 
   void waitForIndexToBeStableIncludingReferences(EntityType emd) throws InterruptedException {
@@ -2,9 +2,12 @@ package org.molgenis.data.index;
 
 import static com.google.common.collect.Lists.newArrayList;
 import static java.util.Arrays.asList;
+import static java.util.Collections.emptySet;
+import static java.util.Collections.singleton;
 import static java.util.Collections.singletonList;
 import static java.util.EnumSet.allOf;
 import static java.util.EnumSet.of;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
 import static java.util.stream.Collectors.toList;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.assertEquals;
@@ -27,6 +30,8 @@ import static org.molgenis.data.RepositoryCapability.AGGREGATEABLE;
 import static org.molgenis.data.RepositoryCapability.MANAGABLE;
 import static org.molgenis.data.RepositoryCapability.QUERYABLE;
 import static org.molgenis.data.RepositoryCapability.VALIDATE_NOTNULL_CONSTRAINT;
+import static org.molgenis.data.index.IndexFreshnessPolicy.STALE;
+import static org.molgenis.data.index.IndexFreshnessPolicy.WAIT;
 
 import java.io.IOException;
 import java.util.Collections;
@@ -55,6 +60,7 @@ import org.molgenis.data.support.AggregateQueryImpl;
 class IndexedRepositoryDecoratorTest {
   private IndexedRepositoryDecorator indexedRepositoryDecorator;
   private SearchService searchService;
+  private IndexJobScheduler indexJobScheduler;
   private Repository<Entity> delegateRepository;
   private EntityType repositoryEntityType;
   private String idAttrName;
@@ -80,9 +86,10 @@ class IndexedRepositoryDecoratorTest {
     when(delegateRepository.getCapabilities())
         .thenReturn(EnumSet.of(QUERYABLE, MANAGABLE, VALIDATE_NOTNULL_CONSTRAINT));
     when(delegateRepository.getQueryOperators()).thenReturn(EnumSet.of(IN, LESS, EQUALS, AND, OR));
-    IndexJobScheduler indexJobScheduler = mock(IndexJobScheduler.class);
+    indexJobScheduler = mock(IndexJobScheduler.class);
     indexedRepositoryDecorator =
-        new IndexedRepositoryDecorator(delegateRepository, searchService, indexJobScheduler);
+        new IndexedRepositoryDecorator(
+            delegateRepository, searchService, indexJobScheduler, STALE, 1000L);
 
     when(repositoryEntityType.getAtomicAttributes()).thenReturn(newArrayList(idAttr));
 
@@ -105,7 +112,8 @@ class IndexedRepositoryDecoratorTest {
   @Test
   void indexedRepositoryDecorator() {
     assertThrows(
-        NullPointerException.class, () -> new IndexedRepositoryDecorator(null, null, null));
+        NullPointerException.class,
+        () -> new IndexedRepositoryDecorator(null, null, null, null, 0L));
   }
 
   @Test
@@ -197,6 +205,69 @@ class IndexedRepositoryDecoratorTest {
     verify(delegateRepository, never()).count(unsupportedQuery);
   }
 
+  @Test
+  void countQueryUnsupportedIndexFreshnessStale() throws InterruptedException {
+    when(searchService.count(repositoryEntityType, unsupportedQuery)).thenReturn(5L);
+    assertEquals(5L, indexedRepositoryDecorator.count(unsupportedQuery));
+    verify(indexJobScheduler, never())
+        .waitForIndexToBeStableIncludingReferences(repositoryEntityType, 1000L, MILLISECONDS);
+  }
+
+  @Test
+  void countQueryUnsupportedIndexFreshnessWait() throws InterruptedException {
+    IndexedRepositoryDecorator waitingIndexedRepositoryDecorator =
+        new IndexedRepositoryDecorator(
+            delegateRepository, searchService, indexJobScheduler, WAIT, 1000L);
+    when(searchService.count(repositoryEntityType, unsupportedQuery)).thenReturn(5L);
+
+    assertEquals(5L, waitingIndexedRepositoryDecorator.count(unsupportedQuery));
+    verify(indexJobScheduler)
+        .waitForIndexToBeStableIncludingReferences(repositoryEntityType, 1000L, MILLISECONDS);
+  }
+
+  @Test
+  void countQueryUnsupportedIndexFreshnessStaleReportsStaleIndex() {
+    when(indexJobScheduler.isIndexStableIncludingReferences(repositoryEntityType))
+        .thenReturn(false);
+    StaleIndexContextHolder.start();
+    try {
+      indexedRepositoryDecorator.count(unsupportedQuery);
+      assertEquals(singleton("entity"), StaleIndexContextHolder.getStaleEntityTypeIds());
+    } finally {
+      StaleIndexContextHolder.clear();
+    }
+  }
+
+  @Test
+  void countQueryUnsupportedIndexFreshnessStaleStableIndex() {
+    when(indexJobScheduler.isIndexStableIncludingReferences(repositoryEntityType)).thenReturn(true);
+    StaleIndexContextHolder.start();
+    try {
+      indexedRepositoryDecorator.count(unsupportedQuery);
+      assertEquals(emptySet(), StaleIndexContextHolder.getStaleEntityTypeIds());
+    } finally {
+      StaleIndexContextHolder.clear();
+    }
+  }
+
+  @Test
+  void countQueryUnsupportedIndexFreshnessWaitTimeoutReportsStaleIndex()
+      throws InterruptedException {
+    IndexedRepositoryDecorator waitingIndexedRepositoryDecorator =
+        new IndexedRepositoryDecorator(
+            delegateRepository, searchService, indexJobScheduler, WAIT, 1000L);
+    when(indexJobScheduler.waitForIndexToBeStableIncludingReferences(
+            repositoryEntityType, 1000L, MILLISECONDS))
+        .thenReturn(false);
+    StaleIndexContextHolder.start();
+    try {
+      waitingIndexedRepositoryDecorator.count(unsupportedQuery);
+      assertEquals(singleton("entity"), StaleIndexContextHolder.getStaleEntityTypeIds());
+    } finally {
+      StaleIndexContextHolder.clear();
+    }
+  }
+
   @Test
   void countUnknownIndexExceptionRecoverable() {
     when(searchService.count(repositoryEntityType, unsupportedQuery))
@@ -0,0 +1,82 @@
+package org.molgenis.data.index.job;
+
+import static java.util.Collections.emptyList;
+import static java.util.Collections.singletonMap;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.molgenis.data.meta.model.EntityType;
+
+class IndexStatusTest {
+  private Clock clock;
+  private IndexStatus indexStatus;
+
+  @BeforeEach
+  void setUpBeforeEach() {
+    clock = mock(Clock.class);
+    indexStatus = new IndexStatus(clock);
+  }
+
+  @Test
+  void testGetIndexLag() {
+    when(clock.instant())
+        .thenReturn(Instant.ofEpochSecond(10))
+        .thenReturn(Instant.ofEpochSecond(20))
+        .thenReturn(Instant.ofEpochSecond(25));
+    indexStatus.addActionCounts("transaction0", singletonMap("entityType", 1L));
+    indexStatus.addActionCounts("transaction1", singletonMap("entityType", 1L));
+    assertEquals(Duration.ofSeconds(15), indexStatus.getIndexLag());
+  }
+
+  @Test
+  void testGetIndexLagIndexed() {
+    when(clock.instant())
+        .thenReturn(Instant.ofEpochSecond(10))
+        .thenReturn(Instant.ofEpochSecond(20))
+        .thenReturn(Instant.ofEpochSecond(25));
+    indexStatus.addActionCounts("transaction0", singletonMap("entityType", 1L));
+    indexStatus.addActionCounts("transaction1", singletonMap("entityType", 1L));
+    indexStatus.removeActionCounts("transaction0", singletonMap("entityType", 1L));
+    assertEquals(Duration.ofSeconds(5), indexStatus.getIndexLag());
+  }
+
+  @Test
+  void testGetIndexLagStable() {
+    assertEquals(Duration.ZERO, indexStatus.getIndexLag());
+  }
+
+  @Test
+  void testWaitForIndexToBeStableIncludingReferencesTimeout() throws InterruptedException {
+    when(clock.instant()).thenReturn(Instant.ofEpochSecond(10));
+    indexStatus.addActionCounts("transaction0", singletonMap("entityType", 1L));
+    EntityType entityType = createEntityType("entityType");
+
+    assertFalse(indexStatus.waitForIndexToBeStableIncludingReferences(entityType, 1, MILLISECONDS));
+  }
+
+  @Test
+  void testWaitForIndexToBeStableIncludingReferencesOtherEntityType()
+      throws InterruptedException {
+    when(clock.instant()).thenReturn(Instant.ofEpochSecond(10));
+    indexStatus.addActionCounts("transaction0", singletonMap("otherEntityType", 1L));
+    EntityType entityType = createEntityType("entityType");
+
+    assertTrue(indexStatus.waitForIndexToBeStableIncludingReferences(entityType, 1, MILLISECONDS));
+  }
+
+  private static EntityType createEntityType(String entityTypeId) {
+    EntityType entityType = mock(EntityType.class);
+    when(entityType.getId()).thenReturn(entityTypeId);
+    when(entityType.getAtomicAttributes()).thenReturn(emptyList());
+    return entityType;
+  }
+}
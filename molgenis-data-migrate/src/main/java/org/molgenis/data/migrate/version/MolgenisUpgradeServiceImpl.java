@@ -51,6 +51,7 @@ public class MolgenisUpgradeServiceImpl implements MolgenisUpgradeService {
       upgrades.stream()
           .filter(upgrade -> upgrade.getFromVersion() >= schemaVersion)
           .forEach(this::runUpgrade);
+      versionService.deleteSystemMetadataFingerprints();
 
       versionService.setSchemaVersion(versionService.getAppVersion());
 
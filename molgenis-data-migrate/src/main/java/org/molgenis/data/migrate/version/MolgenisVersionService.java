@@ -18,7 +18,7 @@ import org.springframework.stereotype.Service;
 public class MolgenisVersionService {
 
   /** package-private for testability */
-  static final int VERSION = 48;
+  static final int VERSION = 49;
 
   private final DataSource dataSource;
 
@@ -32,6 +32,7 @@ public class MolgenisVersionService {
       try (Connection connection = dataSource.getConnection()) {
         createVersionTable(connection);
         createVersionTableRow(connection);
+        createSystemMetadataFingerprintTable(connection);
       } catch (SQLException e) {
         throw new UncheckedSqlException(e);
       }
@@ -67,6 +68,15 @@ public class MolgenisVersionService {
     }
   }
 
+  private void createSystemMetadataFingerprintTable(Connection connection) throws SQLException {
+    try (Statement statement = connection.createStatement()) {
+      String createFingerprintTableSql =
+          "CREATE TABLE \"SystemMetadataFingerprint\" "
+              + "(\"id\" text PRIMARY KEY, \"fingerprint\" text NOT NULL)";
+      statement.execute(createFingerprintTableSql);
+    }
+  }
+
   int getAppVersion() {
     return VERSION;
   }
@@ -101,4 +111,18 @@ public class MolgenisVersionService {
       throw new UncheckedSqlException(e);
     }
   }
+
+  /**
+   * Deletes the fingerprints of the persisted system metadata. Upgrades might change the persisted
+   * system metadata, so all system metadata is persisted again on the next bootstrap.
+   */
+  void deleteSystemMetadataFingerprints() {
+    try (Connection connection = dataSource.getConnection()) {
+      try (Statement statement = connection.createStatement()) {
+        statement.execute("DELETE FROM \"SystemMetadataFingerprint\"");
+      }
+    } catch (SQLException e) {
+      throw new UncheckedSqlException(e);
+    }
+  }
 }
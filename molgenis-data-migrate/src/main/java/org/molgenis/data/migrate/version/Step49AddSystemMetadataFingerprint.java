@@ -0,0 +1,45 @@
+package org.molgenis.data.migrate.version;
+
+import static java.util.Objects.requireNonNull;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import javax.sql.DataSource;
+import org.molgenis.data.migrate.framework.MolgenisUpgrade;
+import org.molgenis.util.ResourceUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+public class Step49AddSystemMetadataFingerprint extends MolgenisUpgrade {
+
+  private static final Logger LOG =
+      LoggerFactory.getLogger(Step49AddSystemMetadataFingerprint.class);
+
+  private final JdbcTemplate jdbcTemplate;
+
+  public Step49AddSystemMetadataFingerprint(DataSource dataSource) {
+    this(new JdbcTemplate(dataSource));
+  }
+
+  Step49AddSystemMetadataFingerprint(JdbcTemplate jdbcTemplate) {
+    super(48, 49);
+    this.jdbcTemplate = requireNonNull(jdbcTemplate);
+  }
+
+  @Override
+  public void upgrade() {
+    LOG.debug("Adding system metadata fingerprint table...");
+    try {
+      addSystemMetadataFingerprintTable();
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+    LOG.info("Added system metadata fingerprint table.");
+  }
+
+  private void addSystemMetadataFingerprintTable() throws IOException {
+    var sql = ResourceUtils.getString("step49-addSystemMetadataFingerprint.sql");
+    jdbcTemplate.execute(sql);
+  }
+}
@@ -0,0 +1,5 @@
+CREATE TABLE IF NOT EXISTS "SystemMetadataFingerprint"
+(
+    "id"          text PRIMARY KEY,
+    "fingerprint" text NOT NULL
+);
\ No newline at end of file
@@ -2,11 +2,18 @@ package org.molgenis.data.migrate.version;
 
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.mockito.InOrder;
 import org.mockito.Mock;
+import org.molgenis.data.migrate.framework.MolgenisUpgrade;
 import org.molgenis.test.AbstractMockitoTest;
 
 class MolgenisUpgradeServiceImplTest extends AbstractMockitoTest {
@@ -28,5 +35,23 @@ class MolgenisUpgradeServiceImplTest extends AbstractMockitoTest {
   void testUpgradeFromVersion31() {
     when(molgenisVersionService.getSchemaVersion()).thenReturn(31);
     assertFalse(molgenisUpgradeServiceImpl.upgrade());
+    verify(molgenisVersionService, never()).deleteSystemMetadataFingerprints();
+  }
+
+  @Test
+  void testUpgrade() {
+    when(molgenisVersionService.getSchemaVersion()).thenReturn(31);
+    when(molgenisVersionService.getAppVersion()).thenReturn(32);
+    MolgenisUpgrade upgrade = mock(MolgenisUpgrade.class);
+    when(upgrade.getFromVersion()).thenReturn(31);
+    when(upgrade.getToVersion()).thenReturn(32);
+    molgenisUpgradeServiceImpl.addUpgrade(upgrade);
+
+    assertTrue(molgenisUpgradeServiceImpl.upgrade());
+
+    InOrder inOrder = inOrder(upgrade, molgenisVersionService);
+    inOrder.verify(upgrade).upgrade();
+    inOrder.verify(molgenisVersionService).deleteSystemMetadataFingerprints();
+    inOrder.verify(molgenisVersionService).setSchemaVersion(32);
   }
 }
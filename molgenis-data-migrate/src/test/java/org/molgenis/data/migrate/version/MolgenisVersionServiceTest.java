@@ -57,4 +57,15 @@ class MolgenisVersionServiceTest extends AbstractMockitoTest {
     verify(preparedStatement).setInt(1, 30);
     verify(preparedStatement).execute();
   }
+
+  @Test
+  void testDeleteSystemMetadataFingerprints() throws SQLException {
+    Connection connection = mock(Connection.class);
+    when(dataSource.getConnection()).thenReturn(connection);
+    Statement statement = mock(Statement.class);
+    when(connection.createStatement()).thenReturn(statement);
+
+    molgenisVersionService.deleteSystemMetadataFingerprints();
+    verify(statement).execute("DELETE FROM \"SystemMetadataFingerprint\"");
+  }
 }
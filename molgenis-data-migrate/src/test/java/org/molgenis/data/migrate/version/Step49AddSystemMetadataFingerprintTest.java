@@ -0,0 +1,31 @@
+package org.molgenis.data.migrate.version;
+
+import static org.mockito.Mockito.verify;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.molgenis.test.AbstractMockitoTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+class Step49AddSystemMetadataFingerprintTest extends AbstractMockitoTest {
+  @Mock private JdbcTemplate jdbcTemplate;
+  private Step49AddSystemMetadataFingerprint step49;
+
+  @BeforeEach
+  void setUpBeforeEach() {
+    step49 = new Step49AddSystemMetadataFingerprint(jdbcTemplate);
+  }
+
+  @Test
+  void upgrade() {
+    step49.upgrade();
+    verify(jdbcTemplate)
+        .execute(
+            "CREATE TABLE IF NOT EXISTS \"SystemMetadataFingerprint\"\n"
+                + "(\n"
+                + "    \"id\"          text PRIMARY KEY,\n"
+                + "    \"fingerprint\" text NOT NULL\n"
+                + ");");
+  }
+}
@@ -9,8 +9,10 @@ import static org.molgenis.data.meta.model.EntityTypeMetadata.ID;
 import static org.molgenis.data.meta.model.PackageMetadata.PACKAGE;
 
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.function.Function;
 import java.util.stream.Stream;
 import org.molgenis.data.DataService;
@@ -26,47 +28,85 @@ import org.molgenis.data.security.EntityIdentityUtils;
 import org.molgenis.data.util.EntityTypeUtils;
 import org.molgenis.data.util.PackageUtils;
 import org.molgenis.security.acl.MutableAclClassService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Component;
 
 /**
  * Persists {@link SystemEntityType} in the meta data {@link
  * org.molgenis.data.RepositoryCollection}.
+ *
+ * <p>Only system packages and system entity types of which the fingerprint differs from the
+ * fingerprint stored on the previous startup are persisted. Persisting is skipped entirely if none
+ * of the fingerprints differ.
  */
 @Component
 public class SystemEntityTypePersister {
+  private static final Logger LOG = LoggerFactory.getLogger(SystemEntityTypePersister.class);
+
+  private static final String PACKAGE_KEY_PREFIX = "package:";
+  private static final String ENTITY_TYPE_KEY_PREFIX = "entityType:";
+
   private final DataService dataService;
   private final SystemEntityTypeRegistry systemEntityTypeRegistry;
   private final SystemPackageRegistry systemPackageRegistry;
   private final EntityTypeDependencyResolver entityTypeDependencyResolver;
   private final MutableAclClassService mutableAclClassService;
+  private final SystemMetadataFingerprinter systemMetadataFingerprinter;
+  private final SystemMetadataFingerprintRepository systemMetadataFingerprintRepository;
 
   SystemEntityTypePersister(
       DataService dataService,
       SystemEntityTypeRegistry systemEntityTypeRegistry,
       EntityTypeDependencyResolver entityTypeDependencyResolver,
       SystemPackageRegistry systemPackageRegistry,
-      MutableAclClassService mutableAclClassService) {
+      MutableAclClassService mutableAclClassService,
+      SystemMetadataFingerprinter systemMetadataFingerprinter,
+      SystemMetadataFingerprintRepository systemMetadataFingerprintRepository) {
     this.dataService = requireNonNull(dataService);
     this.systemEntityTypeRegistry = requireNonNull(systemEntityTypeRegistry);
     this.systemPackageRegistry = requireNonNull(systemPackageRegistry);
     this.entityTypeDependencyResolver = requireNonNull(entityTypeDependencyResolver);
     this.mutableAclClassService = requireNonNull(mutableAclClassService);
+    this.systemMetadataFingerprinter = requireNonNull(systemMetadataFingerprinter);
+    this.systemMetadataFingerprintRepository = requireNonNull(systemMetadataFingerprintRepository);
   }
 
   public void persist() {
     // persist entity metadata metadata
     persistMetadataMetadata();
 
-    // persist Package entities
     List<Package> systemPackages = systemPackageRegistry.getSystemPackages().collect(toList());
-    injectExistingPackageIdentifiers(systemPackages);
-    dataService.getMeta().upsertPackages(systemPackages.stream());
-
-    // persist EntityType entities
     List<SystemEntityType> metaEntityMetaSet =
         systemEntityTypeRegistry.getSystemEntityTypes().collect(toList());
+
+    // attribute identifiers are generated, use the persisted identifiers instead
     injectExistingEntityTypeAttributeIdentifiers(metaEntityMetaSet);
-    metaEntityMetaSet.forEach(
+
+    Map<String, String> persistedFingerprints =
+        systemMetadataFingerprintRepository.getFingerprints();
+    Map<String, String> fingerprints = createFingerprints(systemPackages, metaEntityMetaSet);
+    if (fingerprints.equals(persistedFingerprints)) {
+      LOG.debug("System metadata is unchanged");
+      return;
+    }
+
+    // persist Package entities
+    List<Package> changedPackages =
+        systemPackages.stream()
+            .filter(pack -> isChanged(packageKey(pack), fingerprints, persistedFingerprints))
+            .collect(toList());
+    injectExistingPackageIdentifiers(changedPackages);
+    dataService.getMeta().upsertPackages(changedPackages.stream());
+
+    // persist EntityType entities
+    List<SystemEntityType> changedEntityTypes =
+        metaEntityMetaSet.stream()
+            .filter(
+                entityType ->
+                    isChanged(entityTypeKey(entityType), fingerprints, persistedFingerprints))
+            .collect(toList());
+    changedEntityTypes.forEach(
         systemEntityType -> {
           String aclClass = EntityIdentityUtils.toType(systemEntityType);
           if (systemEntityType.isRowLevelSecured()
@@ -78,11 +118,66 @@ public class SystemEntityTypePersister {
             mutableAclClassService.deleteAclClass(aclClass);
           }
         });
-    dataService.getMeta().upsertEntityTypes(new ArrayList<>(metaEntityMetaSet));
+    dataService.getMeta().upsertEntityTypes(new ArrayList<>(changedEntityTypes));
 
     // remove non-existing metadata
-    removeNonExistingSystemEntityTypes();
-    removeNonExistingSystemPackages();
+    List<String> removedKeys =
+        persistedFingerprints.keySet().stream()
+            .filter(key -> !fingerprints.containsKey(key))
+            .collect(toList());
+    if (persistedFingerprints.isEmpty()) {
+      removeNonExistingSystemEntityTypes();
+      removeNonExistingSystemPackages();
+    } else {
+      removeSystemEntityTypes(getIds(removedKeys, ENTITY_TYPE_KEY_PREFIX));
+      removeSystemPackages(getIds(removedKeys, PACKAGE_KEY_PREFIX));
+    }
+
+    Map<String, String> changedFingerprints = new HashMap<>();
+    fingerprints.forEach(
+        (key, fingerprint) -> {
+          if (isChanged(key, fingerprints, persistedFingerprints)) {
+            changedFingerprints.put(key, fingerprint);
+          }
+        });
+    systemMetadataFingerprintRepository.updateFingerprints(changedFingerprints, removedKeys);
+    LOG.debug(
+        "Persisted {} system packages and {} system entity types, removed {}",
+        changedPackages.size(),
+        changedEntityTypes.size(),
+        removedKeys);
+  }
+
+  private Map<String, String> createFingerprints(
+      List<Package> systemPackages, List<SystemEntityType> systemEntityTypes) {
+    Map<String, String> fingerprints = new HashMap<>();
+    systemPackages.forEach(
+        pack -> fingerprints.put(packageKey(pack), systemMetadataFingerprinter.fingerprint(pack)));
+    systemEntityTypes.forEach(
+        entityType ->
+            fingerprints.put(
+                entityTypeKey(entityType), systemMetadataFingerprinter.fingerprint(entityType)));
+    return fingerprints;
+  }
+
+  private static boolean isChanged(
+      String key, Map<String, String> fingerprints, Map<String, String> persistedFingerprints) {
+    return !Objects.equals(fingerprints.get(key), persistedFingerprints.get(key));
+  }
+
+  private static String packageKey(Package aPackage) {
+    return PACKAGE_KEY_PREFIX + aPackage.getId();
+  }
+
+  private static String entityTypeKey(EntityType entityType) {
+    return ENTITY_TYPE_KEY_PREFIX + entityType.getId();
+  }
+
+  private static List<String> getIds(List<String> keys, String keyPrefix) {
+    return keys.stream()
+        .filter(key -> key.startsWith(keyPrefix))
+        .map(key -> key.substring(keyPrefix.length()))
+        .collect(toList());
   }
 
   private void persistMetadataMetadata() {
@@ -121,12 +216,25 @@ public class SystemEntityTypePersister {
                     .forEach(removedSystemEntityIds::add),
             1000);
 
-    dataService.getMeta().deleteEntityTypes(removedSystemEntityIds);
-    removedSystemEntityIds.forEach(
+    removeSystemEntityTypes(removedSystemEntityIds);
+  }
+
+  private void removeSystemEntityTypes(List<String> entityTypeIds) {
+    if (entityTypeIds.isEmpty()) {
+      return;
+    }
+    dataService.getMeta().deleteEntityTypes(entityTypeIds);
+    entityTypeIds.forEach(
         entityTypeId ->
             mutableAclClassService.deleteAclClass(EntityIdentityUtils.toType(entityTypeId)));
   }
 
+  private void removeSystemPackages(List<String> packageIds) {
+    if (!packageIds.isEmpty()) {
+      dataService.deleteAll(PACKAGE, packageIds.stream().map(Object.class::cast));
+    }
+  }
+
   private void removeNonExistingSystemPackages() {
     Stream<Package> systemPackages =
         dataService
@@ -168,7 +276,10 @@ public class SystemEntityTypePersister {
       List<? extends EntityType> entityTypes) {
     Map<String, EntityType> existingEntityTypeMap =
         dataService
-            .findAll(ENTITY_TYPE_META_DATA, EntityType.class)
+            .findAll(
+                ENTITY_TYPE_META_DATA,
+                entityTypes.stream().map(EntityType::getId).map(Object.class::cast),
+                EntityType.class)
             .collect(toMap(EntityType::getId, entityType -> entityType));
 
     entityTypes.forEach(
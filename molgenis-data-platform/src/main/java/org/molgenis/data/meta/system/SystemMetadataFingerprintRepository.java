@@ -0,0 +1,72 @@
+package org.molgenis.data.meta.system;
+
+import static java.util.Objects.requireNonNull;
+import static java.util.stream.Collectors.toList;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * Stores the fingerprints of the persisted system packages and system entity types in the
+ * database, so that unchanged system metadata is not persisted again on startup. The fingerprint
+ * table is created by an upgrade step and the fingerprints are deleted after each upgrade.
+ */
+@Component
+public class SystemMetadataFingerprintRepository {
+  private static final String SQL_TABLE_EXISTS =
+      "SELECT to_regclass('\"SystemMetadataFingerprint\"') IS NOT NULL";
+  private static final String SQL_SELECT =
+      "SELECT \"id\", \"fingerprint\" FROM \"SystemMetadataFingerprint\"";
+  private static final String SQL_UPSERT =
+      "INSERT INTO \"SystemMetadataFingerprint\" (\"id\", \"fingerprint\") VALUES (?, ?) "
+          + "ON CONFLICT (\"id\") DO UPDATE SET \"fingerprint\" = EXCLUDED.\"fingerprint\"";
+  private static final String SQL_DELETE =
+      "DELETE FROM \"SystemMetadataFingerprint\" WHERE \"id\" = ?";
+
+  private final JdbcTemplate jdbcTemplate;
+
+  SystemMetadataFingerprintRepository(JdbcTemplate jdbcTemplate) {
+    this.jdbcTemplate = requireNonNull(jdbcTemplate);
+  }
+
+  /**
+   * Returns the persisted fingerprints by key, returns no fingerprints if the fingerprint table
+   * does not exist because the upgrade steps did not run
+   */
+  Map<String, String> getFingerprints() {
+    Map<String, String> fingerprints = new HashMap<>();
+    if (!tableExists()) {
+      return fingerprints;
+    }
+    jdbcTemplate.query(
+        SQL_SELECT,
+        resultSet -> {
+          fingerprints.put(resultSet.getString("id"), resultSet.getString("fingerprint"));
+        });
+    return fingerprints;
+  }
+
+  void updateFingerprints(Map<String, String> fingerprints, Collection<String> removedKeys) {
+    if (!tableExists()) {
+      return;
+    }
+    if (!fingerprints.isEmpty()) {
+      jdbcTemplate.batchUpdate(
+          SQL_UPSERT,
+          fingerprints.entrySet().stream()
+              .map(entry -> new Object[] {entry.getKey(), entry.getValue()})
+              .collect(toList()));
+    }
+    if (!removedKeys.isEmpty()) {
+      jdbcTemplate.batchUpdate(
+          SQL_DELETE, removedKeys.stream().map(key -> new Object[] {key}).collect(toList()));
+    }
+  }
+
+  private boolean tableExists() {
+    return Boolean.TRUE.equals(jdbcTemplate.queryForObject(SQL_TABLE_EXISTS, Boolean.class));
+  }
+}
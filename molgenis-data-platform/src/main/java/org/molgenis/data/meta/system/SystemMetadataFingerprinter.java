@@ -0,0 +1,75 @@
+package org.molgenis.data.meta.system;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.molgenis.data.meta.model.AttributeMetadata.ID;
+
+import com.google.common.hash.HashFunction;
+import com.google.common.hash.Hasher;
+import com.google.common.hash.Hashing;
+import javax.annotation.Nullable;
+import org.molgenis.data.Entity;
+import org.molgenis.data.meta.SystemEntityType;
+import org.molgenis.data.meta.model.Attribute;
+import org.molgenis.data.meta.model.Package;
+import org.springframework.stereotype.Component;
+
+/**
+ * Computes fingerprints of system packages and system entity types. A fingerprint is a hash of all
+ * metadata values that are persisted for the package or entity type. Attribute identifiers are
+ * excluded since these are generated on each startup.
+ */
+@Component
+public class SystemMetadataFingerprinter {
+  private static final HashFunction HASH_FUNCTION = Hashing.sha256();
+
+  String fingerprint(Package aPackage) {
+    Hasher hasher = HASH_FUNCTION.newHasher();
+    putEntity(hasher, aPackage);
+    return hasher.hash().toString();
+  }
+
+  String fingerprint(SystemEntityType systemEntityType) {
+    Hasher hasher = HASH_FUNCTION.newHasher();
+    putEntity(hasher, systemEntityType);
+    hasher.putBoolean(systemEntityType.isRowLevelSecured());
+    for (Attribute attribute : systemEntityType.getOwnAllAttributes()) {
+      putEntity(hasher, attribute);
+    }
+    return hasher.hash().toString();
+  }
+
+  private static void putEntity(Hasher hasher, Entity entity) {
+    for (Attribute attribute : entity.getEntityType().getAtomicAttributes()) {
+      // one-to-many values are derived from the referencing side
+      if (!attribute.isMappedBy() && !isGeneratedIdentifier(entity, attribute)) {
+        putString(hasher, attribute.getName());
+        putValue(hasher, entity.get(attribute.getName()));
+      }
+    }
+  }
+
+  private static boolean isGeneratedIdentifier(Entity entity, Attribute attribute) {
+    return entity instanceof Attribute && attribute.getName().equals(ID);
+  }
+
+  private static void putValue(Hasher hasher, @Nullable Object value) {
+    if (value == null) {
+      hasher.putByte((byte) 0);
+    } else if (value instanceof Attribute) {
+      // attributes are referred to by name since their identifiers are generated
+      putString(hasher, ((Attribute) value).getName());
+    } else if (value instanceof Entity) {
+      putString(hasher, String.valueOf(((Entity) value).getIdValue()));
+    } else if (value instanceof Iterable) {
+      hasher.putByte((byte) 1);
+      ((Iterable<?>) value).forEach(element -> putValue(hasher, element));
+      hasher.putByte((byte) 2);
+    } else {
+      putString(hasher, value.toString());
+    }
+  }
+
+  private static void putString(Hasher hasher, String value) {
+    hasher.putInt(value.length()).putString(value, UTF_8);
+  }
+}
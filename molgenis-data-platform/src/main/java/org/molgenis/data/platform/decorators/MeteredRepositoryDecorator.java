@@ -0,0 +1,198 @@
+package org.molgenis.data.platform.decorators;
+
+import static java.util.Objects.requireNonNull;
+
+import io.micrometer.core.instrument.Timer;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+import org.molgenis.data.AbstractRepositoryDecorator;
+import org.molgenis.data.Entity;
+import org.molgenis.data.Fetch;
+import org.molgenis.data.Query;
+import org.molgenis.data.Repository;
+import org.molgenis.data.aggregation.AggregateQuery;
+import org.molgenis.data.aggregation.AggregateResult;
+
+/**
+ * Records the number of calls and the latency of a repository layer, excluding the time spent in
+ * the repository layers that it decorates. Time spent consuming returned streams outside of the
+ * repository call is not recorded.
+ */
+class MeteredRepositoryDecorator extends AbstractRepositoryDecorator<Entity> {
+  enum Operation {
+    COUNT("count"),
+    FIND_ALL("findAll"),
+    FIND_ONE("findOne"),
+    FIND_ONE_BY_ID("findOneById"),
+    AGGREGATE("aggregate"),
+    FOR_EACH_BATCHED("forEachBatched"),
+    ADD("add"),
+    UPDATE("update"),
+    DELETE("delete"),
+    DELETE_ALL("deleteAll");
+
+    private final String tagValue;
+
+    Operation(String tagValue) {
+      this.tagValue = tagValue;
+    }
+
+    String getTagValue() {
+      return tagValue;
+    }
+  }
+
+  private static final ThreadLocal<CallStack> CALL_STACK = ThreadLocal.withInitial(CallStack::new);
+
+  private final Function<Operation, Timer> timers;
+
+  MeteredRepositoryDecorator(
+      Repository<Entity> delegateRepository, Function<Operation, Timer> timers) {
+    super(delegateRepository);
+    this.timers = requireNonNull(timers);
+  }
+
+  @Override
+  public void forEachBatched(Fetch fetch, Consumer<List<Entity>> consumer, int batchSize) {
+    record(Operation.FOR_EACH_BATCHED, () -> delegate().forEachBatched(fetch, consumer, batchSize));
+  }
+
+  @Override
+  public long count() {
+    return record(Operation.COUNT, () -> delegate().count());
+  }
+
+  @Override
+  public long count(Query<Entity> q) {
+    return record(Operation.COUNT, () -> delegate().count(q));
+  }
+
+  @Override
+  public Stream<Entity> findAll(Query<Entity> q) {
+    return record(Operation.FIND_ALL, () -> delegate().findAll(q));
+  }
+
+  @Override
+  public Entity findOne(Query<Entity> q) {
+    return record(Operation.FIND_ONE, () -> delegate().findOne(q));
+  }
+
+  @Override
+  public Entity findOneById(Object id) {
+    return record(Operation.FIND_ONE_BY_ID, () -> delegate().findOneById(id));
+  }
+
+  @Override
+  public Entity findOneById(Object id, Fetch fetch) {
+    return record(Operation.FIND_ONE_BY_ID, () -> delegate().findOneById(id, fetch));
+  }
+
+  @Override
+  public Stream<Entity> findAll(Stream<Object> ids) {
+    return record(Operation.FIND_ALL, () -> delegate().findAll(ids));
+  }
+
+  @Override
+  public Stream<Entity> findAll(Stream<Object> ids, Fetch fetch) {
+    return record(Operation.FIND_ALL, () -> delegate().findAll(ids, fetch));
+  }
+
+  @Override
+  public AggregateResult aggregate(AggregateQuery aggregateQuery) {
+    return record(Operation.AGGREGATE, () -> delegate().aggregate(aggregateQuery));
+  }
+
+  @Override
+  public void update(Entity entity) {
+    record(Operation.UPDATE, () -> delegate().update(entity));
+  }
+
+  @Override
+  public void update(Stream<Entity> entities) {
+    record(Operation.UPDATE, () -> delegate().update(entities));
+  }
+
+  @Override
+  public void delete(Entity entity) {
+    record(Operation.DELETE, () -> delegate().delete(entity));
+  }
+
+  @Override
+  public void delete(Stream<Entity> entities) {
+    record(Operation.DELETE, () -> delegate().delete(entities));
+  }
+
+  @Override
+  public void deleteById(Object id) {
+    record(Operation.DELETE, () -> delegate().deleteById(id));
+  }
+
+  @Override
+  public void deleteAll(Stream<Object> ids) {
+    record(Operation.DELETE, () -> delegate().deleteAll(ids));
+  }
+
+  @Override
+  public void deleteAll() {
+    record(Operation.DELETE_ALL, () -> delegate().deleteAll());
+  }
+
+  @Override
+  public void add(Entity entity) {
+    record(Operation.ADD, () -> delegate().add(entity));
+  }
+
+  @Override
+  public Integer add(Stream<Entity> entities) {
+    return record(Operation.ADD, () -> delegate().add(entities));
+  }
+
+  private void record(Operation operation, Runnable call) {
+    record(
+        operation,
+        () -> {
+          call.run();
+          return null;
+        });
+  }
+
+  private <T> T record(Operation operation, Supplier<T> call) {
+    CallStack callStack = CALL_STACK.get();
+    callStack.push();
+    long start = System.nanoTime();
+    try {
+      return call.get();
+    } finally {
+      long elapsedNanos = System.nanoTime() - start;
+      long exclusiveNanos = elapsedNanos - callStack.pop(elapsedNanos);
+      timers.apply(operation).record(exclusiveNanos, TimeUnit.NANOSECONDS);
+    }
+  }
+
+  /** Time spent in the decorated repository layers per metered repository call of a thread */
+  private static class CallStack {
+    private long[] childNanos = new long[32];
+    private int depth;
+
+    private void push() {
+      if (depth == childNanos.length) {
+        childNanos = Arrays.copyOf(childNanos, depth * 2);
+      }
+      childNanos[depth++] = 0;
+    }
+
+    /** Returns the time spent in the decorated layers and adds the elapsed time to the caller */
+    private long pop(long elapsedNanos) {
+      long nanos = childNanos[--depth];
+      if (depth > 0) {
+        childNanos[depth - 1] += elapsedNanos;
+      }
+      return nanos;
+    }
+  }
+}
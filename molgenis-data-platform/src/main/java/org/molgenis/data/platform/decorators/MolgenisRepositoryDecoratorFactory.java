@@ -6,6 +6,7 @@ import static org.molgenis.data.index.meta.IndexActionGroupMetadata.INDEX_ACTION
 import static org.molgenis.data.index.meta.IndexActionMetadata.INDEX_ACTION;
 import static org.molgenis.security.audit.AuditSettingsImpl.AUDIT_SETTINGS;
 
+import java.util.function.UnaryOperator;
 import org.molgenis.data.CascadeDeleteRepositoryDecorator;
 import org.molgenis.data.DataService;
 import org.molgenis.data.Entity;
@@ -73,6 +74,7 @@ public class MolgenisRepositoryDecoratorFactory implements RepositoryDecoratorFa
   private final AuditingRepositoryDecoratorFactory auditingRepositoryDecoratorFactory;
   private final SettingsAuditingRepositoryDecoratorFactory
       settingsAuditingRepositoryDecoratorFactory;
+  private final RepositoryDecoratorMetrics repositoryDecoratorMetrics;
 
   public MolgenisRepositoryDecoratorFactory(
       EntityManager entityManager,
@@ -97,7 +99,8 @@ public class MolgenisRepositoryDecoratorFactory implements RepositoryDecoratorFa
       RowLevelSecurityRepositoryDecoratorFactory rowLevelSecurityRepositoryDecoratorFactory,
       L1CacheJanitor l1CacheJanitor,
       AuditingRepositoryDecoratorFactory auditingRepositoryDecoratorFactory,
-      SettingsAuditingRepositoryDecoratorFactory settingsAuditingRepositoryDecoratorFactory) {
+      SettingsAuditingRepositoryDecoratorFactory settingsAuditingRepositoryDecoratorFactory,
+      RepositoryDecoratorMetrics repositoryDecoratorMetrics) {
 
     this.entityManager = requireNonNull(entityManager);
     this.entityAttributesValidator = requireNonNull(entityAttributesValidator);
@@ -124,6 +127,7 @@ public class MolgenisRepositoryDecoratorFactory implements RepositoryDecoratorFa
     this.auditingRepositoryDecoratorFactory = requireNonNull(auditingRepositoryDecoratorFactory);
     this.settingsAuditingRepositoryDecoratorFactory =
         requireNonNull(settingsAuditingRepositoryDecoratorFactory);
+    this.repositoryDecoratorMetrics = requireNonNull(repositoryDecoratorMetrics);
 
     dynamicRepositoryDecoratorRegistry.excludeEntityType(AUDIT_SETTINGS);
 
@@ -134,78 +138,104 @@ public class MolgenisRepositoryDecoratorFactory implements RepositoryDecoratorFa
 
   @Override
   public Repository<Entity> createDecoratedRepository(Repository<Entity> repository) {
-    Repository<Entity> decoratedRepository = repository;
+    Repository<Entity> decoratedRepository = repositoryDecoratorMetrics.meter(repository, null);
 
     // Query the L2 cache before querying the database
     decoratedRepository =
-        new L2CacheRepositoryDecorator(decoratedRepository, l2Cache, transactionInformation);
+        decorate(
+            decoratedRepository,
+            r -> new L2CacheRepositoryDecorator(r, l2Cache, transactionInformation));
 
     // Query the L1 cache before querying the database
     decoratedRepository =
-        new L1CacheRepositoryDecorator(decoratedRepository, l1Cache, l1CacheJanitor);
+        decorate(
+            decoratedRepository, r -> new L1CacheRepositoryDecorator(r, l1Cache, l1CacheJanitor));
 
     // Route specific queries to the index
-    decoratedRepository = indexedRepositoryDecoratorFactory.create(decoratedRepository);
+    decoratedRepository = decorate(decoratedRepository, indexedRepositoryDecoratorFactory::create);
 
     // Query the L3 cache before querying the index
     decoratedRepository =
-        new L3CacheRepositoryDecorator(decoratedRepository, l3Cache, transactionInformation);
+        decorate(
+            decoratedRepository,
+            r -> new L3CacheRepositoryDecorator(r, l3Cache, transactionInformation));
 
     // Register the cud action needed to index indexed repositories
     decoratedRepository =
-        new IndexActionRepositoryDecorator(decoratedRepository, indexActionRegisterService);
+        decorate(
+            decoratedRepository,
+            r -> new IndexActionRepositoryDecorator(r, indexActionRegisterService));
 
     // Custom decorators for system entity types
-    decoratedRepository = systemRepositoryDecoratorRegistry.decorate(decoratedRepository);
+    decoratedRepository =
+        decorate(decoratedRepository, systemRepositoryDecoratorRegistry::decorate);
 
     // Perform cascading deletes
-    decoratedRepository = new CascadeDeleteRepositoryDecorator(decoratedRepository, dataService);
+    decoratedRepository =
+        decorate(decoratedRepository, r -> new CascadeDeleteRepositoryDecorator(r, dataService));
 
     // Row level security decorator
     decoratedRepository =
-        rowLevelSecurityRepositoryDecoratorFactory.createDecoratedRepository(decoratedRepository);
+        decorate(
+            decoratedRepository,
+            rowLevelSecurityRepositoryDecoratorFactory::createDecoratedRepository);
 
     // Entity reference resolver decorator
-    decoratedRepository = new EntityReferenceResolverDecorator(decoratedRepository, entityManager);
+    decoratedRepository =
+        decorate(decoratedRepository, r -> new EntityReferenceResolverDecorator(r, entityManager));
 
     // Entity listener
     decoratedRepository =
-        new EntityListenerRepositoryDecorator(decoratedRepository, entityListenersService);
+        decorate(
+            decoratedRepository,
+            r -> new EntityListenerRepositoryDecorator(r, entityListenersService));
 
     // Validation decorator
     decoratedRepository =
-        new RepositoryValidationDecorator(
-            dataService,
+        decorate(
             decoratedRepository,
-            entityAttributesValidator,
-            defaultValueReferenceValidator);
+            r ->
+                new RepositoryValidationDecorator(
+                    dataService, r, entityAttributesValidator, defaultValueReferenceValidator));
 
     // Aggregate anonymization decorator
     decoratedRepository =
-        new AggregateAnonymizerRepositoryDecorator<>(
-            decoratedRepository, aggregateAnonymizer, appSettings);
+        decorate(
+            decoratedRepository,
+            r -> new AggregateAnonymizerRepositoryDecorator<>(r, aggregateAnonymizer, appSettings));
 
     // Data auditing decorator
-    decoratedRepository = auditingRepositoryDecoratorFactory.create(decoratedRepository);
+    decoratedRepository = decorate(decoratedRepository, auditingRepositoryDecoratorFactory::create);
 
     // Settings auditing decorator
-    decoratedRepository = settingsAuditingRepositoryDecoratorFactory.decorate(decoratedRepository);
+    decoratedRepository =
+        decorate(decoratedRepository, settingsAuditingRepositoryDecoratorFactory::decorate);
 
     // Security decorator
-    decoratedRepository = new RepositorySecurityDecorator(decoratedRepository, permissionService);
+    decoratedRepository =
+        decorate(decoratedRepository, r -> new RepositorySecurityDecorator(r, permissionService));
 
     // Transaction decorator
     decoratedRepository =
-        new TransactionalRepositoryDecorator<>(decoratedRepository, transactionManager);
+        decorate(
+            decoratedRepository,
+            r -> new TransactionalRepositoryDecorator<>(r, transactionManager));
 
     // Query validation decorator
     decoratedRepository =
-        new QueryValidationRepositoryDecorator<>(
-            decoratedRepository, queryValidator, fetchValidator);
+        decorate(
+            decoratedRepository,
+            r -> new QueryValidationRepositoryDecorator<>(r, queryValidator, fetchValidator));
 
     // Dynamic decorators
-    decoratedRepository = dynamicRepositoryDecoratorRegistry.decorate(decoratedRepository);
+    decoratedRepository =
+        decorate(decoratedRepository, dynamicRepositoryDecoratorRegistry::decorate);
 
     return decoratedRepository;
   }
+
+  private Repository<Entity> decorate(
+      Repository<Entity> repository, UnaryOperator<Repository<Entity>> decorator) {
+    return repositoryDecoratorMetrics.meter(decorator.apply(repository), repository);
+  }
 }
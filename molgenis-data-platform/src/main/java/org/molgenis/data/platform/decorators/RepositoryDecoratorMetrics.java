@@ -0,0 +1,108 @@
+package org.molgenis.data.platform.decorators;
+
+import static java.util.Objects.requireNonNull;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import javax.annotation.Nullable;
+import org.molgenis.data.Entity;
+import org.molgenis.data.Repository;
+import org.molgenis.data.platform.decorators.MeteredRepositoryDecorator.Operation;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Records the latency and number of calls of each layer in the repository decorator chain. Each
+ * layer is wrapped in a {@link MeteredRepositoryDecorator} that records the time spent in the layer
+ * itself, excluding the time spent in the layers that it decorates.
+ *
+ * <p>Disabled by default, when disabled the decorator chain is left as is.
+ */
+@Component
+public class RepositoryDecoratorMetrics {
+  static final String TIMER_NAME = "repository.decorator";
+  static final String OTHER_ENTITY_TYPES = "other";
+
+  private final MeterRegistry meterRegistry;
+  private final boolean enabled;
+  private final int maxEntityTypes;
+
+  private final ConcurrentMap<String, LayerTimers> timers = new ConcurrentHashMap<>();
+  // guarded by this
+  private final Set<String> entityTypeIds = new HashSet<>();
+
+  RepositoryDecoratorMetrics(
+      MeterRegistry meterRegistry,
+      @Value("${metrics.repository.decorators.enabled:false}") boolean enabled,
+      @Value("${metrics.repository.decorators.maxEntityTypes:100}") int maxEntityTypes) {
+    this.meterRegistry = requireNonNull(meterRegistry);
+    this.enabled = enabled;
+    this.maxEntityTypes = maxEntityTypes;
+  }
+
+  /**
+   * Returns the repository layer that records metrics if metrics are enabled.
+   *
+   * @param layer repository layer
+   * @param decoratedLayer the repository layer decorated by the layer, null for the base repository
+   */
+  Repository<Entity> meter(Repository<Entity> layer, @Nullable Repository<Entity> decoratedLayer) {
+    if (!enabled || layer == decoratedLayer) {
+      return layer;
+    }
+    String decorator = getDecoratorName(layer);
+    String entityType = getEntityTypeTag(layer.getEntityType().getId());
+    LayerTimers layerTimers =
+        timers.computeIfAbsent(
+            decorator + '/' + entityType, key -> new LayerTimers(decorator, entityType));
+    return new MeteredRepositoryDecorator(layer, layerTimers::getTimer);
+  }
+
+  private static String getDecoratorName(Repository<Entity> layer) {
+    Class<?> layerClass = layer.getClass();
+    return layerClass.isAnonymousClass() ? layerClass.getName() : layerClass.getSimpleName();
+  }
+
+  /** Limits the number of entity type tag values to keep the number of timers bounded */
+  private synchronized String getEntityTypeTag(String entityTypeId) {
+    if (entityTypeIds.contains(entityTypeId)) {
+      return entityTypeId;
+    }
+    if (entityTypeIds.size() < maxEntityTypes) {
+      entityTypeIds.add(entityTypeId);
+      return entityTypeId;
+    }
+    return OTHER_ENTITY_TYPES;
+  }
+
+  /** Timers of one decorator class for one entity type, created on first use */
+  private class LayerTimers {
+    private final String decorator;
+    private final String entityType;
+    private final Timer[] operationTimers = new Timer[Operation.values().length];
+
+    private LayerTimers(String decorator, String entityType) {
+      this.decorator = decorator;
+      this.entityType = entityType;
+    }
+
+    private Timer getTimer(Operation operation) {
+      Timer timer = operationTimers[operation.ordinal()];
+      if (timer == null) {
+        // registering an existing timer returns the existing timer, so racing threads are harmless
+        timer =
+            Timer.builder(TIMER_NAME)
+                .tag("decorator", decorator)
+                .tag("entityType", entityType)
+                .tag("operation", operation.getTagValue())
+                .register(meterRegistry);
+        operationTimers[operation.ordinal()] = timer;
+      }
+      return timer;
+    }
+  }
+}
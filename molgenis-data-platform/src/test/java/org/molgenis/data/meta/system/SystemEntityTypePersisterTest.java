@@ -3,6 +3,8 @@ package org.molgenis.data.meta.system;
 import static com.google.common.collect.Lists.newArrayList;
 import static java.util.Arrays.asList;
 import static java.util.Collections.emptyList;
+import static java.util.Collections.singletonList;
+import static java.util.Collections.singletonMap;
 import static java.util.stream.Collectors.toList;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.mockito.ArgumentMatchers.any;
@@ -10,12 +12,15 @@ import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.doReturn;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 import static org.molgenis.data.meta.model.EntityTypeMetadata.ENTITY_TYPE_META_DATA;
 import static org.molgenis.data.meta.model.PackageMetadata.PACKAGE;
 import static org.molgenis.data.system.model.RootSystemPackage.PACKAGE_SYSTEM;
 
+import com.google.common.collect.ImmutableMap;
 import java.util.List;
 import java.util.function.Consumer;
 import java.util.stream.Stream;
@@ -30,6 +35,7 @@ import org.molgenis.data.Repository;
 import org.molgenis.data.RepositoryCollection;
 import org.molgenis.data.meta.EntityTypeDependencyResolver;
 import org.molgenis.data.meta.MetaDataService;
+import org.molgenis.data.meta.SystemEntityType;
 import org.molgenis.data.meta.SystemPackage;
 import org.molgenis.data.meta.model.EntityType;
 import org.molgenis.data.meta.model.Package;
@@ -42,6 +48,8 @@ class SystemEntityTypePersisterTest extends AbstractMockitoTest {
   @Mock private EntityTypeDependencyResolver entityTypeDependencyResolver;
   @Mock private SystemPackageRegistry systemPackageRegistry;
   @Mock private MutableAclClassService mutableAclClassService;
+  @Mock private SystemMetadataFingerprinter systemMetadataFingerprinter;
+  @Mock private SystemMetadataFingerprintRepository systemMetadataFingerprintRepository;
 
   private SystemEntityTypePersister systemEntityTypePersister;
 
@@ -55,7 +63,9 @@ class SystemEntityTypePersisterTest extends AbstractMockitoTest {
             systemEntityTypeRegistry,
             entityTypeDependencyResolver,
             systemPackageRegistry,
-            mutableAclClassService);
+            mutableAclClassService,
+            systemMetadataFingerprinter,
+            systemMetadataFingerprintRepository);
   }
 
   @SuppressWarnings("unchecked")
@@ -126,6 +136,8 @@ class SystemEntityTypePersisterTest extends AbstractMockitoTest {
         when(mock(SystemPackage.class).getId()).thenReturn(packageName1).getMock();
     when(package1.getId()).thenReturn(packageId1);
     when(systemPackageRegistry.getSystemPackages()).thenReturn(Stream.of(package0, package1));
+    when(systemMetadataFingerprinter.fingerprint(package0)).thenReturn("fingerprint0");
+    when(systemMetadataFingerprinter.fingerprint(package1)).thenReturn("fingerprint1");
     doAnswer(invocation -> Stream.of(package0)).when(dataService).findAll(PACKAGE, Package.class);
     systemEntityTypePersister.persist();
     @SuppressWarnings("unchecked")
@@ -163,6 +175,8 @@ class SystemEntityTypePersisterTest extends AbstractMockitoTest {
         when(mock(SystemPackage.class).getId()).thenReturn(packageName1).getMock();
     when(package1.getId()).thenReturn(packageId1);
     when(systemPackageRegistry.getSystemPackages()).thenReturn(Stream.of(package0, package1));
+    when(systemMetadataFingerprinter.fingerprint(package0)).thenReturn("fingerprint0");
+    when(systemMetadataFingerprinter.fingerprint(package1)).thenReturn("fingerprint1");
     doAnswer(invocation -> Stream.of(package0, package1))
         .when(dataService)
         .findAll(PACKAGE, Package.class);
@@ -172,4 +186,74 @@ class SystemEntityTypePersisterTest extends AbstractMockitoTest {
     verify(metaDataService).upsertPackages(captor.capture());
     assertEquals(newArrayList(package0, package1), captor.getValue().collect(toList()));
   }
+
+  @Test
+  void persistUnchanged() {
+    RepositoryCollection defaultRepoCollection = mock(RepositoryCollection.class);
+    when(metaDataService.getDefaultBackend()).thenReturn(defaultRepoCollection);
+    when(dataService.getMeta()).thenReturn(metaDataService);
+
+    SystemPackage systemPackage =
+        when(mock(SystemPackage.class).getId()).thenReturn("pack").getMock();
+    when(systemPackageRegistry.getSystemPackages()).thenReturn(Stream.of(systemPackage));
+    SystemEntityType systemEntityType =
+        when(mock(SystemEntityType.class).getId()).thenReturn("entityType").getMock();
+    when(systemEntityTypeRegistry.getSystemEntityTypes())
+        .thenAnswer(invocation -> Stream.of(systemEntityType));
+    when(systemMetadataFingerprinter.fingerprint(systemPackage)).thenReturn("fingerprint0");
+    when(systemMetadataFingerprinter.fingerprint(systemEntityType)).thenReturn("fingerprint1");
+    when(systemMetadataFingerprintRepository.getFingerprints())
+        .thenReturn(
+            ImmutableMap.of(
+                "package:pack", "fingerprint0", "entityType:entityType", "fingerprint1"));
+
+    systemEntityTypePersister.persist();
+
+    verify(metaDataService, never()).upsertPackages(any());
+    verify(metaDataService, never()).upsertEntityTypes(any());
+    verify(systemMetadataFingerprintRepository, never()).updateFingerprints(any(), any());
+    verifyNoInteractions(mutableAclClassService);
+  }
+
+  @Test
+  void persistChanged() {
+    RepositoryCollection defaultRepoCollection = mock(RepositoryCollection.class);
+    when(metaDataService.getDefaultBackend()).thenReturn(defaultRepoCollection);
+    when(dataService.getMeta()).thenReturn(metaDataService);
+
+    SystemPackage systemPackage =
+        when(mock(SystemPackage.class).getId()).thenReturn("pack").getMock();
+    when(systemPackageRegistry.getSystemPackages()).thenReturn(Stream.of(systemPackage));
+    SystemEntityType unchangedEntityType =
+        when(mock(SystemEntityType.class).getId()).thenReturn("unchanged").getMock();
+    SystemEntityType changedEntityType =
+        when(mock(SystemEntityType.class).getId()).thenReturn("changed").getMock();
+    when(systemEntityTypeRegistry.getSystemEntityTypes())
+        .thenAnswer(invocation -> Stream.of(unchangedEntityType, changedEntityType));
+    when(systemMetadataFingerprinter.fingerprint(systemPackage)).thenReturn("fingerprint0");
+    when(systemMetadataFingerprinter.fingerprint(unchangedEntityType)).thenReturn("fingerprint1");
+    when(systemMetadataFingerprinter.fingerprint(changedEntityType)).thenReturn("fingerprint2");
+    when(systemMetadataFingerprintRepository.getFingerprints())
+        .thenReturn(
+            ImmutableMap.of(
+                "package:pack",
+                "fingerprint0",
+                "entityType:unchanged",
+                "fingerprint1",
+                "entityType:changed",
+                "fingerprintOld",
+                "entityType:removed",
+                "fingerprint3"));
+
+    systemEntityTypePersister.persist();
+
+    verify(metaDataService).upsertEntityTypes(singletonList(changedEntityType));
+    verify(metaDataService).deleteEntityTypes(singletonList("removed"));
+    verify(mutableAclClassService).deleteAclClass("entity-removed");
+    verify(dataService, never()).getRepository(ENTITY_TYPE_META_DATA, EntityType.class);
+    verify(systemMetadataFingerprintRepository)
+        .updateFingerprints(
+            singletonMap("entityType:changed", "fingerprint2"),
+            singletonList("entityType:removed"));
+  }
 }
@@ -0,0 +1,61 @@
+package org.molgenis.data.meta.system;
+
+import static java.util.Collections.emptyMap;
+import static java.util.Collections.singletonList;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoMoreInteractions;
+import static org.mockito.Mockito.when;
+
+import java.util.Map;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.molgenis.test.AbstractMockitoTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+class SystemMetadataFingerprintRepositoryTest extends AbstractMockitoTest {
+  private static final String SQL_TABLE_EXISTS =
+      "SELECT to_regclass('\"SystemMetadataFingerprint\"') IS NOT NULL";
+
+  @Mock private JdbcTemplate jdbcTemplate;
+  private SystemMetadataFingerprintRepository systemMetadataFingerprintRepository;
+
+  @BeforeEach
+  void setUpBeforeEach() {
+    systemMetadataFingerprintRepository = new SystemMetadataFingerprintRepository(jdbcTemplate);
+  }
+
+  @Test
+  void testGetFingerprintsNoTable() {
+    when(jdbcTemplate.queryForObject(SQL_TABLE_EXISTS, Boolean.class)).thenReturn(false);
+    assertEquals(emptyMap(), systemMetadataFingerprintRepository.getFingerprints());
+    verifyNoMoreInteractions(jdbcTemplate);
+  }
+
+  @Test
+  void testUpdateFingerprintsNoTable() {
+    when(jdbcTemplate.queryForObject(SQL_TABLE_EXISTS, Boolean.class)).thenReturn(false);
+    systemMetadataFingerprintRepository.updateFingerprints(
+        Map.of("key", "fingerprint"), singletonList("removedKey"));
+    verifyNoMoreInteractions(jdbcTemplate);
+  }
+
+  @Test
+  void testUpdateFingerprints() {
+    when(jdbcTemplate.queryForObject(SQL_TABLE_EXISTS, Boolean.class)).thenReturn(true);
+    systemMetadataFingerprintRepository.updateFingerprints(
+        Map.of("key", "fingerprint"), singletonList("removedKey"));
+    verify(jdbcTemplate)
+        .batchUpdate(
+            eq(
+                "INSERT INTO \"SystemMetadataFingerprint\" (\"id\", \"fingerprint\") VALUES (?, ?) "
+                    + "ON CONFLICT (\"id\") DO UPDATE "
+                    + "SET \"fingerprint\" = EXCLUDED.\"fingerprint\""),
+            anyList());
+    verify(jdbcTemplate)
+        .batchUpdate(eq("DELETE FROM \"SystemMetadataFingerprint\" WHERE \"id\" = ?"), anyList());
+  }
+}
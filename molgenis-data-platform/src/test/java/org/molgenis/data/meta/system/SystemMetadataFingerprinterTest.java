@@ -0,0 +1,75 @@
+package org.molgenis.data.meta.system;
+
+import static java.util.Arrays.asList;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.molgenis.data.meta.model.Attribute;
+import org.molgenis.data.meta.model.EntityType;
+import org.molgenis.data.meta.model.Package;
+import org.molgenis.test.AbstractMockitoTest;
+
+@MockitoSettings(strictness = Strictness.LENIENT)
+class SystemMetadataFingerprinterTest extends AbstractMockitoTest {
+  @Mock private EntityType packageMetadata;
+  @Mock private Attribute idAttribute;
+  @Mock private Attribute labelAttribute;
+  @Mock private Attribute childrenAttribute;
+
+  private SystemMetadataFingerprinter systemMetadataFingerprinter;
+
+  @BeforeEach
+  void setUpBeforeEach() {
+    when(idAttribute.getName()).thenReturn("id");
+    when(labelAttribute.getName()).thenReturn("label");
+    when(childrenAttribute.getName()).thenReturn("children");
+    when(childrenAttribute.isMappedBy()).thenReturn(true);
+    when(packageMetadata.getAtomicAttributes())
+        .thenReturn(asList(idAttribute, labelAttribute, childrenAttribute));
+    systemMetadataFingerprinter = new SystemMetadataFingerprinter();
+  }
+
+  @Test
+  void testFingerprintPackageEqual() {
+    assertEquals(
+        systemMetadataFingerprinter.fingerprint(createPackage("pack", "label")),
+        systemMetadataFingerprinter.fingerprint(createPackage("pack", "label")));
+  }
+
+  @Test
+  void testFingerprintPackageChanged() {
+    assertNotEquals(
+        systemMetadataFingerprinter.fingerprint(createPackage("pack", "label")),
+        systemMetadataFingerprinter.fingerprint(createPackage("pack", "otherLabel")));
+  }
+
+  @Test
+  void testFingerprintPackageNullValue() {
+    assertNotEquals(
+        systemMetadataFingerprinter.fingerprint(createPackage("pack", null)),
+        systemMetadataFingerprinter.fingerprint(createPackage("pack", "")));
+  }
+
+  @Test
+  void testFingerprintPackageIgnoresMappedBy() {
+    Package aPackage = createPackage("pack", "label");
+    String fingerprint = systemMetadataFingerprinter.fingerprint(aPackage);
+    when(aPackage.get("children")).thenReturn(asList(mock(Package.class)));
+    assertEquals(fingerprint, systemMetadataFingerprinter.fingerprint(aPackage));
+  }
+
+  private Package createPackage(String id, String label) {
+    Package aPackage = mock(Package.class);
+    when(aPackage.getEntityType()).thenReturn(packageMetadata);
+    when(aPackage.get("id")).thenReturn(id);
+    when(aPackage.get("label")).thenReturn(label);
+    return aPackage;
+  }
+}
@@ -0,0 +1,106 @@
+package org.molgenis.data.platform.decorators;
+
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.when;
+import static org.molgenis.data.platform.decorators.RepositoryDecoratorMetrics.TIMER_NAME;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.molgenis.data.AbstractRepositoryDecorator;
+import org.molgenis.data.Entity;
+import org.molgenis.data.Repository;
+import org.molgenis.data.meta.model.EntityType;
+import org.molgenis.test.AbstractMockitoTest;
+
+@MockitoSettings(strictness = Strictness.LENIENT)
+class RepositoryDecoratorMetricsTest extends AbstractMockitoTest {
+  @Mock private Repository<Entity> repository;
+  @Mock private EntityType entityType;
+  private MeterRegistry meterRegistry;
+
+  @BeforeEach
+  void setUpBeforeEach() {
+    meterRegistry = new SimpleMeterRegistry();
+    when(repository.getEntityType()).thenReturn(entityType);
+    when(entityType.getId()).thenReturn("MyEntityType");
+  }
+
+  @Test
+  void testMeterDisabled() {
+    RepositoryDecoratorMetrics metrics = new RepositoryDecoratorMetrics(meterRegistry, false, 100);
+    TestRepositoryDecorator decorator = new TestRepositoryDecorator(repository);
+    assertAll(
+        () -> assertSame(repository, metrics.meter(repository, null)),
+        () -> assertSame(decorator, metrics.meter(decorator, repository)),
+        () -> assertTrue(meterRegistry.getMeters().isEmpty()));
+  }
+
+  @Test
+  void testMeterUnchangedRepository() {
+    RepositoryDecoratorMetrics metrics = new RepositoryDecoratorMetrics(meterRegistry, true, 100);
+    assertSame(repository, metrics.meter(repository, repository));
+  }
+
+  @Test
+  void testMeterRecordsExclusiveTime() {
+    when(repository.count())
+        .thenAnswer(
+            invocation -> {
+              Thread.sleep(50);
+              return 3L;
+            });
+    RepositoryDecoratorMetrics metrics = new RepositoryDecoratorMetrics(meterRegistry, true, 100);
+    Repository<Entity> meteredRepository = metrics.meter(repository, null);
+    Repository<Entity> meteredDecorator =
+        metrics.meter(new TestRepositoryDecorator(meteredRepository), meteredRepository);
+
+    assertEquals(3L, meteredDecorator.count());
+
+    Timer repositoryTimer = getTimer(repository.getClass().getSimpleName(), "MyEntityType");
+    Timer decoratorTimer = getTimer("TestRepositoryDecorator", "MyEntityType");
+    assertAll(
+        () -> assertEquals(1, repositoryTimer.count()),
+        () -> assertEquals(1, decoratorTimer.count()),
+        () -> assertTrue(repositoryTimer.totalTime(MILLISECONDS) >= 50),
+        () -> assertTrue(decoratorTimer.totalTime(MILLISECONDS) < 50));
+  }
+
+  @Test
+  void testMeterMaxEntityTypes() {
+    RepositoryDecoratorMetrics metrics = new RepositoryDecoratorMetrics(meterRegistry, true, 1);
+    metrics.meter(repository, null).count();
+
+    when(entityType.getId()).thenReturn("MyOtherEntityType");
+    metrics.meter(repository, null).count();
+
+    String decorator = repository.getClass().getSimpleName();
+    assertAll(
+        () -> assertEquals(1, getTimer(decorator, "MyEntityType").count()),
+        () -> assertEquals(1, getTimer(decorator, "other").count()));
+  }
+
+  private Timer getTimer(String decorator, String entityType) {
+    return meterRegistry
+        .get(TIMER_NAME)
+        .tag("decorator", decorator)
+        .tag("entityType", entityType)
+        .tag("operation", "count")
+        .timer();
+  }
+
+  private static class TestRepositoryDecorator extends AbstractRepositoryDecorator<Entity> {
+    TestRepositoryDecorator(Repository<Entity> delegateRepository) {
+      super(delegateRepository);
+    }
+  }
+}
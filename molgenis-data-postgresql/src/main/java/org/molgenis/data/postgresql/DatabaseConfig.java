@@ -2,10 +2,13 @@ package org.molgenis.data.postgresql;
 
 import static java.util.Objects.requireNonNull;
 
+import io.micrometer.core.instrument.MeterRegistry;
 import javax.sql.DataSource;
 import org.molgenis.data.config.DataSourceConfig;
 import org.molgenis.data.populate.IdGenerator;
+import org.molgenis.data.postgresql.transaction.PostgreSqlCacheInvalidationBus;
 import org.molgenis.data.postgresql.transaction.PostgreSqlTransactionManager;
+import org.molgenis.data.transaction.CacheInvalidationBus;
 import org.molgenis.data.transaction.TransactionExceptionTranslatorRegistry;
 import org.molgenis.data.transaction.TransactionManager;
 import org.springframework.beans.factory.annotation.Value;
@@ -33,18 +36,25 @@ public class DatabaseConfig implements TransactionManagementConfigurer {
   @Value("${db_password:@null}")
   private String dbPassword;
 
+  /** Enable when multiple nodes share the database, a single node has no other nodes to notify */
+  @Value("${cache.invalidation.enabled:false}")
+  private boolean cacheInvalidationEnabled;
+
   private final IdGenerator idGenerator;
   private final DataSource dataSource;
   private final TransactionExceptionTranslatorRegistry transactionExceptionTranslatorRegistry;
+  private final MeterRegistry meterRegistry;
 
   public DatabaseConfig(
       IdGenerator idGenerator,
       DataSource dataSource,
-      TransactionExceptionTranslatorRegistry transactionExceptionTranslatorRegistry) {
+      TransactionExceptionTranslatorRegistry transactionExceptionTranslatorRegistry,
+      MeterRegistry meterRegistry) {
     this.idGenerator = requireNonNull(idGenerator);
     this.dataSource = requireNonNull(dataSource);
     this.transactionExceptionTranslatorRegistry =
         requireNonNull(transactionExceptionTranslatorRegistry);
+    this.meterRegistry = requireNonNull(meterRegistry);
   }
 
   @Bean
@@ -53,6 +63,12 @@ public class DatabaseConfig implements TransactionManagementConfigurer {
         idGenerator, dataSource, transactionExceptionTranslatorRegistry);
   }
 
+  /** Evicts cache entries that became stale because of commits on other nodes. */
+  @Bean
+  public CacheInvalidationBus cacheInvalidationBus() {
+    return new PostgreSqlCacheInvalidationBus(dataSource, meterRegistry, cacheInvalidationEnabled);
+  }
+
   @Override
   public PlatformTransactionManager annotationDrivenTransactionManager() {
     return transactionManager();
@@ -82,6 +82,13 @@ class PostgreSqlQueryGenerator {
       "Can't use %s without specifying an attribute";
 
   static final String ERR_CODE_READONLY_VIOLATION = "23506";
+
+  /**
+   * IN rules with more values are bound as one array parameter instead of one parameter per value,
+   * e.g. rules on ICD-10 classes that are expanded with thousands of descendant classes.
+   */
+  static final int MAX_IN_PARAMETERS = 100;
+
   public static final int MAX_VARCHAR_LENGTH = 10 * 1024 * 1024;
 
   private PostgreSqlQueryGenerator() {}
@@ -453,6 +460,52 @@ class PostgreSqlQueryGenerator {
         + ") VALUES (?,?,?)";
   }
 
+  /**
+   * Returns the SQL to copy all rows of the source entity table to the target entity table. Target
+   * columns are matched to source columns by attribute name.
+   */
+  static String getSqlCopyTable(EntityType sourceEntityType, EntityType targetEntityType) {
+    List<Attribute> targetAttrs = getTableAttributes(targetEntityType).collect(toList());
+    String targetColumns =
+        targetAttrs.stream().map(PostgreSqlNameGenerator::getColumnName).collect(joining(", "));
+    String sourceColumns =
+        targetAttrs.stream()
+            .map(attr -> getColumnName(sourceEntityType.getAttribute(attr.getName())))
+            .collect(joining(", "));
+    return "INSERT INTO "
+        + getTableName(targetEntityType)
+        + " ("
+        + targetColumns
+        + ") SELECT "
+        + sourceColumns
+        + " FROM "
+        + getTableName(sourceEntityType);
+  }
+
+  /** Returns the SQL to copy all rows of a source junction table to a target junction table. */
+  static String getSqlCopyJunctionTable(
+      EntityType sourceEntityType,
+      Attribute sourceAttr,
+      EntityType targetEntityType,
+      Attribute targetAttr) {
+    return "INSERT INTO "
+        + getJunctionTableName(targetEntityType, targetAttr)
+        + " ("
+        + getJunctionTableOrderColumnName()
+        + ','
+        + getColumnName(targetEntityType.getIdAttribute())
+        + ','
+        + getColumnName(targetAttr)
+        + ") SELECT "
+        + getJunctionTableOrderColumnName()
+        + ','
+        + getColumnName(sourceEntityType.getIdAttribute())
+        + ','
+        + getColumnName(sourceAttr)
+        + " FROM "
+        + getJunctionTableName(sourceEntityType, sourceAttr);
+  }
+
   static String getSqlDeleteAll(EntityType entityType) {
     return "DELETE FROM " + getTableName(entityType);
   }
@@ -1083,19 +1136,13 @@ class PostgreSqlQueryGenerator {
               inValue.getClass().getSimpleName()));
     }
 
-    StringBuilder in = new StringBuilder();
     Attribute inAttr = attr;
-    Stream<Object> postgreSqlIds =
+    List<Object> postgreSqlIds =
         stream((Iterable<?>) inValue)
-            .map(idValue -> PostgreSqlUtils.getPostgreSqlQueryValue(idValue, inAttr));
-    for (Iterator<Object> it = postgreSqlIds.iterator(); it.hasNext(); ) {
-      Object postgreSqlId = it.next();
-      in.append('?');
-      if (it.hasNext()) {
-        in.append(',');
-      }
-      parameters.add(postgreSqlId);
-    }
+            .map(idValue -> PostgreSqlUtils.getPostgreSqlQueryValue(idValue, inAttr))
+            .collect(toList());
+    Object postgreSqlIdArray =
+        postgreSqlIds.size() > MAX_IN_PARAMETERS ? toPostgreSqlArray(postgreSqlIds) : null;
 
     if (isPersistedInOtherTable(attr)) {
       result.append(getFilterColumnName(attr, mrefFilterIndex.get()));
@@ -1110,7 +1157,31 @@ class PostgreSqlQueryGenerator {
       equalsAttr = entityType.getAttribute(r.getField());
     }
     result.append('.').append(getColumnName(equalsAttr));
-    result.append(" IN (").append(in).append(')');
+    if (postgreSqlIdArray != null) {
+      result.append(" = ANY (?)");
+      parameters.add(postgreSqlIdArray);
+    } else {
+      String in = postgreSqlIds.stream().map(postgreSqlId -> "?").collect(joining(","));
+      result.append(" IN (").append(in).append(')');
+      parameters.addAll(postgreSqlIds);
+    }
+  }
+
+  /**
+   * Returns the values as an array that the PostgreSQL driver can bind as one parameter or null if
+   * the values are not all strings, integers or longs.
+   */
+  @Nullable
+  private static Object toPostgreSqlArray(List<Object> values) {
+    if (values.stream().allMatch(String.class::isInstance)) {
+      return values.toArray(new String[0]);
+    } else if (values.stream().allMatch(Integer.class::isInstance)) {
+      return values.stream().mapToInt(Integer.class::cast).toArray();
+    } else if (values.stream().allMatch(Long.class::isInstance)) {
+      return values.stream().mapToLong(Long.class::cast).toArray();
+    } else {
+      return null;
+    }
   }
 
   /** Package-private for testability */
@@ -0,0 +1,79 @@
+package org.molgenis.data.postgresql;
+
+import static java.util.Objects.requireNonNull;
+import static org.molgenis.data.postgresql.PostgreSqlQueryGenerator.getSqlCopyJunctionTable;
+import static org.molgenis.data.postgresql.PostgreSqlQueryGenerator.getSqlCopyTable;
+import static org.molgenis.data.postgresql.PostgreSqlQueryUtils.getJunctionTableAttributes;
+import static org.molgenis.data.postgresql.PostgreSqlQueryUtils.getPersistedAttributes;
+import static org.molgenis.data.postgresql.PostgreSqlQueryUtils.isPersistedInPostgreSql;
+import static org.molgenis.data.postgresql.PostgreSqlQueryUtils.isTableAttribute;
+
+import javax.annotation.Nullable;
+import org.molgenis.data.RepositoryDataCopier;
+import org.molgenis.data.meta.model.Attribute;
+import org.molgenis.data.meta.model.EntityType;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * Copies the rows of an entity table and its junction tables to the tables of another entity type
+ * with INSERT ... SELECT statements, so the data never leaves the database server.
+ */
+@Component
+class PostgreSqlRepositoryDataCopier implements RepositoryDataCopier {
+  private static final Logger LOG = LoggerFactory.getLogger(PostgreSqlRepositoryDataCopier.class);
+
+  private final JdbcTemplate jdbcTemplate;
+
+  PostgreSqlRepositoryDataCopier(JdbcTemplate jdbcTemplate) {
+    this.jdbcTemplate = requireNonNull(jdbcTemplate);
+  }
+
+  /**
+   * Returns true if both entity types are persisted in PostgreSQL and each persisted attribute of
+   * the target entity type has a source attribute with the same name that is persisted in the same
+   * way.
+   */
+  @Override
+  public boolean canCopy(EntityType source, EntityType target) {
+    return isPersistedInPostgreSql(source)
+        && isPersistedInPostgreSql(target)
+        && source.getIdAttribute().getName().equals(target.getIdAttribute().getName())
+        && getPersistedAttributes(target)
+            .allMatch(attr -> isPersistedAlike(source.getAttribute(attr.getName()), attr));
+  }
+
+  private static boolean isPersistedAlike(@Nullable Attribute sourceAttr, Attribute targetAttr) {
+    return sourceAttr != null
+        && sourceAttr.getExpression() == null
+        && sourceAttr.getDataType() == targetAttr.getDataType()
+        && isTableAttribute(sourceAttr) == isTableAttribute(targetAttr);
+  }
+
+  @Override
+  public void copy(EntityType source, EntityType target) {
+    String copyTableSql = getSqlCopyTable(source, target);
+    if (LOG.isDebugEnabled()) {
+      LOG.debug("Copying [{}] rows to [{}]", source.getId(), target.getId());
+      if (LOG.isTraceEnabled()) {
+        LOG.trace("SQL: {}", copyTableSql);
+      }
+    }
+    int nrRows = jdbcTemplate.update(copyTableSql);
+
+    getJunctionTableAttributes(target)
+        .forEach(
+            targetAttr -> {
+              Attribute sourceAttr = source.getAttribute(targetAttr.getName());
+              String copyJunctionTableSql =
+                  getSqlCopyJunctionTable(source, sourceAttr, target, targetAttr);
+              if (LOG.isTraceEnabled()) {
+                LOG.trace("SQL: {}", copyJunctionTableSql);
+              }
+              jdbcTemplate.update(copyJunctionTableSql);
+            });
+    LOG.debug("Copied {} [{}] rows to [{}]", nrRows, source.getId(), target.getId());
+  }
+}
@@ -0,0 +1,128 @@
+package org.molgenis.data.postgresql.transaction;
+
+import static com.google.common.collect.Streams.stream;
+import static java.util.stream.Collectors.toSet;
+
+import com.google.auto.value.AutoValue;
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import java.util.Set;
+import javax.annotation.CheckForNull;
+import javax.annotation.Nullable;
+import org.molgenis.data.EntityKey;
+import org.molgenis.data.transaction.CacheInvalidation;
+
+/**
+ * {@link CacheInvalidation} sent by a node at a given time, serialized as compact JSON so that it
+ * fits in a NOTIFY payload. Entity identifiers are stored with their type, so that peers evict the
+ * cache entry with an equal key.
+ */
+@AutoValue
+@SuppressWarnings("java:S1610") // Abstract classes without fields should be converted to interfaces
+abstract class CacheInvalidationMessage {
+  private static final String NODE_ID = "n";
+  private static final String TIMESTAMP = "t";
+  private static final String DIRTY_ENTITIES = "e";
+  private static final String DIRTY_REPOSITORIES = "r";
+  private static final String ENTIRELY_DIRTY_REPOSITORIES = "x";
+  private static final String ACL_CHANGED = "a";
+
+  private static final String STRING_ID = "s";
+  private static final String INTEGER_ID = "i";
+  private static final String LONG_ID = "l";
+
+  abstract String getNodeId();
+
+  /** Milliseconds since the epoch at which the invalidation was published. */
+  abstract long getTimestamp();
+
+  /** @return the invalidation or null if everything should be invalidated */
+  @CheckForNull
+  @Nullable
+  abstract CacheInvalidation getCacheInvalidation();
+
+  static CacheInvalidationMessage create(
+      String nodeId, long timestamp, @Nullable CacheInvalidation cacheInvalidation) {
+    return new AutoValue_CacheInvalidationMessage(nodeId, timestamp, cacheInvalidation);
+  }
+
+  String toJson() {
+    JsonObject jsonObject = new JsonObject();
+    jsonObject.addProperty(NODE_ID, getNodeId());
+    jsonObject.addProperty(TIMESTAMP, getTimestamp());
+    CacheInvalidation cacheInvalidation = getCacheInvalidation();
+    if (cacheInvalidation != null) {
+      JsonArray dirtyEntities = new JsonArray();
+      cacheInvalidation.getDirtyEntities().forEach(key -> dirtyEntities.add(toJson(key)));
+      jsonObject.add(DIRTY_ENTITIES, dirtyEntities);
+      jsonObject.add(DIRTY_REPOSITORIES, toJson(cacheInvalidation.getDirtyRepositories()));
+      jsonObject.add(
+          ENTIRELY_DIRTY_REPOSITORIES, toJson(cacheInvalidation.getEntirelyDirtyRepositories()));
+      jsonObject.addProperty(ACL_CHANGED, cacheInvalidation.isAclChanged());
+    }
+    return jsonObject.toString();
+  }
+
+  static CacheInvalidationMessage fromJson(String json) {
+    JsonObject jsonObject = JsonParser.parseString(json).getAsJsonObject();
+    String nodeId = jsonObject.get(NODE_ID).getAsString();
+    long timestamp = jsonObject.get(TIMESTAMP).getAsLong();
+    CacheInvalidation cacheInvalidation = null;
+    if (jsonObject.has(DIRTY_ENTITIES)) {
+      Set<EntityKey> dirtyEntities =
+          stream(jsonObject.getAsJsonArray(DIRTY_ENTITIES))
+              .map(element -> toEntityKey(element.getAsJsonArray()))
+              .collect(toSet());
+      cacheInvalidation =
+          CacheInvalidation.create(
+              dirtyEntities,
+              toStrings(jsonObject.getAsJsonArray(DIRTY_REPOSITORIES)),
+              toStrings(jsonObject.getAsJsonArray(ENTIRELY_DIRTY_REPOSITORIES)),
+              jsonObject.get(ACL_CHANGED).getAsBoolean());
+    }
+    return create(nodeId, timestamp, cacheInvalidation);
+  }
+
+  private static JsonArray toJson(EntityKey entityKey) {
+    Object id = entityKey.getId();
+    String idType;
+    if (id instanceof Integer) {
+      idType = INTEGER_ID;
+    } else if (id instanceof Long) {
+      idType = LONG_ID;
+    } else {
+      idType = STRING_ID;
+    }
+    JsonArray jsonArray = new JsonArray();
+    jsonArray.add(entityKey.getEntityTypeId());
+    jsonArray.add(idType);
+    jsonArray.add(id.toString());
+    return jsonArray;
+  }
+
+  private static EntityKey toEntityKey(JsonArray jsonArray) {
+    String entityTypeId = jsonArray.get(0).getAsString();
+    String idType = jsonArray.get(1).getAsString();
+    String id = jsonArray.get(2).getAsString();
+    switch (idType) {
+      case INTEGER_ID:
+        return EntityKey.create(entityTypeId, Integer.valueOf(id));
+      case LONG_ID:
+        return EntityKey.create(entityTypeId, Long.valueOf(id));
+      default:
+        return EntityKey.create(entityTypeId, id);
+    }
+  }
+
+  private static JsonArray toJson(Set<String> values) {
+    JsonArray jsonArray = new JsonArray();
+    values.forEach(jsonArray::add);
+    return jsonArray;
+  }
+
+  private static Set<String> toStrings(JsonArray jsonArray) {
+    return stream(jsonArray).map(JsonElement::getAsString).collect(toSet());
+  }
+}
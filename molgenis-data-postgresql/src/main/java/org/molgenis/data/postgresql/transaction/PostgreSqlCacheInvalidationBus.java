@@ -0,0 +1,230 @@
+package org.molgenis.data.postgresql.transaction;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.util.Objects.requireNonNull;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Consumer;
+import javax.annotation.Nullable;
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import javax.sql.DataSource;
+import org.molgenis.data.transaction.CacheInvalidation;
+import org.molgenis.data.transaction.CacheInvalidationBus;
+import org.molgenis.data.transaction.CacheInvalidationListener;
+import org.molgenis.util.ExecutorServiceUtils;
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+/**
+ * {@link CacheInvalidationBus} that uses PostgreSQL LISTEN/NOTIFY as transport. Each node holds
+ * one dedicated connection on which it listens for invalidations published by the other nodes.
+ *
+ * <p>Invalidations that don't fit in a NOTIFY payload are reduced to repository invalidations and,
+ * if still too large, to an invalidation of everything. Notifications sent while a node is not
+ * listening are lost, so after (re)connecting the node evicts everything.
+ */
+public class PostgreSqlCacheInvalidationBus implements CacheInvalidationBus {
+  private static final Logger LOG = LoggerFactory.getLogger(PostgreSqlCacheInvalidationBus.class);
+
+  static final String CHANNEL = "molgenis_cache_invalidation";
+  /** PostgreSQL payloads must be shorter than 8000 bytes */
+  static final int MAX_PAYLOAD_BYTES = 7900;
+
+  private static final int POLL_TIMEOUT_MILLIS = 500;
+  private static final long RECONNECT_DELAY_MILLIS = 5000;
+
+  private final DataSource dataSource;
+  private final JdbcTemplate jdbcTemplate;
+  private final boolean enabled;
+  private final String nodeId;
+  private final List<CacheInvalidationListener> listeners = new CopyOnWriteArrayList<>();
+  private final ExecutorService publishExecutorService;
+
+  private final Counter publishedCounter;
+  private final Counter receivedCounter;
+  private final Timer lagTimer;
+
+  private volatile boolean listening;
+  @Nullable private Thread listenerThread;
+
+  public PostgreSqlCacheInvalidationBus(
+      DataSource dataSource, MeterRegistry meterRegistry, boolean enabled) {
+    this.dataSource = requireNonNull(dataSource);
+    this.jdbcTemplate = new JdbcTemplate(dataSource);
+    this.enabled = enabled;
+    this.nodeId = UUID.randomUUID().toString();
+    this.publishExecutorService = Executors.newSingleThreadExecutor();
+
+    this.publishedCounter =
+        Counter.builder("cache.invalidation.published")
+            .description("Cache invalidations published to other nodes")
+            .register(meterRegistry);
+    this.receivedCounter =
+        Counter.builder("cache.invalidation.received")
+            .description("Cache invalidations received from other nodes")
+            .register(meterRegistry);
+    this.lagTimer =
+        Timer.builder("cache.invalidation.lag")
+            .description("Time between publishing and applying a cache invalidation")
+            .register(meterRegistry);
+  }
+
+  @PostConstruct
+  void start() {
+    if (!enabled) {
+      LOG.info("Cache invalidation bus disabled");
+      return;
+    }
+    listening = true;
+    listenerThread = new Thread(this::listen, "cache-invalidation-listener");
+    listenerThread.setDaemon(true);
+    listenerThread.start();
+  }
+
+  @PreDestroy
+  void stop() {
+    listening = false;
+    if (listenerThread != null) {
+      listenerThread.interrupt();
+    }
+    ExecutorServiceUtils.shutdownAndAwaitTermination(publishExecutorService);
+  }
+
+  @Override
+  public void addCacheInvalidationListener(CacheInvalidationListener cacheInvalidationListener) {
+    listeners.add(requireNonNull(cacheInvalidationListener));
+  }
+
+  @Override
+  public void publish(CacheInvalidation cacheInvalidation) {
+    if (!enabled) {
+      return;
+    }
+    String payload = createPayload(cacheInvalidation, System.currentTimeMillis());
+    // notify using a connection that is not bound to the committed transaction
+    publishExecutorService.execute(() -> notify(payload));
+  }
+
+  String createPayload(CacheInvalidation cacheInvalidation, long timestamp) {
+    String payload = CacheInvalidationMessage.create(nodeId, timestamp, cacheInvalidation).toJson();
+    if (fits(payload)) {
+      return payload;
+    }
+
+    // evict the caches of the dirty repositories instead of the individual dirty entities
+    CacheInvalidation repositoryInvalidation =
+        CacheInvalidation.create(
+            Set.of(),
+            cacheInvalidation.getDirtyRepositories(),
+            cacheInvalidation.getDirtyRepositories(),
+            cacheInvalidation.isAclChanged());
+    payload = CacheInvalidationMessage.create(nodeId, timestamp, repositoryInvalidation).toJson();
+    if (fits(payload)) {
+      return payload;
+    }
+    return CacheInvalidationMessage.create(nodeId, timestamp, null).toJson();
+  }
+
+  private static boolean fits(String payload) {
+    return payload.getBytes(UTF_8).length <= MAX_PAYLOAD_BYTES;
+  }
+
+  private void notify(String payload) {
+    try {
+      jdbcTemplate.queryForList("SELECT pg_notify(?, ?)", CHANNEL, payload);
+      publishedCounter.increment();
+    } catch (DataAccessException e) {
+      LOG.error("Error publishing cache invalidation", e);
+    }
+  }
+
+  private void listen() {
+    while (listening) {
+      try (Connection connection = dataSource.getConnection()) {
+        connection.setAutoCommit(true);
+        try (Statement statement = connection.createStatement()) {
+          statement.execute("LISTEN " + CHANNEL);
+        }
+        LOG.debug("Listening for cache invalidations on channel {}", CHANNEL);
+        // invalidations published before listening started are lost
+        forEachListener(CacheInvalidationListener::onCacheInvalidationsMissed);
+
+        PGConnection pgConnection = connection.unwrap(PGConnection.class);
+        while (listening) {
+          PGNotification[] notifications = pgConnection.getNotifications(POLL_TIMEOUT_MILLIS);
+          if (notifications != null) {
+            for (PGNotification notification : notifications) {
+              handle(notification.getParameter());
+            }
+          }
+        }
+      } catch (SQLException e) {
+        if (listening) {
+          LOG.warn("Error listening for cache invalidations, reconnecting", e);
+          sleepBeforeReconnect();
+        }
+      }
+    }
+  }
+
+  void handle(String payload) {
+    CacheInvalidationMessage message;
+    try {
+      message = CacheInvalidationMessage.fromJson(payload);
+    } catch (RuntimeException e) {
+      LOG.error("Invalid cache invalidation payload '{}'", payload, e);
+      return;
+    }
+    if (message.getNodeId().equals(nodeId)) {
+      return;
+    }
+    receivedCounter.increment();
+
+    CacheInvalidation cacheInvalidation = message.getCacheInvalidation();
+    if (cacheInvalidation != null) {
+      forEachListener(listener -> listener.onCacheInvalidation(cacheInvalidation));
+    } else {
+      forEachListener(CacheInvalidationListener::onCacheInvalidationsMissed);
+    }
+
+    // lag includes clock differences between nodes
+    long lag = System.currentTimeMillis() - message.getTimestamp();
+    lagTimer.record(Math.max(lag, 0), MILLISECONDS);
+  }
+
+  private void forEachListener(Consumer<CacheInvalidationListener> action) {
+    for (CacheInvalidationListener listener : listeners) {
+      try {
+        action.accept(listener);
+      } catch (RuntimeException e) {
+        LOG.error("Error applying cache invalidation", e);
+      }
+    }
+  }
+
+  private void sleepBeforeReconnect() {
+    try {
+      Thread.sleep(RECONNECT_DELAY_MILLIS);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      listening = false;
+    }
+  }
+}
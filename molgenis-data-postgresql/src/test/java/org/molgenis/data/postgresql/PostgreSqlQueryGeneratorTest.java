@@ -3,6 +3,7 @@ package org.molgenis.data.postgresql;
 import static com.google.common.collect.Lists.newArrayList;
 import static java.util.Arrays.asList;
 import static java.util.Collections.emptyList;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.Mockito.mock;
@@ -33,6 +34,7 @@ import static org.molgenis.data.meta.AttributeType.TEXT;
 import static org.molgenis.data.meta.AttributeType.XREF;
 import static org.molgenis.data.postgresql.PostgreSqlQueryGenerator.ColumnMode.EXCLUDE_DEFAULT_CONSTRAINT;
 import static org.molgenis.data.postgresql.PostgreSqlQueryGenerator.ColumnMode.INCLUDE_DEFAULT_CONSTRAINT;
+import static org.molgenis.data.postgresql.PostgreSqlQueryGenerator.MAX_IN_PARAMETERS;
 import static org.molgenis.data.postgresql.PostgreSqlQueryGenerator.getSqlJunctionTableSelect;
 import static org.molgenis.data.postgresql.PostgreSqlQueryGenerator.getSqlSelect;
 import static org.molgenis.data.postgresql.PostgreSqlQueryGenerator.getSqlSort;
@@ -471,6 +473,51 @@ class PostgreSqlQueryGeneratorTest {
         PostgreSqlQueryGenerator.getSqlInsertJunction(entityType, attr));
   }
 
+  @Test
+  void getSqlCopyTable() {
+    EntityType sourceEntityType = mock(EntityType.class);
+    when(sourceEntityType.getId()).thenReturn("sourceEntityTypeId");
+    Attribute sourceIdAttr = when(mock(Attribute.class).getName()).thenReturn("id").getMock();
+    Attribute sourceAttr = when(mock(Attribute.class).getName()).thenReturn("label").getMock();
+    when(sourceEntityType.getAttribute("id")).thenReturn(sourceIdAttr);
+    when(sourceEntityType.getAttribute("label")).thenReturn(sourceAttr);
+
+    EntityType targetEntityType = mock(EntityType.class);
+    when(targetEntityType.getId()).thenReturn("targetEntityTypeId");
+    Attribute targetIdAttr = when(mock(Attribute.class).getName()).thenReturn("id").getMock();
+    when(targetIdAttr.getDataType()).thenReturn(STRING);
+    Attribute targetAttr = when(mock(Attribute.class).getName()).thenReturn("label").getMock();
+    when(targetAttr.getDataType()).thenReturn(STRING);
+    Attribute targetMrefAttr = when(mock(Attribute.class).getName()).thenReturn("mref").getMock();
+    when(targetMrefAttr.getDataType()).thenReturn(MREF);
+    when(targetEntityType.getAtomicAttributes())
+        .thenReturn(asList(targetIdAttr, targetAttr, targetMrefAttr));
+
+    assertEquals(
+        "INSERT INTO \"targetEntityTypeId#cf6e227b\" (\"id\", \"label\") SELECT \"id\", \"label\" FROM \"sourceEntityTypeId#657167c0\"",
+        PostgreSqlQueryGenerator.getSqlCopyTable(sourceEntityType, targetEntityType));
+  }
+
+  @Test
+  void getSqlCopyJunctionTable() {
+    EntityType sourceEntityType = mock(EntityType.class);
+    when(sourceEntityType.getId()).thenReturn("sourceEntityTypeId");
+    Attribute sourceIdAttr = when(mock(Attribute.class).getName()).thenReturn("id").getMock();
+    when(sourceEntityType.getIdAttribute()).thenReturn(sourceIdAttr);
+    Attribute sourceAttr = when(mock(Attribute.class).getName()).thenReturn("mref").getMock();
+
+    EntityType targetEntityType = mock(EntityType.class);
+    when(targetEntityType.getId()).thenReturn("targetEntityTypeId");
+    Attribute targetIdAttr = when(mock(Attribute.class).getName()).thenReturn("id").getMock();
+    when(targetEntityType.getIdAttribute()).thenReturn(targetIdAttr);
+    Attribute targetAttr = when(mock(Attribute.class).getName()).thenReturn("mref").getMock();
+
+    assertEquals(
+        "INSERT INTO \"targetEntityTypeId#cf6e227b_mref\" (\"order\",\"id\",\"mref\") SELECT \"order\",\"id\",\"mref\" FROM \"sourceEntityTypeId#657167c0_mref\"",
+        PostgreSqlQueryGenerator.getSqlCopyJunctionTable(
+            sourceEntityType, sourceAttr, targetEntityType, targetAttr));
+  }
+
   @Test
   void getSqlSelectXref() {
     Attribute attr = when(mock(Attribute.class).getName()).thenReturn("attr").getMock();
@@ -1380,6 +1427,30 @@ class PostgreSqlQueryGeneratorTest {
         sqlWhere);
   }
 
+  @Test
+  void getSqlWhereInManyValues() {
+    Attribute idAttribute = createIdAttribute("id");
+    EntityType entityType = createMockEntityWithIdAttribute("entityTypeId", idAttribute, "id");
+    Attribute refIdAttribute = createIdAttribute("refId");
+    EntityType refEntityType =
+        createMockEntityWithIdAttribute("refEntityTypeId", refIdAttribute, "refId");
+    Attribute mrefAttribute = createMrefAttribute("mref", refEntityType);
+    when(entityType.getAttribute("mref")).thenReturn(mrefAttribute);
+
+    List<Object> values = new ArrayList<>();
+    for (int i = 0; i <= MAX_IN_PARAMETERS; i++) {
+      values.add("ref" + i);
+    }
+    QueryImpl<Entity> q = new QueryImpl<>().in("mref", values);
+
+    List<Object> parameters = Lists.newArrayList();
+    String sqlWhere =
+        PostgreSqlQueryGenerator.getSqlWhere(entityType, q, parameters, new AtomicInteger());
+    assertEquals("\"mref_filter1\".\"mref\" = ANY (?)", sqlWhere);
+    assertEquals(1, parameters.size());
+    assertArrayEquals(values.toArray(new String[0]), (String[]) parameters.get(0));
+  }
+
   @Test
   void testGetSqlUpdate() {
     String idAttributeName = "MyIdAttribute";
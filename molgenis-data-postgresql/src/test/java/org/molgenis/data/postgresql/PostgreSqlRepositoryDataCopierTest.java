@@ -0,0 +1,125 @@
+package org.molgenis.data.postgresql;
+
+import static java.util.Arrays.asList;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.molgenis.data.meta.AttributeType.MREF;
+import static org.molgenis.data.meta.AttributeType.STRING;
+import static org.molgenis.data.postgresql.PostgreSqlRepositoryCollection.POSTGRESQL;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.molgenis.data.meta.AttributeType;
+import org.molgenis.data.meta.model.Attribute;
+import org.molgenis.data.meta.model.EntityType;
+import org.molgenis.test.AbstractMockitoTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+class PostgreSqlRepositoryDataCopierTest extends AbstractMockitoTest {
+  @Mock private JdbcTemplate jdbcTemplate;
+  @Mock private EntityType sourceEntityType;
+  @Mock private EntityType targetEntityType;
+  private PostgreSqlRepositoryDataCopier postgreSqlRepositoryDataCopier;
+
+  @BeforeEach
+  void setUpBeforeEach() {
+    postgreSqlRepositoryDataCopier = new PostgreSqlRepositoryDataCopier(jdbcTemplate);
+  }
+
+  @Test
+  void testCanCopy() {
+    Attribute sourceIdAttr = mockAttribute("id", STRING);
+    Attribute sourceMrefAttr = when(mock(Attribute.class).getDataType()).thenReturn(MREF).getMock();
+    Attribute targetIdAttr = mockAttribute("id", STRING);
+    Attribute targetMrefAttr = mockAttribute("mref", MREF);
+    setUpEntityTypes(sourceIdAttr, sourceMrefAttr, targetIdAttr, targetMrefAttr);
+
+    assertTrue(postgreSqlRepositoryDataCopier.canCopy(sourceEntityType, targetEntityType));
+  }
+
+  @Test
+  void testCanCopyDifferentDataType() {
+    Attribute sourceIdAttr = mockAttribute("id", STRING);
+    Attribute sourceMrefAttr =
+        when(mock(Attribute.class).getDataType()).thenReturn(STRING).getMock();
+    Attribute targetIdAttr = mockAttribute("id", STRING);
+    Attribute targetMrefAttr = mockAttribute("mref", MREF);
+    setUpEntityTypes(sourceIdAttr, sourceMrefAttr, targetIdAttr, targetMrefAttr);
+
+    assertFalse(postgreSqlRepositoryDataCopier.canCopy(sourceEntityType, targetEntityType));
+  }
+
+  @Test
+  void testCanCopyUnknownSourceAttribute() {
+    Attribute sourceIdAttr = mockAttribute("id", STRING);
+    Attribute targetIdAttr = mockAttribute("id", STRING);
+    Attribute targetMrefAttr = when(mock(Attribute.class).getName()).thenReturn("mref").getMock();
+    when(sourceEntityType.getBackend()).thenReturn(POSTGRESQL);
+    when(targetEntityType.getBackend()).thenReturn(POSTGRESQL);
+    when(sourceEntityType.getIdAttribute()).thenReturn(sourceIdAttr);
+    when(targetEntityType.getIdAttribute()).thenReturn(targetIdAttr);
+    when(targetEntityType.getAtomicAttributes()).thenReturn(asList(targetIdAttr, targetMrefAttr));
+    when(sourceEntityType.getAttribute("id")).thenReturn(sourceIdAttr);
+
+    assertFalse(postgreSqlRepositoryDataCopier.canCopy(sourceEntityType, targetEntityType));
+  }
+
+  @Test
+  void testCanCopyOtherBackend() {
+    when(sourceEntityType.getBackend()).thenReturn("ElasticSearch");
+    assertFalse(postgreSqlRepositoryDataCopier.canCopy(sourceEntityType, targetEntityType));
+  }
+
+  @Test
+  void testCopy() {
+    Attribute sourceIdAttr = when(mock(Attribute.class).getName()).thenReturn("id").getMock();
+    Attribute sourceMrefAttr = when(mock(Attribute.class).getName()).thenReturn("mref").getMock();
+    Attribute targetIdAttr = mockAttribute("id", STRING);
+    Attribute targetMrefAttr = mockAttribute("mref", MREF);
+    when(sourceEntityType.getId()).thenReturn("sourceEntityTypeId");
+    when(targetEntityType.getId()).thenReturn("targetEntityTypeId");
+    when(sourceEntityType.getIdAttribute()).thenReturn(sourceIdAttr);
+    when(targetEntityType.getIdAttribute()).thenReturn(targetIdAttr);
+    when(targetEntityType.getAtomicAttributes()).thenReturn(asList(targetIdAttr, targetMrefAttr));
+    when(sourceEntityType.getAttribute("id")).thenReturn(sourceIdAttr);
+    when(sourceEntityType.getAttribute("mref")).thenReturn(sourceMrefAttr);
+
+    postgreSqlRepositoryDataCopier.copy(sourceEntityType, targetEntityType);
+
+    InOrder inOrder = inOrder(jdbcTemplate);
+    inOrder
+        .verify(jdbcTemplate)
+        .update(
+            "INSERT INTO \"targetEntityTypeId#cf6e227b\" (\"id\") SELECT \"id\" FROM \"sourceEntityTypeId#657167c0\"");
+    inOrder
+        .verify(jdbcTemplate)
+        .update(
+            "INSERT INTO \"targetEntityTypeId#cf6e227b_mref\" (\"order\",\"id\",\"mref\") SELECT \"order\",\"id\",\"mref\" FROM \"sourceEntityTypeId#657167c0_mref\"");
+  }
+
+  private void setUpEntityTypes(
+      Attribute sourceIdAttr,
+      Attribute sourceMrefAttr,
+      Attribute targetIdAttr,
+      Attribute targetMrefAttr) {
+    when(sourceEntityType.getBackend()).thenReturn(POSTGRESQL);
+    when(targetEntityType.getBackend()).thenReturn(POSTGRESQL);
+    when(sourceEntityType.getIdAttribute()).thenReturn(sourceIdAttr);
+    when(targetEntityType.getIdAttribute()).thenReturn(targetIdAttr);
+    when(targetEntityType.getAtomicAttributes()).thenReturn(asList(targetIdAttr, targetMrefAttr));
+    when(sourceEntityType.getAttribute("id")).thenReturn(sourceIdAttr);
+    when(sourceEntityType.getAttribute("mref")).thenReturn(sourceMrefAttr);
+  }
+
+  private static Attribute mockAttribute(String name, AttributeType attributeType) {
+    Attribute attribute = mock(Attribute.class);
+    when(attribute.getName()).thenReturn(name);
+    when(attribute.getDataType()).thenReturn(attributeType);
+    return attribute;
+  }
+}
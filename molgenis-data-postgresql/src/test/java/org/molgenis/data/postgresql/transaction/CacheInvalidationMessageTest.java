@@ -0,0 +1,34 @@
+package org.molgenis.data.postgresql.transaction;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.Set;
+import org.junit.jupiter.api.Test;
+import org.molgenis.data.EntityKey;
+import org.molgenis.data.transaction.CacheInvalidation;
+
+class CacheInvalidationMessageTest {
+  @Test
+  void testToJsonFromJson() {
+    CacheInvalidation cacheInvalidation =
+        CacheInvalidation.create(
+            Set.of(
+                EntityKey.create("entityTypeId0", 1),
+                EntityKey.create("entityTypeId0", 2L),
+                EntityKey.create("entityTypeId1", "id")),
+            Set.of("entityTypeId0", "entityTypeId1"),
+            Set.of("entityTypeId2"),
+            true);
+    CacheInvalidationMessage message =
+        CacheInvalidationMessage.create("nodeId", 123L, cacheInvalidation);
+
+    assertEquals(message, CacheInvalidationMessage.fromJson(message.toJson()));
+  }
+
+  @Test
+  void testToJsonFromJsonInvalidateEverything() {
+    CacheInvalidationMessage message = CacheInvalidationMessage.create("nodeId", 123L, null);
+
+    assertEquals(message, CacheInvalidationMessage.fromJson(message.toJson()));
+  }
+}
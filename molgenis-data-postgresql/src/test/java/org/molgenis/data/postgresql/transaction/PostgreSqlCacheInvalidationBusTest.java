@@ -0,0 +1,96 @@
+package org.molgenis.data.postgresql.transaction;
+
+import static java.util.stream.Collectors.toSet;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.Set;
+import java.util.stream.IntStream;
+import javax.sql.DataSource;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.molgenis.data.EntityKey;
+import org.molgenis.data.transaction.CacheInvalidation;
+import org.molgenis.data.transaction.CacheInvalidationListener;
+import org.molgenis.test.AbstractMockitoTest;
+
+class PostgreSqlCacheInvalidationBusTest extends AbstractMockitoTest {
+  @Mock private DataSource dataSource;
+  @Mock private CacheInvalidationListener cacheInvalidationListener;
+  private MeterRegistry meterRegistry;
+  private PostgreSqlCacheInvalidationBus cacheInvalidationBus;
+
+  @BeforeEach
+  void setUpBeforeEach() {
+    meterRegistry = new SimpleMeterRegistry();
+    cacheInvalidationBus = new PostgreSqlCacheInvalidationBus(dataSource, meterRegistry, true);
+    cacheInvalidationBus.addCacheInvalidationListener(cacheInvalidationListener);
+  }
+
+  @Test
+  void testHandle() {
+    CacheInvalidation cacheInvalidation =
+        CacheInvalidation.create(
+            Set.of(EntityKey.create("entityTypeId", 1)), Set.of("entityTypeId"), Set.of(), false);
+    long timestamp = System.currentTimeMillis();
+    String payload =
+        CacheInvalidationMessage.create("otherNodeId", timestamp, cacheInvalidation).toJson();
+
+    cacheInvalidationBus.handle(payload);
+
+    verify(cacheInvalidationListener).onCacheInvalidation(cacheInvalidation);
+    assertEquals(1, meterRegistry.get("cache.invalidation.lag").timer().count());
+  }
+
+  @Test
+  void testHandleOwnPayload() {
+    CacheInvalidation cacheInvalidation = CacheInvalidation.createAclInvalidation();
+    String payload = cacheInvalidationBus.createPayload(cacheInvalidation, 123L);
+
+    cacheInvalidationBus.handle(payload);
+
+    verifyNoInteractions(cacheInvalidationListener);
+  }
+
+  @Test
+  void testHandleInvalidateEverything() {
+    cacheInvalidationBus.handle(CacheInvalidationMessage.create("otherNodeId", 0L, null).toJson());
+
+    verify(cacheInvalidationListener).onCacheInvalidationsMissed();
+  }
+
+  @Test
+  void testCreatePayloadTooManyEntities() {
+    Set<EntityKey> entityKeys =
+        IntStream.range(0, 1000)
+            .mapToObj(id -> EntityKey.create("entityTypeId", id))
+            .collect(toSet());
+    CacheInvalidation cacheInvalidation =
+        CacheInvalidation.create(entityKeys, Set.of("entityTypeId"), Set.of(), false);
+
+    String payload = cacheInvalidationBus.createPayload(cacheInvalidation, 123L);
+
+    CacheInvalidation expectedCacheInvalidation =
+        CacheInvalidation.create(Set.of(), Set.of("entityTypeId"), Set.of("entityTypeId"), false);
+    assertEquals(
+        expectedCacheInvalidation,
+        CacheInvalidationMessage.fromJson(payload).getCacheInvalidation());
+  }
+
+  @Test
+  void testCreatePayloadTooManyRepositories() {
+    Set<String> entityTypeIds =
+        IntStream.range(0, 1000).mapToObj(id -> "entityTypeId" + id).collect(toSet());
+    CacheInvalidation cacheInvalidation =
+        CacheInvalidation.create(Set.of(), entityTypeIds, entityTypeIds, false);
+
+    String payload = cacheInvalidationBus.createPayload(cacheInvalidation, 123L);
+
+    assertNull(CacheInvalidationMessage.fromJson(payload).getCacheInvalidation());
+  }
+}
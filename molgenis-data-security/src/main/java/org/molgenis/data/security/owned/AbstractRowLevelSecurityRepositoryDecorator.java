@@ -12,6 +12,7 @@ import static org.molgenis.security.core.utils.SecurityUtils.currentUserIsSuOrSy
 
 import java.util.Iterator;
 import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Consumer;
 import java.util.stream.Stream;
 import org.molgenis.data.AbstractRepositoryDecorator;
@@ -186,7 +187,7 @@ public abstract class AbstractRowLevelSecurityRepositoryDecorator<E extends Enti
               List<Object> filteredIds =
                   idsBatch.stream().filter(id -> isActionPermitted(id, DELETE)).collect(toList());
               delegate().deleteAll(filteredIds.stream());
-              filteredIds.forEach(this::deleteAcl);
+              deleteAclsById(filteredIds);
             });
   }
 
@@ -200,7 +201,7 @@ public abstract class AbstractRowLevelSecurityRepositoryDecorator<E extends Enti
     List<E> filteredEntities =
         entities.stream().filter(entity -> isActionPermitted(entity, DELETE)).collect(toList());
     delegate().delete(filteredEntities.stream());
-    filteredEntities.forEach(this::deleteAcl);
+    deleteAcls(filteredEntities);
   }
 
   @Override
@@ -213,15 +214,16 @@ public abstract class AbstractRowLevelSecurityRepositoryDecorator<E extends Enti
 
   @Override
   public Integer add(Stream<E> entities) {
-    return delegate()
-        .add(
-            entities.filter(
-                entity -> {
-                  // throws exception if no permission on the containing package
-                  isActionPermitted(entity, Action.CREATE);
-                  createAcl(entity);
-                  return true;
-                }));
+    AtomicInteger count = new AtomicInteger();
+    partition(entities.iterator(), BATCH_SIZE)
+        .forEachRemaining(
+            batch -> {
+              // throws exception if no permission on the containing package
+              batch.forEach(entity -> isActionPermitted(entity, Action.CREATE));
+              createAcls(batch);
+              count.addAndGet(delegate().add(batch.stream()));
+            });
+    return count.get();
   }
 
   private Stream<E> findAllPermitted(Action action) {
@@ -254,9 +256,24 @@ public abstract class AbstractRowLevelSecurityRepositoryDecorator<E extends Enti
 
   public abstract void createAcl(E entity);
 
+  /** Creates the ACLs for a batch of entities, override to create the ACLs in bulk */
+  public void createAcls(List<E> entities) {
+    entities.forEach(this::createAcl);
+  }
+
   public abstract void deleteAcl(E entity);
 
   public abstract void deleteAcl(Object id);
 
+  /** Deletes the ACLs of a batch of entities, override to delete the ACLs in bulk */
+  public void deleteAcls(List<E> entities) {
+    entities.forEach(this::deleteAcl);
+  }
+
+  /** Deletes the ACLs of a batch of entity identifiers, override to delete the ACLs in bulk */
+  public void deleteAclsById(List<Object> ids) {
+    ids.forEach(this::deleteAcl);
+  }
+
   public abstract void updateAcl(E entity);
 }
@@ -1,13 +1,17 @@
 package org.molgenis.data.security.owned;
 
 import static java.util.Objects.requireNonNull;
+import static java.util.stream.Collectors.toList;
 
+import java.util.List;
 import org.molgenis.data.Entity;
 import org.molgenis.data.EntityAlreadyExistsException;
 import org.molgenis.data.Repository;
 import org.molgenis.data.security.EntityIdentity;
 import org.molgenis.data.security.EntityPermission;
 import org.molgenis.data.security.exception.EntityPermissionDeniedException;
+import org.molgenis.security.acl.BulkMutableAclService;
+import org.molgenis.security.acl.ObjectIdentityAlreadyExistsException;
 import org.molgenis.security.core.PermissionSet;
 import org.molgenis.security.core.SidUtils;
 import org.molgenis.security.core.UserPermissionEvaluator;
@@ -25,14 +29,17 @@ public class RowLevelSecurityRepositoryDecorator
     extends AbstractRowLevelSecurityRepositoryDecorator<Entity> {
   private final UserPermissionEvaluator userPermissionEvaluator;
   private final MutableAclService mutableAclService;
+  private final BulkMutableAclService bulkMutableAclService;
 
   RowLevelSecurityRepositoryDecorator(
       Repository<Entity> delegateRepository,
       UserPermissionEvaluator userPermissionEvaluator,
-      MutableAclService mutableAclService) {
+      MutableAclService mutableAclService,
+      BulkMutableAclService bulkMutableAclService) {
     super(delegateRepository, mutableAclService);
     this.userPermissionEvaluator = requireNonNull(userPermissionEvaluator);
     this.mutableAclService = requireNonNull(mutableAclService);
+    this.bulkMutableAclService = requireNonNull(bulkMutableAclService);
   }
 
   @Override
@@ -98,6 +105,18 @@ public class RowLevelSecurityRepositoryDecorator
     mutableAclService.updateAcl(acl);
   }
 
+  @Override
+  public void createAcls(List<Entity> entities) {
+    List<EntityIdentity> entityIdentities =
+        entities.stream().map(EntityIdentity::new).collect(toList());
+    try {
+      bulkMutableAclService.createAcls(entityIdentities, PermissionSet.WRITE);
+    } catch (ObjectIdentityAlreadyExistsException e) {
+      Entity entity = entities.get(entityIdentities.indexOf(e.getObjectIdentity()));
+      throw new EntityAlreadyExistsException(entity, e);
+    }
+  }
+
   @Override
   public void deleteAcl(Entity entity) {
     EntityIdentity entityIdentity = new EntityIdentity(entity);
@@ -110,6 +129,16 @@ public class RowLevelSecurityRepositoryDecorator
     deleteAcl(entityIdentity);
   }
 
+  @Override
+  public void deleteAcls(List<Entity> entities) {
+    bulkMutableAclService.deleteAcls(entities.stream().map(EntityIdentity::new).collect(toList()));
+  }
+
+  @Override
+  public void deleteAclsById(List<Object> ids) {
+    bulkMutableAclService.deleteAcls(ids.stream().map(this::toEntityIdentity).collect(toList()));
+  }
+
   @Override
   public void updateAcl(Entity entity) {
     // No action required
@@ -5,6 +5,7 @@ import static java.util.Objects.requireNonNull;
 import org.molgenis.data.Entity;
 import org.molgenis.data.Repository;
 import org.molgenis.data.security.EntityIdentityUtils;
+import org.molgenis.security.acl.BulkMutableAclService;
 import org.molgenis.security.acl.MutableAclClassService;
 import org.molgenis.security.core.UserPermissionEvaluator;
 import org.springframework.security.acls.model.MutableAclService;
@@ -16,14 +17,17 @@ public class RowLevelSecurityRepositoryDecoratorFactory {
   private final UserPermissionEvaluator userPermissionEvaluator;
   private final MutableAclService mutableAclService;
   private final MutableAclClassService mutableAclClassService;
+  private final BulkMutableAclService bulkMutableAclService;
 
   RowLevelSecurityRepositoryDecoratorFactory(
       UserPermissionEvaluator userPermissionEvaluator,
       MutableAclService mutableAclService,
-      MutableAclClassService mutableAclClassService) {
+      MutableAclClassService mutableAclClassService,
+      BulkMutableAclService bulkMutableAclService) {
     this.userPermissionEvaluator = requireNonNull(userPermissionEvaluator);
     this.mutableAclService = requireNonNull(mutableAclService);
     this.mutableAclClassService = requireNonNull(mutableAclClassService);
+    this.bulkMutableAclService = requireNonNull(bulkMutableAclService);
   }
 
   public Repository<Entity> createDecoratedRepository(Repository<Entity> repository) {
@@ -31,7 +35,7 @@ public class RowLevelSecurityRepositoryDecoratorFactory {
     if (isRowLevelSecured(repository)) {
       decoratedRepository =
           new RowLevelSecurityRepositoryDecorator(
-              repository, userPermissionEvaluator, mutableAclService);
+              repository, userPermissionEvaluator, mutableAclService, bulkMutableAclService);
     } else {
       decoratedRepository = repository;
     }
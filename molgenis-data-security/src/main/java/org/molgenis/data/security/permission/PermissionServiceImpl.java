@@ -1,5 +1,6 @@
 package org.molgenis.data.security.permission;
 
+import static com.google.common.collect.Iterators.partition;
 import static java.util.Collections.singleton;
 import static java.util.Collections.singletonList;
 import static java.util.Objects.requireNonNull;
@@ -8,6 +9,7 @@ import static org.molgenis.data.security.EntityTypePermission.READ_METADATA;
 
 import com.google.common.collect.Sets;
 import java.util.HashSet;
+import java.util.Iterator;
 import java.util.LinkedHashMap;
 import java.util.LinkedHashSet;
 import java.util.List;
@@ -31,6 +33,7 @@ import org.molgenis.data.security.permission.model.LabelledObject;
 import org.molgenis.data.security.permission.model.LabelledPermission;
 import org.molgenis.data.security.permission.model.LabelledType;
 import org.molgenis.data.security.permission.model.Permission;
+import org.molgenis.security.acl.BulkMutableAclService;
 import org.molgenis.security.acl.MutableAclClassService;
 import org.molgenis.security.acl.ObjectIdentityService;
 import org.molgenis.security.core.PermissionSet;
@@ -46,8 +49,10 @@ import org.springframework.transaction.annotation.Transactional;
 
 public class PermissionServiceImpl implements PermissionService {
   private static final String PLUGIN = "plugin";
+  private static final int BATCH_SIZE = 1000;
 
   private final MutableAclService mutableAclService;
+  private final BulkMutableAclService bulkMutableAclService;
   private final PermissionInheritanceResolver inheritanceResolver;
   private final ObjectIdentityService objectIdentityService;
   private final DataService dataService;
@@ -58,6 +63,7 @@ public class PermissionServiceImpl implements PermissionService {
 
   public PermissionServiceImpl(
       MutableAclService mutableAclService,
+      BulkMutableAclService bulkMutableAclService,
       PermissionInheritanceResolver inheritanceResolver,
       ObjectIdentityService objectIdentityService,
       DataService dataService,
@@ -66,6 +72,7 @@ public class PermissionServiceImpl implements PermissionService {
       EntityHelper entityHelper,
       UserPermissionEvaluator userPermissionEvaluator) {
     this.mutableAclService = requireNonNull(mutableAclService);
+    this.bulkMutableAclService = requireNonNull(bulkMutableAclService);
     this.inheritanceResolver = requireNonNull(inheritanceResolver);
     this.objectIdentityService = requireNonNull(objectIdentityService);
     this.dataService = requireNonNull(dataService);
@@ -313,12 +320,13 @@ public class PermissionServiceImpl implements PermissionService {
     }
     mutableAclClassService.createAclClass(typeId, EntityIdentityUtils.toIdType(entityType));
     // Create ACL's for existing rows
-    dataService
-        .findAll(entityType.getId())
-        .forEach(
-            entity -> {
+    Iterator<EntityIdentity> entityIdentities =
+        dataService.findAll(entityType.getId()).map(EntityIdentity::new).iterator();
+    partition(entityIdentities, BATCH_SIZE)
+        .forEachRemaining(
+            batch -> {
               try {
-                mutableAclService.createAcl(new EntityIdentity(entity));
+                bulkMutableAclService.createAcls(batch, null);
               } catch (AlreadyExistsException e) {
                 throw new AclAlreadyExistsException(typeId, entityType.getId());
               }
@@ -4,6 +4,7 @@ import static java.util.Objects.requireNonNull;
 
 import org.molgenis.data.DataService;
 import org.molgenis.data.security.permission.inheritance.PermissionInheritanceResolver;
+import org.molgenis.security.acl.BulkMutableAclService;
 import org.molgenis.security.acl.MutableAclClassService;
 import org.molgenis.security.acl.ObjectIdentityService;
 import org.molgenis.security.core.UserPermissionEvaluator;
@@ -14,6 +15,7 @@ import org.springframework.security.acls.model.MutableAclService;
 @Configuration
 public class PermissionsConfig {
   private final MutableAclService mutableAclService;
+  private final BulkMutableAclService bulkMutableAclService;
   private final PermissionInheritanceResolver inheritanceResolver;
   private final ObjectIdentityService objectIdentityService;
   private final DataService dataService;
@@ -24,6 +26,7 @@ public class PermissionsConfig {
 
   PermissionsConfig(
       MutableAclService mutableAclService,
+      BulkMutableAclService bulkMutableAclService,
       PermissionInheritanceResolver inheritanceResolver,
       ObjectIdentityService objectIdentityService,
       DataService dataService,
@@ -32,6 +35,7 @@ public class PermissionsConfig {
       EntityHelper entityHelper,
       UserPermissionEvaluator userPermissionEvaluator) {
     this.mutableAclService = requireNonNull(mutableAclService);
+    this.bulkMutableAclService = requireNonNull(bulkMutableAclService);
     this.inheritanceResolver = requireNonNull(inheritanceResolver);
     this.objectIdentityService = requireNonNull(objectIdentityService);
     this.dataService = requireNonNull(dataService);
@@ -46,6 +50,7 @@ public class PermissionsConfig {
     PermissionService permissionService =
         new PermissionServiceImpl(
             mutableAclService,
+            bulkMutableAclService,
             inheritanceResolver,
             objectIdentityService,
             dataService,
@@ -12,6 +12,7 @@ import org.mockito.Mock;
 import org.molgenis.data.Entity;
 import org.molgenis.data.Repository;
 import org.molgenis.data.meta.model.EntityType;
+import org.molgenis.security.acl.BulkMutableAclService;
 import org.molgenis.security.acl.MutableAclClassService;
 import org.molgenis.security.core.UserPermissionEvaluator;
 import org.molgenis.test.AbstractMockitoTest;
@@ -21,20 +22,24 @@ class RowLevelSecurityRepositoryDecoratorFactoryTest extends AbstractMockitoTest
   @Mock private UserPermissionEvaluator userPermissionEvaluator;
   @Mock private MutableAclService mutableAclService;
   @Mock private MutableAclClassService mutableAclClassService;
+  @Mock private BulkMutableAclService bulkMutableAclService;
   private RowLevelSecurityRepositoryDecoratorFactory rowLevelSecurityRepositoryDecoratorFactory;
 
   @BeforeEach
   void setUpBeforeMethod() {
     rowLevelSecurityRepositoryDecoratorFactory =
         new RowLevelSecurityRepositoryDecoratorFactory(
-            userPermissionEvaluator, mutableAclService, mutableAclClassService);
+            userPermissionEvaluator,
+            mutableAclService,
+            mutableAclClassService,
+            bulkMutableAclService);
   }
 
   @Test
   void testRowLevelSecurityRepositoryDecoratorFactory() {
     assertThrows(
         NullPointerException.class,
-        () -> new RowLevelSecurityRepositoryDecoratorFactory(null, null, null));
+        () -> new RowLevelSecurityRepositoryDecoratorFactory(null, null, null, null));
   }
 
   @Test
@@ -12,6 +12,7 @@ import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.Mockito.any;
 import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.eq;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.times;
@@ -39,6 +40,8 @@ import org.molgenis.data.security.EntityIdentity;
 import org.molgenis.data.security.EntityPermission;
 import org.molgenis.data.security.exception.EntityPermissionDeniedException;
 import org.molgenis.data.support.QueryImpl;
+import org.molgenis.security.acl.BulkMutableAclService;
+import org.molgenis.security.acl.ObjectIdentityAlreadyExistsException;
 import org.molgenis.security.core.PermissionSet;
 import org.molgenis.security.core.UserPermissionEvaluator;
 import org.molgenis.test.AbstractMockitoSpringContextTests;
@@ -58,20 +61,24 @@ class RowLevelSecurityRepositoryDecoratorTest extends AbstractMockitoSpringConte
   @Mock private Repository<Entity> delegateRepository;
   @Mock private UserPermissionEvaluator userPermissionEvaluator;
   @Mock private MutableAclService mutableAclService;
+  @Mock private BulkMutableAclService bulkMutableAclService;
   private RowLevelSecurityRepositoryDecorator rowLevelSecurityRepositoryDecorator;
 
   @BeforeEach
   void setUpBeforeMethod() {
     rowLevelSecurityRepositoryDecorator =
         new RowLevelSecurityRepositoryDecorator(
-            delegateRepository, userPermissionEvaluator, mutableAclService);
+            delegateRepository,
+            userPermissionEvaluator,
+            mutableAclService,
+            bulkMutableAclService);
   }
 
   @Test
   void testRowLevelSecurityRepositoryDecorator() {
     assertThrows(
         NullPointerException.class,
-        () -> new RowLevelSecurityRepositoryDecorator(null, null, null));
+        () -> new RowLevelSecurityRepositoryDecorator(null, null, null, null));
   }
 
   @WithMockUser(username = USERNAME)
@@ -87,20 +94,37 @@ class RowLevelSecurityRepositoryDecoratorTest extends AbstractMockitoSpringConte
     verify(delegateRepository).add(entity);
   }
 
+  @SuppressWarnings("unchecked")
   @WithMockUser(username = USERNAME)
   @Test
   void testAddStream() {
     Entity entity = getEntityMock();
-    MutableAcl acl = mock(MutableAcl.class);
-    when(mutableAclService.createAcl(new EntityIdentity(entity))).thenReturn(acl);
+    when(delegateRepository.add(any(Stream.class))).thenReturn(1);
 
-    rowLevelSecurityRepositoryDecorator.add(Stream.of(entity));
+    assertEquals(1, rowLevelSecurityRepositoryDecorator.add(Stream.of(entity)));
 
     @SuppressWarnings("unchecked")
     ArgumentCaptor<Stream<Entity>> entityStreamCaptor = ArgumentCaptor.forClass(Stream.class);
     verify(delegateRepository).add(entityStreamCaptor.capture());
     assertEquals(singletonList(entity), entityStreamCaptor.getValue().collect(toList()));
-    verify(acl).insertAce(0, PermissionSet.WRITE, new PrincipalSid(USERNAME), true);
+    verify(bulkMutableAclService)
+        .createAcls(singletonList(new EntityIdentity(entity)), PermissionSet.WRITE);
+  }
+
+  @WithMockUser(username = USERNAME)
+  @Test
+  void testAddStreamAlreadyExists() {
+    Entity entity = getEntityMock();
+    doThrow(new ObjectIdentityAlreadyExistsException(new EntityIdentity(entity)))
+        .when(bulkMutableAclService)
+        .createAcls(singletonList(new EntityIdentity(entity)), PermissionSet.WRITE);
+
+    Stream<Entity> entities = Stream.of(entity);
+    Exception exception =
+        assertThrows(
+            EntityAlreadyExistsException.class,
+            () -> rowLevelSecurityRepositoryDecorator.add(entities));
+    assertThat(exception.getMessage()).containsPattern("type:entityTypeId id:entityId");
   }
 
   @WithMockUser(username = USERNAME)
@@ -199,7 +223,7 @@ class RowLevelSecurityRepositoryDecoratorTest extends AbstractMockitoSpringConte
     ArgumentCaptor<Stream<Entity>> entityStreamCaptor = ArgumentCaptor.forClass(Stream.class);
     verify(delegateRepository).delete(entityStreamCaptor.capture());
     assertEquals(singletonList(entity), entityStreamCaptor.getValue().collect(toList()));
-    verify(mutableAclService).deleteAcl(new EntityIdentity(entity), true);
+    verify(bulkMutableAclService).deleteAcls(singletonList(new EntityIdentity(entity)));
   }
 
   @Test
@@ -211,7 +235,7 @@ class RowLevelSecurityRepositoryDecoratorTest extends AbstractMockitoSpringConte
     ArgumentCaptor<Stream<Entity>> entityStreamCaptor = ArgumentCaptor.forClass(Stream.class);
     verify(delegateRepository).delete(entityStreamCaptor.capture());
     assertEquals(emptyList(), entityStreamCaptor.getValue().collect(toList()));
-    verify(mutableAclService, times(0)).deleteAcl(new EntityIdentity(entity), true);
+    verify(bulkMutableAclService).deleteAcls(emptyList());
   }
 
   @Test
@@ -266,6 +290,7 @@ class RowLevelSecurityRepositoryDecoratorTest extends AbstractMockitoSpringConte
     ArgumentCaptor<Stream<Entity>> entityStreamCaptor = ArgumentCaptor.forClass(Stream.class);
     verify(delegateRepository).delete(entityStreamCaptor.capture());
     assertEquals(singletonList(permittedEntity), entityStreamCaptor.getValue().collect(toList()));
+    verify(bulkMutableAclService).deleteAcls(singletonList(new EntityIdentity(permittedEntity)));
   }
 
   @SuppressWarnings("unchecked")
@@ -309,7 +334,8 @@ class RowLevelSecurityRepositoryDecoratorTest extends AbstractMockitoSpringConte
     ArgumentCaptor<Stream<Object>> entityStreamCaptor = ArgumentCaptor.forClass(Stream.class);
     verify(delegateRepository).deleteAll(entityStreamCaptor.capture());
     assertEquals(singletonList(entityId), entityStreamCaptor.getValue().collect(toList()));
-    verify(mutableAclService).deleteAcl(new EntityIdentity(entityTypeId, entityId), true);
+    verify(bulkMutableAclService)
+        .deleteAcls(singletonList(new EntityIdentity(entityTypeId, entityId)));
   }
 
   @Test
@@ -324,7 +350,7 @@ class RowLevelSecurityRepositoryDecoratorTest extends AbstractMockitoSpringConte
     ArgumentCaptor<Stream<Object>> entityStreamCaptor = ArgumentCaptor.forClass(Stream.class);
     verify(delegateRepository).deleteAll(entityStreamCaptor.capture());
     assertEquals(emptyList(), entityStreamCaptor.getValue().collect(toList()));
-    verify(mutableAclService, times(0)).deleteAcl(new EntityIdentity(entityTypeId, entityId), true);
+    verify(bulkMutableAclService).deleteAcls(emptyList());
   }
 
   @Test
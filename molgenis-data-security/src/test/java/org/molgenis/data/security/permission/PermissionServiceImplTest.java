@@ -51,6 +51,7 @@ import org.molgenis.data.security.permission.model.LabelledObject;
 import org.molgenis.data.security.permission.model.LabelledObjectIdentity;
 import org.molgenis.data.security.permission.model.LabelledPermission;
 import org.molgenis.data.security.permission.model.Permission;
+import org.molgenis.security.acl.BulkMutableAclService;
 import org.molgenis.security.acl.MutableAclClassService;
 import org.molgenis.security.acl.ObjectIdentityService;
 import org.molgenis.security.core.UserPermissionEvaluator;
@@ -68,6 +69,7 @@ import org.springframework.security.acls.model.Sid;
 class PermissionServiceImplTest extends AbstractMockitoTest {
 
   @Mock MutableAclService mutableAclService;
+  @Mock BulkMutableAclService bulkMutableAclService;
   @Mock PermissionInheritanceResolver inheritanceResolver;
   @Mock ObjectIdentityService objectIdentityService;
   @Mock DataService dataService;
@@ -82,6 +84,7 @@ class PermissionServiceImplTest extends AbstractMockitoTest {
     permissionsApiService =
         new PermissionServiceImpl(
             mutableAclService,
+            bulkMutableAclService,
             inheritanceResolver,
             objectIdentityService,
             dataService,
@@ -628,8 +631,9 @@ class PermissionServiceImplTest extends AbstractMockitoTest {
     permissionsApiService.addType("entity-typeId");
 
     verify(mutableAclClassService).createAclClass("entity-typeId", String.class);
-    verify(mutableAclService).createAcl(new EntityIdentity("typeId", "1"));
-    verify(mutableAclService).createAcl(new EntityIdentity("typeId", "2"));
+    verify(bulkMutableAclService)
+        .createAcls(
+            asList(new EntityIdentity("typeId", "1"), new EntityIdentity("typeId", "2")), null);
   }
 
   @Test
@@ -1,10 +1,18 @@
 package org.molgenis.data;
 
 import static com.google.common.collect.Streams.stream;
+import static java.util.Collections.emptyMap;
+import static java.util.Collections.singletonList;
 import static java.util.Objects.requireNonNull;
+import static java.util.stream.Collectors.toList;
 import static org.molgenis.data.util.EntityTypeUtils.isSingleReferenceType;
 
 import com.google.common.collect.Iterators;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.stream.Stream;
 import org.molgenis.data.meta.model.Attribute;
 
@@ -22,9 +30,9 @@ public class CascadeDeleteRepositoryDecorator extends AbstractRepositoryDecorato
   @Override
   public void delete(Entity entity) {
     if (hasCascadeDeleteAttributes()) {
-      prepareCascadeDeletes(entity);
+      Map<String, Set<Object>> refEntityIds = getCascadeDeleteRefEntityIds(singletonList(entity));
       super.delete(entity);
-      handleCascadeDeletes(entity);
+      handleCascadeDeletes(refEntityIds);
     } else {
       delegate().delete(entity);
     }
@@ -34,8 +42,10 @@ public class CascadeDeleteRepositoryDecorator extends AbstractRepositoryDecorato
   public void deleteById(Object id) {
     if (hasCascadeDeleteAttributes()) {
       Entity entity = findOneById(id);
+      Map<String, Set<Object>> refEntityIds =
+          entity != null ? getCascadeDeleteRefEntityIds(singletonList(entity)) : emptyMap();
       super.deleteById(id);
-      handleCascadeDeletes(entity);
+      handleCascadeDeletes(refEntityIds);
     } else {
       delegate().deleteById(id);
     }
@@ -48,8 +58,9 @@ public class CascadeDeleteRepositoryDecorator extends AbstractRepositoryDecorato
       delegate()
           .forEachBatched(
               entitiesBatch -> {
+                Map<String, Set<Object>> refEntityIds = getCascadeDeleteRefEntityIds(entitiesBatch);
                 delegate().delete(entitiesBatch.stream());
-                entitiesBatch.forEach(this::handleCascadeDeletes);
+                handleCascadeDeletes(refEntityIds);
               },
               BATCH_SIZE);
     } else {
@@ -63,9 +74,9 @@ public class CascadeDeleteRepositoryDecorator extends AbstractRepositoryDecorato
       Iterators.partition(entities.iterator(), BATCH_SIZE)
           .forEachRemaining(
               entitiesBatch -> {
-                entitiesBatch.forEach(this::prepareCascadeDeletes);
+                Map<String, Set<Object>> refEntityIds = getCascadeDeleteRefEntityIds(entitiesBatch);
                 super.delete(entitiesBatch.stream());
-                entitiesBatch.forEach(this::handleCascadeDeletes);
+                handleCascadeDeletes(refEntityIds);
               });
     } else {
       delegate().delete(entities);
@@ -78,9 +89,10 @@ public class CascadeDeleteRepositoryDecorator extends AbstractRepositoryDecorato
       Iterators.partition(ids.iterator(), BATCH_SIZE)
           .forEachRemaining(
               idsBatch -> {
-                Stream<Entity> entities = findAll(idsBatch.stream());
+                List<Entity> entities = findAll(idsBatch.stream()).collect(toList());
+                Map<String, Set<Object>> refEntityIds = getCascadeDeleteRefEntityIds(entities);
                 super.deleteAll(idsBatch.stream());
-                entities.forEach(this::handleCascadeDeletes);
+                handleCascadeDeletes(refEntityIds);
               });
     } else {
       delegate().deleteAll(ids);
@@ -88,34 +100,48 @@ public class CascadeDeleteRepositoryDecorator extends AbstractRepositoryDecorato
   }
 
   /**
-   * Guarantee that referenced entities for attributes with cascade delete are loaded, e.g. in case
-   * entity is a lazy or partial entity.
+   * Returns the deduplicated identifiers of the entities referenced by cascade delete attributes
+   * per referenced entity type. Must be called before the entities are deleted, e.g. in case the
+   * entities are lazy or partial entities.
    */
-  private void prepareCascadeDeletes(Entity entity) {
-    getCascadeDeleteAttributes().forEach(attr -> entity.get(attr.getName()));
-  }
-
-  private void handleCascadeDeletes(Entity entity) {
-    getCascadeDeleteAttributes().forEach(attr -> handleCascadeDeletes(entity, attr));
-  }
-
-  private void handleCascadeDeletes(Entity entity, Attribute attribute) {
-    Stream<Entity> refEntityStream;
-    if (isSingleReferenceType(attribute)) {
-      Entity refEntity = entity.getEntity(attribute.getName());
-      refEntityStream = refEntity != null ? Stream.of(refEntity) : Stream.empty();
-    } else {
-      Iterable<Entity> entities = entity.getEntities(attribute.getName());
-      refEntityStream = stream(entities);
+  private Map<String, Set<Object>> getCascadeDeleteRefEntityIds(List<Entity> entities) {
+    List<Attribute> cascadeDeleteAttributes = getCascadeDeleteAttributes().collect(toList());
+    Map<String, Set<Object>> refEntityIds = new LinkedHashMap<>();
+    for (Entity entity : entities) {
+      for (Attribute attribute : cascadeDeleteAttributes) {
+        Set<Object> ids =
+            refEntityIds.computeIfAbsent(
+                attribute.getRefEntity().getId(), refEntityTypeId -> new LinkedHashSet<>());
+        if (isSingleReferenceType(attribute)) {
+          Entity refEntity = entity.getEntity(attribute.getName());
+          if (refEntity != null) {
+            ids.add(refEntity.getIdValue());
+          }
+        } else {
+          entity
+              .getEntities(attribute.getName())
+              .forEach(refEntity -> ids.add(refEntity.getIdValue()));
+        }
+      }
     }
+    return refEntityIds;
+  }
 
-    // delete one-by-one and first check if exists because entities might not exist due to earlier
-    // deletes
-    String refEntityTypeName = attribute.getRefEntity().getId();
-    refEntityStream.forEach(
-        refEntity -> {
-          if (dataService.findOneById(refEntityTypeName, refEntity.getIdValue()) != null) {
-            dataService.delete(refEntityTypeName, refEntity);
+  /**
+   * Deletes the referenced entities per referenced entity type in one batch. Cascade deletes of the
+   * referenced entity types are in turn handled by their repositories, one batch per level.
+   */
+  private void handleCascadeDeletes(Map<String, Set<Object>> refEntityIds) {
+    refEntityIds.forEach(
+        (refEntityTypeId, ids) -> {
+          if (ids.isEmpty()) {
+            return;
+          }
+          // referenced entities might not exist due to earlier deletes
+          List<Entity> refEntities =
+              dataService.findAll(refEntityTypeId, ids.stream()).collect(toList());
+          if (!refEntities.isEmpty()) {
+            dataService.delete(refEntityTypeId, refEntities.stream());
           }
         });
   }
@@ -2,23 +2,22 @@ package org.molgenis.data;
 
 import static java.util.Collections.singletonList;
 import static java.util.Objects.requireNonNull;
-import static java.util.stream.StreamSupport.stream;
 import static org.molgenis.data.EntityManager.CreationMode.NO_POPULATE;
 import static org.molgenis.data.EntityManager.CreationMode.POPULATE;
 import static org.molgenis.data.util.EntityTypeUtils.isMultipleReferenceType;
 import static org.molgenis.data.util.EntityTypeUtils.isSingleReferenceType;
 
 import com.google.common.collect.HashMultimap;
-import com.google.common.collect.Iterators;
 import com.google.common.collect.SetMultimap;
 import com.google.common.collect.Streams;
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.HashMap;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
-import java.util.Objects;
-import java.util.Set;
-import java.util.function.Function;
+import java.util.NoSuchElementException;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 import org.molgenis.data.meta.model.Attribute;
@@ -36,7 +35,9 @@ import org.springframework.stereotype.Component;
  */
 @Component
 public class EntityManagerImpl implements EntityManager {
-  private static final int BATCH_SIZE = 100;
+  private static final int MIN_BATCH_SIZE = 100;
+  private static final int MAX_BATCH_SIZE = 1000;
+  private static final int MAX_REF_ENTITIES = 10000;
 
   private final DataService dataService;
   private final EntityFactoryRegistry entityFactoryRegistry;
@@ -113,7 +114,8 @@ public class EntityManagerImpl implements EntityManager {
       return entity;
     }
 
-    return resolveReferences(resolvableAttrs, singletonList(entity), fetch).iterator().next();
+    ReferenceResolver referenceResolver = new ReferenceResolver(resolvableAttrs, fetch);
+    return referenceResolver.resolveReferences(singletonList(entity)).iterator().next();
   }
 
   @Override
@@ -136,98 +138,152 @@ public class EntityManagerImpl implements EntityManager {
       return entities;
     }
 
-    Iterable<List<Entity>> iterable = () -> Iterators.partition(entities.iterator(), BATCH_SIZE);
+    ReferenceResolver referenceResolver = new ReferenceResolver(resolvableAttrs, fetch);
+    Iterable<List<Entity>> iterable = () -> new BatchIterator(entities.iterator());
     return Streams.stream(iterable)
-        .flatMap(
-            batch -> {
-              List<Entity> batchWithReferences = resolveReferences(resolvableAttrs, batch, fetch);
-              return batchWithReferences.stream();
-            });
+        .flatMap(batch -> referenceResolver.resolveReferences(batch).stream());
   }
 
-  private List<Entity> resolveReferences(
-      List<Attribute> resolvableAttrs, List<Entity> entities, Fetch fetch) {
-    // entity name --> entity ids
-    SetMultimap<String, Object> lazyRefEntityIdsMap =
-        HashMultimap.create(resolvableAttrs.size(), 16);
-    // entity name --> attributes referring to this entity
-    SetMultimap<String, Attribute> refEntityAttrsMap =
-        HashMultimap.create(resolvableAttrs.size(), 2);
-
-    // fill maps
-    for (Attribute attr : resolvableAttrs) {
-      String refEntityName = attr.getRefEntity().getId();
-
-      if (isSingleReferenceType(attr)) {
-        for (Entity entity : entities) {
-          Entity lazyRefEntity = entity.getEntity(attr.getName());
-          if (lazyRefEntity != null) {
-            lazyRefEntityIdsMap.put(refEntityName, lazyRefEntity.getIdValue());
-          }
-        }
-
-      } else if (isMultipleReferenceType(attr)) {
-        for (Entity entity : entities) {
-          Iterable<Entity> lazyRefEntities = entity.getEntities(attr.getName());
-          for (Entity lazyRefEntity : lazyRefEntities) {
-            lazyRefEntityIdsMap.put(refEntityName, lazyRefEntity.getIdValue());
-          }
-        }
+  /**
+   * Resolves the references of the entities of one entity stream. Referenced entities that were
+   * retrieved for a previous batch of the stream are reused instead of retrieved again.
+   */
+  private class ReferenceResolver {
+    private final List<Attribute> resolvableAttrs;
+    // entity type id --> attributes referring to this entity type
+    private final SetMultimap<String, Attribute> refEntityAttrsMap;
+    // entity type id --> fetch for the referenced entities
+    private final Map<String, Fetch> refEntityFetchMap;
+    // entity type id --> referenced entity id --> referenced entity
+    private final Map<String, Map<Object, Entity>> refEntitiesMap;
+
+    ReferenceResolver(List<Attribute> resolvableAttrs, Fetch fetch) {
+      this.resolvableAttrs = resolvableAttrs;
+      this.refEntityAttrsMap = HashMultimap.create(resolvableAttrs.size(), 2);
+      for (Attribute attr : resolvableAttrs) {
+        refEntityAttrsMap.put(attr.getRefEntity().getId(), attr);
       }
 
-      refEntityAttrsMap.put(refEntityName, attr);
+      // create a fetch for each referenced entity which is a union of the fetches defined by
+      // attributes referencing this entity
+      this.refEntityFetchMap = new HashMap<>();
+      refEntityAttrsMap
+          .asMap()
+          .forEach(
+              (refEntityName, attrs) ->
+                  refEntityFetchMap.put(refEntityName, createSubFetch(fetch, attrs)));
+      this.refEntitiesMap = new HashMap<>();
     }
 
-    // batch retrieve referred entities and replace entity references with actual entities
-    for (Entry<String, Collection<Object>> entry : lazyRefEntityIdsMap.asMap().entrySet()) {
-      String refEntityName = entry.getKey();
+    List<Entity> resolveReferences(List<Entity> entities) {
+      // bound memory usage for long streams that reference many different entities
+      refEntitiesMap.values().removeIf(refEntities -> refEntities.size() > MAX_REF_ENTITIES);
+
+      // entity name --> entity ids
+      SetMultimap<String, Object> lazyRefEntityIdsMap =
+          HashMultimap.create(refEntityAttrsMap.keySet().size(), 16);
 
-      // create a fetch for the referenced entity which is a union of the fetches defined by
-      // attributes
-      // referencing this entity
-      Set<Attribute> attrs = refEntityAttrsMap.get(refEntityName);
-      Fetch subFetch = createSubFetch(fetch, attrs);
+      // fill map
+      for (Attribute attr : resolvableAttrs) {
+        String refEntityName = attr.getRefEntity().getId();
 
-      // retrieve referenced entities
-      Stream<Entity> refEntities =
-          dataService.findAll(refEntityName, entry.getValue().stream(), subFetch);
+        if (isSingleReferenceType(attr)) {
+          for (Entity entity : entities) {
+            Entity lazyRefEntity = entity.getEntity(attr.getName());
+            if (lazyRefEntity != null) {
+              lazyRefEntityIdsMap.put(refEntityName, lazyRefEntity.getIdValue());
+            }
+          }
+
+        } else if (isMultipleReferenceType(attr)) {
+          for (Entity entity : entities) {
+            Iterable<Entity> lazyRefEntities = entity.getEntities(attr.getName());
+            for (Entity lazyRefEntity : lazyRefEntities) {
+              lazyRefEntityIdsMap.put(refEntityName, lazyRefEntity.getIdValue());
+            }
+          }
+        }
+      }
 
-      Map<Object, Entity> refEntitiesIdMap =
-          refEntities.collect(Collectors.toMap(Entity::getIdValue, Function.identity()));
+      // batch retrieve referred entities that were not retrieved for a previous batch
+      for (Entry<String, Collection<Object>> entry : lazyRefEntityIdsMap.asMap().entrySet()) {
+        String refEntityName = entry.getKey();
+        Map<Object, Entity> refEntitiesIdMap = getRefEntitiesIdMap(refEntityName);
+        List<Object> refEntityIds =
+            entry.getValue().stream()
+                .filter(refEntityId -> !refEntitiesIdMap.containsKey(refEntityId))
+                .collect(Collectors.toList());
+        if (!refEntityIds.isEmpty()) {
+          Fetch subFetch = refEntityFetchMap.get(refEntityName);
+          dataService
+              .findAll(refEntityName, refEntityIds.stream(), subFetch)
+              .forEach(refEntity -> refEntitiesIdMap.put(refEntity.getIdValue(), refEntity));
+        }
+      }
 
-      for (Attribute attr : attrs) {
+      // replace entity references with actual entities
+      for (Attribute attr : resolvableAttrs) {
+        Map<Object, Entity> refEntitiesIdMap = getRefEntitiesIdMap(attr.getRefEntity().getId());
+        String attrName = attr.getName();
         if (isSingleReferenceType(attr)) {
-          String attrName = attr.getName();
           for (Entity entity : entities) {
             Entity lazyRefEntity = entity.getEntity(attrName);
             if (lazyRefEntity != null) {
               // replace lazy entity with real entity
-              Object refEntityId = lazyRefEntity.getIdValue();
-              Entity refEntity = refEntitiesIdMap.get(refEntityId);
-              entity.set(attrName, refEntity);
+              entity.set(attrName, refEntitiesIdMap.get(lazyRefEntity.getIdValue()));
             }
           }
         } else if (isMultipleReferenceType(attr)) {
-          String attrName = attr.getName();
           for (Entity entity : entities) {
             // replace lazy entities with real entities
-            Iterable<Entity> lazyRefEntities = entity.getEntities(attrName);
-            List<Entity> mrefEntities =
-                stream(lazyRefEntities.spliterator(), true)
-                    .map(
-                        lazyRefEntity -> {
-                          // replace lazy entity with real entity
-                          Object refEntityId = lazyRefEntity.getIdValue();
-                          return refEntitiesIdMap.get(refEntityId);
-                        })
-                    .filter(Objects::nonNull)
-                    .collect(Collectors.toList());
+            List<Entity> mrefEntities = new ArrayList<>();
+            for (Entity lazyRefEntity : entity.getEntities(attrName)) {
+              Entity refEntity = refEntitiesIdMap.get(lazyRefEntity.getIdValue());
+              if (refEntity != null) {
+                mrefEntities.add(refEntity);
+              }
+            }
             entity.set(attrName, mrefEntities);
           }
         }
       }
+      return entities;
+    }
+
+    private Map<Object, Entity> getRefEntitiesIdMap(String refEntityName) {
+      return refEntitiesMap.computeIfAbsent(refEntityName, key -> new HashMap<>());
+    }
+  }
+
+  /**
+   * Partitions entities in batches that start small, so that the first entities of a stream are
+   * available quickly, and grow up to the maximum batch size to reduce the number of round trips.
+   */
+  private static class BatchIterator implements Iterator<List<Entity>> {
+    private final Iterator<Entity> entities;
+    private int batchSize = MIN_BATCH_SIZE;
+
+    BatchIterator(Iterator<Entity> entities) {
+      this.entities = entities;
+    }
+
+    @Override
+    public boolean hasNext() {
+      return entities.hasNext();
+    }
+
+    @Override
+    public List<Entity> next() {
+      if (!entities.hasNext()) {
+        throw new NoSuchElementException();
+      }
+      List<Entity> batch = new ArrayList<>(batchSize);
+      while (batch.size() < batchSize && entities.hasNext()) {
+        batch.add(entities.next());
+      }
+      batchSize = Math.min(batchSize * 2, MAX_BATCH_SIZE);
+      return batch;
     }
-    return entities;
   }
 
   private static Fetch createSubFetch(Fetch fetch, Iterable<Attribute> attrs) {
@@ -0,0 +1,28 @@
+package org.molgenis.data;
+
+import org.molgenis.data.meta.model.EntityType;
+
+/**
+ * Copies the data of a repository to another repository inside the backend without reading the
+ * entities, e.g. to copy the data of an entity type to an entity type created as a copy of it.
+ */
+public interface RepositoryDataCopier {
+  /**
+   * Returns whether the data of the source repository can be copied to the target repository.
+   *
+   * @param source entity type of the repository to copy from
+   * @param target entity type of the repository to copy to
+   * @return true if {@link #copy(EntityType, EntityType)} can be used for these entity types
+   */
+  boolean canCopy(EntityType source, EntityType target);
+
+  /**
+   * Copies all data of the source repository to the (empty) target repository. Entity identifiers
+   * and attribute values, including references, are copied as is. Copying bypasses the repository
+   * decorators, so callers are responsible for permission checks and index actions.
+   *
+   * @param source entity type of the repository to copy from
+   * @param target entity type of the repository to copy to
+   */
+  void copy(EntityType source, EntityType target);
+}
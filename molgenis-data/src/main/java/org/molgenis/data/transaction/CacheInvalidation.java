@@ -0,0 +1,49 @@
+package org.molgenis.data.transaction;
+
+import com.google.auto.value.AutoValue;
+import com.google.common.collect.ImmutableSet;
+import java.util.Set;
+import org.molgenis.data.EntityKey;
+
+/**
+ * Cache entries that became stale after a transaction was committed. Published on the {@link
+ * CacheInvalidationBus} so that other nodes can evict them from their caches.
+ */
+@AutoValue
+@SuppressWarnings("java:S1610") // Abstract classes without fields should be converted to interfaces
+public abstract class CacheInvalidation {
+  /** @see TransactionInformation#getDirtyEntities() */
+  public abstract ImmutableSet<EntityKey> getDirtyEntities();
+
+  /** @see TransactionInformation#getDirtyRepositories() */
+  public abstract ImmutableSet<String> getDirtyRepositories();
+
+  /** @see TransactionInformation#getEntirelyDirtyRepositories() */
+  public abstract ImmutableSet<String> getEntirelyDirtyRepositories();
+
+  /** Whether access control lists were created, updated or deleted. */
+  public abstract boolean isAclChanged();
+
+  public boolean isEmpty() {
+    return getDirtyEntities().isEmpty()
+        && getDirtyRepositories().isEmpty()
+        && getEntirelyDirtyRepositories().isEmpty()
+        && !isAclChanged();
+  }
+
+  public static CacheInvalidation create(
+      Set<EntityKey> dirtyEntities,
+      Set<String> dirtyRepositories,
+      Set<String> entirelyDirtyRepositories,
+      boolean aclChanged) {
+    return new AutoValue_CacheInvalidation(
+        ImmutableSet.copyOf(dirtyEntities),
+        ImmutableSet.copyOf(dirtyRepositories),
+        ImmutableSet.copyOf(entirelyDirtyRepositories),
+        aclChanged);
+  }
+
+  public static CacheInvalidation createAclInvalidation() {
+    return create(Set.of(), Set.of(), Set.of(), true);
+  }
+}
@@ -0,0 +1,12 @@
+package org.molgenis.data.transaction;
+
+/**
+ * Distributes {@link CacheInvalidation}s between the nodes of a cluster. Invalidations published
+ * by a node are delivered to the {@link CacheInvalidationListener}s of all other nodes.
+ */
+public interface CacheInvalidationBus {
+  /** Publishes an invalidation to the other nodes, returns without waiting for delivery. */
+  void publish(CacheInvalidation cacheInvalidation);
+
+  void addCacheInvalidationListener(CacheInvalidationListener cacheInvalidationListener);
+}
@@ -0,0 +1,17 @@
+package org.molgenis.data.transaction;
+
+/**
+ * Interface that can be implemented by caches that want to evict entries that became stale because
+ * of transactions committed on other nodes.
+ *
+ * <p>A CacheInvalidationListener must bootstrap itself by the {@link CacheInvalidationBus}
+ */
+public interface CacheInvalidationListener {
+  void onCacheInvalidation(CacheInvalidation cacheInvalidation);
+
+  /**
+   * Called when invalidations published by other nodes might have been missed, for example after
+   * the connection to the bus was lost. Caches should evict all entries.
+   */
+  default void onCacheInvalidationsMissed() {}
+}
@@ -72,34 +72,39 @@ class CascadeDeleteRepositoryDecoratorTest {
         NullPointerException.class, () -> new CascadeDeleteRepositoryDecorator(null, null));
   }
 
+  @SuppressWarnings("unchecked")
   @Test
   void testDeleteNoCascade() {
     when(xrefAttr.getCascadeDelete()).thenReturn(null);
     when(entity.getEntity(XREF_ATTR_NAME)).thenReturn(refEntity);
     cascadeDeleteRepositoryDecorator.delete(entity);
     verify(delegateRepository).delete(entity);
-    verify(dataService, never()).delete(REF_ENTITY_TYPE_NAME, refEntity);
+    verify(dataService, never()).delete(eq(REF_ENTITY_TYPE_NAME), any(Stream.class));
   }
 
+  @SuppressWarnings("unchecked")
   @Test
   void testDeleteCascadeNotNull() {
     when(xrefAttr.getCascadeDelete()).thenReturn(Boolean.TRUE);
     when(entity.getEntity(XREF_ATTR_NAME)).thenReturn(refEntity);
-    when(dataService.findOneById(REF_ENTITY_TYPE_NAME, REF_ENTITY_ID)).thenReturn(refEntity);
+    when(dataService.findAll(eq(REF_ENTITY_TYPE_NAME), any(Stream.class)))
+        .thenReturn(Stream.of(refEntity));
     cascadeDeleteRepositoryDecorator.delete(entity);
     verify(delegateRepository).delete(entity);
-    verify(dataService).delete(REF_ENTITY_TYPE_NAME, refEntity);
+    verifyRefEntitiesDeleted();
   }
 
+  @SuppressWarnings("unchecked")
   @Test
   void testDeleteCascadeNull() {
     when(xrefAttr.getCascadeDelete()).thenReturn(Boolean.TRUE);
     when(entity.getEntity(XREF_ATTR_NAME)).thenReturn(null);
     cascadeDeleteRepositoryDecorator.delete(entity);
     verify(delegateRepository).delete(entity);
-    verify(dataService, never()).delete(REF_ENTITY_TYPE_NAME, refEntity);
+    verify(dataService, never()).delete(eq(REF_ENTITY_TYPE_NAME), any(Stream.class));
   }
 
+  @SuppressWarnings("unchecked")
   @Test
   void testDeleteCascadeMrefEmpty() {
     String mrefAttrName = "mrefAttrName";
@@ -113,9 +118,10 @@ class CascadeDeleteRepositoryDecoratorTest {
     when(entity.getEntities(mrefAttrName)).thenReturn(emptyList());
     cascadeDeleteRepositoryDecorator.delete(entity);
     verify(delegateRepository).delete(entity);
-    verify(dataService, never()).delete(REF_ENTITY_TYPE_NAME, refEntity);
+    verify(dataService, never()).delete(eq(REF_ENTITY_TYPE_NAME), any(Stream.class));
   }
 
+  @SuppressWarnings("unchecked")
   @Test
   void testDeleteCascadeMrefNotEmpty() {
     String mrefAttrName = "mrefAttrName";
@@ -124,26 +130,30 @@ class CascadeDeleteRepositoryDecoratorTest {
     when(mrefAttr.getDataType()).thenReturn(MREF);
     when(mrefAttr.getRefEntity()).thenReturn(refEntityType);
     when(entityType.getAtomicAttributes()).thenReturn(asList(stringAttr, mrefAttr));
-    when(dataService.findOneById(REF_ENTITY_TYPE_NAME, REF_ENTITY_ID)).thenReturn(refEntity);
+    when(dataService.findAll(eq(REF_ENTITY_TYPE_NAME), any(Stream.class)))
+        .thenReturn(Stream.of(refEntity));
     when(mrefAttr.getCascadeDelete()).thenReturn(Boolean.TRUE);
     when(entity.getEntities(mrefAttrName)).thenReturn(singletonList(refEntity));
     cascadeDeleteRepositoryDecorator.delete(entity);
     verify(delegateRepository).delete(entity);
-    verify(dataService).delete(REF_ENTITY_TYPE_NAME, refEntity);
+    verifyRefEntitiesDeleted();
   }
 
+  @SuppressWarnings("unchecked")
   @Test
   void testDeleteByIdCascadeNotNull() {
     String entityId = "id";
     when(delegateRepository.findOneById(entityId)).thenReturn(entity);
     when(xrefAttr.getCascadeDelete()).thenReturn(Boolean.TRUE);
     when(entity.getEntity(XREF_ATTR_NAME)).thenReturn(refEntity);
-    when(dataService.findOneById(REF_ENTITY_TYPE_NAME, REF_ENTITY_ID)).thenReturn(refEntity);
+    when(dataService.findAll(eq(REF_ENTITY_TYPE_NAME), any(Stream.class)))
+        .thenReturn(Stream.of(refEntity));
     cascadeDeleteRepositoryDecorator.deleteById(entityId);
     verify(delegateRepository).deleteById(entityId);
-    verify(dataService).delete(REF_ENTITY_TYPE_NAME, refEntity);
+    verifyRefEntitiesDeleted();
   }
 
+  @SuppressWarnings("unchecked")
   @Test
   void testDeleteByIdNoCascade() {
     String entityId = "id";
@@ -153,7 +163,7 @@ class CascadeDeleteRepositoryDecoratorTest {
     when(entity.getEntity(XREF_ATTR_NAME)).thenReturn(refEntity);
     cascadeDeleteRepositoryDecorator.deleteById(entityId);
     verify(delegateRepository).deleteById(entityId);
-    verify(dataService, never()).delete(REF_ENTITY_TYPE_NAME, refEntity);
+    verify(dataService, never()).delete(eq(REF_ENTITY_TYPE_NAME), any(Stream.class));
   }
 
   @SuppressWarnings("unchecked")
@@ -161,7 +171,8 @@ class CascadeDeleteRepositoryDecoratorTest {
   void testDeleteAllCascadeNotNull() {
     when(xrefAttr.getCascadeDelete()).thenReturn(Boolean.TRUE);
     when(entity.getEntity(XREF_ATTR_NAME)).thenReturn(refEntity);
-    when(dataService.findOneById(REF_ENTITY_TYPE_NAME, REF_ENTITY_ID)).thenReturn(refEntity);
+    when(dataService.findAll(eq(REF_ENTITY_TYPE_NAME), any(Stream.class)))
+        .thenReturn(Stream.of(refEntity));
 
     doAnswer(
             invocation -> {
@@ -176,16 +187,17 @@ class CascadeDeleteRepositoryDecoratorTest {
     ArgumentCaptor<Stream<Entity>> captor = ArgumentCaptor.forClass(Stream.class);
     verify(delegateRepository).delete(captor.capture());
     assertEquals(singletonList(entity), captor.getValue().collect(toList()));
-    verify(dataService).delete(REF_ENTITY_TYPE_NAME, refEntity);
+    verifyRefEntitiesDeleted();
   }
 
+  @SuppressWarnings("unchecked")
   @Test
   void testDeleteAllNoCascade() {
     when(xrefAttr.getCascadeDelete()).thenReturn(null);
     when(entity.getEntity(XREF_ATTR_NAME)).thenReturn(refEntity);
     cascadeDeleteRepositoryDecorator.deleteAll();
     verify(delegateRepository).deleteAll();
-    verify(dataService, never()).delete(REF_ENTITY_TYPE_NAME, refEntity);
+    verify(dataService, never()).delete(eq(REF_ENTITY_TYPE_NAME), any(Stream.class));
   }
 
   @SuppressWarnings("unchecked")
@@ -193,12 +205,13 @@ class CascadeDeleteRepositoryDecoratorTest {
   void testDeleteStreamCascadeNotNull() {
     when(xrefAttr.getCascadeDelete()).thenReturn(Boolean.TRUE);
     when(entity.getEntity(XREF_ATTR_NAME)).thenReturn(refEntity);
-    when(dataService.findOneById(REF_ENTITY_TYPE_NAME, REF_ENTITY_ID)).thenReturn(refEntity);
+    when(dataService.findAll(eq(REF_ENTITY_TYPE_NAME), any(Stream.class)))
+        .thenReturn(Stream.of(refEntity));
     cascadeDeleteRepositoryDecorator.delete(Stream.of(entity));
     ArgumentCaptor<Stream<Entity>> captor = ArgumentCaptor.forClass(Stream.class);
     verify(delegateRepository).delete(captor.capture());
     assertEquals(singletonList(entity), captor.getValue().collect(toList()));
-    verify(dataService).delete(REF_ENTITY_TYPE_NAME, refEntity);
+    verifyRefEntitiesDeleted();
   }
 
   @SuppressWarnings("unchecked")
@@ -206,12 +219,13 @@ class CascadeDeleteRepositoryDecoratorTest {
   void testDeleteStreamNoCascade() {
     when(xrefAttr.getCascadeDelete()).thenReturn(null);
     when(entity.getEntity(XREF_ATTR_NAME)).thenReturn(refEntity);
-    when(dataService.findOneById(REF_ENTITY_TYPE_NAME, REF_ENTITY_ID)).thenReturn(refEntity);
+    when(dataService.findAll(eq(REF_ENTITY_TYPE_NAME), any(Stream.class)))
+        .thenReturn(Stream.of(refEntity));
     cascadeDeleteRepositoryDecorator.delete(Stream.of(entity));
     ArgumentCaptor<Stream<Entity>> captor = ArgumentCaptor.forClass(Stream.class);
     verify(delegateRepository).delete(captor.capture());
     assertEquals(singletonList(entity), captor.getValue().collect(toList()));
-    verify(dataService, never()).delete(REF_ENTITY_TYPE_NAME, refEntity);
+    verify(dataService, never()).delete(eq(REF_ENTITY_TYPE_NAME), any(Stream.class));
   }
 
   @SuppressWarnings("unchecked")
@@ -221,12 +235,13 @@ class CascadeDeleteRepositoryDecoratorTest {
     when(delegateRepository.findAll(any(Stream.class))).thenReturn(Stream.of(entity));
     when(xrefAttr.getCascadeDelete()).thenReturn(Boolean.TRUE);
     when(entity.getEntity(XREF_ATTR_NAME)).thenReturn(refEntity);
-    when(dataService.findOneById(REF_ENTITY_TYPE_NAME, REF_ENTITY_ID)).thenReturn(refEntity);
+    when(dataService.findAll(eq(REF_ENTITY_TYPE_NAME), any(Stream.class)))
+        .thenReturn(Stream.of(refEntity));
     cascadeDeleteRepositoryDecorator.deleteAll(Stream.of(entityId));
     ArgumentCaptor<Stream<Object>> captor = ArgumentCaptor.forClass(Stream.class);
     verify(delegateRepository).deleteAll(captor.capture());
     assertEquals(singletonList(entityId), captor.getValue().collect(toList()));
-    verify(dataService).delete(REF_ENTITY_TYPE_NAME, refEntity);
+    verifyRefEntitiesDeleted();
   }
 
   @SuppressWarnings("unchecked")
@@ -236,11 +251,48 @@ class CascadeDeleteRepositoryDecoratorTest {
     when(delegateRepository.findAll(any(Stream.class))).thenReturn(Stream.of(entity));
     when(xrefAttr.getCascadeDelete()).thenReturn(null);
     when(entity.getEntity(XREF_ATTR_NAME)).thenReturn(refEntity);
-    when(dataService.findOneById(REF_ENTITY_TYPE_NAME, REF_ENTITY_ID)).thenReturn(refEntity);
+    when(dataService.findAll(eq(REF_ENTITY_TYPE_NAME), any(Stream.class)))
+        .thenReturn(Stream.of(refEntity));
     cascadeDeleteRepositoryDecorator.deleteAll(Stream.of(entityId));
     ArgumentCaptor<Stream<Object>> captor = ArgumentCaptor.forClass(Stream.class);
     verify(delegateRepository).deleteAll(captor.capture());
     assertEquals(singletonList(entityId), captor.getValue().collect(toList()));
-    verify(dataService, never()).delete(REF_ENTITY_TYPE_NAME, refEntity);
+    verify(dataService, never()).delete(eq(REF_ENTITY_TYPE_NAME), any(Stream.class));
+  }
+
+  @SuppressWarnings("unchecked")
+  @Test
+  void testDeleteStreamCascadeDeduplicatesRefEntityIds() {
+    Entity otherEntity = mock(Entity.class);
+    when(xrefAttr.getCascadeDelete()).thenReturn(Boolean.TRUE);
+    when(entity.getEntity(XREF_ATTR_NAME)).thenReturn(refEntity);
+    when(otherEntity.getEntity(XREF_ATTR_NAME)).thenReturn(refEntity);
+    when(dataService.findAll(eq(REF_ENTITY_TYPE_NAME), any(Stream.class)))
+        .thenReturn(Stream.of(refEntity));
+    cascadeDeleteRepositoryDecorator.delete(Stream.of(entity, otherEntity));
+
+    ArgumentCaptor<Stream<Object>> captor = ArgumentCaptor.forClass(Stream.class);
+    verify(dataService).findAll(eq(REF_ENTITY_TYPE_NAME), captor.capture());
+    assertEquals(singletonList(REF_ENTITY_ID), captor.getValue().collect(toList()));
+    verifyRefEntitiesDeleted();
+  }
+
+  @SuppressWarnings("unchecked")
+  @Test
+  void testDeleteCascadeRefEntityAlreadyDeleted() {
+    when(xrefAttr.getCascadeDelete()).thenReturn(Boolean.TRUE);
+    when(entity.getEntity(XREF_ATTR_NAME)).thenReturn(refEntity);
+    when(dataService.findAll(eq(REF_ENTITY_TYPE_NAME), any(Stream.class)))
+        .thenReturn(Stream.empty());
+    cascadeDeleteRepositoryDecorator.delete(entity);
+    verify(delegateRepository).delete(entity);
+    verify(dataService, never()).delete(eq(REF_ENTITY_TYPE_NAME), any(Stream.class));
+  }
+
+  @SuppressWarnings("unchecked")
+  private void verifyRefEntitiesDeleted() {
+    ArgumentCaptor<Stream<Entity>> captor = ArgumentCaptor.forClass(Stream.class);
+    verify(dataService).delete(eq(REF_ENTITY_TYPE_NAME), captor.capture());
+    assertEquals(singletonList(refEntity), captor.getValue().collect(toList()));
   }
 }
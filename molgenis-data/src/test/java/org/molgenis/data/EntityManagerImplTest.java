@@ -3,13 +3,22 @@ package org.molgenis.data;
 import static java.util.Arrays.asList;
 import static java.util.stream.Collectors.toList;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.molgenis.data.meta.AttributeType.XREF;
 
+import java.util.List;
+import java.util.stream.IntStream;
 import java.util.stream.Stream;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mock;
+import org.molgenis.data.meta.model.Attribute;
 import org.molgenis.data.meta.model.EntityType;
 import org.molgenis.data.populate.EntityPopulator;
 import org.molgenis.data.support.DynamicEntity;
@@ -69,4 +78,42 @@ class EntityManagerImplTest extends AbstractMockitoTest {
         entityManagerImpl.resolveReferences(entityType, Stream.of(entity0, entity1), fetch);
     assertEquals(asList(entity0, entity1), entities.collect(toList()));
   }
+
+  @SuppressWarnings("unchecked")
+  @Test
+  void resolveReferencesStreamRetrievesReferencedEntitiesOnce() {
+    EntityType refEntityType = mock(EntityType.class);
+    when(refEntityType.getId()).thenReturn("refEntityType");
+    Attribute refAttr = mock(Attribute.class);
+    when(refAttr.getName()).thenReturn("ref");
+    when(refAttr.getDataType()).thenReturn(XREF);
+    when(refAttr.getRefEntity()).thenReturn(refEntityType);
+    EntityType entityType = mock(EntityType.class);
+    when(entityType.getAtomicAttributes()).thenReturn(List.of(refAttr));
+
+    Entity lazyRefEntity = mock(Entity.class);
+    when(lazyRefEntity.getIdValue()).thenReturn("refId");
+    Entity refEntity = mock(Entity.class);
+    when(refEntity.getIdValue()).thenReturn("refId");
+    when(dataService.findAll(eq("refEntityType"), any(Stream.class), isNull()))
+        .thenReturn(Stream.of(refEntity));
+
+    List<Entity> entities =
+        IntStream.range(0, 300)
+            .mapToObj(
+                i -> {
+                  Entity entity = mock(Entity.class);
+                  when(entity.getEntity("ref")).thenReturn(lazyRefEntity);
+                  return entity;
+                })
+            .collect(toList());
+
+    Fetch fetch = new Fetch().field("ref");
+    List<Entity> resolvedEntities =
+        entityManagerImpl.resolveReferences(entityType, entities.stream(), fetch).collect(toList());
+
+    assertEquals(entities, resolvedEntities);
+    verify(dataService, times(1)).findAll(eq("refEntityType"), any(Stream.class), isNull());
+    entities.forEach(entity -> verify(entity).set("ref", refEntity));
+  }
 }
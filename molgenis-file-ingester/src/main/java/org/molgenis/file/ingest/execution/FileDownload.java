@@ -0,0 +1,33 @@
+package org.molgenis.file.ingest.execution;
+
+import com.google.auto.value.AutoValue;
+import java.io.File;
+import javax.annotation.CheckForNull;
+import javax.annotation.Nullable;
+
+/** Result of a conditional file download */
+@AutoValue
+@SuppressWarnings("java:S1610") // Abstract classes without fields should be converted to interfaces
+public abstract class FileDownload {
+  /** @return downloaded file or <code>null</code> if the file was not modified */
+  @Nullable
+  @CheckForNull
+  public abstract File getFile();
+
+  @Nullable
+  @CheckForNull
+  public abstract String getETag();
+
+  @Nullable
+  @CheckForNull
+  public abstract String getLastModified();
+
+  public boolean isModified() {
+    return getFile() != null;
+  }
+
+  public static FileDownload create(
+      @Nullable File file, @Nullable String eTag, @Nullable String lastModified) {
+    return new AutoValue_FileDownload(file, eTag, lastModified);
+  }
+}
@@ -0,0 +1,44 @@
+package org.molgenis.file.ingest.execution;
+
+import com.google.auto.value.AutoValue;
+import java.io.File;
+import java.util.List;
+import javax.annotation.CheckForNull;
+import javax.annotation.Nullable;
+import org.molgenis.file.ingest.meta.FileIngestRowDigest;
+
+/** Rows of an ingested file that were inserted, changed or deleted since the previous ingest */
+@AutoValue
+@SuppressWarnings("java:S1610") // Abstract classes without fields should be converted to interfaces
+public abstract class FileIngestDelta {
+  /** @return file with the inserted and changed rows or <code>null</code> if there are none */
+  @Nullable
+  @CheckForNull
+  public abstract File getChangedRowsFile();
+
+  /** @return digests of inserted rows to persist after a successful import */
+  public abstract List<FileIngestRowDigest> getInsertedRowDigests();
+
+  /** @return digests of changed rows to persist after a successful import */
+  public abstract List<FileIngestRowDigest> getUpdatedRowDigests();
+
+  /** @return digests of rows that no longer exist in the ingested file */
+  public abstract List<FileIngestRowDigest> getDeletedRowDigests();
+
+  public int getNrChangedRows() {
+    return getInsertedRowDigests().size() + getUpdatedRowDigests().size();
+  }
+
+  public boolean isEmpty() {
+    return getNrChangedRows() == 0 && getDeletedRowDigests().isEmpty();
+  }
+
+  public static FileIngestDelta create(
+      @Nullable File changedRowsFile,
+      List<FileIngestRowDigest> insertedRowDigests,
+      List<FileIngestRowDigest> updatedRowDigests,
+      List<FileIngestRowDigest> deletedRowDigests) {
+    return new AutoValue_FileIngestDelta(
+        changedRowsFile, insertedRowDigests, updatedRowDigests, deletedRowDigests);
+  }
+}
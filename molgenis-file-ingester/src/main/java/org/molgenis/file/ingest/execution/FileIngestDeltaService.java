@@ -0,0 +1,246 @@
+package org.molgenis.file.ingest.execution;
+
+import static java.lang.String.format;
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.util.Objects.requireNonNull;
+import static java.util.stream.Collectors.toList;
+import static org.molgenis.file.ingest.meta.FileIngestRowDigestMetadata.FILE_INGEST_ROW_DIGEST;
+import static org.molgenis.file.ingest.meta.FileIngestRowDigestMetadata.ROW_ID;
+import static org.molgenis.file.ingest.meta.FileIngestRowDigestMetadata.TARGET_ENTITY_ID;
+import static org.molgenis.file.ingest.meta.FileIngestRowDigestMetadata.URL;
+import static org.molgenis.security.core.runas.RunAsSystemAspect.runAsSystem;
+
+import com.google.common.collect.Iterables;
+import com.google.common.hash.Hasher;
+import com.google.common.hash.Hashing;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import javax.annotation.CheckForNull;
+import javax.annotation.Nullable;
+import org.molgenis.data.DataConverter;
+import org.molgenis.data.DataService;
+import org.molgenis.data.Entity;
+import org.molgenis.data.Query;
+import org.molgenis.data.Repository;
+import org.molgenis.data.csv.CsvWriter;
+import org.molgenis.data.file.FileRepositoryCollectionFactory;
+import org.molgenis.data.file.FileStore;
+import org.molgenis.data.file.support.FileRepositoryCollection;
+import org.molgenis.data.meta.model.Attribute;
+import org.molgenis.data.meta.model.EntityType;
+import org.molgenis.file.ingest.meta.FileIngestRowDigest;
+import org.molgenis.file.ingest.meta.FileIngestRowDigestFactory;
+import org.springframework.stereotype.Component;
+
+/**
+ * Compares the rows of an ingested csv file with the content hashes of the rows ingested by
+ * previous runs, so that only inserted, changed and deleted rows need to be applied. Digests are
+ * scoped by url and target entity type, so ingests of different urls into the same entity type
+ * don't delete each other's rows. The rows are compared in batches, only the ids of the rows in
+ * the file are kept in memory.
+ */
+@Component
+public class FileIngestDeltaService {
+  private static final String DELTA_DIR = "delta";
+  private static final int BATCH_SIZE = 1000;
+
+  private final DataService dataService;
+  private final FileStore fileStore;
+  private final FileRepositoryCollectionFactory fileRepositoryCollectionFactory;
+  private final FileIngestRowDigestFactory fileIngestRowDigestFactory;
+
+  public FileIngestDeltaService(
+      DataService dataService,
+      FileStore fileStore,
+      FileRepositoryCollectionFactory fileRepositoryCollectionFactory,
+      FileIngestRowDigestFactory fileIngestRowDigestFactory) {
+    this.dataService = requireNonNull(dataService);
+    this.fileStore = requireNonNull(fileStore);
+    this.fileRepositoryCollectionFactory = requireNonNull(fileRepositoryCollectionFactory);
+    this.fileIngestRowDigestFactory = requireNonNull(fileIngestRowDigestFactory);
+  }
+
+  /**
+   * Creates the delta between the given csv file and the rows previously ingested from the same url
+   * into the same entity type. The inserted and changed rows are written to a csv file with the
+   * same name in a subdirectory of the given folder.
+   *
+   * @return delta or <code>null</code> if no delta can be computed because the target entity type
+   *     does not exist or the file does not contain its id attribute
+   * @throws FileIngestException if the file contains a row id more than once
+   */
+  @Nullable
+  @CheckForNull
+  public FileIngestDelta createDelta(
+      String entityTypeId, String url, File file, String folderName) {
+    Optional<EntityType> entityType = dataService.getMeta().getEntityType(entityTypeId);
+    if (!entityType.isPresent()) {
+      return null;
+    }
+    String idAttributeName = entityType.get().getIdAttribute().getName();
+
+    FileRepositoryCollection repositoryCollection =
+        fileRepositoryCollectionFactory.createFileRepositoryCollection(file);
+    if (!repositoryCollection.hasRepository(entityTypeId)) {
+      return null;
+    }
+
+    try (Repository<Entity> repository = repositoryCollection.getRepository(entityTypeId)) {
+      List<String> attributeNames = new ArrayList<>();
+      repository
+          .getEntityType()
+          .getAtomicAttributes()
+          .forEach(attribute -> attributeNames.add(attribute.getName()));
+      if (!attributeNames.contains(idAttributeName)) {
+        return null;
+      }
+      return createDelta(
+          entityTypeId, url, idAttributeName, attributeNames, repository, file, folderName);
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  private FileIngestDelta createDelta(
+      String entityTypeId,
+      String url,
+      String idAttributeName,
+      List<String> attributeNames,
+      Repository<Entity> repository,
+      File file,
+      String folderName)
+      throws IOException {
+    String deltaDirName = folderName + '/' + DELTA_DIR;
+    fileStore.createDirectory(deltaDirName);
+    File changedRowsFile = fileStore.getFileUnchecked(deltaDirName + '/' + file.getName());
+
+    Set<String> rowIds = new HashSet<>();
+    List<FileIngestRowDigest> insertedRowDigests = new ArrayList<>();
+    List<FileIngestRowDigest> updatedRowDigests = new ArrayList<>();
+    try (CsvWriter csvWriter =
+        new CsvWriter(new OutputStreamWriter(new FileOutputStream(changedRowsFile), UTF_8))) {
+      csvWriter.writeAttributeNames(attributeNames);
+      for (List<Entity> rows : Iterables.partition(repository, BATCH_SIZE)) {
+        List<String> batchRowIds = new ArrayList<>(rows.size());
+        for (Entity row : rows) {
+          String rowId = DataConverter.toString(row.get(idAttributeName));
+          if (!rowIds.add(rowId)) {
+            throw new FileIngestException(
+                format("File '%s' contains duplicate row id '%s'", file.getName(), rowId));
+          }
+          batchRowIds.add(rowId);
+        }
+
+        Map<String, FileIngestRowDigest> previousDigests =
+            getRowDigests(entityTypeId, url, batchRowIds);
+        for (Entity row : rows) {
+          String rowId = DataConverter.toString(row.get(idAttributeName));
+          String digest = createDigest(row, attributeNames);
+
+          FileIngestRowDigest rowDigest = previousDigests.get(rowId);
+          if (rowDigest == null) {
+            rowDigest = fileIngestRowDigestFactory.create();
+            rowDigest.setUrl(url);
+            rowDigest.setTargetEntityId(entityTypeId);
+            rowDigest.setRowId(rowId);
+            rowDigest.setDigest(digest);
+            insertedRowDigests.add(rowDigest);
+            csvWriter.add(row);
+          } else if (!rowDigest.getDigest().equals(digest)) {
+            rowDigest.setDigest(digest);
+            updatedRowDigests.add(rowDigest);
+            csvWriter.add(row);
+          }
+        }
+      }
+    }
+
+    if (insertedRowDigests.isEmpty() && updatedRowDigests.isEmpty()) {
+      fileStore.delete(deltaDirName + '/' + file.getName());
+      changedRowsFile = null;
+    }
+    List<FileIngestRowDigest> deletedRowDigests = getDeletedRowDigests(entityTypeId, url, rowIds);
+    return FileIngestDelta.create(
+        changedRowsFile, insertedRowDigests, updatedRowDigests, deletedRowDigests);
+  }
+
+  /** Deletes the rows that no longer exist in the ingested file from the target entity type. */
+  public void deleteRows(String entityTypeId, FileIngestDelta delta) {
+    if (delta.getDeletedRowDigests().isEmpty()) {
+      return;
+    }
+    EntityType entityType = dataService.getEntityType(entityTypeId);
+    Attribute idAttribute = entityType.getIdAttribute();
+    dataService.deleteAll(
+        entityTypeId,
+        delta.getDeletedRowDigests().stream()
+            .map(rowDigest -> DataConverter.convert(rowDigest.getRowId(), idAttribute)));
+  }
+
+  /** Persists the row digests of an applied delta. */
+  public void storeDigests(FileIngestDelta delta) {
+    runAsSystem(
+        () -> {
+          dataService.delete(FILE_INGEST_ROW_DIGEST, delta.getDeletedRowDigests().stream());
+          dataService.update(FILE_INGEST_ROW_DIGEST, delta.getUpdatedRowDigests().stream());
+          dataService.add(FILE_INGEST_ROW_DIGEST, delta.getInsertedRowDigests().stream());
+        });
+  }
+
+  /** Returns the previous digests of a batch of rows by row id */
+  private Map<String, FileIngestRowDigest> getRowDigests(
+      String entityTypeId, String url, List<String> rowIds) {
+    return runAsSystem(
+        () -> {
+          Map<String, FileIngestRowDigest> rowDigests = new HashMap<>();
+          createRowDigestQuery(entityTypeId, url)
+              .and()
+              .in(ROW_ID, rowIds)
+              .findAll()
+              .forEach(rowDigest -> rowDigests.put(rowDigest.getRowId(), rowDigest));
+          return rowDigests;
+        });
+  }
+
+  /** Streams the previous digests and returns those of the rows that are not in the file */
+  private List<FileIngestRowDigest> getDeletedRowDigests(
+      String entityTypeId, String url, Set<String> rowIds) {
+    return runAsSystem(
+        () ->
+            createRowDigestQuery(entityTypeId, url)
+                .findAll()
+                .filter(rowDigest -> !rowIds.contains(rowDigest.getRowId()))
+                .collect(toList()));
+  }
+
+  private Query<FileIngestRowDigest> createRowDigestQuery(String entityTypeId, String url) {
+    return dataService
+        .query(FILE_INGEST_ROW_DIGEST, FileIngestRowDigest.class)
+        .eq(TARGET_ENTITY_ID, entityTypeId)
+        .and()
+        .eq(URL, url);
+  }
+
+  private static String createDigest(Entity row, List<String> attributeNames) {
+    Hasher hasher = Hashing.murmur3_128().newHasher();
+    for (String attributeName : attributeNames) {
+      String value = DataConverter.toString(row.get(attributeName));
+      if (value != null) {
+        hasher.putInt(value.length()).putString(value, UTF_8);
+      } else {
+        hasher.putInt(-1);
+      }
+    }
+    return hasher.hash().toString();
+  }
+}
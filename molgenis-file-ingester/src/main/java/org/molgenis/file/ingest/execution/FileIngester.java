@@ -3,10 +3,19 @@ package org.molgenis.file.ingest.execution;
 import static java.util.Objects.requireNonNull;
 import static org.molgenis.data.DataAction.ADD_UPDATE_EXISTING;
 import static org.molgenis.data.file.model.FileMetaMetadata.FILE_META;
+import static org.molgenis.file.ingest.meta.FileIngestJobExecutionMetadata.FILE_INGEST_JOB_EXECUTION;
+import static org.molgenis.file.ingest.meta.FileIngestJobExecutionMetadata.TARGET_ENTITY_ID;
+import static org.molgenis.file.ingest.meta.FileIngestJobExecutionMetadata.URL;
+import static org.molgenis.jobs.model.JobExecutionMetaData.END_DATE;
+import static org.molgenis.jobs.model.JobExecutionMetaData.STATUS;
+import static org.molgenis.jobs.model.JobExecutionMetaData.SUCCESS;
 
 import java.io.File;
+import javax.annotation.CheckForNull;
+import javax.annotation.Nullable;
 import org.molgenis.core.ui.file.FileDownloadController;
 import org.molgenis.data.DataService;
+import org.molgenis.data.Sort;
 import org.molgenis.data.file.FileRepositoryCollectionFactory;
 import org.molgenis.data.file.model.FileMeta;
 import org.molgenis.data.file.model.FileMetaFactory;
@@ -23,7 +32,9 @@ import org.springframework.stereotype.Component;
 /**
  * Imports a file from a remote url.
  *
- * <p>For now only csv files are supported
+ * <p>For now only csv files are supported. The download is skipped if the remote server reports
+ * that the file was not modified since the previous successful ingest and only the rows that were
+ * inserted, changed or deleted since the previous ingest are applied.
  */
 @Component
 public class FileIngester {
@@ -32,56 +43,121 @@ public class FileIngester {
   private final FileRepositoryCollectionFactory fileRepositoryCollectionFactory;
   private final FileMetaFactory fileMetaFactory;
   private final DataService dataService;
+  private final FileIngestDeltaService fileIngestDeltaService;
 
   public FileIngester(
       FileStoreDownload fileStoreDownload,
       ImportServiceFactory importServiceFactory,
       FileRepositoryCollectionFactory fileRepositoryCollectionFactory,
       FileMetaFactory fileMetaFactory,
-      DataService dataService) {
+      DataService dataService,
+      FileIngestDeltaService fileIngestDeltaService) {
     this.fileStoreDownload = requireNonNull(fileStoreDownload);
     this.importServiceFactory = requireNonNull(importServiceFactory);
     this.fileRepositoryCollectionFactory = requireNonNull(fileRepositoryCollectionFactory);
     this.fileMetaFactory = requireNonNull(fileMetaFactory);
     this.dataService = requireNonNull(dataService);
+    this.fileIngestDeltaService = requireNonNull(fileIngestDeltaService);
   }
 
   /**
    * Imports a csv file defined in the fileIngest entity
    *
+   * @return metadata of the downloaded file or <code>null</code> if the file was not modified
    * @see FileIngestJobExecutionMetadata
    */
+  @Nullable
+  @CheckForNull
   public FileMeta ingest(
       String entityTypeId, String url, String loader, String jobExecutionID, Progress progress) {
     if (!"CSV".equals(loader)) {
       throw new FileIngestException("Unknown loader '" + loader + "'");
     }
 
-    progress.setProgressMax(2);
+    progress.setProgressMax(3);
     progress.progress(0, "Downloading url '" + url + "'");
-    File file = fileStoreDownload.downloadFile(url, jobExecutionID, entityTypeId + ".csv");
-    progress.progress(1, "Importing...");
-    FileRepositoryCollection repoCollection =
-        fileRepositoryCollectionFactory.createFileRepositoryCollection(file);
-    ImportService importService = importServiceFactory.getImportService(file, repoCollection);
-    EntityImportReport report =
-        importService.doImport(repoCollection, MetadataAction.UPSERT, ADD_UPDATE_EXISTING, null);
+    FileIngestJobExecution fileIngestJobExecution =
+        (FileIngestJobExecution) progress.getJobExecution();
+    FileIngestJobExecution previousJobExecution = findPreviousJobExecution(entityTypeId, url);
+    FileDownload fileDownload =
+        fileStoreDownload.downloadFileIfModified(
+            url,
+            jobExecutionID,
+            entityTypeId + ".csv",
+            previousJobExecution != null ? previousJobExecution.getETag() : null,
+            previousJobExecution != null ? previousJobExecution.getLastModified() : null);
+    fileIngestJobExecution.setETag(fileDownload.getETag());
+    fileIngestJobExecution.setLastModified(fileDownload.getLastModified());
+
+    if (!fileDownload.isModified()) {
+      progress.progress(3, "Url '" + url + "' not modified since previous ingest.");
+      return null;
+    }
+    File file = fileDownload.getFile();
+
+    progress.progress(1, "Comparing with previous ingest...");
+    FileIngestDelta delta =
+        fileIngestDeltaService.createDelta(entityTypeId, url, file, jobExecutionID);
+
+    progress.progress(2, "Importing...");
+    int count;
+    if (delta == null) {
+      count = doImport(entityTypeId, file);
+    } else if (delta.isEmpty()) {
+      count = 0;
+    } else {
+      File changedRowsFile = delta.getChangedRowsFile();
+      count = changedRowsFile != null ? doImport(entityTypeId, changedRowsFile) : 0;
+      fileIngestDeltaService.deleteRows(entityTypeId, delta);
+      fileIngestDeltaService.storeDigests(delta);
+    }
 
     progress.status("Ingestion of url '" + url + "' done.");
-    Integer count = report.getNrImportedEntitiesMap().get(entityTypeId);
-    count = count != null ? count : 0;
-    progress.progress(2, "Successfully imported " + count + " " + entityTypeId + " entities.");
+    if (delta != null) {
+      progress.progress(
+          3,
+          "Successfully imported "
+              + count
+              + " and deleted "
+              + delta.getDeletedRowDigests().size()
+              + " "
+              + entityTypeId
+              + " entities.");
+    } else {
+      progress.progress(3, "Successfully imported " + count + " " + entityTypeId + " entities.");
+    }
 
     FileMeta fileMeta = createFileMeta(jobExecutionID, file);
-
-    FileIngestJobExecution fileIngestJobExecution =
-        (FileIngestJobExecution) progress.getJobExecution();
     fileIngestJobExecution.setFile(fileMeta);
     dataService.add(FILE_META, fileMeta);
 
     return fileMeta;
   }
 
+  private int doImport(String entityTypeId, File file) {
+    FileRepositoryCollection repoCollection =
+        fileRepositoryCollectionFactory.createFileRepositoryCollection(file);
+    ImportService importService = importServiceFactory.getImportService(file, repoCollection);
+    EntityImportReport report =
+        importService.doImport(repoCollection, MetadataAction.UPSERT, ADD_UPDATE_EXISTING, null);
+    Integer count = report.getNrImportedEntitiesMap().get(entityTypeId);
+    return count != null ? count : 0;
+  }
+
+  @Nullable
+  @CheckForNull
+  private FileIngestJobExecution findPreviousJobExecution(String entityTypeId, String url) {
+    return dataService
+        .query(FILE_INGEST_JOB_EXECUTION, FileIngestJobExecution.class)
+        .eq(URL, url)
+        .and()
+        .eq(TARGET_ENTITY_ID, entityTypeId)
+        .and()
+        .eq(STATUS, SUCCESS)
+        .sort(new Sort(END_DATE, Sort.Direction.DESC))
+        .findOne();
+  }
+
   private FileMeta createFileMeta(String jobExecutionID, File file) {
     FileMeta fileMeta = fileMetaFactory.create(jobExecutionID);
     fileMeta.setContentType("text/csv");
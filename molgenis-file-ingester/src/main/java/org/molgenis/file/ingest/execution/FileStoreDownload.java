@@ -1,8 +1,23 @@
 package org.molgenis.file.ingest.execution;
 
 import java.io.File;
+import javax.annotation.Nullable;
 
 /** Downloads a file and stores it in the FileStore */
 public interface FileStoreDownload {
   File downloadFile(String url, String folderName, String fileName);
+
+  /**
+   * Downloads a file unless the server reports that it was not modified since the download that
+   * returned the given ETag and Last-Modified values.
+   *
+   * @param eTag ETag of the previous download or <code>null</code>
+   * @param lastModified Last-Modified of the previous download or <code>null</code>
+   */
+  FileDownload downloadFileIfModified(
+      String url,
+      String folderName,
+      String fileName,
+      @Nullable String eTag,
+      @Nullable String lastModified);
 }
@@ -1,10 +1,19 @@
 package org.molgenis.file.ingest.execution;
 
+import static java.net.HttpURLConnection.HTTP_NOT_MODIFIED;
+import static org.springframework.http.HttpHeaders.ETAG;
+import static org.springframework.http.HttpHeaders.IF_MODIFIED_SINCE;
+import static org.springframework.http.HttpHeaders.IF_NONE_MATCH;
+import static org.springframework.http.HttpHeaders.LAST_MODIFIED;
+
 import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.UncheckedIOException;
+import java.net.HttpURLConnection;
 import java.net.URL;
+import java.net.URLConnection;
+import javax.annotation.Nullable;
 import org.molgenis.data.file.FileStore;
 import org.springframework.stereotype.Component;
 
@@ -31,4 +40,42 @@ public class FileStoreDownloadImpl implements FileStoreDownload {
       throw new UncheckedIOException(e);
     }
   }
+
+  @Override
+  public FileDownload downloadFileIfModified(
+      String url,
+      String folderName,
+      String fileName,
+      @Nullable String eTag,
+      @Nullable String lastModified) {
+    try {
+      URLConnection urlConnection = new URL(url).openConnection();
+      if (eTag != null) {
+        urlConnection.setRequestProperty(IF_NONE_MATCH, eTag);
+      }
+      if (lastModified != null) {
+        urlConnection.setRequestProperty(IF_MODIFIED_SINCE, lastModified);
+      }
+      urlConnection.connect();
+
+      if (urlConnection instanceof HttpURLConnection
+          && ((HttpURLConnection) urlConnection).getResponseCode() == HTTP_NOT_MODIFIED) {
+        ((HttpURLConnection) urlConnection).disconnect();
+        return FileDownload.create(null, eTag, lastModified);
+      }
+
+      File folder = new File(fileStore.getStorageDir(), folderName);
+      folder.mkdir();
+
+      File file;
+      try (InputStream in = urlConnection.getInputStream()) {
+        String filename = folderName + '/' + fileName;
+        file = fileStore.store(in, filename);
+      }
+      return FileDownload.create(
+          file, urlConnection.getHeaderField(ETAG), urlConnection.getHeaderField(LAST_MODIFIED));
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
 }
@@ -1,7 +1,9 @@
 package org.molgenis.file.ingest.meta;
 
+import static org.molgenis.file.ingest.meta.FileIngestJobExecutionMetadata.ETAG;
 import static org.molgenis.file.ingest.meta.FileIngestJobExecutionMetadata.FILE;
 import static org.molgenis.file.ingest.meta.FileIngestJobExecutionMetadata.FILE_INGEST_JOB_TYPE;
+import static org.molgenis.file.ingest.meta.FileIngestJobExecutionMetadata.LAST_MODIFIED;
 import static org.molgenis.file.ingest.meta.FileIngestJobExecutionMetadata.LOADER;
 import static org.molgenis.file.ingest.meta.FileIngestJobExecutionMetadata.TARGET_ENTITY_ID;
 import static org.molgenis.file.ingest.meta.FileIngestJobExecutionMetadata.URL;
@@ -62,4 +64,24 @@ public class FileIngestJobExecution extends JobExecution {
   public String getLoader() {
     return getString(LOADER);
   }
+
+  @Nullable
+  @CheckForNull
+  public String getETag() {
+    return getString(ETAG);
+  }
+
+  public void setETag(String eTag) {
+    set(ETAG, eTag);
+  }
+
+  @Nullable
+  @CheckForNull
+  public String getLastModified() {
+    return getString(LAST_MODIFIED);
+  }
+
+  public void setLastModified(String lastModified) {
+    set(LAST_MODIFIED, lastModified);
+  }
 }
@@ -29,6 +29,8 @@ public class FileIngestJobExecutionMetadata extends SystemEntityType {
 
   public static final String FILE = "file";
   public static final String TARGET_ENTITY_ID = "targetEntityId";
+  public static final String ETAG = "eTag";
+  public static final String LAST_MODIFIED = "lastModified";
   public static final String FILE_INGEST_JOB_TYPE = "FileIngesterJob";
 
   private final FileMetaMetadata fileMetaMetadata;
@@ -69,5 +71,15 @@ public class FileIngestJobExecutionMetadata extends SystemEntityType {
         .setDataType(STRING)
         .setLabel("Target EntityType ID")
         .setNillable(false);
+    addAttribute(ETAG)
+        .setDataType(STRING)
+        .setLabel("ETag")
+        .setDescription("ETag response header of the downloaded file.")
+        .setNillable(true);
+    addAttribute(LAST_MODIFIED)
+        .setDataType(STRING)
+        .setLabel("Last modified")
+        .setDescription("Last-Modified response header of the downloaded file.")
+        .setNillable(true);
   }
 }
@@ -0,0 +1,68 @@
+package org.molgenis.file.ingest.meta;
+
+import static org.molgenis.file.ingest.meta.FileIngestRowDigestMetadata.DIGEST;
+import static org.molgenis.file.ingest.meta.FileIngestRowDigestMetadata.ID;
+import static org.molgenis.file.ingest.meta.FileIngestRowDigestMetadata.ROW_ID;
+import static org.molgenis.file.ingest.meta.FileIngestRowDigestMetadata.TARGET_ENTITY_ID;
+import static org.molgenis.file.ingest.meta.FileIngestRowDigestMetadata.URL;
+
+import org.molgenis.data.Entity;
+import org.molgenis.data.meta.model.EntityType;
+import org.molgenis.data.support.StaticEntity;
+
+/** Content hash of a row that was ingested from a url into a target entity type. */
+@SuppressWarnings("unused")
+public class FileIngestRowDigest extends StaticEntity {
+  public FileIngestRowDigest(Entity entity) {
+    super(entity);
+  }
+
+  public FileIngestRowDigest(EntityType entityType) {
+    super(entityType);
+  }
+
+  public FileIngestRowDigest(String id, EntityType entityType) {
+    super(entityType);
+    setId(id);
+  }
+
+  public String getId() {
+    return getString(ID);
+  }
+
+  public void setId(String id) {
+    set(ID, id);
+  }
+
+  public String getUrl() {
+    return getString(URL);
+  }
+
+  public void setUrl(String url) {
+    set(URL, url);
+  }
+
+  public String getTargetEntityId() {
+    return getString(TARGET_ENTITY_ID);
+  }
+
+  public void setTargetEntityId(String targetEntityId) {
+    set(TARGET_ENTITY_ID, targetEntityId);
+  }
+
+  public String getRowId() {
+    return getString(ROW_ID);
+  }
+
+  public void setRowId(String rowId) {
+    set(ROW_ID, rowId);
+  }
+
+  public String getDigest() {
+    return getString(DIGEST);
+  }
+
+  public void setDigest(String digest) {
+    set(DIGEST, digest);
+  }
+}
@@ -0,0 +1,15 @@
+package org.molgenis.file.ingest.meta;
+
+import org.molgenis.data.AbstractSystemEntityFactory;
+import org.molgenis.data.populate.EntityPopulator;
+import org.springframework.stereotype.Component;
+
+@Component
+public class FileIngestRowDigestFactory
+    extends AbstractSystemEntityFactory<
+        FileIngestRowDigest, FileIngestRowDigestMetadata, String> {
+  FileIngestRowDigestFactory(
+      FileIngestRowDigestMetadata fileIngestRowDigestMetadata, EntityPopulator entityPopulator) {
+    super(FileIngestRowDigest.class, fileIngestRowDigestMetadata, entityPopulator);
+  }
+}
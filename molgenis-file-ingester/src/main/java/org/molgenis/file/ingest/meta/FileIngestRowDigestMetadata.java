@@ -0,0 +1,45 @@
+package org.molgenis.file.ingest.meta;
+
+import static java.util.Objects.requireNonNull;
+import static org.molgenis.data.meta.model.EntityType.AttributeRole.ROLE_ID;
+import static org.molgenis.data.meta.model.Package.PACKAGE_SEPARATOR;
+import static org.molgenis.jobs.model.JobPackage.PACKAGE_JOB;
+
+import org.molgenis.data.meta.SystemEntityType;
+import org.molgenis.jobs.model.JobPackage;
+import org.springframework.stereotype.Component;
+
+@Component
+public class FileIngestRowDigestMetadata extends SystemEntityType {
+  private static final String SIMPLE_NAME = "FileIngestRowDigest";
+  public static final String FILE_INGEST_ROW_DIGEST = PACKAGE_JOB + PACKAGE_SEPARATOR + SIMPLE_NAME;
+
+  public static final String ID = "id";
+  public static final String URL = "url";
+  public static final String TARGET_ENTITY_ID = "targetEntityId";
+  public static final String ROW_ID = "rowId";
+  public static final String DIGEST = "digest";
+
+  private final JobPackage jobPackage;
+
+  FileIngestRowDigestMetadata(JobPackage jobPackage) {
+    super(SIMPLE_NAME, PACKAGE_JOB);
+    this.jobPackage = requireNonNull(jobPackage);
+  }
+
+  @Override
+  public void init() {
+    setLabel("File ingest row digest");
+    setDescription("Content hashes of ingested rows, used to only import changed rows.");
+    setPackage(jobPackage);
+
+    addAttribute(ID, ROLE_ID).setAuto(true).setLabel("Identifier");
+    addAttribute(URL)
+        .setNillable(false)
+        .setLabel("Url")
+        .setDescription("Url of the ingested file, rows of other urls are ingested separately.");
+    addAttribute(TARGET_ENTITY_ID).setNillable(false).setLabel("Target EntityType ID");
+    addAttribute(ROW_ID).setNillable(false).setLabel("Row identifier");
+    addAttribute(DIGEST).setNillable(false).setLabel("Content hash");
+  }
+}
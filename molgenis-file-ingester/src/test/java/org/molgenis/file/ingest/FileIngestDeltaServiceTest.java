@@ -0,0 +1,140 @@
+package org.molgenis.file.ingest;
+
+import static java.util.Collections.emptyList;
+import static java.util.Collections.singletonList;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.RETURNS_SELF;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.molgenis.file.ingest.meta.FileIngestRowDigestMetadata.FILE_INGEST_ROW_DIGEST;
+import static org.molgenis.file.ingest.meta.FileIngestRowDigestMetadata.ROW_ID;
+import static org.molgenis.file.ingest.meta.FileIngestRowDigestMetadata.TARGET_ENTITY_ID;
+import static org.molgenis.file.ingest.meta.FileIngestRowDigestMetadata.URL;
+
+import com.google.common.io.Files;
+import java.io.File;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.molgenis.data.DataService;
+import org.molgenis.data.Entity;
+import org.molgenis.data.Query;
+import org.molgenis.data.Repository;
+import org.molgenis.data.file.FileRepositoryCollectionFactory;
+import org.molgenis.data.file.FileStore;
+import org.molgenis.data.file.support.FileRepositoryCollection;
+import org.molgenis.data.meta.MetaDataService;
+import org.molgenis.data.meta.model.Attribute;
+import org.molgenis.data.meta.model.EntityType;
+import org.molgenis.file.ingest.execution.FileIngestDelta;
+import org.molgenis.file.ingest.execution.FileIngestDeltaService;
+import org.molgenis.file.ingest.execution.FileIngestException;
+import org.molgenis.file.ingest.meta.FileIngestRowDigest;
+import org.molgenis.file.ingest.meta.FileIngestRowDigestFactory;
+import org.molgenis.test.AbstractMockitoTest;
+
+class FileIngestDeltaServiceTest extends AbstractMockitoTest {
+  private static final String ENTITY_TYPE_ID = "test";
+  private static final String URL_A = "http://www.test.nl/a";
+  private static final String URL_B = "http://www.test.nl/b";
+
+  @Mock private DataService dataService;
+  @Mock private FileStore fileStore;
+  @Mock private FileRepositoryCollectionFactory fileRepositoryCollectionFactory;
+  @Mock private FileIngestRowDigestFactory fileIngestRowDigestFactory;
+  private Query<FileIngestRowDigest> rowDigestQuery;
+  private FileIngestDeltaService fileIngestDeltaService;
+  private File file;
+  private List<Entity> rows;
+
+  @SuppressWarnings("unchecked")
+  @BeforeEach
+  void setUpBeforeEach() {
+    fileIngestDeltaService =
+        new FileIngestDeltaService(
+            dataService, fileStore, fileRepositoryCollectionFactory, fileIngestRowDigestFactory);
+
+    Attribute idAttribute = when(mock(Attribute.class).getName()).thenReturn("id").getMock();
+    EntityType entityType =
+        when(mock(EntityType.class).getIdAttribute()).thenReturn(idAttribute).getMock();
+    MetaDataService metaDataService = mock(MetaDataService.class);
+    when(metaDataService.getEntityType(ENTITY_TYPE_ID)).thenReturn(Optional.of(entityType));
+    when(dataService.getMeta()).thenReturn(metaDataService);
+    rowDigestQuery = mock(Query.class, RETURNS_SELF);
+
+    // file with one row with id '2'
+    file = new File("test.csv");
+    Entity row = mock(Entity.class);
+    when(row.get("id")).thenReturn("2");
+    rows = new ArrayList<>(singletonList(row));
+    EntityType fileEntityType = mock(EntityType.class);
+    when(fileEntityType.getAtomicAttributes()).thenReturn(singletonList(idAttribute));
+    Repository<Entity> repository = mock(Repository.class);
+    when(repository.getEntityType()).thenReturn(fileEntityType);
+    when(repository.iterator()).thenAnswer(invocation -> rows.iterator());
+    FileRepositoryCollection repositoryCollection = mock(FileRepositoryCollection.class);
+    when(repositoryCollection.hasRepository(ENTITY_TYPE_ID)).thenReturn(true);
+    when(repositoryCollection.getRepository(ENTITY_TYPE_ID)).thenReturn(repository);
+    when(fileRepositoryCollectionFactory.createFileRepositoryCollection(file))
+        .thenReturn(repositoryCollection);
+    File tempDir = Files.createTempDir();
+    when(fileStore.getFileUnchecked("folderA/delta/test.csv"))
+        .thenReturn(new File(tempDir, "a.csv"));
+  }
+
+  @SuppressWarnings("unchecked")
+  @Test
+  void testCreateDeltaTwoUrlsSameTarget() {
+    File tempDir = Files.createTempDir();
+    when(fileStore.getFileUnchecked("folderB/delta/test.csv"))
+        .thenReturn(new File(tempDir, "b.csv"));
+    when(dataService.query(FILE_INGEST_ROW_DIGEST, FileIngestRowDigest.class))
+        .thenReturn(rowDigestQuery);
+
+    // url 'A' previously ingested a row with id '1', url 'B' didn't ingest rows yet
+    FileIngestRowDigest previousRowDigestA = mock(FileIngestRowDigest.class);
+    when(previousRowDigestA.getRowId()).thenReturn("1");
+    Query<FileIngestRowDigest> rowDigestQueryA = mock(Query.class, RETURNS_SELF);
+    Query<FileIngestRowDigest> batchRowDigestQueryA = mock(Query.class);
+    when(rowDigestQueryA.in(ROW_ID, singletonList("2"))).thenReturn(batchRowDigestQueryA);
+    when(batchRowDigestQueryA.findAll()).thenReturn(Stream.empty());
+    when(rowDigestQueryA.findAll()).thenReturn(Stream.of(previousRowDigestA));
+    Query<FileIngestRowDigest> rowDigestQueryB = mock(Query.class, RETURNS_SELF);
+    when(rowDigestQueryB.findAll()).thenAnswer(invocation -> Stream.empty());
+    when(rowDigestQuery.eq(URL, URL_A)).thenReturn(rowDigestQueryA);
+    when(rowDigestQuery.eq(URL, URL_B)).thenReturn(rowDigestQueryB);
+    FileIngestRowDigest rowDigestA = mock(FileIngestRowDigest.class);
+    FileIngestRowDigest rowDigestB = mock(FileIngestRowDigest.class);
+    when(fileIngestRowDigestFactory.create()).thenReturn(rowDigestA, rowDigestB);
+
+    FileIngestDelta deltaA =
+        fileIngestDeltaService.createDelta(ENTITY_TYPE_ID, URL_A, file, "folderA");
+    FileIngestDelta deltaB =
+        fileIngestDeltaService.createDelta(ENTITY_TYPE_ID, URL_B, file, "folderB");
+
+    assertEquals(singletonList(rowDigestA), deltaA.getInsertedRowDigests());
+    assertEquals(singletonList(previousRowDigestA), deltaA.getDeletedRowDigests());
+    assertEquals(singletonList(rowDigestB), deltaB.getInsertedRowDigests());
+    assertEquals(emptyList(), deltaB.getDeletedRowDigests());
+    verify(rowDigestQuery, times(4)).eq(TARGET_ENTITY_ID, ENTITY_TYPE_ID);
+    verify(rowDigestQueryB).in(ROW_ID, singletonList("2"));
+    verify(rowDigestA).setUrl(URL_A);
+    verify(rowDigestB).setUrl(URL_B);
+    verify(rowDigestB).setTargetEntityId(ENTITY_TYPE_ID);
+  }
+
+  @Test
+  void testCreateDeltaDuplicateRowId() {
+    rows.add(rows.get(0));
+    assertThrows(
+        FileIngestException.class,
+        () -> fileIngestDeltaService.createDelta(ENTITY_TYPE_ID, URL_A, file, "folderA"));
+  }
+}
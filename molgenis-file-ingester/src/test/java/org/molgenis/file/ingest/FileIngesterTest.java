@@ -1,17 +1,23 @@
 package org.molgenis.file.ingest;
 
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.RETURNS_SELF;
 import static org.mockito.Mockito.anyString;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.reset;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.molgenis.data.DataAction.ADD_UPDATE_EXISTING;
+import static org.molgenis.file.ingest.meta.FileIngestJobExecutionMetadata.FILE_INGEST_JOB_EXECUTION;
 
 import java.io.File;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.molgenis.data.AbstractMolgenisSpringTest;
 import org.molgenis.data.DataService;
+import org.molgenis.data.Query;
 import org.molgenis.data.file.FileRepositoryCollectionFactory;
 import org.molgenis.data.file.model.FileMeta;
 import org.molgenis.data.file.model.FileMetaFactory;
@@ -22,6 +28,9 @@ import org.molgenis.data.importer.ImportServiceFactory;
 import org.molgenis.data.importer.MetadataAction;
 import org.molgenis.data.security.config.UserTestConfig;
 import org.molgenis.file.ingest.config.FileIngestTestConfig;
+import org.molgenis.file.ingest.execution.FileDownload;
+import org.molgenis.file.ingest.execution.FileIngestDelta;
+import org.molgenis.file.ingest.execution.FileIngestDeltaService;
 import org.molgenis.file.ingest.execution.FileIngester;
 import org.molgenis.file.ingest.execution.FileStoreDownload;
 import org.molgenis.file.ingest.meta.FileIngestJobExecution;
@@ -44,6 +53,8 @@ class FileIngesterTest extends AbstractMolgenisSpringTest {
 
   @Autowired private DataService dataService;
 
+  @Autowired private FileIngestDeltaService fileIngestDeltaServiceMock;
+
   private ImportService importServiceMock;
   private FileRepositoryCollection fileRepositoryCollectionMock;
 
@@ -60,11 +71,23 @@ class FileIngesterTest extends AbstractMolgenisSpringTest {
     fileRepositoryCollectionMock = mock(FileRepositoryCollection.class);
     importServiceMock = mock(ImportService.class);
     progress = mock(Progress.class);
+    reset(
+        fileStoreDownloadMock,
+        importServiceFactoryMock,
+        fileRepositoryCollectionFactoryMock,
+        fileIngestDeltaServiceMock);
+
+    @SuppressWarnings("unchecked")
+    Query<FileIngestJobExecution> query = mock(Query.class, RETURNS_SELF);
+    when(dataService.query(FILE_INGEST_JOB_EXECUTION, FileIngestJobExecution.class))
+        .thenReturn(query);
   }
 
   @Test
   void ingest() {
-    when(fileStoreDownloadMock.downloadFile(url, identifier, entityTypeId + ".csv")).thenReturn(f);
+    when(fileStoreDownloadMock.downloadFileIfModified(
+            url, identifier, entityTypeId + ".csv", null, null))
+        .thenReturn(FileDownload.create(f, "\"etag\"", null));
     when(fileRepositoryCollectionFactoryMock.createFileRepositoryCollection(f))
         .thenReturn(fileRepositoryCollectionMock);
     when(importServiceFactoryMock.getImportService(f, fileRepositoryCollectionMock))
@@ -79,10 +102,52 @@ class FileIngesterTest extends AbstractMolgenisSpringTest {
     verify(dataService).add("sys_FileMeta", fileMeta);
   }
 
+  @Test
+  void ingestNotModified() {
+    FileIngestJobExecution jobExecution = mock(FileIngestJobExecution.class);
+    when(fileStoreDownloadMock.downloadFileIfModified(
+            url, identifier, entityTypeId + ".csv", null, null))
+        .thenReturn(FileDownload.create(null, "\"etag\"", null));
+    when(progress.getJobExecution()).thenReturn(jobExecution);
+
+    assertNull(fileIngester.ingest(entityTypeId, url, "CSV", identifier, progress));
+
+    verify(jobExecution).setETag("\"etag\"");
+    verify(fileRepositoryCollectionFactoryMock, never()).createFileRepositoryCollection(f);
+  }
+
+  @Test
+  void ingestDelta() {
+    File changedRowsFile = new File("changed");
+    FileIngestDelta delta = mock(FileIngestDelta.class);
+    when(delta.getChangedRowsFile()).thenReturn(changedRowsFile);
+    when(fileStoreDownloadMock.downloadFileIfModified(
+            url, identifier, entityTypeId + ".csv", null, null))
+        .thenReturn(FileDownload.create(f, null, null));
+    when(fileIngestDeltaServiceMock.createDelta(entityTypeId, url, f, identifier))
+        .thenReturn(delta);
+    when(fileRepositoryCollectionFactoryMock.createFileRepositoryCollection(changedRowsFile))
+        .thenReturn(fileRepositoryCollectionMock);
+    when(importServiceFactoryMock.getImportService(changedRowsFile, fileRepositoryCollectionMock))
+        .thenReturn(importServiceMock);
+    when(importServiceMock.doImport(
+            fileRepositoryCollectionMock, MetadataAction.UPSERT, ADD_UPDATE_EXISTING, null))
+        .thenReturn(report);
+    when(progress.getJobExecution()).thenReturn(mock(FileIngestJobExecution.class));
+
+    fileIngester.ingest(entityTypeId, url, "CSV", identifier, progress);
+
+    verify(fileIngestDeltaServiceMock).deleteRows(entityTypeId, delta);
+    verify(fileIngestDeltaServiceMock).storeDigests(delta);
+  }
+
   @Test
   void ingestError() {
     Exception e = new RuntimeException();
-    when(fileStoreDownloadMock.downloadFile(url, identifier, entityTypeId + ".csv")).thenThrow(e);
+    when(progress.getJobExecution()).thenReturn(mock(FileIngestJobExecution.class));
+    when(fileStoreDownloadMock.downloadFileIfModified(
+            url, identifier, entityTypeId + ".csv", null, null))
+        .thenThrow(e);
 
     assertThrows(
         RuntimeException.class,
@@ -101,7 +166,13 @@ class FileIngesterTest extends AbstractMolgenisSpringTest {
           importServiceFactory(),
           fileRepositoryCollectionFactory(),
           fileMetaFactory(),
-          dataService);
+          dataService,
+          fileIngestDeltaService());
+    }
+
+    @Bean
+    FileIngestDeltaService fileIngestDeltaService() {
+      return mock(FileIngestDeltaService.class);
     }
 
     @Bean
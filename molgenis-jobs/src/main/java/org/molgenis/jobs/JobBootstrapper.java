@@ -1,6 +1,7 @@
 package org.molgenis.jobs;
 
 import static java.util.Objects.requireNonNull;
+import static java.util.stream.Collectors.toList;
 import static org.apache.commons.lang3.StringUtils.abbreviateMiddle;
 import static org.molgenis.jobs.model.JobExecution.MAX_LOG_LENGTH;
 import static org.molgenis.jobs.model.JobExecution.Status.FAILED;
@@ -12,15 +13,18 @@ import static org.molgenis.jobs.model.JobExecutionMetaData.LOG;
 import static org.molgenis.jobs.model.JobExecutionMetaData.PENDING;
 import static org.molgenis.jobs.model.JobExecutionMetaData.PROGRESS_MESSAGE;
 import static org.molgenis.jobs.model.JobExecutionMetaData.STATUS;
+import static org.molgenis.jobs.model.JobExecutionMetaData.SUBMISSION_DATE;
 import static org.molgenis.jobs.model.ScheduledJobTypeMetadata.SCHEDULED_JOB_TYPE;
 import static org.springframework.util.StringUtils.isEmpty;
 
 import java.util.List;
 import org.molgenis.data.DataService;
 import org.molgenis.data.Entity;
+import org.molgenis.data.Sort;
 import org.molgenis.data.meta.SystemEntityType;
 import org.molgenis.data.meta.model.EntityType;
 import org.molgenis.data.meta.system.SystemEntityTypeRegistry;
+import org.molgenis.jobs.model.JobExecution;
 import org.molgenis.jobs.model.ScheduledJobType;
 import org.molgenis.jobs.schedule.JobScheduler;
 import org.slf4j.Logger;
@@ -34,6 +38,7 @@ public class JobBootstrapper {
   private final SystemEntityTypeRegistry systemEntityTypeRegistry;
   private final DataService dataService;
   private final JobScheduler jobScheduler;
+  private final JobExecutor jobExecutor;
   private final List<ScheduledJobType> scheduledJobTypes;
 
   private static final Logger LOGGER = LoggerFactory.getLogger(JobBootstrapper.class);
@@ -43,21 +48,29 @@ public class JobBootstrapper {
       SystemEntityTypeRegistry systemEntityTypeRegistry,
       DataService dataService,
       JobScheduler jobScheduler,
+      JobExecutor jobExecutor,
       List<ScheduledJobType> scheduledJobTypes) {
     this.systemEntityTypeRegistry = requireNonNull(systemEntityTypeRegistry);
     this.dataService = requireNonNull(dataService);
     this.jobScheduler = requireNonNull(jobScheduler);
+    this.jobExecutor = requireNonNull(jobExecutor);
     this.scheduledJobTypes = requireNonNull(scheduledJobTypes);
   }
 
   public void bootstrap() {
     LOGGER.trace("Failing JobExecutions that were left running...");
-    systemEntityTypeRegistry
-        .getSystemEntityTypes()
-        .filter(this::isJobExecution)
-        .forEach(this::bootstrap);
+    List<SystemEntityType> jobExecutionTypes =
+        systemEntityTypeRegistry
+            .getSystemEntityTypes()
+            .filter(this::isJobExecution)
+            .collect(toList());
+    jobExecutionTypes.forEach(this::failRunningJobExecutions);
     LOGGER.debug("Failed JobExecutions that were left running.");
 
+    LOGGER.trace("Resubmitting pending JobExecutions...");
+    jobExecutionTypes.forEach(this::resubmitPendingJobExecutions);
+    LOGGER.debug("Resubmitted pending JobExecutions.");
+
     LOGGER.trace("Scheduling ScheduledJobs...");
     jobScheduler.scheduleJobs();
     LOGGER.debug("Scheduled ScheduledJobs.");
@@ -73,18 +86,34 @@ public class JobBootstrapper {
         .upsertBatch(scheduledJobTypes);
   }
 
-  private void bootstrap(SystemEntityType systemEntityType) {
+  private void failRunningJobExecutions(SystemEntityType systemEntityType) {
     dataService
         .query(systemEntityType.getId())
         .eq(STATUS, RUNNING)
         .or()
-        .eq(STATUS, PENDING)
-        .or()
         .eq(STATUS, CANCELING)
         .findAll()
         .forEach(this::setFailed);
   }
 
+  /** Pending job executions were queued but not started, submit them again in submission order */
+  private void resubmitPendingJobExecutions(SystemEntityType systemEntityType) {
+    dataService
+        .query(systemEntityType.getId(), JobExecution.class)
+        .eq(STATUS, PENDING)
+        .sort(new Sort(SUBMISSION_DATE))
+        .findAll()
+        .forEach(this::resubmit);
+  }
+
+  private void resubmit(JobExecution jobExecution) {
+    try {
+      jobExecutor.resubmit(jobExecution);
+    } catch (RuntimeException e) {
+      LOGGER.error("Error resubmitting JobExecution '{}'", jobExecution.getIdentifier(), e);
+    }
+  }
+
   private void setFailed(Entity jobExecutionEntity) {
     jobExecutionEntity.set(STATUS, FAILED.toString());
     jobExecutionEntity.set(PROGRESS_MESSAGE, "Application terminated unexpectedly");
@@ -2,10 +2,12 @@ package org.molgenis.jobs;
 
 import static java.util.Objects.requireNonNull;
 
+import org.molgenis.jobs.model.JobExecutionLogChunkFactory;
 import org.molgenis.jobs.scheduler.SchedulerConfig;
 import org.molgenis.security.token.RunAsUserTokenFactory;
 import org.molgenis.security.user.UserDetailsServiceImpl;
 import org.molgenis.web.i18n.UserLocaleResolver;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.Import;
@@ -45,7 +47,10 @@ public class JobConfig {
   }
 
   @Bean
-  public JobExecutionUpdater jobExecutionUpdater() {
-    return new JobExecutionUpdaterImpl(jobExecutionContextFactory());
+  public JobExecutionUpdater jobExecutionUpdater(
+      JobExecutionLogChunkFactory jobExecutionLogChunkFactory,
+      @Value("${jobs.progress.flushIntervalMillis:500}") long flushIntervalMillis) {
+    return new JobExecutionUpdaterImpl(
+        jobExecutionContextFactory(), jobExecutionLogChunkFactory, flushIntervalMillis);
   }
 }
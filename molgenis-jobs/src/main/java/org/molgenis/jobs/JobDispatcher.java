@@ -0,0 +1,165 @@
+package org.molgenis.jobs;
+
+import static java.util.Objects.requireNonNull;
+
+import com.google.common.base.Splitter;
+import com.google.common.collect.ImmutableMap;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.TreeSet;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import javax.annotation.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Dispatches jobs to an executor with admission control. At most maxRunningJobs jobs run at the
+ * same time and jobs of a type for which a maximum is configured run at most that many at the same
+ * time. Jobs that cannot run yet are queued and are started in order of priority of their job
+ * type, jobs with equal priority are started in submission order.
+ *
+ * <p>All jobs of the {@link JobExecutor} are dispatched: submitted jobs, scheduled jobs and index
+ * jobs. The queue itself is kept in memory, jobs that were queued when the application stopped are
+ * resubmitted from their pending job executions by the {@link JobBootstrapper}.
+ */
+public class JobDispatcher {
+  private static final Logger LOG = LoggerFactory.getLogger(JobDispatcher.class);
+
+  private static final Comparator<QueuedJob> QUEUED_JOB_COMPARATOR =
+      Comparator.<QueuedJob>comparingInt(queuedJob -> queuedJob.priority)
+          .reversed()
+          .thenComparingLong(queuedJob -> queuedJob.sequenceNumber);
+
+  private final Executor executor;
+  private final int maxRunningJobs;
+  private final Map<String, Integer> maxRunningJobsPerType;
+  private final Map<String, Integer> priorityPerType;
+
+  // guarded by this
+  private final NavigableSet<QueuedJob> queuedJobs = new TreeSet<>(QUEUED_JOB_COMPARATOR);
+  private final Map<String, Integer> runningJobsPerType = new HashMap<>();
+  private int runningJobs;
+  private long sequenceNumber;
+
+  /**
+   * @param executor executor that runs the jobs
+   * @param maxRunningJobs maximum number of jobs that run at the same time
+   * @param maxRunningJobsPerType comma-separated maximum number of jobs per job type, e.g.
+   *     "SORTA=1,mapping=2"
+   * @param priorityPerType comma-separated priorities per job type, e.g. "Index=10", job types
+   *     without priority have priority 0
+   */
+  public JobDispatcher(
+      Executor executor, int maxRunningJobs, String maxRunningJobsPerType, String priorityPerType) {
+    this.executor = requireNonNull(executor);
+    if (maxRunningJobs < 1) {
+      throw new IllegalArgumentException("maxRunningJobs must be greater than zero");
+    }
+    this.maxRunningJobs = maxRunningJobs;
+    this.maxRunningJobsPerType = parseValuePerType(requireNonNull(maxRunningJobsPerType));
+    this.priorityPerType = parseValuePerType(requireNonNull(priorityPerType));
+  }
+
+  private static Map<String, Integer> parseValuePerType(String valuePerType) {
+    Map<String, String> values =
+        Splitter.on(',')
+            .trimResults()
+            .omitEmptyStrings()
+            .withKeyValueSeparator(Splitter.on('=').trimResults())
+            .split(valuePerType);
+    ImmutableMap.Builder<String, Integer> builder = ImmutableMap.builder();
+    values.forEach((jobType, value) -> builder.put(jobType, Integer.valueOf(value)));
+    return builder.build();
+  }
+
+  /** Returns an executor that dispatches the runnables that it executes as jobs of the type */
+  public Executor getExecutor(@Nullable String jobType) {
+    return runnable -> execute(jobType, runnable);
+  }
+
+  /** Runs the job as soon as the job limits allow */
+  public void execute(@Nullable String jobType, Runnable job) {
+    requireNonNull(job);
+    synchronized (this) {
+      int priority = jobType != null ? priorityPerType.getOrDefault(jobType, 0) : 0;
+      queuedJobs.add(new QueuedJob(jobType, job, priority, sequenceNumber++));
+    }
+    dispatchQueuedJobs();
+  }
+
+  synchronized int getNrQueuedJobs() {
+    return queuedJobs.size();
+  }
+
+  synchronized int getNrRunningJobs() {
+    return runningJobs;
+  }
+
+  private void dispatchQueuedJobs() {
+    // start the jobs outside the lock, the executor might run them in the calling thread
+    List<QueuedJob> startedJobs = new ArrayList<>();
+    synchronized (this) {
+      Iterator<QueuedJob> iterator = queuedJobs.iterator();
+      while (runningJobs < maxRunningJobs && iterator.hasNext()) {
+        QueuedJob queuedJob = iterator.next();
+        if (canRun(queuedJob.jobType)) {
+          iterator.remove();
+          runningJobs++;
+          runningJobsPerType.merge(queuedJob.jobType, 1, Integer::sum);
+          startedJobs.add(queuedJob);
+        }
+      }
+    }
+    startedJobs.forEach(this::start);
+  }
+
+  private boolean canRun(@Nullable String jobType) {
+    Integer maxRunningJobsForType = jobType != null ? maxRunningJobsPerType.get(jobType) : null;
+    return maxRunningJobsForType == null
+        || runningJobsPerType.getOrDefault(jobType, 0) < maxRunningJobsForType;
+  }
+
+  private void start(QueuedJob queuedJob) {
+    try {
+      executor.execute(() -> run(queuedJob));
+    } catch (RejectedExecutionException e) {
+      LOG.error("Job of type '{}' rejected by executor", queuedJob.jobType, e);
+      finish(queuedJob);
+    }
+  }
+
+  private void run(QueuedJob queuedJob) {
+    try {
+      queuedJob.job.run();
+    } finally {
+      finish(queuedJob);
+      dispatchQueuedJobs();
+    }
+  }
+
+  private synchronized void finish(QueuedJob queuedJob) {
+    runningJobs--;
+    runningJobsPerType.computeIfPresent(
+        queuedJob.jobType, (jobType, count) -> count > 1 ? count - 1 : null);
+  }
+
+  private static class QueuedJob {
+    @Nullable private final String jobType;
+    private final Runnable job;
+    private final int priority;
+    private final long sequenceNumber;
+
+    private QueuedJob(@Nullable String jobType, Runnable job, int priority, long sequenceNumber) {
+      this.jobType = jobType;
+      this.job = job;
+      this.priority = priority;
+      this.sequenceNumber = sequenceNumber;
+    }
+  }
+}
@@ -5,6 +5,7 @@ import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import javax.annotation.PreDestroy;
 import org.molgenis.util.ExecutorServiceUtils;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.Import;
@@ -30,4 +31,23 @@ public class JobExecutionConfig {
     }
     return executorService;
   }
+
+  /**
+   * Index jobs run one at a time and are started before other queued jobs by default. Keep
+   * "Index=1" when overriding the maximum number of running jobs per type.
+   *
+   * @param maxRunningJobs maximum number of jobs executed by the {@link JobExecutor} that run at
+   *     the same time
+   * @param maxRunningJobsPerType comma-separated overrides of maxRunningJobs per job type, e.g.
+   *     "Index=1,SORTA=1"
+   * @param priorityPerType comma-separated job type priorities, e.g. "Index=10,mapping=5"
+   */
+  @Bean
+  public JobDispatcher jobDispatcher(
+      @Value("${jobs.executor.maxRunningJobs:8}") int maxRunningJobs,
+      @Value("${jobs.executor.maxRunningJobs.types:Index=1}") String maxRunningJobsPerType,
+      @Value("${jobs.executor.priority.types:Index=10}") String priorityPerType) {
+    return new JobDispatcher(
+        executorService(), maxRunningJobs, maxRunningJobsPerType, priorityPerType);
+  }
 }
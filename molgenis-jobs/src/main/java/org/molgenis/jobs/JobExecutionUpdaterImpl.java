@@ -1,35 +1,69 @@
 package org.molgenis.jobs;
 
 import static java.util.Objects.requireNonNull;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static org.molgenis.jobs.model.JobExecution.Status.RUNNING;
+import static org.molgenis.jobs.model.JobExecutionLogChunkMetadata.JOB_EXECUTION_LOG_CHUNK;
+import static org.molgenis.security.core.runas.RunAsSystemAspect.runAsSystem;
 
-import java.util.concurrent.ExecutorService;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
 import javax.annotation.PreDestroy;
 import org.molgenis.data.DataService;
 import org.molgenis.data.Entity;
 import org.molgenis.data.support.DynamicEntity;
 import org.molgenis.jobs.model.JobExecution;
+import org.molgenis.jobs.model.JobExecutionLogChunk;
+import org.molgenis.jobs.model.JobExecutionLogChunkFactory;
+import org.molgenis.jobs.model.JobExecutionMetaData;
 import org.molgenis.security.core.runas.RunAsSystem;
 import org.molgenis.util.ExecutorServiceUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.context.SecurityContext;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Component;
 
+/**
+ * Writes job execution updates in the background. Updates of a running job execution are coalesced:
+ * only the latest update is written and a job execution is written at most once per flush
+ * interval. Updates that change the status of a job execution to anything other than running are
+ * written immediately.
+ *
+ * <p>The log messages appended since the previous write are added as one chunk to the append-only
+ * log chunk table. A running job execution only stores the tail of its log in the log attribute,
+ * so the cost of a write doesn't grow with the size of the log. The complete log is stored in the
+ * log attribute once the job execution is no longer running.
+ */
 @Component
 public class JobExecutionUpdaterImpl implements JobExecutionUpdater {
 
   private static final Logger LOG = LoggerFactory.getLogger(JobExecutionUpdaterImpl.class);
 
+  /** Maximum length of the log tail that is stored while a job execution is running */
+  static final int RUNNING_LOG_TAIL_LENGTH = 10000;
+
   private final JobExecutionContextFactory jobExecutionContextFactory;
-  private final ExecutorService executorService;
+  private final JobExecutionLogChunkFactory jobExecutionLogChunkFactory;
+  private final long flushIntervalMillis;
+  private final ScheduledExecutorService executorService;
+  private final Map<String, PendingUpdate> pendingUpdates = new ConcurrentHashMap<>();
   @Autowired private DataService dataService;
 
-  JobExecutionUpdaterImpl(JobExecutionContextFactory jobExecutionContextFactory) {
+  JobExecutionUpdaterImpl(
+      JobExecutionContextFactory jobExecutionContextFactory,
+      JobExecutionLogChunkFactory jobExecutionLogChunkFactory,
+      @Value("${jobs.progress.flushIntervalMillis:500}") long flushIntervalMillis) {
     this.jobExecutionContextFactory = requireNonNull(jobExecutionContextFactory);
-    this.executorService = Executors.newSingleThreadExecutor();
+    this.jobExecutionLogChunkFactory = requireNonNull(jobExecutionLogChunkFactory);
+    this.flushIntervalMillis = flushIntervalMillis;
+    this.executorService = Executors.newSingleThreadScheduledExecutor();
   }
 
   @PreDestroy
@@ -47,7 +81,26 @@ public class JobExecutionUpdaterImpl implements JobExecutionUpdater {
         jobExecutionContextFactory.createJobExecutionContextWithAuthentication(
             jobExecution, authentication);
     long callingThreadId = Thread.currentThread().getId();
-    executorService.execute(() -> runJob(jobExecution, jobExecutionContext, callingThreadId));
+    var pendingUpdate = new PendingUpdate(jobExecution, jobExecutionContext, callingThreadId);
+
+    // latest update wins, a flush is only scheduled if no update for this job was pending
+    String jobExecutionId = jobExecution.getIdentifier();
+    boolean flushScheduled = pendingUpdates.put(jobExecutionId, pendingUpdate) != null;
+    if (jobExecution.getStatus() != RUNNING) {
+      executorService.execute(() -> flush(jobExecutionId));
+    } else if (!flushScheduled) {
+      executorService.schedule(() -> flush(jobExecutionId), flushIntervalMillis, MILLISECONDS);
+    }
+  }
+
+  private void flush(String jobExecutionId) {
+    PendingUpdate pendingUpdate = pendingUpdates.remove(jobExecutionId);
+    if (pendingUpdate != null) {
+      runJob(
+          pendingUpdate.jobExecution,
+          pendingUpdate.jobExecutionContext,
+          pendingUpdate.callingThreadId);
+    }
   }
 
   private void runJob(
@@ -73,13 +126,47 @@ public class JobExecutionUpdaterImpl implements JobExecutionUpdater {
   }
 
   private void tryUpdate(JobExecution jobExecution) {
+    List<JobExecutionLogChunk> logChunks = new ArrayList<>();
+    jobExecution.flushLog(
+        (log, sequenceNr) -> logChunks.add(createLogChunk(jobExecution, log, sequenceNr)));
+
     Entity jobExecutionCopy = new DynamicEntity(jobExecution.getEntityType());
     jobExecutionCopy.set(jobExecution);
+    String log =
+        jobExecution.getStatus() == RUNNING
+            ? jobExecution.getLogTail(RUNNING_LOG_TAIL_LENGTH)
+            : jobExecution.getLog();
+    jobExecutionCopy.set(JobExecutionMetaData.LOG, log);
 
     try {
+      if (!logChunks.isEmpty()) {
+        runAsSystem(() -> dataService.add(JOB_EXECUTION_LOG_CHUNK, logChunks.stream()));
+      }
       dataService.update(jobExecutionCopy.getEntityType().getId(), jobExecutionCopy);
     } catch (Exception ex) {
       LOG.warn("Error updating job execution", ex);
     }
   }
+
+  private JobExecutionLogChunk createLogChunk(
+      JobExecution jobExecution, String log, int sequenceNr) {
+    JobExecutionLogChunk logChunk = jobExecutionLogChunkFactory.create();
+    logChunk.setJobExecutionId(jobExecution.getIdentifier());
+    logChunk.setSequenceNr(sequenceNr);
+    logChunk.setLog(log);
+    return logChunk;
+  }
+
+  private static class PendingUpdate {
+    private final JobExecution jobExecution;
+    private final JobExecutionContext jobExecutionContext;
+    private final long callingThreadId;
+
+    private PendingUpdate(
+        JobExecution jobExecution, JobExecutionContext jobExecutionContext, long callingThreadId) {
+      this.jobExecution = jobExecution;
+      this.jobExecutionContext = jobExecutionContext;
+      this.callingThreadId = callingThreadId;
+    }
+  }
 }
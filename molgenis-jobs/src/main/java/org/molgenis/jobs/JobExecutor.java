@@ -10,7 +10,6 @@ import com.google.gson.reflect.TypeToken;
 import java.lang.reflect.Type;
 import java.util.Map;
 import java.util.concurrent.CompletableFuture;
-import java.util.concurrent.ExecutorService;
 import javax.annotation.Nullable;
 import org.molgenis.data.DataService;
 import org.molgenis.data.EntityManager;
@@ -37,7 +36,7 @@ public class JobExecutor {
 
   private final DataService dataService;
   private final EntityManager entityManager;
-  private final ExecutorService executorService;
+  private final JobDispatcher jobDispatcher;
   private final JobFactoryRegistry jobFactoryRegistry;
   private final JobExecutionContextFactory jobExecutionContextFactory;
   private final JobExecutionRegistry jobExecutionRegistry;
@@ -48,13 +47,13 @@ public class JobExecutor {
   public JobExecutor(
       DataService dataService,
       EntityManager entityManager,
-      ExecutorService executorService,
+      JobDispatcher jobDispatcher,
       JobFactoryRegistry jobFactoryRegistry,
       JobExecutionContextFactory jobExecutionContextFactory,
       JobExecutionRegistry jobExecutionRegistry) {
     this.dataService = requireNonNull(dataService);
     this.entityManager = requireNonNull(entityManager);
-    this.executorService = requireNonNull(executorService);
+    this.jobDispatcher = requireNonNull(jobDispatcher);
     this.jobFactoryRegistry = requireNonNull(jobFactoryRegistry);
     this.jobExecutionContextFactory = requireNonNull(jobExecutionContextFactory);
     this.jobExecutionRegistry = requireNonNull(jobExecutionRegistry);
@@ -64,7 +63,8 @@ public class JobExecutor {
   }
 
   /**
-   * Executes a {@link ScheduledJob} in the current thread.
+   * Executes a {@link ScheduledJob}. The job is started by the {@link JobDispatcher} as soon as the
+   * limits on the number of running jobs allow, the current thread waits until the job is done.
    *
    * @param scheduledJobId ID of the {@link ScheduledJob} to run
    */
@@ -77,17 +77,10 @@ public class JobExecutor {
     }
 
     JobExecution jobExecution = createJobExecution(scheduledJob);
-    Job molgenisJob = saveExecutionAndCreateJob(jobExecution);
+    Job<?> molgenisJob = saveExecutionAndCreateJob(jobExecution);
 
-    Progress progress = jobExecutionRegistry.registerJobExecution(jobExecution);
-    try {
-      long callingThreadId = Thread.currentThread().getId();
-      runJob(jobExecution, molgenisJob, progress, callingThreadId, null);
-    } catch (Exception ex) {
-      handleJobException(jobExecution, ex);
-    } finally {
-      jobExecutionRegistry.unregisterJobExecution(jobExecution);
-    }
+    // the job runs as the user of the scheduled job
+    dispatch(jobExecution, molgenisJob, null).join();
   }
 
   private JobExecution createJobExecution(ScheduledJob scheduledJob) {
@@ -103,34 +96,43 @@ public class JobExecutor {
 
   /**
    * Saves execution in the current thread, then creates a Job and submits that for asynchronous
-   * execution.
+   * execution. The job is started by the {@link JobDispatcher} as soon as the limits on the number
+   * of running jobs allow.
    *
    * @param jobExecution the {@link JobExecution} to save and submit.
    */
   public CompletableFuture<Void> submit(JobExecution jobExecution) {
-    return submit(jobExecution, executorService);
+    overwriteJobExecutionUser(jobExecution);
+    Job<?> molgenisJob = saveExecutionAndCreateJob(jobExecution);
+
+    var currentAuthentication = SecurityContextHolder.getContext().getAuthentication();
+    return dispatch(jobExecution, molgenisJob, currentAuthentication);
   }
 
   /**
-   * Saves execution in the current thread, then creates a Job and submits that for asynchronous
-   * execution to a specific ExecutorService.
+   * Creates a Job for a pending {@link JobExecution} that was saved before and submits that for
+   * asynchronous execution, e.g. to continue the job queue after a restart. The job runs as the
+   * user of the job execution.
    *
-   * @param jobExecution the {@link JobExecution} to save and submit.
-   * @param executorService the ExecutorService to run the submitted job on
+   * @param jobExecution the saved pending {@link JobExecution} to submit.
    */
-  public CompletableFuture<Void> submit(
-      JobExecution jobExecution, ExecutorService executorService) {
-    overwriteJobExecutionUser(jobExecution);
-    Job<?> molgenisJob = saveExecutionAndCreateJob(jobExecution);
+  public CompletableFuture<Void> resubmit(JobExecution jobExecution) {
+    Job<?> molgenisJob = createJob(jobExecution);
+    return dispatch(jobExecution, molgenisJob, null);
+  }
 
+  /**
+   * @param authentication authentication to run the job with or <code>null</code> to run the job
+   *     as the user of the job execution
+   */
+  private CompletableFuture<Void> dispatch(
+      JobExecution jobExecution, Job<?> molgenisJob, @Nullable Authentication authentication) {
     long callingThreadId = Thread.currentThread().getId();
     Progress progress = jobExecutionRegistry.registerJobExecution(jobExecution);
-    var currentAuthentication = SecurityContextHolder.getContext().getAuthentication();
     CompletableFuture<Void> completableFuture =
         CompletableFuture.runAsync(
-            () ->
-                runJob(jobExecution, molgenisJob, progress, callingThreadId, currentAuthentication),
-            executorService);
+            () -> runJob(jobExecution, molgenisJob, progress, callingThreadId, authentication),
+            jobDispatcher.getExecutor(jobExecution.getType()));
 
     return completableFuture.handle(
         (voidResult, throwable) -> {
@@ -168,17 +170,20 @@ public class JobExecutor {
     jobExecution.setUser(username);
   }
 
+  private Job<?> saveExecutionAndCreateJob(JobExecution jobExecution) {
+    dataService.add(jobExecution.getEntityType().getId(), jobExecution);
+    return createJob(jobExecution);
+  }
+
   @SuppressWarnings("unchecked")
-  private Job saveExecutionAndCreateJob(JobExecution jobExecution) {
-    String entityTypeId = jobExecution.getEntityType().getId();
-    dataService.add(entityTypeId, jobExecution);
+  private Job<?> createJob(JobExecution jobExecution) {
     try {
       JobFactory jobFactory = jobFactoryRegistry.getJobFactory(jobExecution);
       return jobFactory.createJob(jobExecution);
     } catch (RuntimeException ex) {
       LOG.error("Error creating job for JobExecution.", ex);
       jobExecution.setStatus(JobExecution.Status.FAILED);
-      dataService.update(entityTypeId, jobExecution);
+      dataService.update(jobExecution.getEntityType().getId(), jobExecution);
       throw ex;
     }
   }
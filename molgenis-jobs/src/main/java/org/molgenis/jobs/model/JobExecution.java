@@ -1,8 +1,6 @@
 package org.molgenis.jobs.model;
 
-import static org.apache.commons.lang3.StringUtils.abbreviate;
 import static org.apache.commons.lang3.StringUtils.isEmpty;
-import static org.apache.commons.lang3.StringUtils.join;
 import static org.molgenis.jobs.model.JobExecutionMetaData.END_DATE;
 import static org.molgenis.jobs.model.JobExecutionMetaData.FAILURE_EMAIL;
 import static org.molgenis.jobs.model.JobExecutionMetaData.IDENTIFIER;
@@ -21,6 +19,7 @@ import static org.molgenis.jobs.model.JobExecutionMetaData.USER;
 
 import java.time.Instant;
 import java.util.Optional;
+import java.util.function.ObjIntConsumer;
 import javax.annotation.CheckForNull;
 import javax.annotation.Nullable;
 import org.apache.commons.lang3.StringUtils;
@@ -44,7 +43,8 @@ public class JobExecution extends StaticEntity {
    */
   public static final int MAX_LOG_LENGTH = 256000;
 
-  private boolean logTruncated = false;
+  private final Object jobExecutionLogLock = new Object();
+  private volatile JobExecutionLog jobExecutionLog;
 
   public JobExecution(Entity entity) {
     super(entity);
@@ -152,11 +152,36 @@ public class JobExecution extends StaticEntity {
   @Nullable
   @CheckForNull
   public String getLog() {
-    return getString(LOG);
+    JobExecutionLog log = this.jobExecutionLog;
+    return log != null ? log.toString() : getString(LOG);
   }
 
-  private void setLog(String value) {
-    set(LOG, value);
+  /**
+   * Returns at most the last maxLength characters of the execution log without combining the
+   * complete log.
+   */
+  @Nullable
+  @CheckForNull
+  public String getLogTail(int maxLength) {
+    JobExecutionLog log = this.jobExecutionLog;
+    if (log != null) {
+      return log.tail(maxLength);
+    }
+    String logValue = getString(LOG);
+    return logValue != null && logValue.length() > maxLength
+        ? logValue.substring(logValue.length() - maxLength)
+        : logValue;
+  }
+
+  /**
+   * Passes the log messages appended since the previous flush as one chunk with its sequence number
+   * to the consumer, does nothing if no messages were appended.
+   */
+  public void flushLog(ObjIntConsumer<String> chunkConsumer) {
+    JobExecutionLog log = this.jobExecutionLog;
+    if (log != null) {
+      log.flush(chunkConsumer);
+    }
   }
 
   @Nullable
@@ -208,17 +233,29 @@ public class JobExecution extends StaticEntity {
    * gets truncated and the TRUNCATION_BANNER gets added. Subsequent calls to appendLog will be
    * ignored.
    *
+   * <p>The message is appended to an append-only chunked log instead of rewriting the log
+   * attribute, {@link #getLog()} combines the chunks when the log is read and {@link
+   * #flushLog(ObjIntConsumer)} returns the chunks to store.
+   *
    * @param formattedMessage The formatted message to append to the log.
    */
   void appendLog(String formattedMessage) {
-    if (logTruncated) return;
-    String combined = join(getLog(), formattedMessage);
-    if (combined.length() > MAX_LOG_LENGTH) {
-      String truncated = abbreviate(combined, MAX_LOG_LENGTH - TRUNCATION_BANNER.length() * 2 - 2);
-      combined = join(new String[] {TRUNCATION_BANNER, truncated, TRUNCATION_BANNER}, "\n");
-      logTruncated = true;
+    getJobExecutionLog().append(formattedMessage);
+  }
+
+  private JobExecutionLog getJobExecutionLog() {
+    JobExecutionLog log = this.jobExecutionLog;
+    if (log == null) {
+      // messages might be logged from multiple threads, create the log only once
+      synchronized (jobExecutionLogLock) {
+        log = this.jobExecutionLog;
+        if (log == null) {
+          log = new JobExecutionLog(getString(LOG));
+          this.jobExecutionLog = log;
+        }
+      }
     }
-    setLog(combined);
+    return log;
   }
 
   public enum Status {
@@ -0,0 +1,113 @@
+package org.molgenis.jobs.model;
+
+import static org.apache.commons.lang3.StringUtils.abbreviate;
+import static org.apache.commons.lang3.StringUtils.join;
+import static org.molgenis.jobs.model.JobExecution.MAX_LOG_LENGTH;
+import static org.molgenis.jobs.model.JobExecution.TRUNCATION_BANNER;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.ObjIntConsumer;
+import javax.annotation.CheckForNull;
+import javax.annotation.Nullable;
+
+/**
+ * Append-only log of a job execution stored as a list of chunks. Appending a message doesn't copy
+ * the previously logged messages, the log is only combined into a single string when it is read.
+ * The tail of the log can be read without combining the log. The messages appended since the
+ * previous flush are flushed as one numbered chunk, so that they can be stored without rewriting
+ * the previously stored messages.
+ */
+class JobExecutionLog {
+  private final List<String> chunks = new ArrayList<>();
+  private final List<String> unflushedMessages = new ArrayList<>();
+  private int length;
+  private boolean truncated;
+  private String combinedLog;
+  private int nextChunkSequenceNr;
+
+  JobExecutionLog(@Nullable @CheckForNull String log) {
+    if (log != null && !log.isEmpty()) {
+      chunks.add(log);
+      length = log.length();
+      combinedLog = log;
+    }
+  }
+
+  /**
+   * Appends a message to the log. The first time the log exceeds MAX_LOG_LENGTH, it gets truncated
+   * and the TRUNCATION_BANNER gets added. Subsequent appends will be ignored.
+   */
+  synchronized void append(String formattedMessage) {
+    if (truncated) return;
+    if (length + formattedMessage.length() > MAX_LOG_LENGTH) {
+      String combined = toString() + formattedMessage;
+      String abbreviated =
+          abbreviate(combined, MAX_LOG_LENGTH - TRUNCATION_BANNER.length() * 2 - 2);
+      String truncatedLog =
+          join(new String[] {TRUNCATION_BANNER, abbreviated, TRUNCATION_BANNER}, "\n");
+      chunks.clear();
+      chunks.add(truncatedLog);
+      length = truncatedLog.length();
+      combinedLog = truncatedLog;
+      truncated = true;
+      // flushed chunks can't be rewritten, mark the end of the flushed log instead
+      unflushedMessages.add(TRUNCATION_BANNER);
+      return;
+    }
+    chunks.add(formattedMessage);
+    unflushedMessages.add(formattedMessage);
+    length += formattedMessage.length();
+    combinedLog = null;
+  }
+
+  /**
+   * Passes the messages appended since the previous flush as one chunk with its sequence number to
+   * the consumer, does nothing if no messages were appended.
+   */
+  synchronized void flush(ObjIntConsumer<String> chunkConsumer) {
+    if (!unflushedMessages.isEmpty()) {
+      chunkConsumer.accept(String.join("", unflushedMessages), nextChunkSequenceNr++);
+      unflushedMessages.clear();
+    }
+  }
+
+  /** Returns at most the last maxLength characters of the log. */
+  synchronized String tail(int maxLength) {
+    if (maxLength < 0) {
+      throw new IllegalArgumentException("maxLength must be non-negative");
+    }
+    if (maxLength >= length) {
+      return toString();
+    }
+    if (maxLength == 0) {
+      return "";
+    }
+
+    StringBuilder tail = new StringBuilder(maxLength);
+    int remaining = maxLength;
+    int i = chunks.size() - 1;
+    for (; remaining > 0; i--) {
+      remaining -= chunks.get(i).length();
+    }
+    tail.append(chunks.get(i + 1), -remaining, chunks.get(i + 1).length());
+    for (int j = i + 2; j < chunks.size(); j++) {
+      tail.append(chunks.get(j));
+    }
+    return tail.toString();
+  }
+
+  synchronized int length() {
+    return length;
+  }
+
+  @Override
+  public synchronized String toString() {
+    if (combinedLog == null) {
+      StringBuilder log = new StringBuilder(length);
+      chunks.forEach(log::append);
+      combinedLog = log.toString();
+    }
+    return combinedLog;
+  }
+}
@@ -0,0 +1,59 @@
+package org.molgenis.jobs.model;
+
+import static org.molgenis.jobs.model.JobExecutionLogChunkMetadata.ID;
+import static org.molgenis.jobs.model.JobExecutionLogChunkMetadata.JOB_EXECUTION_ID;
+import static org.molgenis.jobs.model.JobExecutionLogChunkMetadata.LOG;
+import static org.molgenis.jobs.model.JobExecutionLogChunkMetadata.SEQUENCE_NR;
+
+import org.molgenis.data.Entity;
+import org.molgenis.data.meta.model.EntityType;
+import org.molgenis.data.support.StaticEntity;
+
+/** Chunk of log messages of a job execution that were flushed together. */
+@SuppressWarnings("unused")
+public class JobExecutionLogChunk extends StaticEntity {
+  public JobExecutionLogChunk(Entity entity) {
+    super(entity);
+  }
+
+  public JobExecutionLogChunk(EntityType entityType) {
+    super(entityType);
+  }
+
+  public JobExecutionLogChunk(String id, EntityType entityType) {
+    super(entityType);
+    setId(id);
+  }
+
+  public String getId() {
+    return getString(ID);
+  }
+
+  public void setId(String id) {
+    set(ID, id);
+  }
+
+  public String getJobExecutionId() {
+    return getString(JOB_EXECUTION_ID);
+  }
+
+  public void setJobExecutionId(String jobExecutionId) {
+    set(JOB_EXECUTION_ID, jobExecutionId);
+  }
+
+  public int getSequenceNr() {
+    return getInt(SEQUENCE_NR);
+  }
+
+  public void setSequenceNr(int sequenceNr) {
+    set(SEQUENCE_NR, sequenceNr);
+  }
+
+  public String getLog() {
+    return getString(LOG);
+  }
+
+  public void setLog(String log) {
+    set(LOG, log);
+  }
+}
@@ -0,0 +1,15 @@
+package org.molgenis.jobs.model;
+
+import org.molgenis.data.AbstractSystemEntityFactory;
+import org.molgenis.data.populate.EntityPopulator;
+import org.springframework.stereotype.Component;
+
+@Component
+public class JobExecutionLogChunkFactory
+    extends AbstractSystemEntityFactory<
+        JobExecutionLogChunk, JobExecutionLogChunkMetadata, String> {
+  JobExecutionLogChunkFactory(
+      JobExecutionLogChunkMetadata jobExecutionLogChunkMetadata, EntityPopulator entityPopulator) {
+    super(JobExecutionLogChunk.class, jobExecutionLogChunkMetadata, entityPopulator);
+  }
+}
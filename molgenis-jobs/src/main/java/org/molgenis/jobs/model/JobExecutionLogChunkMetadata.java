@@ -0,0 +1,42 @@
+package org.molgenis.jobs.model;
+
+import static java.util.Objects.requireNonNull;
+import static org.molgenis.data.meta.AttributeType.INT;
+import static org.molgenis.data.meta.AttributeType.TEXT;
+import static org.molgenis.data.meta.model.EntityType.AttributeRole.ROLE_ID;
+import static org.molgenis.data.meta.model.Package.PACKAGE_SEPARATOR;
+import static org.molgenis.jobs.model.JobPackage.PACKAGE_JOB;
+
+import org.molgenis.data.meta.SystemEntityType;
+import org.springframework.stereotype.Component;
+
+@Component
+public class JobExecutionLogChunkMetadata extends SystemEntityType {
+  private static final String SIMPLE_NAME = "JobExecutionLogChunk";
+  public static final String JOB_EXECUTION_LOG_CHUNK =
+      PACKAGE_JOB + PACKAGE_SEPARATOR + SIMPLE_NAME;
+
+  public static final String ID = "id";
+  public static final String JOB_EXECUTION_ID = "jobExecutionId";
+  public static final String SEQUENCE_NR = "sequenceNr";
+  public static final String LOG = "log";
+
+  private final JobPackage jobPackage;
+
+  JobExecutionLogChunkMetadata(JobPackage jobPackage) {
+    super(SIMPLE_NAME, PACKAGE_JOB);
+    this.jobPackage = requireNonNull(jobPackage);
+  }
+
+  @Override
+  public void init() {
+    setLabel("Job execution log chunk");
+    setDescription("Append-only chunks of job execution logs, in order of sequence number.");
+    setPackage(jobPackage);
+
+    addAttribute(ID, ROLE_ID).setAuto(true).setLabel("Identifier");
+    addAttribute(JOB_EXECUTION_ID).setNillable(false).setLabel("Job execution identifier");
+    addAttribute(SEQUENCE_NR).setDataType(INT).setNillable(false).setLabel("Sequence number");
+    addAttribute(LOG).setDataType(TEXT).setNillable(false).setLabel("Log");
+  }
+}
@@ -15,6 +15,7 @@ import static org.molgenis.jobs.model.JobExecutionMetaData.LOG;
 import static org.molgenis.jobs.model.JobExecutionMetaData.PENDING;
 import static org.molgenis.jobs.model.JobExecutionMetaData.PROGRESS_MESSAGE;
 import static org.molgenis.jobs.model.JobExecutionMetaData.STATUS;
+import static org.molgenis.jobs.model.JobExecutionMetaData.SUBMISSION_DATE;
 import static org.molgenis.jobs.model.ScheduledJobTypeMetadata.SCHEDULED_JOB_TYPE;
 
 import java.util.Collections;
@@ -32,6 +33,7 @@ import org.molgenis.data.DataService;
 import org.molgenis.data.Entity;
 import org.molgenis.data.Query;
 import org.molgenis.data.Repository;
+import org.molgenis.data.Sort;
 import org.molgenis.data.meta.SystemEntityType;
 import org.molgenis.data.meta.model.EntityType;
 import org.molgenis.data.meta.system.SystemEntityTypeRegistry;
@@ -69,10 +71,16 @@ class JobBootstrapperTest extends AbstractMolgenisSpringTest {
 
   @Mock private Query<Entity> query;
 
+  @Mock private Query<JobExecution> pendingQuery;
+
+  @Mock private JobExecution pendingFileIngestJob;
+
   @Captor private ArgumentCaptor<String> stringCaptor;
 
   @Autowired private JobScheduler jobScheduler;
 
+  @Autowired private JobExecutor jobExecutor;
+
   @Autowired private Config config;
 
   @BeforeEach
@@ -90,10 +98,15 @@ class JobBootstrapperTest extends AbstractMolgenisSpringTest {
 
     when(dataService.query("sys_FileIngestJobExecution")).thenReturn(query);
     when(query.eq(STATUS, RUNNING)).thenReturn(query);
-    when(query.eq(STATUS, PENDING)).thenReturn(query);
     when(query.eq(STATUS, CANCELING)).thenReturn(query);
     when(query.or()).thenReturn(query);
 
+    when(dataService.query("sys_FileIngestJobExecution", JobExecution.class))
+        .thenReturn(pendingQuery);
+    when(pendingQuery.eq(STATUS, PENDING)).thenReturn(pendingQuery);
+    when(pendingQuery.sort(new Sort(SUBMISSION_DATE))).thenReturn(pendingQuery);
+    when(pendingQuery.findAll()).thenReturn(Stream.of(pendingFileIngestJob));
+
     when(query.findAll()).thenReturn(Stream.of(fileIngestJob1, fileIngestJob2, fileIngestJob3));
 
     when(dataService.getRepository(SCHEDULED_JOB_TYPE, ScheduledJobType.class))
@@ -135,6 +148,7 @@ class JobBootstrapperTest extends AbstractMolgenisSpringTest {
 
     verify(dataService).update("sys_FileIngestJobExecution", fileIngestJob1);
     verify(dataService).update("sys_FileIngestJobExecution", fileIngestJob2);
+    verify(jobExecutor).resubmit(pendingFileIngestJob);
     verify(jobScheduler).scheduleJobs();
     verify(jobTypeRepo).upsertBatch(Collections.singletonList(scheduledJobType));
   }
@@ -147,8 +161,10 @@ class JobBootstrapperTest extends AbstractMolgenisSpringTest {
 
     @Mock private JobScheduler jobScheduler;
 
+    @Mock private JobExecutor jobExecutor;
+
     private void resetMocks() {
-      reset(jobScheduler, fileIngestScheduledJobType, fileIngestJobFactory);
+      reset(jobScheduler, jobExecutor, fileIngestScheduledJobType, fileIngestJobFactory);
     }
 
     Config() {
@@ -170,6 +186,11 @@ class JobBootstrapperTest extends AbstractMolgenisSpringTest {
       return jobScheduler;
     }
 
+    @Bean
+    JobExecutor jobExecutor() {
+      return jobExecutor;
+    }
+
     @Bean
     SystemEntityTypeRegistry systemEntityTypeRegistry() {
       return mock(SystemEntityTypeRegistry.class);
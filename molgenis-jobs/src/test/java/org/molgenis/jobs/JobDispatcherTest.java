@@ -0,0 +1,114 @@
+package org.molgenis.jobs;
+
+import static java.util.Arrays.asList;
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.Executor;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class JobDispatcherTest {
+  // runnables passed to the executor that didn't run yet
+  private Deque<Runnable> startedRunnables;
+  private List<String> finishedJobs;
+
+  @BeforeEach
+  void setUpBeforeEach() {
+    startedRunnables = new ArrayDeque<>();
+    finishedJobs = new ArrayList<>();
+  }
+
+  @Test
+  void testJobDispatcherInvalidMaxRunningJobs() {
+    Executor executor = startedRunnables::add;
+    assertThrows(IllegalArgumentException.class, () -> new JobDispatcher(executor, 0, "", ""));
+  }
+
+  @Test
+  void testExecuteMaxRunningJobs() {
+    JobDispatcher jobDispatcher = new JobDispatcher(startedRunnables::add, 2, "", "");
+    jobDispatcher.execute("TypeA", job("job0"));
+    jobDispatcher.execute("TypeA", job("job1"));
+    jobDispatcher.execute("TypeB", job("job2"));
+    assertAll(
+        () -> assertEquals(2, jobDispatcher.getNrRunningJobs()),
+        () -> assertEquals(1, jobDispatcher.getNrQueuedJobs()));
+
+    startedRunnables.removeFirst().run();
+    assertAll(
+        () -> assertEquals(2, jobDispatcher.getNrRunningJobs()),
+        () -> assertEquals(0, jobDispatcher.getNrQueuedJobs()));
+
+    runAll();
+    assertAll(
+        () -> assertEquals(asList("job0", "job1", "job2"), finishedJobs),
+        () -> assertEquals(0, jobDispatcher.getNrRunningJobs()));
+  }
+
+  @Test
+  void testExecuteMaxRunningJobsPerType() {
+    JobDispatcher jobDispatcher = new JobDispatcher(startedRunnables::add, 4, "TypeA=1", "");
+    jobDispatcher.execute("TypeA", job("job0"));
+    jobDispatcher.execute("TypeA", job("job1"));
+    jobDispatcher.execute("TypeB", job("job2"));
+    assertAll(
+        () -> assertEquals(2, jobDispatcher.getNrRunningJobs()),
+        () -> assertEquals(1, jobDispatcher.getNrQueuedJobs()));
+
+    runAll();
+    assertEquals(asList("job0", "job2", "job1"), finishedJobs);
+  }
+
+  @Test
+  void testExecutePriority() {
+    JobDispatcher jobDispatcher = new JobDispatcher(startedRunnables::add, 1, "", "TypeB=10");
+    jobDispatcher.execute("TypeA", job("job0"));
+    jobDispatcher.execute("TypeA", job("job1"));
+    jobDispatcher.execute("TypeB", job("job2"));
+    jobDispatcher.execute(null, job("job3"));
+
+    runAll();
+    assertEquals(asList("job0", "job2", "job1", "job3"), finishedJobs);
+  }
+
+  @Test
+  void testExecuteJobFails() {
+    JobDispatcher jobDispatcher = new JobDispatcher(startedRunnables::add, 1, "", "");
+    jobDispatcher.execute(
+        "TypeA",
+        () -> {
+          throw new RuntimeException();
+        });
+    jobDispatcher.execute("TypeA", job("job1"));
+
+    Runnable failingJob = startedRunnables.removeFirst();
+    assertThrows(RuntimeException.class, failingJob::run);
+    runAll();
+    assertEquals(asList("job1"), finishedJobs);
+  }
+
+  @Test
+  void testGetExecutor() {
+    JobDispatcher jobDispatcher = new JobDispatcher(Runnable::run, 1, "", "");
+    jobDispatcher.getExecutor("TypeA").execute(job("job0"));
+    assertAll(
+        () -> assertEquals(asList("job0"), finishedJobs),
+        () -> assertEquals(0, jobDispatcher.getNrRunningJobs()));
+  }
+
+  private Runnable job(String name) {
+    return () -> finishedJobs.add(name);
+  }
+
+  private void runAll() {
+    while (!startedRunnables.isEmpty()) {
+      startedRunnables.removeFirst().run();
+    }
+  }
+}
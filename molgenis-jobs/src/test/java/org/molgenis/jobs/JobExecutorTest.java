@@ -7,6 +7,7 @@ import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 import static org.molgenis.data.EntityManager.CreationMode.POPULATE;
 import static org.molgenis.jobs.model.ScheduledJobMetadata.SCHEDULED_JOB;
@@ -55,7 +56,7 @@ class JobExecutorTest extends AbstractMockitoSpringContextTests {
         new JobExecutor(
             dataService,
             entityManager,
-            executorService,
+            new JobDispatcher(executorService, 1, "", ""),
             jobFactoryRegistry,
             jobExecutionContextFactory,
             jobExecutionRegistry);
@@ -109,6 +110,13 @@ class JobExecutorTest extends AbstractMockitoSpringContextTests {
 
     Progress progress = mock(Progress.class);
     when(jobExecutionRegistry.registerJobExecution(jobExecution)).thenReturn(progress);
+    doAnswer(
+            (InvocationOnMock invocation) -> {
+              ((Runnable) invocation.getArguments()[0]).run();
+              return null;
+            })
+        .when(executorService)
+        .execute(any(Runnable.class));
 
     jobExecutor.executeScheduledJob(scheduledJobId);
 
@@ -181,19 +189,10 @@ class JobExecutorTest extends AbstractMockitoSpringContextTests {
     verify(dataService).update(jobExecutionEntityTypeId, jobExecution);
   }
 
-  // same as testSubmit but with other ExecutorService
   @SuppressWarnings("unchecked")
   @Test
-  @WithMockUser
-  void testSubmitExecutorService() throws ExecutionException, InterruptedException {
-    ExecutorService myExecutorService = mock(ExecutorService.class);
-
-    String jobExecutionEntityTypeId = "MyJobExecutionId";
-    EntityType jobExecutionEntityType = mock(EntityType.class);
-    when(jobExecutionEntityType.getId()).thenReturn(jobExecutionEntityTypeId);
-
+  void testResubmit() throws ExecutionException, InterruptedException {
     JobExecution jobExecution = mock(JobExecution.class);
-    when(jobExecution.getEntityType()).thenReturn(jobExecutionEntityType);
 
     Job job = mock(Job.class);
 
@@ -202,24 +201,21 @@ class JobExecutorTest extends AbstractMockitoSpringContextTests {
     when(jobFactory.createJob(jobExecution)).thenReturn(job);
 
     JobExecutionContext jobExecutionContext = mock(JobExecutionContext.class);
-    var authentication = SecurityContextHolder.getContext().getAuthentication();
-    when(jobExecutionContextFactory.createJobExecutionContextWithAuthentication(
-            jobExecution, authentication))
+    when(jobExecutionContextFactory.createJobExecutionContext(jobExecution))
         .thenReturn(jobExecutionContext);
 
     Progress progress = mock(Progress.class);
     when(jobExecutionRegistry.registerJobExecution(jobExecution)).thenReturn(progress);
     doAnswer(
             (InvocationOnMock invocation) -> {
-              assertEquals(authentication, SecurityContextHolder.getContext().getAuthentication());
               ((Runnable) invocation.getArguments()[0]).run();
               return null;
             })
-        .when(myExecutorService)
+        .when(executorService)
         .execute(any(Runnable.class));
-    jobExecutor.submit(jobExecution, myExecutorService).get();
+    jobExecutor.resubmit(jobExecution).get();
 
-    verify(dataService).add(jobExecutionEntityTypeId, jobExecution);
+    verifyNoInteractions(dataService);
     verify(jobExecutionTemplate).call(job, progress, jobExecutionContext);
     verify(jobExecutionRegistry).unregisterJobExecution(jobExecution);
   }
@@ -0,0 +1,97 @@
+package org.molgenis.jobs.model;
+
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.molgenis.jobs.model.JobExecution.MAX_LOG_LENGTH;
+import static org.molgenis.jobs.model.JobExecution.TRUNCATION_BANNER;
+
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+class JobExecutionLogTest {
+  @Test
+  void testAppend() {
+    JobExecutionLog jobExecutionLog = new JobExecutionLog("line0\n");
+    jobExecutionLog.append("line1\n");
+    jobExecutionLog.append("line2\n");
+    assertAll(
+        () -> assertEquals("line0\nline1\nline2\n", jobExecutionLog.toString()),
+        () -> assertEquals(18, jobExecutionLog.length()));
+  }
+
+  @Test
+  void testAppendNoLog() {
+    JobExecutionLog jobExecutionLog = new JobExecutionLog(null);
+    jobExecutionLog.append("line0\n");
+    assertEquals("line0\n", jobExecutionLog.toString());
+  }
+
+  @Test
+  void testAppendTruncates() {
+    JobExecutionLog jobExecutionLog = new JobExecutionLog(null);
+    String line = "0123456789\n";
+    for (int i = 0; i < MAX_LOG_LENGTH / line.length() + 10; i++) {
+      jobExecutionLog.append(line);
+    }
+    String log = jobExecutionLog.toString();
+    assertAll(
+        () -> assertTrue(log.length() <= MAX_LOG_LENGTH),
+        () -> assertTrue(log.startsWith(TRUNCATION_BANNER + "\n0123456789\n")),
+        () -> assertTrue(log.endsWith("...\n" + TRUNCATION_BANNER)));
+  }
+
+  @Test
+  void testAppendAfterTruncationIgnored() {
+    JobExecutionLog jobExecutionLog = new JobExecutionLog(null);
+    jobExecutionLog.append("x".repeat(MAX_LOG_LENGTH + 1));
+    String log = jobExecutionLog.toString();
+    jobExecutionLog.append("ignored");
+    assertEquals(log, jobExecutionLog.toString());
+  }
+
+  @Test
+  void testTail() {
+    JobExecutionLog jobExecutionLog = new JobExecutionLog("line0\n");
+    jobExecutionLog.append("line1\n");
+    jobExecutionLog.append("line2\n");
+    assertAll(
+        () -> assertEquals("", jobExecutionLog.tail(0)),
+        () -> assertEquals("2\n", jobExecutionLog.tail(2)),
+        () -> assertEquals("line2\n", jobExecutionLog.tail(6)),
+        () -> assertEquals("1\nline2\n", jobExecutionLog.tail(8)),
+        () -> assertEquals("line0\nline1\nline2\n", jobExecutionLog.tail(100)));
+  }
+
+  @Test
+  void testTailNegativeMaxLength() {
+    JobExecutionLog jobExecutionLog = new JobExecutionLog("line0\n");
+    assertThrows(IllegalArgumentException.class, () -> jobExecutionLog.tail(-1));
+  }
+
+  @Test
+  void testFlush() {
+    JobExecutionLog jobExecutionLog = new JobExecutionLog("line0\n");
+    List<String> chunks = new ArrayList<>();
+    jobExecutionLog.append("line1\n");
+    jobExecutionLog.append("line2\n");
+    jobExecutionLog.flush((chunk, sequenceNr) -> chunks.add(sequenceNr + ":" + chunk));
+    jobExecutionLog.flush((chunk, sequenceNr) -> chunks.add(sequenceNr + ":" + chunk));
+    jobExecutionLog.append("line3\n");
+    jobExecutionLog.flush((chunk, sequenceNr) -> chunks.add(sequenceNr + ":" + chunk));
+    assertEquals(List.of("0:line1\nline2\n", "1:line3\n"), chunks);
+  }
+
+  @Test
+  void testFlushAfterTruncation() {
+    JobExecutionLog jobExecutionLog = new JobExecutionLog(null);
+    List<String> chunks = new ArrayList<>();
+    jobExecutionLog.append("line0\n");
+    jobExecutionLog.flush((chunk, sequenceNr) -> chunks.add(chunk));
+    jobExecutionLog.append("x".repeat(MAX_LOG_LENGTH));
+    jobExecutionLog.flush((chunk, sequenceNr) -> chunks.add(chunk));
+    assertEquals(List.of("line0\n", TRUNCATION_BANNER), chunks);
+  }
+}
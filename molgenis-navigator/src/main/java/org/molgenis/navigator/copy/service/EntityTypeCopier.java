@@ -6,6 +6,7 @@ import static java.util.stream.Collectors.toList;
 import static java.util.stream.Collectors.toSet;
 import static java.util.stream.Stream.concat;
 import static org.molgenis.data.meta.model.EntityTypeMetadata.ENTITY_TYPE_META_DATA;
+import static org.molgenis.data.security.EntityTypePermission.READ_DATA;
 import static org.molgenis.navigator.copy.service.RelationTransformer.transformExtends;
 import static org.molgenis.navigator.copy.service.RelationTransformer.transformMappedBys;
 import static org.molgenis.navigator.copy.service.RelationTransformer.transformPackage;
@@ -16,13 +17,19 @@ import java.util.Set;
 import java.util.stream.Stream;
 import org.molgenis.data.DataService;
 import org.molgenis.data.Entity;
+import org.molgenis.data.RepositoryDataCopier;
+import org.molgenis.data.index.IndexActionRegisterService;
 import org.molgenis.data.meta.EntityTypeDependencyResolver;
 import org.molgenis.data.meta.model.Attribute;
 import org.molgenis.data.meta.model.EntityType;
 import org.molgenis.data.meta.model.EntityTypeMetadata;
 import org.molgenis.data.meta.model.Package;
 import org.molgenis.data.populate.IdGenerator;
+import org.molgenis.data.security.EntityIdentityUtils;
+import org.molgenis.data.security.EntityTypeIdentity;
 import org.molgenis.data.util.EntityTypeUtils;
+import org.molgenis.security.acl.MutableAclClassService;
+import org.molgenis.security.core.UserPermissionEvaluator;
 import org.springframework.stereotype.Component;
 
 @Component
@@ -34,16 +41,28 @@ public class EntityTypeCopier {
   private final IdGenerator idGenerator;
   private final EntityTypeDependencyResolver entityTypeDependencyResolver;
   private final EntityTypeMetadataCopier entityTypeMetadataCopier;
+  private final RepositoryDataCopier repositoryDataCopier;
+  private final IndexActionRegisterService indexActionRegisterService;
+  private final UserPermissionEvaluator userPermissionEvaluator;
+  private final MutableAclClassService mutableAclClassService;
 
   EntityTypeCopier(
       DataService dataService,
       IdGenerator idGenerator,
       EntityTypeDependencyResolver entityTypeDependencyResolver,
-      EntityTypeMetadataCopier entityTypeMetadataCopier) {
+      EntityTypeMetadataCopier entityTypeMetadataCopier,
+      RepositoryDataCopier repositoryDataCopier,
+      IndexActionRegisterService indexActionRegisterService,
+      UserPermissionEvaluator userPermissionEvaluator,
+      MutableAclClassService mutableAclClassService) {
     this.dataService = requireNonNull(dataService);
     this.idGenerator = requireNonNull(idGenerator);
     this.entityTypeDependencyResolver = requireNonNull(entityTypeDependencyResolver);
     this.entityTypeMetadataCopier = requireNonNull(entityTypeMetadataCopier);
+    this.repositoryDataCopier = requireNonNull(repositoryDataCopier);
+    this.indexActionRegisterService = requireNonNull(indexActionRegisterService);
+    this.userPermissionEvaluator = requireNonNull(userPermissionEvaluator);
+    this.mutableAclClassService = requireNonNull(mutableAclClassService);
   }
 
   public void copy(List<EntityType> entityTypes, CopyState state) {
@@ -166,13 +185,30 @@ public class EntityTypeCopier {
   private EntityType copyEntities(EntityType copy, CopyState state) {
     String originalEntityTypeId = state.originalEntityTypeIds().get(copy.getId());
     if (!copy.isAbstract()) {
-      dataService
-          .getRepository(originalEntityTypeId)
-          .forEachBatched(batch -> addEntityBatch(copy, state, batch), BATCH_SIZE);
+      EntityType original = dataService.getEntityType(originalEntityTypeId);
+      if (canCopyInBackend(original, copy)) {
+        repositoryDataCopier.copy(original, copy);
+        indexActionRegisterService.register(copy, null);
+      } else {
+        dataService
+            .getRepository(originalEntityTypeId)
+            .forEachBatched(batch -> addEntityBatch(copy, state, batch), BATCH_SIZE);
+      }
     }
     return copy;
   }
 
+  /**
+   * Copying the data inside the backend bypasses the repository decorators, so it is only allowed
+   * if the user can read all data of the original entity type. Otherwise the entities are copied
+   * one batch at a time, which also reports the missing permission.
+   */
+  private boolean canCopyInBackend(EntityType original, EntityType copy) {
+    return repositoryDataCopier.canCopy(original, copy)
+        && userPermissionEvaluator.hasPermission(new EntityTypeIdentity(original), READ_DATA)
+        && !mutableAclClassService.hasAclClass(EntityIdentityUtils.toType(original));
+  }
+
   private void addEntityBatch(EntityType copy, CopyState state, List<Entity> batch) {
     dataService.add(
         copy.getId(),
@@ -10,10 +10,12 @@ import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.molgenis.data.meta.model.EntityTypeMetadata.ENTITY_TYPE_META_DATA;
+import static org.molgenis.data.security.EntityTypePermission.READ_DATA;
 import static org.molgenis.navigator.copy.service.CopyTestUtils.setupPredictableIdGeneratorMock;
 
 import com.google.common.collect.ImmutableMap;
@@ -29,6 +31,8 @@ import org.mockito.Mock;
 import org.molgenis.data.DataService;
 import org.molgenis.data.Entity;
 import org.molgenis.data.Repository;
+import org.molgenis.data.RepositoryDataCopier;
+import org.molgenis.data.index.IndexActionRegisterService;
 import org.molgenis.data.meta.AttributeType;
 import org.molgenis.data.meta.EntityTypeDependencyResolver;
 import org.molgenis.data.meta.model.Attribute;
@@ -36,7 +40,10 @@ import org.molgenis.data.meta.model.EntityType;
 import org.molgenis.data.meta.model.EntityTypeMetadata;
 import org.molgenis.data.meta.model.Package;
 import org.molgenis.data.populate.IdGenerator;
+import org.molgenis.data.security.EntityTypeIdentity;
 import org.molgenis.jobs.Progress;
+import org.molgenis.security.acl.MutableAclClassService;
+import org.molgenis.security.core.UserPermissionEvaluator;
 import org.molgenis.test.AbstractMockitoTest;
 
 class EntityTypeCopierTest extends AbstractMockitoTest {
@@ -47,6 +54,10 @@ class EntityTypeCopierTest extends AbstractMockitoTest {
   @Mock private IdGenerator idGenerator;
   @Mock private EntityTypeDependencyResolver entityTypeDependencyResolver;
   @Mock private EntityTypeMetadataCopier entityTypeMetadataCopier;
+  @Mock private RepositoryDataCopier repositoryDataCopier;
+  @Mock private IndexActionRegisterService indexActionRegisterService;
+  @Mock private UserPermissionEvaluator userPermissionEvaluator;
+  @Mock private MutableAclClassService mutableAclClassService;
 
   private EntityTypeCopier copier;
 
@@ -54,7 +65,14 @@ class EntityTypeCopierTest extends AbstractMockitoTest {
   void beforeMethod() {
     copier =
         new EntityTypeCopier(
-            dataService, idGenerator, entityTypeDependencyResolver, entityTypeMetadataCopier);
+            dataService,
+            idGenerator,
+            entityTypeDependencyResolver,
+            entityTypeMetadataCopier,
+            repositoryDataCopier,
+            indexActionRegisterService,
+            userPermissionEvaluator,
+            mutableAclClassService);
   }
 
   @Test
@@ -247,6 +265,56 @@ class EntityTypeCopierTest extends AbstractMockitoTest {
     assertEquals(entityTypeCopy, entities.get(1).getEntityType());
   }
 
+  @SuppressWarnings("unchecked")
+  @Test
+  void copyDataInBackend() {
+    setupPredictableIdGeneratorMock(idGenerator);
+    EntityType entityType = mockEntityType("A");
+    when(entityType.getId()).thenReturn("originalId");
+    EntityType entityTypeCopy = mock(EntityType.class);
+    when(entityTypeCopy.getId()).thenReturn("id1");
+    when(dataService.getEntityType("originalId")).thenReturn(entityType);
+    when(repositoryDataCopier.canCopy(entityType, entityTypeCopy)).thenReturn(true);
+    when(userPermissionEvaluator.hasPermission(new EntityTypeIdentity("originalId"), READ_DATA))
+        .thenReturn(true);
+    CopyState state = CopyState.create(mock(Package.class), mock(Progress.class));
+    when(entityTypeMetadataCopier.copy(entityType, state)).thenReturn(entityTypeCopy);
+    when(entityTypeDependencyResolver.resolve(singletonList(entityTypeCopy)))
+        .thenReturn(singletonList(entityTypeCopy));
+
+    copier.copy(singletonList(entityType), state);
+
+    verify(repositoryDataCopier).copy(entityType, entityTypeCopy);
+    verify(indexActionRegisterService).register(entityTypeCopy, null);
+    verify(dataService, never()).add(eq("id1"), any(Stream.class));
+  }
+
+  @SuppressWarnings("unchecked")
+  @Test
+  void copyDataInBackendRowLevelSecured() {
+    setupPredictableIdGeneratorMock(idGenerator);
+    EntityType entityType = mockEntityType("A");
+    when(entityType.getId()).thenReturn("originalId");
+    EntityType entityTypeCopy = mock(EntityType.class);
+    when(entityTypeCopy.getId()).thenReturn("id1");
+    when(dataService.getEntityType("originalId")).thenReturn(entityType);
+    when(repositoryDataCopier.canCopy(entityType, entityTypeCopy)).thenReturn(true);
+    when(userPermissionEvaluator.hasPermission(new EntityTypeIdentity("originalId"), READ_DATA))
+        .thenReturn(true);
+    when(mutableAclClassService.hasAclClass("entity-originalId")).thenReturn(true);
+    Repository<Entity> repository = mock(Repository.class);
+    when(dataService.getRepository("originalId")).thenReturn(repository);
+    CopyState state = CopyState.create(mock(Package.class), mock(Progress.class));
+    when(entityTypeMetadataCopier.copy(entityType, state)).thenReturn(entityTypeCopy);
+    when(entityTypeDependencyResolver.resolve(singletonList(entityTypeCopy)))
+        .thenReturn(singletonList(entityTypeCopy));
+
+    copier.copy(singletonList(entityType), state);
+
+    verify(repository).forEachBatched(any(), eq(1000));
+    verify(repositoryDataCopier, never()).copy(entityType, entityTypeCopy);
+  }
+
   private void setupMetadataCopierAnswers(Map<EntityType, EntityType> mocks) {
     when(entityTypeMetadataCopier.copy(any(EntityType.class), any(CopyState.class)))
         .thenAnswer(
@@ -1,7 +1,7 @@
 package org.molgenis.oneclickimporter.model;
 
 import com.google.auto.value.AutoValue;
-import java.util.List;
+import org.molgenis.data.meta.AttributeType;
 import org.molgenis.util.AutoGson;
 
 @AutoValue
@@ -12,9 +12,10 @@ public abstract class Column {
 
   public abstract int getPosition();
 
-  public abstract List<Object> getDataValues();
+  /** Attribute type guessed from all values in the column */
+  public abstract AttributeType getType();
 
-  public static Column create(String name, int position, List<Object> dataValues) {
-    return new AutoValue_Column(name, position, dataValues);
+  public static Column create(String name, int position, AttributeType type) {
+    return new AutoValue_Column(name, position, type);
   }
 }
@@ -2,17 +2,32 @@ package org.molgenis.oneclickimporter.model;
 
 import com.google.auto.value.AutoValue;
 import java.util.List;
-import org.molgenis.util.AutoGson;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
 
+/**
+ * Columns of a sheet or file with the attribute types guessed from their values. The values
+ * themselves are not kept in memory, each call to the row supplier streams the rows from the
+ * source again. Each row contains the values of the columns in column order.
+ */
 @AutoValue
-@AutoGson(autoValueClass = AutoValue_DataCollection.class)
 @SuppressWarnings("java:S1610") // Abstract classes without fields should be converted to interfaces
 public abstract class DataCollection {
   public abstract String getName();
 
   public abstract List<Column> getColumns();
 
-  public static DataCollection create(String name, List<Column> columns) {
-    return new AutoValue_DataCollection(name, columns);
+  /** Whether the values of the first column are unique and not null */
+  public abstract boolean isFirstColumnUnique();
+
+  /** Returns a supplier of row streams, streams must be closed after use */
+  public abstract Supplier<Stream<List<Object>>> getRowSupplier();
+
+  public static DataCollection create(
+      String name,
+      List<Column> columns,
+      boolean firstColumnUnique,
+      Supplier<Stream<List<Object>>> rowSupplier) {
+    return new AutoValue_DataCollection(name, columns, firstColumnUnique, rowSupplier);
   }
 }
@@ -2,18 +2,21 @@ package org.molgenis.oneclickimporter.service;
 
 import java.io.File;
 import java.io.IOException;
-import java.util.List;
+import java.util.stream.Stream;
 
 public interface CsvService {
   /**
-   * Creates a List with String[] containing the lines of a CSV file Including the header
+   * Creates a Stream with String[] containing the lines of a CSV file Including the header. Lines
+   * are read from the file while the stream is consumed, the stream must be closed after use.
    *
    * <p>Uses the {@link au.com.bytecode.opencsv.CSVReader} which is also used in the {@link
    * org.molgenis.data.csv.CsvIterator}
    *
    * @param file can be a zip or a regular file
-   * @throws IOException if something goes wrong reading the file
-   * @throws org.molgenis.data.MolgenisDataException if validation of the file content fails
+   * @throws IOException if something goes wrong opening the file
+   * @throws org.molgenis.data.MolgenisDataException if the file is empty or contains no data,
+   *     consuming the stream throws this exception if a line contains a different number of
+   *     columns than the header
    */
-  List<String[]> buildLinesFromFile(File file) throws IOException;
+  Stream<String[]> streamLines(File file) throws IOException;
 }
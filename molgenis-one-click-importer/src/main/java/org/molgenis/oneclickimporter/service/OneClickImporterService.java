@@ -1,32 +1,32 @@
 package org.molgenis.oneclickimporter.service;
 
+import java.io.File;
+import java.io.IOException;
 import java.util.List;
 import org.apache.poi.ss.usermodel.Sheet;
 import org.molgenis.data.meta.AttributeType;
-import org.molgenis.oneclickimporter.model.Column;
 import org.molgenis.oneclickimporter.model.DataCollection;
 
 public interface OneClickImporterService {
   /**
-   * Generate {@link DataCollection}s from one or more Excel sheets
+   * Generate {@link DataCollection}s from one or more Excel sheets. Column types are guessed in one
+   * pass over the rows of each sheet.
    *
    * @param sheets
    */
   List<DataCollection> buildDataCollectionsFromExcel(List<Sheet> sheets);
 
   /**
-   * Generate {@link DataCollection} from a List of file lines
+   * Generate {@link DataCollection} from a CSV file. Column types are guessed in one pass over the
+   * lines of the file without keeping the lines in memory, rows are read from the file again when
+   * they are requested from the data collection.
    *
    * @param dataCollectionName
-   * @param lines
+   * @param file CSV file
+   * @throws IOException if something goes wrong reading the file
    */
-  DataCollection buildDataCollectionFromCsv(String dataCollectionName, List<String[]> lines);
-
-  /**
-   * Test is values are unique within column. A column containing null values is considered to be
-   * non-unique
-   */
-  boolean hasUniqueValues(Column column);
+  DataCollection buildDataCollectionFromCsv(String dataCollectionName, File file)
+      throws IOException;
 
   /**
    * Cast the given value based in the supplied attribute type. The method returns the most specific
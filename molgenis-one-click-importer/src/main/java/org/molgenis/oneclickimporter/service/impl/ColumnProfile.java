@@ -0,0 +1,281 @@
+package org.molgenis.oneclickimporter.service.impl;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.molgenis.data.meta.AttributeType.BOOL;
+import static org.molgenis.data.meta.AttributeType.DATE;
+import static org.molgenis.data.meta.AttributeType.DATE_TIME;
+import static org.molgenis.data.meta.AttributeType.DECIMAL;
+import static org.molgenis.data.meta.AttributeType.INT;
+import static org.molgenis.data.meta.AttributeType.LONG;
+import static org.molgenis.data.meta.AttributeType.STRING;
+import static org.molgenis.data.meta.AttributeType.TEXT;
+
+import com.google.common.hash.HashFunction;
+import com.google.common.hash.Hashing;
+import java.util.Arrays;
+import javax.annotation.Nullable;
+import org.molgenis.data.meta.AttributeType;
+import org.molgenis.data.util.MolgenisDateFormat;
+import org.molgenis.oneclickimporter.model.Column;
+
+/**
+ * Guesses the attribute type of a column from a stream of values without keeping the values.
+ *
+ * <p>The guessed type is the lowest common type of the values seen so far. The type hierarchies
+ * are: DateTime -> String -> Text, Date -> String -> Text, Boolean -> String -> Text, Int -> Long
+ * -> Decimal -> String -> Text. String values longer than 255 characters make the column Text.
+ *
+ * <p>Optionally keeps 64-bit hashes of the values to determine whether the values are unique.
+ * The number of hashes is bounded, columns with more values are considered not to be unique.
+ */
+class ColumnProfile {
+  private static final int MAX_STRING_LENGTH = 255;
+  private static final int INITIAL_NR_VALUE_HASHES = 1024;
+  static final int MAX_NR_VALUE_HASHES = 1 << 22;
+
+  private static final HashFunction VALUE_HASH_FUNCTION = Hashing.murmur3_128();
+
+  private final String name;
+  private final int position;
+
+  @Nullable private AttributeType currentGuess;
+  private boolean firstValue = true;
+
+  // hashes of the values if uniqueness is determined and no duplicate or null value was seen
+  @Nullable private long[] valueHashes;
+  private int nrValueHashes;
+
+  /**
+   * @param name column name
+   * @param position column position
+   * @param determineUniqueness whether to determine if the values in this column are unique
+   */
+  ColumnProfile(String name, int position, boolean determineUniqueness) {
+    this.name = name;
+    this.position = position;
+    this.valueHashes = determineUniqueness ? new long[INITIAL_NR_VALUE_HASHES] : null;
+  }
+
+  void accept(@Nullable Object value) {
+    updateUniqueness(value);
+
+    if (firstValue) {
+      currentGuess = getEnrichedType(getBasicAttributeType(value), value);
+      firstValue = false;
+    }
+
+    // If a guess is TEXT, there is no other type option suitable
+    if (TEXT.equals(currentGuess)) {
+      return;
+    }
+
+    AttributeType basicTypeGuess = getCommonType(currentGuess, getBasicAttributeType(value));
+    AttributeType enrichedTypeGuess = getEnrichedType(basicTypeGuess, value);
+
+    // If the newly found type is not narrower than the current type, do not update
+    // e.g. a long does not fit into an integer
+    if (enrichedTypeGuess != null && isBroader(enrichedTypeGuess, currentGuess)) {
+      currentGuess = enrichedTypeGuess;
+    }
+  }
+
+  int getPosition() {
+    return position;
+  }
+
+  AttributeType getType() {
+    return currentGuess != null ? currentGuess : STRING;
+  }
+
+  /**
+   * Returns whether all values are unique and not null, always returns false if uniqueness is not
+   * determined for this column.
+   */
+  boolean isUnique() {
+    if (valueHashes == null) {
+      return false;
+    }
+    long[] sortedValueHashes = Arrays.copyOf(valueHashes, nrValueHashes);
+    Arrays.sort(sortedValueHashes);
+    for (int i = 1; i < sortedValueHashes.length; i++) {
+      if (sortedValueHashes[i] == sortedValueHashes[i - 1]) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  Column toColumn() {
+    return Column.create(name, position, getType());
+  }
+
+  private void updateUniqueness(@Nullable Object value) {
+    if (valueHashes == null) {
+      return;
+    }
+    if (value == null || nrValueHashes == MAX_NR_VALUE_HASHES) {
+      valueHashes = null;
+      return;
+    }
+    if (nrValueHashes == valueHashes.length) {
+      valueHashes =
+          Arrays.copyOf(valueHashes, Math.min(valueHashes.length * 2, MAX_NR_VALUE_HASHES));
+    }
+    // values with equal string representations, e.g. 1 and "1", are considered equal
+    valueHashes[nrValueHashes++] = VALUE_HASH_FUNCTION.hashString(value.toString(), UTF_8).asLong();
+  }
+
+  /** Check if the new enriched type is broader the the previously found type */
+  private static boolean isBroader(
+      AttributeType enrichedTypeGuess, @Nullable AttributeType columnTypeGuess) {
+    if (columnTypeGuess == null) {
+      return true;
+    }
+
+    switch (columnTypeGuess) {
+      case INT:
+        return enrichedTypeGuess.equals(INT)
+            || enrichedTypeGuess.equals(LONG)
+            || enrichedTypeGuess.equals(DECIMAL)
+            || enrichedTypeGuess.equals(STRING)
+            || enrichedTypeGuess.equals(TEXT);
+
+      case DECIMAL:
+        return enrichedTypeGuess.equals(DECIMAL)
+            || enrichedTypeGuess.equals(DATE)
+            || enrichedTypeGuess.equals(DATE_TIME)
+            || enrichedTypeGuess.equals(STRING)
+            || enrichedTypeGuess.equals(TEXT);
+      case LONG:
+        return enrichedTypeGuess.equals(LONG)
+            || enrichedTypeGuess.equals(DECIMAL)
+            || enrichedTypeGuess.equals(DATE)
+            || enrichedTypeGuess.equals(DATE_TIME)
+            || enrichedTypeGuess.equals(STRING)
+            || enrichedTypeGuess.equals(TEXT);
+      case BOOL:
+      case STRING:
+      case DATE_TIME:
+      case DATE:
+        return enrichedTypeGuess.equals(STRING) || enrichedTypeGuess.equals(TEXT);
+      default:
+        return false;
+    }
+  }
+
+  /**
+   * Returns an enriched AttributeType for when the value meets certain criteria i.e. if a string
+   * value is longer dan 255 characters, the type should be TEXT
+   */
+  @Nullable
+  private static AttributeType getEnrichedType(
+      @Nullable AttributeType guess, @Nullable Object value) {
+    if (guess == null || value == null) {
+      return guess;
+    }
+
+    if (guess.equals(STRING)) {
+      String stringValue = value.toString();
+      if (stringValue.length() > MAX_STRING_LENGTH) {
+        return TEXT;
+      }
+
+      if (canValueBeUsedAsDate(value)) {
+        return DATE;
+      }
+    } else if (guess.equals(DECIMAL)) {
+      if (value instanceof Integer) {
+        return INT;
+      } else if (value instanceof Long) {
+        Long longValue = (Long) value;
+        return longValue > Integer.MIN_VALUE && longValue < Integer.MAX_VALUE ? INT : LONG;
+      } else if (value instanceof Double) {
+        Double doubleValue = (Double) value;
+
+        if (doubleValue != Math.rint(doubleValue)) {
+          return DECIMAL;
+        }
+
+        if (doubleValue > Integer.MIN_VALUE && doubleValue < Integer.MAX_VALUE) {
+          return INT;
+        }
+
+        if (doubleValue > Long.MIN_VALUE && doubleValue < Long.MAX_VALUE) {
+          return LONG;
+        }
+      }
+    }
+    return guess;
+  }
+
+  /** Returns the AttributeType shared by both types */
+  @Nullable
+  private static AttributeType getCommonType(
+      @Nullable AttributeType existingGuess, @Nullable AttributeType newGuess) {
+    if (existingGuess == null) {
+      return newGuess;
+    }
+
+    if (newGuess == null || existingGuess.equals(newGuess)) {
+      return existingGuess;
+    }
+
+    switch (existingGuess) {
+      case INT:
+        //noinspection Duplicates
+        if (newGuess.equals(DECIMAL)) {
+          return DECIMAL;
+        } else if (newGuess.equals(LONG)) {
+          return LONG;
+        } else {
+          return STRING;
+        }
+      case DECIMAL:
+        if (newGuess.equals(INT) || newGuess.equals(LONG)) {
+          return DECIMAL;
+        } else {
+          return STRING;
+        }
+      case LONG:
+        //noinspection Duplicates
+        if (newGuess.equals(INT)) {
+          return LONG;
+        } else if (newGuess.equals(DECIMAL)) {
+          return DECIMAL;
+        } else {
+          return STRING;
+        }
+      default:
+        return STRING;
+    }
+  }
+
+  /** Sets the basic type based on instance of the value Object */
+  @Nullable
+  private static AttributeType getBasicAttributeType(@Nullable Object value) {
+    if (value == null) {
+      return null;
+    }
+
+    if (value instanceof Integer) {
+      return INT;
+    } else if (value instanceof Double || value instanceof Float) {
+      return DECIMAL;
+    } else if (value instanceof Long) {
+      return LONG;
+    } else if (value instanceof Boolean) {
+      return BOOL;
+    } else {
+      return STRING;
+    }
+  }
+
+  private static boolean canValueBeUsedAsDate(Object value) {
+    try {
+      MolgenisDateFormat.parseLocalDate(value.toString());
+    } catch (Exception e) {
+      return false;
+    }
+    return true;
+  }
+}
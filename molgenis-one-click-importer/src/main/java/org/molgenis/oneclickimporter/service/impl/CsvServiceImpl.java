@@ -4,13 +4,17 @@ import static java.nio.charset.StandardCharsets.UTF_8;
 import static java.text.MessageFormat.format;
 
 import au.com.bytecode.opencsv.CSVReader;
+import com.google.common.collect.AbstractIterator;
+import com.google.common.collect.Streams;
 import java.io.File;
 import java.io.FileInputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
 import java.io.Reader;
-import java.util.List;
+import java.io.UncheckedIOException;
+import java.util.Iterator;
+import java.util.stream.Stream;
 import org.apache.commons.io.input.BOMInputStream;
 import org.molgenis.data.MolgenisDataException;
 import org.molgenis.data.csv.CsvFileExtensions;
@@ -22,12 +26,51 @@ public class CsvServiceImpl implements CsvService {
   private static final Character CSV_SEPARATOR = ',';
 
   @Override
-  public List<String[]> buildLinesFromFile(File file) throws IOException {
-    CSVReader reader =
-        createCsvReader(file.getName(), removeByteOrderMark(new FileInputStream(file)));
-    List<String[]> content = reader.readAll();
-    validateCsvFile(content, file.getName());
-    return content;
+  public Stream<String[]> streamLines(File file) throws IOException {
+    String fileName = file.getName();
+    CSVReader reader = createCsvReader(fileName, removeByteOrderMark(new FileInputStream(file)));
+    try {
+      String[] header = reader.readNext();
+      if (header == null) {
+        throw new MolgenisDataException(format("CSV-file: [{0}] is empty", fileName));
+      }
+      String[] firstLine = reader.readNext();
+      if (firstLine == null) {
+        throw new MolgenisDataException(
+            format("Header was found, but no data is present in file [{0}]", fileName));
+      }
+
+      Iterator<String[]> lines = createLineIterator(reader);
+      return Stream.concat(Stream.of(header, firstLine), Streams.stream(lines))
+          .map(line -> validateLine(line, header.length, fileName))
+          .onClose(() -> close(reader));
+    } catch (IOException | RuntimeException e) {
+      reader.close();
+      throw e;
+    }
+  }
+
+  private static Iterator<String[]> createLineIterator(CSVReader reader) {
+    return new AbstractIterator<String[]>() {
+      @Override
+      protected String[] computeNext() {
+        String[] line;
+        try {
+          line = reader.readNext();
+        } catch (IOException e) {
+          throw new UncheckedIOException(e);
+        }
+        return line != null ? line : endOfData();
+      }
+    };
+  }
+
+  private static void close(CSVReader reader) {
+    try {
+      reader.close();
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
   }
 
   /**
@@ -57,32 +100,21 @@ public class CsvServiceImpl implements CsvService {
   }
 
   /**
-   * Validates CSV file content.
+   * Validates a CSV file line.
    *
-   * <p>Checks that the content is not empty. Checks that at least one data row is present. Checks
-   * that data row lengths are consistent with the header row length.
+   * <p>Checks that the line length is consistent with the header row length.
    *
-   * @param content content of CSV-file
+   * @param line line of CSV-file
+   * @param headerLength number of columns in the header row
    * @param fileName the name of the file that is validated
+   * @return the validated line
    * @throws MolgenisDataException if the validation fails
    */
-  private void validateCsvFile(List<String[]> content, String fileName) {
-    if (content.isEmpty()) {
-      throw new MolgenisDataException(format("CSV-file: [{0}] is empty", fileName));
-    }
-
-    if (content.size() == 1) {
+  private static String[] validateLine(String[] line, int headerLength, String fileName) {
+    if (line.length != headerLength) {
       throw new MolgenisDataException(
-          format("Header was found, but no data is present in file [{0}]", fileName));
+          format("Column count in CSV-file: [{0}] is not consistent", fileName));
     }
-
-    int headerLength = content.get(0).length;
-    content.forEach(
-        row -> {
-          if (row.length != headerLength) {
-            throw new MolgenisDataException(
-                format("Column count in CSV-file: [{0}] is not consistent", fileName));
-          }
-        });
+    return line;
   }
 }
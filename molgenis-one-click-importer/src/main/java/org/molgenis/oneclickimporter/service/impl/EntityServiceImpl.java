@@ -1,6 +1,5 @@
 package org.molgenis.oneclickimporter.service.impl;
 
-import static com.google.common.collect.Lists.newArrayList;
 import static java.util.Objects.requireNonNull;
 import static org.molgenis.data.EntityManager.CreationMode.NO_POPULATE;
 import static org.molgenis.data.meta.model.EntityType.AttributeRole.ROLE_ID;
@@ -8,10 +7,10 @@ import static org.molgenis.data.util.AttributeUtils.getValidIdAttributeTypes;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 import org.molgenis.data.DataService;
 import org.molgenis.data.Entity;
 import org.molgenis.data.EntityManager;
-import org.molgenis.data.meta.AttributeType;
 import org.molgenis.data.meta.MetaDataService;
 import org.molgenis.data.meta.model.Attribute;
 import org.molgenis.data.meta.model.AttributeFactory;
@@ -25,7 +24,6 @@ import org.molgenis.data.security.PackagePermissionUtils;
 import org.molgenis.data.security.permission.PermissionSystemService;
 import org.molgenis.oneclickimporter.model.Column;
 import org.molgenis.oneclickimporter.model.DataCollection;
-import org.molgenis.oneclickimporter.service.AttributeTypeService;
 import org.molgenis.oneclickimporter.service.EntityService;
 import org.molgenis.oneclickimporter.service.OneClickImporterNamingService;
 import org.molgenis.oneclickimporter.service.OneClickImporterService;
@@ -42,7 +40,6 @@ public class EntityServiceImpl implements EntityService {
   private final DataService dataService;
   private final MetaDataService metaDataService;
   private final EntityManager entityManager;
-  private final AttributeTypeService attributeTypeService;
   private final OneClickImporterService oneClickImporterService;
   private final OneClickImporterNamingService oneClickImporterNamingService;
   private final PackageFactory packageFactory;
@@ -56,7 +53,6 @@ public class EntityServiceImpl implements EntityService {
       DataService dataService,
       MetaDataService metaDataService,
       EntityManager entityManager,
-      AttributeTypeService attributeTypeService,
       OneClickImporterService oneClickImporterService,
       OneClickImporterNamingService oneClickImporterNamingService,
       PackageFactory packageFactory,
@@ -68,7 +64,6 @@ public class EntityServiceImpl implements EntityService {
     this.dataService = requireNonNull(dataService);
     this.metaDataService = requireNonNull(metaDataService);
     this.entityManager = requireNonNull(entityManager);
-    this.attributeTypeService = requireNonNull(attributeTypeService);
     this.oneClickImporterService = requireNonNull(oneClickImporterService);
     this.oneClickImporterNamingService = requireNonNull(oneClickImporterNamingService);
     this.packageFactory = requireNonNull(packageFactory);
@@ -105,10 +100,9 @@ public class EntityServiceImpl implements EntityService {
     // Check if first column can be used as id ( has unique values )
     List<Column> columns = dataCollection.getColumns();
     Column firstColumn = columns.get(0);
-    final boolean isFirstColumnUnique = oneClickImporterService.hasUniqueValues(firstColumn);
+    final boolean isFirstColumnUnique = dataCollection.isFirstColumnUnique();
 
-    AttributeType type = attributeTypeService.guessAttributeType(firstColumn.getDataValues());
-    final boolean isValidAttributeType = getValidIdAttributeTypes().contains(type);
+    final boolean isValidAttributeType = getValidIdAttributeTypes().contains(firstColumn.getType());
     final boolean useAutoId = !isFirstColumnUnique || !isValidAttributeType;
 
     Attribute idAttribute = useAutoId ? createIdAttribute() : createAttribute(firstColumn);
@@ -128,24 +122,28 @@ public class EntityServiceImpl implements EntityService {
     // TODO: the user who adds/owns should get WRITE META always.
     permissionSystemService.giveUserWriteMetaPermissions(entityType);
 
-    List<Entity> rows = newArrayList();
-    int numberOfRows = dataCollection.getColumns().get(0).getDataValues().size();
+    // Stream the rows from the source, the data collection does not keep them in memory
+    try (Stream<List<Object>> rows = dataCollection.getRowSupplier().get()) {
+      dataService.add(
+          entityType.getId(),
+          rows.map(values -> createRow(entityType, columns, values, useAutoId)));
+    }
 
-    for (int index = 0; index < numberOfRows; index++) {
-      Entity row = entityManager.create(entityType, NO_POPULATE);
+    return entityType;
+  }
 
-      if (useAutoId) {
-        row.setIdValue(idGenerator.generateId());
-      }
+  private Entity createRow(
+      EntityType entityType, List<Column> columns, List<Object> values, boolean useAutoId) {
+    Entity row = entityManager.create(entityType, NO_POPULATE);
 
-      for (Column column : columns) {
-        setRowValueForAttribute(row, index, column);
-      }
-      rows.add(row);
+    if (useAutoId) {
+      row.setIdValue(idGenerator.generateId());
     }
-    dataService.add(entityType.getId(), rows.stream());
 
-    return entityType;
+    for (int index = 0; index < columns.size(); index++) {
+      setRowValueForAttribute(row, columns.get(index), values.get(index));
+    }
+    return row;
   }
 
   private Package createPackage(String packageName) {
@@ -165,9 +163,8 @@ public class EntityServiceImpl implements EntityService {
     return PackagePermissionUtils.isWritablePackage(aPackage, userPermissionEvaluator);
   }
 
-  private void setRowValueForAttribute(Entity row, int index, Column column) {
+  private void setRowValueForAttribute(Entity row, Column column, Object dataValue) {
     String attributeName = oneClickImporterNamingService.asValidColumnName(column.getName());
-    Object dataValue = column.getDataValues().get(index);
 
     EntityType rowType = row.getEntityType();
     Attribute attribute = rowType.getAttribute(attributeName);
@@ -189,7 +186,7 @@ public class EntityServiceImpl implements EntityService {
     Attribute attribute = attributeFactory.create();
     attribute.setName(oneClickImporterNamingService.asValidColumnName(column.getName()));
     attribute.setLabel(column.getName());
-    attribute.setDataType(attributeTypeService.guessAttributeType(column.getDataValues()));
+    attribute.setDataType(column.getType());
     return attribute;
   }
 }
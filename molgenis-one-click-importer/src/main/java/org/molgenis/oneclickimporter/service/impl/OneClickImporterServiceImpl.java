@@ -2,22 +2,27 @@ package org.molgenis.oneclickimporter.service.impl;
 
 import static com.google.common.base.Strings.isNullOrEmpty;
 import static com.google.common.collect.Lists.newArrayList;
-import static com.google.common.collect.Lists.newLinkedList;
 import static java.lang.Boolean.parseBoolean;
 import static java.time.ZoneOffset.UTC;
+import static java.util.Objects.requireNonNull;
+import static java.util.stream.Collectors.toList;
 import static org.apache.commons.lang3.math.NumberUtils.isNumber;
 import static org.apache.poi.ss.usermodel.DateUtil.isCellDateFormatted;
 import static org.apache.poi.util.LocaleUtil.resetUserTimeZone;
 import static org.apache.poi.util.LocaleUtil.setUserTimeZone;
 
+import com.google.common.collect.Streams;
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.Date;
-import java.util.HashSet;
+import java.util.Iterator;
 import java.util.List;
-import java.util.Objects;
-import java.util.Set;
-import java.util.stream.Collectors;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
 import org.apache.commons.lang3.math.NumberUtils;
 import org.apache.poi.ss.usermodel.Cell;
 import org.apache.poi.ss.usermodel.CellType;
@@ -29,56 +34,101 @@ import org.molgenis.data.meta.AttributeType;
 import org.molgenis.data.util.MolgenisDateFormat;
 import org.molgenis.oneclickimporter.model.Column;
 import org.molgenis.oneclickimporter.model.DataCollection;
+import org.molgenis.oneclickimporter.service.CsvService;
 import org.molgenis.oneclickimporter.service.OneClickImporterService;
 import org.springframework.stereotype.Component;
 
 @Component
 public class OneClickImporterServiceImpl implements OneClickImporterService {
+  private final CsvService csvService;
+
+  public OneClickImporterServiceImpl(CsvService csvService) {
+    this.csvService = requireNonNull(csvService);
+  }
+
   @Override
   public List<DataCollection> buildDataCollectionsFromExcel(List<Sheet> sheets) {
     List<DataCollection> dataCollections = newArrayList();
-    sheets.forEach(
-        sheet -> {
-          List<Column> columns = newArrayList();
-          Row headerRow = sheet.getRow(0);
-          headerRow
-              .cellIterator()
-              .forEachRemaining(cell -> columns.add(createColumnFromCell(sheet, cell)));
-          dataCollections.add(DataCollection.create(sheet.getSheetName(), columns));
-        });
+    sheets.forEach(sheet -> dataCollections.add(buildDataCollectionFromSheet(sheet)));
     return dataCollections;
   }
 
+  private DataCollection buildDataCollectionFromSheet(Sheet sheet) {
+    List<ColumnProfile> columnProfiles = newArrayList();
+    Row headerRow = sheet.getRow(0);
+    headerRow
+        .cellIterator()
+        .forEachRemaining(
+            cell -> {
+              boolean isFirstColumn = columnProfiles.isEmpty();
+              columnProfiles.add(createColumnProfileFromCell(cell, isFirstColumn));
+            });
+
+    List<Integer> columnIndices =
+        columnProfiles.stream().map(ColumnProfile::getPosition).collect(toList());
+    Supplier<Stream<List<Object>>> rowSupplier = () -> streamSheetRows(sheet, columnIndices);
+    try (Stream<List<Object>> rows = rowSupplier.get()) {
+      rows.forEach(row -> profileRow(columnProfiles, row));
+    }
+    return createDataCollection(sheet.getSheetName(), columnProfiles, rowSupplier);
+  }
+
+  private Stream<List<Object>> streamSheetRows(Sheet sheet, List<Integer> columnIndices) {
+    return Streams.stream(sheet.rowIterator())
+        .skip(1) // Skip the header row
+        .map(
+            row ->
+                columnIndices.stream()
+                    .map(columnIndex -> getCellValue(row.getCell(columnIndex)))
+                    .collect(toList()));
+  }
+
   @Override
-  public DataCollection buildDataCollectionFromCsv(
-      String dataCollectionName, List<String[]> lines) {
-    List<Column> columns = newArrayList();
+  public DataCollection buildDataCollectionFromCsv(String dataCollectionName, File file)
+      throws IOException {
+    List<ColumnProfile> columnProfiles = newArrayList();
+    try (Stream<String[]> lines = csvService.streamLines(file)) {
+      Iterator<String[]> iterator = lines.iterator();
 
-    String[] headers = lines.get(0);
-    lines.remove(0); // Remove the header
+      String[] headers = iterator.next();
+      for (int columnIndex = 0; columnIndex < headers.length; columnIndex++) {
+        columnProfiles.add(new ColumnProfile(headers[columnIndex], columnIndex, columnIndex == 0));
+      }
 
-    int columnIndex = 0;
-    for (String header : headers) {
-      columns.add(createColumnFromLine(header, columnIndex, lines));
-      columnIndex++;
+      iterator.forEachRemaining(line -> profileRow(columnProfiles, toRow(line)));
     }
+    return createDataCollection(dataCollectionName, columnProfiles, () -> streamCsvRows(file));
+  }
 
-    return DataCollection.create(dataCollectionName, columns);
+  private Stream<List<Object>> streamCsvRows(File file) {
+    Stream<String[]> lines;
+    try {
+      lines = csvService.streamLines(file);
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+    return lines.skip(1).map(this::toRow); // Skip the header
   }
 
-  @Override
-  public boolean hasUniqueValues(Column column) {
-    List<Object> dataValues = column.getDataValues();
+  private List<Object> toRow(String[] line) {
+    List<Object> row = new ArrayList<>(line.length);
+    for (String part : line) {
+      row.add(getPartValue(part));
+    }
+    return row;
+  }
 
-    // check for null values
-    if (dataValues.parallelStream().anyMatch(Objects::isNull)) {
-      return false;
+  private static void profileRow(List<ColumnProfile> columnProfiles, List<Object> row) {
+    for (int i = 0; i < columnProfiles.size(); i++) {
+      columnProfiles.get(i).accept(row.get(i));
     }
+  }
 
-    List<String> dataAsStrings =
-        dataValues.parallelStream().map(Object::toString).collect(Collectors.toList());
-    Set valueSet = new HashSet<>(dataAsStrings);
-    return valueSet.size() == dataValues.size();
+  private static DataCollection createDataCollection(
+      String name, List<ColumnProfile> columnProfiles, Supplier<Stream<List<Object>>> rowSupplier) {
+    List<Column> columns = columnProfiles.stream().map(ColumnProfile::toColumn).collect(toList());
+    boolean firstColumnUnique = !columnProfiles.isEmpty() && columnProfiles.get(0).isUnique();
+    return DataCollection.create(name, columns, firstColumnUnique, rowSupplier);
   }
 
   @Override
@@ -130,20 +180,6 @@ public class OneClickImporterServiceImpl implements OneClickImporterService {
     return castedValue;
   }
 
-  private Column createColumnFromLine(String header, int columnIndex, List<String[]> lines) {
-    return Column.create(header, columnIndex, getColumnDataFromLines(lines, columnIndex));
-  }
-
-  private List<Object> getColumnDataFromLines(List<String[]> lines, int columnIndex) {
-    List<Object> dataValues = newLinkedList();
-    lines.forEach(
-        line -> {
-          String[] tokens = line;
-          dataValues.add(getPartValue(tokens[columnIndex]));
-        });
-    return dataValues;
-  }
-
   private Object getPartValue(String part) {
     if (isNullOrEmpty(part)) {
       return null;
@@ -164,16 +200,14 @@ public class OneClickImporterServiceImpl implements OneClickImporterService {
    * Specific columntypes are permitted in the import. The supported columntypes are specified in
    * the method.
    *
-   * @param sheet worksheet
-   * @param cell cell on worksheet
-   * @return Column
+   * @param cell header cell
+   * @param determineUniqueness whether to determine if the column values are unique
+   * @return ColumnProfile
    */
-  private Column createColumnFromCell(Sheet sheet, Cell cell) {
+  private ColumnProfile createColumnProfileFromCell(Cell cell, boolean determineUniqueness) {
     if (cell.getCellTypeEnum() == CellType.STRING) {
-      return Column.create(
-          cell.getStringCellValue(),
-          cell.getColumnIndex(),
-          getColumnDataFromSheet(sheet, cell.getColumnIndex()));
+      return new ColumnProfile(
+          cell.getStringCellValue(), cell.getColumnIndex(), determineUniqueness);
     } else {
       throw new MolgenisDataException(
           String.format(
@@ -181,15 +215,6 @@ public class OneClickImporterServiceImpl implements OneClickImporterService {
     }
   }
 
-  private List<Object> getColumnDataFromSheet(Sheet sheet, int columnIndex) {
-    List<Object> dataValues = newLinkedList();
-    sheet
-        .rowIterator()
-        .forEachRemaining(row -> dataValues.add(getCellValue(row.getCell(columnIndex))));
-    dataValues.remove(0); // Remove the header value
-    return dataValues;
-  }
-
   /** Retrieves the proper Java type instance based on the Excel CellTypeEnum */
   private Object getCellValue(Cell cell) {
     Object value;
@@ -1,9 +1,13 @@
 package org.molgenis.oneclickimporter.service;
 
+import static java.util.Arrays.asList;
+import static java.util.stream.Collectors.toList;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.mockito.ArgumentMatchers.anyBoolean;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.any;
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.doReturn;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.verify;
@@ -13,10 +17,11 @@ import static org.molgenis.data.EntityManager.CreationMode.NO_POPULATE;
 import static org.molgenis.data.meta.AttributeType.STRING;
 import static org.molgenis.data.security.PackagePermission.ADD_PACKAGE;
 
-import java.util.Arrays;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mock;
@@ -51,8 +56,6 @@ class EntityServiceImplTest {
 
   @Mock private EntityManager entityManager;
 
-  @Mock private AttributeTypeService attributeTypeService;
-
   @Mock private OneClickImporterService oneClickImporterService;
 
   @Mock private OneClickImporterNamingService oneClickImporterNamingService;
@@ -73,12 +76,15 @@ class EntityServiceImplTest {
   @Test
   void testCreateEntity() {
     String tableName = "super-powers";
-    List<Object> userNames = Arrays.asList("Mark", "Mariska", "Bart");
-    List<Object> superPowers = Arrays.asList("Arrow functions", "Cookies", "Knots");
     List<Column> columns =
-        Arrays.asList(
-            Column.create("user name", 0, userNames), Column.create("super power", 1, superPowers));
-    DataCollection dataCollection = DataCollection.create(tableName, columns);
+        asList(Column.create("user name", 0, STRING), Column.create("super power", 1, STRING));
+    List<List<Object>> rows =
+        asList(
+            asList("Mark", "Arrow functions"),
+            asList("Mariska", "Cookies"),
+            asList("Bart", "Knots"));
+    DataCollection dataCollection =
+        DataCollection.create(tableName, columns, false, rows::stream);
 
     // mock auto id
     String generatedId = "id_0";
@@ -130,7 +136,16 @@ class EntityServiceImplTest {
     when(oneClickImporterNamingService.getLabelWithPostFix("super-powers"))
         .thenReturn("super-powers");
 
-    when(attributeTypeService.guessAttributeType(any())).thenReturn(STRING);
+    when(oneClickImporterService.castValueAsAttributeType(any(), eq(STRING)))
+        .thenAnswer(invocation -> invocation.getArgument(0));
+    List<Entity> addedRows = new ArrayList<>();
+    doAnswer(
+            invocation -> {
+              Stream<Entity> entities = invocation.getArgument(1);
+              return addedRows.addAll(entities.collect(toList()));
+            })
+        .when(dataService)
+        .add(eq(generatedId), any(Stream.class));
 
     doReturn(true)
         .when(userPermissionEvaluator)
@@ -146,7 +161,6 @@ class EntityServiceImplTest {
             dataService,
             metaDataService,
             entityManager,
-            attributeTypeService,
             oneClickImporterService,
             oneClickImporterNamingService,
             packageFactory,
@@ -160,5 +174,8 @@ class EntityServiceImplTest {
     verify(table).setId(generatedId);
     verify(table).setLabel(tableName);
     verify(permissionSystemService).giveUserWriteMetaPermissions(table);
+    assertEquals(asList(row1, row2, row3), addedRows);
+    verify(row1).set("user_name", "Mark");
+    verify(row3).set("super_power", "Knots");
   }
 }
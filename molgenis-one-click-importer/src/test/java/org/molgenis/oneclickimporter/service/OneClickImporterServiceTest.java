@@ -1,31 +1,40 @@
 package org.molgenis.oneclickimporter.service;
 
-import static com.google.common.collect.Lists.newArrayList;
+import static java.util.Arrays.asList;
+import static java.util.stream.Collectors.toList;
+import static org.junit.jupiter.api.Assertions.assertAll;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
-import static org.mockito.MockitoAnnotations.initMocks;
+import static org.molgenis.data.meta.AttributeType.BOOL;
 import static org.molgenis.data.meta.AttributeType.DATE;
 import static org.molgenis.data.meta.AttributeType.DECIMAL;
 import static org.molgenis.data.meta.AttributeType.INT;
 import static org.molgenis.data.meta.AttributeType.LONG;
 import static org.molgenis.data.meta.AttributeType.STRING;
-import static org.molgenis.oneclickimporter.service.utils.OneClickImporterTestUtils.loadLinesFromFile;
+import static org.molgenis.oneclickimporter.service.utils.OneClickImporterTestUtils.loadFile;
 import static org.molgenis.oneclickimporter.service.utils.OneClickImporterTestUtils.loadSheetFromFile;
 
+import java.io.File;
 import java.io.IOException;
 import java.net.URISyntaxException;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.time.LocalDate;
-import java.util.Arrays;
 import java.util.List;
+import java.util.stream.Stream;
 import org.apache.poi.openxml4j.exceptions.InvalidFormatException;
 import org.apache.poi.ss.usermodel.Sheet;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.molgenis.data.MolgenisDataException;
 import org.molgenis.data.meta.AttributeType;
 import org.molgenis.oneclickimporter.exceptions.EmptySheetException;
 import org.molgenis.oneclickimporter.model.Column;
 import org.molgenis.oneclickimporter.model.DataCollection;
+import org.molgenis.oneclickimporter.service.impl.CsvServiceImpl;
 import org.molgenis.oneclickimporter.service.impl.OneClickImporterServiceImpl;
 
 class OneClickImporterServiceTest {
@@ -33,8 +42,7 @@ class OneClickImporterServiceTest {
 
   @BeforeEach
   void beforeClass() {
-    initMocks(this);
-    oneClickImporterService = new OneClickImporterServiceImpl();
+    oneClickImporterService = new OneClickImporterServiceImpl(new CsvServiceImpl());
   }
 
   @Test
@@ -43,16 +51,16 @@ class OneClickImporterServiceTest {
     List<Sheet> sheets = loadSheetFromFile(OneClickImporterServiceTest.class, "/simple-valid.xlsx");
     DataCollection actual = oneClickImporterService.buildDataCollectionsFromExcel(sheets).get(0);
 
-    Column c1 = Column.create("name", 0, newArrayList("Mark", "Connor", "Fleur", "Dennis"));
-    Column c2 =
-        Column.create(
-            "superpower",
-            1,
-            newArrayList("arrow functions", "Oldschool syntax", "Lambda Magician", "Root access"));
-
-    DataCollection expected = DataCollection.create("Sheet1", newArrayList(c1, c2));
-
-    assertEquals(expected, actual);
+    assertDataCollectionEquals(
+        "Sheet1",
+        asList(Column.create("name", 0, STRING), Column.create("superpower", 1, STRING)),
+        true,
+        asList(
+            asList("Mark", "arrow functions"),
+            asList("Connor", "Oldschool syntax"),
+            asList("Fleur", "Lambda Magician"),
+            asList("Dennis", "Root access")),
+        actual);
   }
 
   @Test
@@ -62,12 +70,12 @@ class OneClickImporterServiceTest {
         loadSheetFromFile(OneClickImporterServiceTest.class, "/valid-with-formula.xlsx");
     DataCollection actual = oneClickImporterService.buildDataCollectionsFromExcel(sheets).get(0);
 
-    Column c1 = Column.create("name", 0, newArrayList("Mark", "Mariska"));
-    Column c2 = Column.create("age", 1, newArrayList(26.0, 22.0));
-
-    DataCollection expected = DataCollection.create("Sheet1", newArrayList(c1, c2));
-
-    assertEquals(expected, actual);
+    assertDataCollectionEquals(
+        "Sheet1",
+        asList(Column.create("name", 0, STRING), Column.create("age", 1, INT)),
+        true,
+        asList(asList("Mark", 26.0), asList("Mariska", 22.0)),
+        actual);
   }
 
   @Test
@@ -77,19 +85,18 @@ class OneClickImporterServiceTest {
         loadSheetFromFile(OneClickImporterServiceTest.class, "/valid-with-blank-values.xlsx");
     DataCollection actual = oneClickImporterService.buildDataCollectionsFromExcel(sheets).get(0);
 
-    Column c1 =
-        Column.create("name", 0, newArrayList("Mark", "Bart", "Tommy", "Sido", "Connor", null));
-    Column c2 =
-        Column.create(
-            "favorite food",
-            1,
-            newArrayList("Fries", null, "Vegan food", "Pizza", null, "Spinache"));
-
-    DataCollection expected = DataCollection.create("Sheet1", newArrayList(c1, c2));
-    assertEquals(expected, actual);
-
-    assertEquals(6, c1.getDataValues().size());
-    assertEquals(6, c2.getDataValues().size());
+    assertDataCollectionEquals(
+        "Sheet1",
+        asList(Column.create("name", 0, STRING), Column.create("favorite food", 1, STRING)),
+        false,
+        asList(
+            asList("Mark", "Fries"),
+            asList("Bart", null),
+            asList("Tommy", "Vegan food"),
+            asList("Sido", "Pizza"),
+            asList("Connor", null),
+            asList(null, "Spinache")),
+        actual);
   }
 
   @Test
@@ -99,54 +106,27 @@ class OneClickImporterServiceTest {
         loadSheetFromFile(OneClickImporterServiceTest.class, "/complex-valid.xlsx");
     DataCollection actual = oneClickImporterService.buildDataCollectionsFromExcel(sheets).get(0);
 
-    Column c1 =
-        Column.create(
-            "first name",
-            0,
-            newArrayList(
-                "Mark", "Fleur", "Dennis", "Bart", "Sido", "Mariska", "Tommy", "Connor", "Piet",
-                "Jan"));
-    Column c2 =
-        Column.create(
-            "last name",
-            1,
-            newArrayList(
-                "de Haan",
-                "Kelpin",
-                "Hendriksen",
-                "Charbon",
-                "Haakma",
-                "Slofstra",
-                "de Boer",
-                "Stroomberg",
-                "Klaassen",
-                null));
-    Column c3 =
-        Column.create(
-            "full name",
-            2,
-            newArrayList(
-                "Mark de Haan",
-                "Fleur Kelpin",
-                "Dennis Hendriksen",
-                "Bart Charbon",
-                "Sido Haakma",
-                "Mariska Slofstra",
-                "Tommy de Boer",
-                "Connor Stroomberg",
-                "Piet Klaassen",
-                null));
-    Column c4 =
-        Column.create(
-            "UMCG employee",
-            3,
-            newArrayList(true, true, true, true, true, true, true, true, false, false));
-    Column c5 =
-        Column.create(
-            "Age", 4, newArrayList(26.0, null, null, null, null, 22.0, 27.0, null, 53.0, 32.0));
-
-    DataCollection expected = DataCollection.create("Sheet1", newArrayList(c1, c2, c3, c4, c5));
-    assertEquals(expected, actual);
+    assertDataCollectionEquals(
+        "Sheet1",
+        asList(
+            Column.create("first name", 0, STRING),
+            Column.create("last name", 1, STRING),
+            Column.create("full name", 2, STRING),
+            Column.create("UMCG employee", 3, BOOL),
+            Column.create("Age", 4, INT)),
+        true,
+        asList(
+            asList("Mark", "de Haan", "Mark de Haan", true, 26.0),
+            asList("Fleur", "Kelpin", "Fleur Kelpin", true, null),
+            asList("Dennis", "Hendriksen", "Dennis Hendriksen", true, null),
+            asList("Bart", "Charbon", "Bart Charbon", true, null),
+            asList("Sido", "Haakma", "Sido Haakma", true, null),
+            asList("Mariska", "Slofstra", "Mariska Slofstra", true, 22.0),
+            asList("Tommy", "de Boer", "Tommy de Boer", true, 27.0),
+            asList("Connor", "Stroomberg", "Connor Stroomberg", true, null),
+            asList("Piet", "Klaassen", "Piet Klaassen", false, 53.0),
+            asList("Jan", null, null, false, 32.0)),
+        actual);
   }
 
   @Test
@@ -156,132 +136,89 @@ class OneClickImporterServiceTest {
         loadSheetFromFile(OneClickImporterServiceTest.class, "/valid-with-dates.xlsx");
     DataCollection actual = oneClickImporterService.buildDataCollectionsFromExcel(sheets).get(0);
 
-    Column c1 =
-        Column.create(
-            "dates",
-            0,
-            newArrayList(
-                "2018-01-03T00:00",
-                "2018-01-04T00:00",
-                "2018-01-05T00:00",
-                "2018-01-06T00:00",
-                "2018-01-07T00:00"));
-
-    Column c2 =
-        Column.create(
-            "event",
-            1,
-            newArrayList("being cool day", "bike day", "sleep day", "bye bye day", "work day"));
-
-    DataCollection expected = DataCollection.create("Sheet1", newArrayList(c1, c2));
-    assertEquals(expected, actual);
+    assertDataCollectionEquals(
+        "Sheet1",
+        asList(Column.create("dates", 0, DATE), Column.create("event", 1, STRING)),
+        true,
+        asList(
+            asList("2018-01-03T00:00", "being cool day"),
+            asList("2018-01-04T00:00", "bike day"),
+            asList("2018-01-05T00:00", "sleep day"),
+            asList("2018-01-06T00:00", "bye bye day"),
+            asList("2018-01-07T00:00", "work day")),
+        actual);
   }
 
   @Test
   void testBuildDataCollectionWithSimpleValidCsvFile() throws IOException, URISyntaxException {
-
-    oneClickImporterService = new OneClickImporterServiceImpl();
-
-    List<String[]> lines =
-        loadLinesFromFile(OneClickImporterServiceTest.class, "/simple-valid.csv");
+    File file = loadFile(OneClickImporterServiceTest.class, "/simple-valid.csv");
     DataCollection actual =
-        oneClickImporterService.buildDataCollectionFromCsv("simple-valid", lines);
-
-    Column c1 = Column.create("name", 0, newArrayList("Mark", "Connor", "Fleur", "Dennis"));
-    Column c2 =
-        Column.create(
-            "superpower",
-            1,
-            newArrayList("arrow functions", "Oldschool syntax", "Lambda Magician", "Root access"));
-
-    DataCollection expected = DataCollection.create("simple-valid", newArrayList(c1, c2));
-    assertEquals(expected, actual);
+        oneClickImporterService.buildDataCollectionFromCsv("simple-valid", file);
+
+    assertDataCollectionEquals(
+        "simple-valid",
+        asList(Column.create("name", 0, STRING), Column.create("superpower", 1, STRING)),
+        true,
+        asList(
+            asList("Mark", "arrow functions"),
+            asList("Connor", "Oldschool syntax"),
+            asList("Fleur", "Lambda Magician"),
+            asList("Dennis", "Root access")),
+        actual);
   }
 
   @Test
   void testBuildDataCollectionWithComplexValidCsvFile() throws IOException, URISyntaxException {
-    oneClickImporterService = new OneClickImporterServiceImpl();
+    File file = loadFile(OneClickImporterServiceTest.class, "/complex-valid.csv");
+    DataCollection actual =
+        oneClickImporterService.buildDataCollectionFromCsv("complex-valid", file);
+
+    assertDataCollectionEquals(
+        "complex-valid",
+        asList(
+            Column.create("first name", 0, STRING),
+            Column.create("last name", 1, STRING),
+            Column.create("full name", 2, STRING),
+            Column.create("UMCG employee", 3, BOOL),
+            Column.create("Age", 4, DECIMAL)),
+        true,
+        asList(
+            asList("Mark", "de Haan", "Mark de Haan", true, 26.4f),
+            asList("Fleur", "Kelpin", "Fleur Kelpin", true, null),
+            asList("Dennis", "Hendriksen", "Dennis Hendriksen", true, null),
+            asList("Bart", "Charbon", "Bart Charbon", true, null),
+            asList("Sido", "Haakma", "Sido Haakma", true, null),
+            asList("Mariska", "Slofstra", "Mariska Slofstra", true, 22),
+            asList("Tommy", "de Boer", "Tommy de Boer", true, 27),
+            asList("Connor", "Stroomberg", "Connor Stroomberg", true, null),
+            asList("Piet", "Klaassen", "Piet Klaassen", false, 53),
+            asList("Jan", null, null, false, 0.123f)),
+        actual);
+  }
+
+  @Test
+  void testBuildDataCollectionFromCsvFirstColumnNotUnique(@TempDir Path tempDir)
+      throws IOException {
+    Path path = tempDir.resolve("not-unique.csv");
+    Files.write(path, asList("id,name", "1,Mark", "2,Connor", "1,Fleur"));
 
-    List<String[]> lines =
-        loadLinesFromFile(OneClickImporterServiceTest.class, "/complex-valid.csv");
     DataCollection actual =
-        oneClickImporterService.buildDataCollectionFromCsv("complex-valid", lines);
-
-    Column c1 =
-        Column.create(
-            "first name",
-            0,
-            newArrayList(
-                "Mark", "Fleur", "Dennis", "Bart", "Sido", "Mariska", "Tommy", "Connor", "Piet",
-                "Jan"));
-    Column c2 =
-        Column.create(
-            "last name",
-            1,
-            newArrayList(
-                "de Haan",
-                "Kelpin",
-                "Hendriksen",
-                "Charbon",
-                "Haakma",
-                "Slofstra",
-                "de Boer",
-                "Stroomberg",
-                "Klaassen",
-                null));
-    Column c3 =
-        Column.create(
-            "full name",
-            2,
-            newArrayList(
-                "Mark de Haan",
-                "Fleur Kelpin",
-                "Dennis Hendriksen",
-                "Bart Charbon",
-                "Sido Haakma",
-                "Mariska Slofstra",
-                "Tommy de Boer",
-                "Connor Stroomberg",
-                "Piet Klaassen",
-                null));
-    Column c4 =
-        Column.create(
-            "UMCG employee",
-            3,
-            newArrayList(true, true, true, true, true, true, true, true, false, false));
-    Column c5 =
-        Column.create(
-            "Age", 4, newArrayList(26.4f, null, null, null, null, 22, 27, null, 53, 0.123f));
-
-    DataCollection expected =
-        DataCollection.create("complex-valid", newArrayList(c1, c2, c3, c4, c5));
-    assertEquals(expected, actual);
+        oneClickImporterService.buildDataCollectionFromCsv("not-unique", path.toFile());
+    assertAll(
+        () -> assertEquals(Column.create("id", 0, INT), actual.getColumns().get(0)),
+        () -> assertFalse(actual.isFirstColumnUnique()));
   }
 
   @Test
-  void testIsFirstColumnUnique() {
-    Column column = Column.create("col", 0, Arrays.asList(1, 2, 3));
-    assertTrue(
-        oneClickImporterService.hasUniqueValues(column), "should return true for unique int list");
-
-    column = Column.create("col", 0, Arrays.asList("a", "b", "c"));
-    assertTrue(
-        oneClickImporterService.hasUniqueValues(column),
-        "should return true for unique string list");
-
-    column = Column.create("col", 0, Arrays.asList(1, 2, 1));
-    assertFalse(
-        oneClickImporterService.hasUniqueValues(column),
-        "should return false for non-unique int list");
-
-    column = Column.create("col", 0, Arrays.asList(1, null, 2));
-    assertFalse(
-        oneClickImporterService.hasUniqueValues(column),
-        "should return false a list containing null's ");
-
-    column = Column.create("col", 0, Arrays.asList(1, "1"));
-    assertFalse(
-        oneClickImporterService.hasUniqueValues(column), "should return false if types differ ");
+  void testBuildDataCollectionFromCsvInconsistentColumnCount(@TempDir Path tempDir)
+      throws IOException {
+    Path path = tempDir.resolve("inconsistent.csv");
+    Files.write(path, asList("id,name", "1,Mark", "2"));
+    File file = path.toFile();
+
+    assertThrows(
+        MolgenisDataException.class,
+        () -> oneClickImporterService.buildDataCollectionFromCsv("inconsistent", file));
   }
 
   @Test
@@ -353,4 +290,21 @@ class OneClickImporterServiceTest {
     casted = oneClickImporterService.castValueAsAttributeType(value, type);
     assertTrue(casted instanceof LocalDate);
   }
+
+  private static void assertDataCollectionEquals(
+      String expectedName,
+      List<Column> expectedColumns,
+      boolean expectedFirstColumnUnique,
+      List<List<Object>> expectedRows,
+      DataCollection actual) {
+    List<List<Object>> actualRows;
+    try (Stream<List<Object>> rows = actual.getRowSupplier().get()) {
+      actualRows = rows.collect(toList());
+    }
+    assertAll(
+        () -> assertEquals(expectedName, actual.getName()),
+        () -> assertEquals(expectedColumns, actual.getColumns()),
+        () -> assertEquals(expectedFirstColumnUnique, actual.isFirstColumnUnique()),
+        () -> assertEquals(expectedRows, actualRows));
+  }
 }
@@ -1,6 +1,9 @@
 package org.molgenis.ontology.core.config;
 
 import org.molgenis.data.DataService;
+import org.molgenis.data.transaction.CacheInvalidationBus;
+import org.molgenis.data.transaction.TransactionInformation;
+import org.molgenis.data.transaction.TransactionManager;
 import org.molgenis.ontology.core.ic.OntologyTermFrequencyServiceImpl;
 import org.molgenis.ontology.core.ic.TermFrequencyService;
 import org.molgenis.ontology.core.repository.OntologyRepository;
@@ -14,6 +17,9 @@ import org.springframework.context.annotation.Configuration;
 @Configuration
 public class OntologyConfig {
   @Autowired DataService dataService;
+  @Autowired TransactionManager transactionManager;
+  @Autowired TransactionInformation transactionInformation;
+  @Autowired CacheInvalidationBus cacheInvalidationBus;
 
   @Bean
   public OntologyService ontologyService() {
@@ -27,7 +33,8 @@ public class OntologyConfig {
 
   @Bean
   public OntologyTermRepository ontologyTermRepository() {
-    return new OntologyTermRepository(dataService);
+    return new OntologyTermRepository(
+        dataService, transactionManager, transactionInformation, cacheInvalidationBus);
   }
 
   @Bean
@@ -3,6 +3,10 @@ package org.molgenis.ontology.core.importer;
 import static com.google.common.collect.Streams.stream;
 import static java.util.Objects.requireNonNull;
 import static org.molgenis.ontology.core.meta.OntologyMetadata.ONTOLOGY;
+import static org.molgenis.ontology.core.meta.OntologyTermDynamicAnnotationMetadata.ONTOLOGY_TERM_DYNAMIC_ANNOTATION;
+import static org.molgenis.ontology.core.meta.OntologyTermMetadata.ONTOLOGY_TERM;
+import static org.molgenis.ontology.core.meta.OntologyTermNodePathMetadata.ONTOLOGY_TERM_NODE_PATH;
+import static org.molgenis.ontology.core.meta.OntologyTermSynonymMetadata.ONTOLOGY_TERM_SYNONYM;
 
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.Lists;
@@ -27,6 +31,7 @@ import org.molgenis.data.importer.MetadataAction;
 import org.molgenis.data.meta.MetaDataService;
 import org.molgenis.data.support.QueryImpl;
 import org.molgenis.ontology.core.importer.repository.OntologyFileExtensions;
+import org.molgenis.ontology.core.importer.repository.OntologyRepositoryCollection;
 import org.molgenis.ontology.core.meta.OntologyMetadata;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -37,6 +42,7 @@ import org.springframework.transaction.annotation.Transactional;
 public class OntologyImportService implements ImportService {
 
   private static final Logger LOG = LoggerFactory.getLogger(OntologyImportService.class);
+  private static final int IMPORT_BATCH_SIZE = 1000;
 
   private final DataService dataService;
 
@@ -57,6 +63,11 @@ public class OntologyImportService implements ImportService {
 
     EntityImportReport report = new EntityImportReport();
 
+    if (source instanceof OntologyRepositoryCollection) {
+      importOntology((OntologyRepositoryCollection) source, report);
+      return report;
+    }
+
     for (String entityTypeId : source.getEntityTypeIds()) {
       try (Repository<Entity> sourceRepository = source.getRepository(entityTypeId)) {
         Repository<Entity> targetRepository = dataService.getRepository(entityTypeId);
@@ -70,6 +81,37 @@ public class OntologyImportService implements ImportService {
     return report;
   }
 
+  /**
+   * Adds the ontology terms and the entities that they refer to in batches, so that the entities
+   * of the ontology don't have to be in memory at the same time.
+   */
+  private void importOntology(OntologyRepositoryCollection source, EntityImportReport report) {
+    dataService.add(ONTOLOGY, source.getOntology());
+    report.addEntityCount(ONTOLOGY, 1);
+
+    Repository<Entity> nodePathRepository = dataService.getRepository(ONTOLOGY_TERM_NODE_PATH);
+    Repository<Entity> synonymRepository = dataService.getRepository(ONTOLOGY_TERM_SYNONYM);
+    Repository<Entity> annotationRepository =
+        dataService.getRepository(ONTOLOGY_TERM_DYNAMIC_ANNOTATION);
+    Repository<Entity> ontologyTermRepository = dataService.getRepository(ONTOLOGY_TERM);
+    source.forEachOntologyTermBatch(
+        IMPORT_BATCH_SIZE,
+        batch -> {
+          add(nodePathRepository, batch.getNodePaths(), report);
+          add(synonymRepository, batch.getSynonyms(), report);
+          add(annotationRepository, batch.getDynamicAnnotations(), report);
+          add(ontologyTermRepository, batch.getOntologyTerms(), report);
+        });
+  }
+
+  private static void add(
+      Repository<Entity> repository, List<? extends Entity> entities, EntityImportReport report) {
+    if (!entities.isEmpty()) {
+      Integer count = repository.add(entities.stream().map(Entity.class::cast));
+      report.addEntityCount(repository.getName(), count);
+    }
+  }
+
   @Override
   public EntitiesValidationReport validateImport(RepositoryCollection source) {
     EntitiesValidationReport report = new EntitiesValidationReportImpl();
@@ -15,19 +15,25 @@ import com.google.common.collect.TreeTraverser;
 import java.io.File;
 import java.io.IOException;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
 import org.apache.commons.lang3.StringUtils;
 import org.molgenis.data.Entity;
 import org.molgenis.data.MolgenisDataException;
+import org.molgenis.data.Query;
 import org.molgenis.data.Repository;
+import org.molgenis.data.RepositoryCapability;
 import org.molgenis.data.file.CodedUnzipException;
 import org.molgenis.data.file.support.FileRepositoryCollection;
 import org.molgenis.data.mem.InMemoryRepository;
 import org.molgenis.data.meta.model.EntityType;
 import org.molgenis.data.populate.IdGenerator;
+import org.molgenis.data.support.AbstractRepository;
 import org.molgenis.ontology.core.meta.Ontology;
 import org.molgenis.ontology.core.meta.OntologyFactory;
 import org.molgenis.ontology.core.meta.OntologyTerm;
@@ -53,8 +59,10 @@ import org.springframework.beans.factory.annotation.Autowired;
 /**
  * RepositoryCollection for the import of an owl file.
  *
- * <p>Reads the owl file's contents using an {@link OntologyLoader}. Fills {@link
- * InMemoryRepository}s with their contents.
+ * <p>Reads the owl file's contents using an {@link OntologyLoader}. The ontology terms can be
+ * streamed in batches using {@link #forEachOntologyTermBatch(int, Consumer)}. The repositories of
+ * this collection are filled with the contents of the owl file when they are iterated for the
+ * first time.
  */
 public class OntologyRepositoryCollection extends FileRepositoryCollection {
   private static final String PSEUDO_ROOT_CLASS_NODEPATH = "0[0]";
@@ -77,15 +85,11 @@ public class OntologyRepositoryCollection extends FileRepositoryCollection {
 
   // repositories
   private Repository<Entity> ontologyRepository;
-  private Repository<Entity> nodePathRepository;
-  private Repository<Entity> ontologyTermRepository;
-  private Repository<Entity> annotationRepository;
-  private Repository<Entity> synonymRepository;
   private Map<String, Repository<Entity>> repositories;
+  private Map<String, Repository<Entity>> materializedRepositories;
 
   private OntologyLoader loader;
-  private Multimap<String, OntologyTermNodePath> nodePathsPerOntologyTerm =
-      ArrayListMultimap.create();
+  private Multimap<String, String> nodePathsPerOntologyTerm = ArrayListMultimap.create();
   private Ontology ontologyEntity;
 
   /**
@@ -116,23 +120,18 @@ public class OntologyRepositoryCollection extends FileRepositoryCollection {
   @Override
   public void init() throws IOException {
     ontologyRepository = new InMemoryRepository(ontologyFactory.getEntityType());
-    nodePathRepository = new InMemoryRepository(ontologyTermNodePathFactory.getEntityType());
-    ontologyTermRepository = new InMemoryRepository(ontologyTermFactory.getEntityType());
-    annotationRepository =
-        new InMemoryRepository(ontologyTermDynamicAnnotationFactory.getEntityType());
-    synonymRepository = new InMemoryRepository(ontologyTermSynonymFactory.getEntityType());
     repositories =
         ImmutableMap.of(
             ONTOLOGY_TERM_DYNAMIC_ANNOTATION,
-            annotationRepository,
+            new MaterializingRepository(ontologyTermDynamicAnnotationFactory.getEntityType()),
             ONTOLOGY_TERM_SYNONYM,
-            synonymRepository,
+            new MaterializingRepository(ontologyTermSynonymFactory.getEntityType()),
             ONTOLOGY_TERM_NODE_PATH,
-            nodePathRepository,
+            new MaterializingRepository(ontologyTermNodePathFactory.getEntityType()),
             ONTOLOGY,
             ontologyRepository,
             ONTOLOGY_TERM,
-            ontologyTermRepository);
+            new MaterializingRepository(ontologyTermFactory.getEntityType()));
 
     List<File> uploadedFiles;
     try {
@@ -147,7 +146,33 @@ public class OntologyRepositoryCollection extends FileRepositoryCollection {
     }
     createOntology();
     createNodePaths();
-    createOntologyTerms();
+  }
+
+  /** Returns the ontology entity that the ontology terms refer to */
+  public Ontology getOntology() {
+    return ontologyEntity;
+  }
+
+  /**
+   * Creates the {@link OntologyTermMetadata} {@link Entity}s for all {@link OWLClass}ses in the
+   * {@link #loader} in batches together with the entities that they refer to. Only one batch of
+   * entities is held in memory at a time.
+   *
+   * @param batchSize the maximum number of ontology terms in a batch
+   * @param consumer consumer of the batches
+   */
+  public void forEachOntologyTermBatch(int batchSize, Consumer<OntologyTermBatch> consumer) {
+    OntologyTermBatch batch = new OntologyTermBatch();
+    for (OWLClass ontologyTermClass : loader.getAllclasses()) {
+      createOntologyTerm(ontologyTermClass, batch);
+      if (batch.getOntologyTerms().size() >= batchSize) {
+        consumer.accept(batch);
+        batch = new OntologyTermBatch();
+      }
+    }
+    if (!batch.getOntologyTerms().isEmpty()) {
+      consumer.accept(batch);
+    }
   }
 
   /** Initializes the {@link #ontologyEntity} and adds it to the {@link #ontologyRepository}. */
@@ -160,8 +185,8 @@ public class OntologyRepositoryCollection extends FileRepositoryCollection {
   }
 
   /**
-   * Creates {@link OntologyTermNodePathMetadata} {@link Entity}s for an entire ontology tree and
-   * writes them to the {@link #nodePathsPerOntologyTerm} {@link Multimap}.
+   * Creates the node paths for an entire ontology tree and writes them to the {@link
+   * #nodePathsPerOntologyTerm} {@link Multimap}.
    */
   private void createNodePaths() {
     TreeTraverser<OWLClassContainer> traverser =
@@ -185,42 +210,42 @@ public class OntologyRepositoryCollection extends FileRepositoryCollection {
     for (OWLClassContainer container :
         traverser.preOrderTraversal(
             new OWLClassContainer(pseudoRootClass, PSEUDO_ROOT_CLASS_NODEPATH, true))) {
-      OWLClass ontologyTerm = container.getOwlClass();
-      String ontologyTermNodePath = container.getNodePath();
-      String ontologyTermIRI = ontologyTerm.getIRI().toString();
-      OntologyTermNodePath nodePathEntity = createNodePathEntity(container, ontologyTermNodePath);
-      nodePathsPerOntologyTerm.put(ontologyTermIRI, nodePathEntity);
+      String ontologyTermIRI = container.getOwlClass().getIRI().toString();
+      nodePathsPerOntologyTerm.put(ontologyTermIRI, container.getNodePath());
     }
   }
 
   /**
-   * Creates {@link OntologyTermMetadata} {@link Entity}s for all {@link OWLClass}ses in the {@link
-   * #loader} and adds them to the {@link #ontologyTermRepository}.
-   */
-  private void createOntologyTerms() {
-    loader.getAllclasses().forEach(this::createOntologyTerm);
-  }
-
-  /**
-   * Creates an {@link OntologyTermMetadata} {@link Entity} and adds it in the {@link
-   * #ontologyTermRepository}
+   * Creates an {@link OntologyTermMetadata} {@link Entity} and adds it and the entities that it
+   * refers to to the batch
    *
    * @param ontologyTermClass the OWLClass to create an entity for
-   * @return the created ontology term {@link Entity}
+   * @param batch the batch to add the entities to
    */
-  private Entity createOntologyTerm(OWLClass ontologyTermClass) {
+  private void createOntologyTerm(OWLClass ontologyTermClass, OntologyTermBatch batch) {
     String ontologyTermIRI = ontologyTermClass.getIRI().toString();
     String ontologyTermName = loader.getLabel(ontologyTermClass);
+
+    List<OntologyTermSynonym> synonyms = createSynonyms(ontologyTermClass);
+    List<OntologyTermDynamicAnnotation> annotations = createDynamicAnnotations(ontologyTermClass);
+    List<OntologyTermNodePath> nodePaths =
+        nodePathsPerOntologyTerm.get(ontologyTermIRI).stream()
+            .map(this::createNodePathEntity)
+            .collect(Collectors.toList());
+
     OntologyTerm ontologyTerm = ontologyTermFactory.create();
     ontologyTerm.setId(idGenerator.generateId());
     ontologyTerm.setOntologyTermIri(ontologyTermIRI);
     ontologyTerm.setOntologyTermName(ontologyTermName);
-    ontologyTerm.setOntologyTermSynonyms(createSynonyms(ontologyTermClass));
-    ontologyTerm.setOntologyTermDynamicAnnotations(createDynamicAnnotations(ontologyTermClass));
-    ontologyTerm.setOntologyTermNodePaths(nodePathsPerOntologyTerm.get(ontologyTermIRI));
+    ontologyTerm.setOntologyTermSynonyms(synonyms);
+    ontologyTerm.setOntologyTermDynamicAnnotations(annotations);
+    ontologyTerm.setOntologyTermNodePaths(nodePaths);
     ontologyTerm.setOntology(ontologyEntity);
-    ontologyTermRepository.add(ontologyTerm);
-    return ontologyTerm;
+
+    batch.getSynonyms().addAll(synonyms);
+    batch.getDynamicAnnotations().addAll(annotations);
+    batch.getNodePaths().addAll(nodePaths);
+    batch.getOntologyTerms().add(ontologyTerm);
   }
 
   /**
@@ -236,8 +261,7 @@ public class OntologyRepositoryCollection extends FileRepositoryCollection {
   }
 
   /**
-   * Creates an {@link OntologyTermSynonymMetadata} {@link Entity} and adds it to the {@link
-   * #synonymRepository}.
+   * Creates an {@link OntologyTermSynonymMetadata} {@link Entity}.
    *
    * @param synonym String of the synonym to create an {@link Entity} for
    * @return the created {@link Entity}
@@ -246,7 +270,6 @@ public class OntologyRepositoryCollection extends FileRepositoryCollection {
     OntologyTermSynonym entity = ontologyTermSynonymFactory.create();
     entity.setId(idGenerator.generateId());
     entity.setOntologyTermSynonym(synonym);
-    synonymRepository.add(entity);
     return entity;
   }
 
@@ -276,7 +299,6 @@ public class OntologyRepositoryCollection extends FileRepositoryCollection {
     entity.setName(fragments[0]);
     entity.setValue(fragments[1]);
     entity.setLabel(label);
-    annotationRepository.add(entity);
     return entity;
   }
 
@@ -300,23 +322,55 @@ public class OntologyRepositoryCollection extends FileRepositoryCollection {
   }
 
   /**
-   * Creates a {@link OntologyTermNodePathMetadata} {@link Entity} and stores it in the {@link
-   * #nodePathRepository}.
+   * Creates a {@link OntologyTermNodePathMetadata} {@link Entity}.
    *
-   * @param container {@link OWLClassContainer} for the path to the ontology term
    * @param ontologyTermNodePathText the node path
    * @return the created {@link Entity}
    */
-  private OntologyTermNodePath createNodePathEntity(
-      OWLClassContainer container, String ontologyTermNodePathText) {
+  private OntologyTermNodePath createNodePathEntity(String ontologyTermNodePathText) {
     OntologyTermNodePath ontologyTermNodePath = ontologyTermNodePathFactory.create();
     ontologyTermNodePath.setId(idGenerator.generateId());
     ontologyTermNodePath.setNodePath(ontologyTermNodePathText);
-    ontologyTermNodePath.setRoot(container.isRoot());
-    nodePathRepository.add(ontologyTermNodePath);
+    ontologyTermNodePath.setRoot(PSEUDO_ROOT_CLASS_NODEPATH.equals(ontologyTermNodePathText));
     return ontologyTermNodePath;
   }
 
+  /**
+   * Fills {@link InMemoryRepository}s with all entities of the ontology the first time that one of
+   * the repositories is iterated.
+   */
+  private synchronized Repository<Entity> getMaterializedRepository(String entityTypeId) {
+    if (materializedRepositories == null) {
+      Repository<Entity> nodePathRepository =
+          new InMemoryRepository(ontologyTermNodePathFactory.getEntityType());
+      Repository<Entity> ontologyTermRepository =
+          new InMemoryRepository(ontologyTermFactory.getEntityType());
+      Repository<Entity> annotationRepository =
+          new InMemoryRepository(ontologyTermDynamicAnnotationFactory.getEntityType());
+      Repository<Entity> synonymRepository =
+          new InMemoryRepository(ontologyTermSynonymFactory.getEntityType());
+      forEachOntologyTermBatch(
+          Integer.MAX_VALUE,
+          batch -> {
+            batch.getNodePaths().forEach(nodePathRepository::add);
+            batch.getSynonyms().forEach(synonymRepository::add);
+            batch.getDynamicAnnotations().forEach(annotationRepository::add);
+            batch.getOntologyTerms().forEach(ontologyTermRepository::add);
+          });
+      materializedRepositories =
+          ImmutableMap.of(
+              ONTOLOGY_TERM_DYNAMIC_ANNOTATION,
+              annotationRepository,
+              ONTOLOGY_TERM_SYNONYM,
+              synonymRepository,
+              ONTOLOGY_TERM_NODE_PATH,
+              nodePathRepository,
+              ONTOLOGY_TERM,
+              ontologyTermRepository);
+    }
+    return materializedRepositories.get(entityTypeId);
+  }
+
   @Override
   public Iterable<String> getEntityTypeIds() {
     return repositories.keySet();
@@ -353,4 +407,36 @@ public class OntologyRepositoryCollection extends FileRepositoryCollection {
   public boolean hasRepository(EntityType entityType) {
     return hasRepository(entityType.getId());
   }
+
+  /**
+   * Repository that only creates its entities when it is iterated, so that the entity types of
+   * this collection can be inspected without loading the ontology terms in memory.
+   */
+  private class MaterializingRepository extends AbstractRepository {
+    private final EntityType entityType;
+
+    MaterializingRepository(EntityType entityType) {
+      this.entityType = requireNonNull(entityType);
+    }
+
+    @Override
+    public EntityType getEntityType() {
+      return entityType;
+    }
+
+    @Override
+    public Set<RepositoryCapability> getCapabilities() {
+      return Collections.emptySet();
+    }
+
+    @Override
+    public Iterator<Entity> iterator() {
+      return getMaterializedRepository(entityType.getId()).iterator();
+    }
+
+    @Override
+    public long count(Query<Entity> q) {
+      return getMaterializedRepository(entityType.getId()).count(q);
+    }
+  }
 }
@@ -0,0 +1,37 @@
+package org.molgenis.ontology.core.importer.repository;
+
+import java.util.ArrayList;
+import java.util.List;
+import org.molgenis.ontology.core.meta.OntologyTerm;
+import org.molgenis.ontology.core.meta.OntologyTermDynamicAnnotation;
+import org.molgenis.ontology.core.meta.OntologyTermNodePath;
+import org.molgenis.ontology.core.meta.OntologyTermSynonym;
+
+/**
+ * Batch of ontology terms and the synonyms, dynamic annotations and node paths that they refer to.
+ * The referred entities are not referred to by ontology terms in other batches.
+ */
+public class OntologyTermBatch {
+  private final List<OntologyTermNodePath> nodePaths = new ArrayList<>();
+  private final List<OntologyTermSynonym> synonyms = new ArrayList<>();
+  private final List<OntologyTermDynamicAnnotation> dynamicAnnotations = new ArrayList<>();
+  private final List<OntologyTerm> ontologyTerms = new ArrayList<>();
+
+  OntologyTermBatch() {}
+
+  public List<OntologyTermNodePath> getNodePaths() {
+    return nodePaths;
+  }
+
+  public List<OntologyTermSynonym> getSynonyms() {
+    return synonyms;
+  }
+
+  public List<OntologyTermDynamicAnnotation> getDynamicAnnotations() {
+    return dynamicAnnotations;
+  }
+
+  public List<OntologyTerm> getOntologyTerms() {
+    return ontologyTerms;
+  }
+}
@@ -0,0 +1,274 @@
+package org.molgenis.ontology.core.repository;
+
+import static java.util.Objects.requireNonNull;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import javax.annotation.CheckForNull;
+import javax.annotation.Nullable;
+
+/**
+ * Immutable hierarchy index of the ontology terms of one ontology. The node paths, e.g.
+ * 0[0].1[1].2[2], are materialized paths: the node paths of the descendants of a node path are a
+ * contiguous range in the sorted node paths and the ancestors of a node path are its prefixes. This
+ * allows descendants, ancestors, lowest common ancestors and distances to be determined without
+ * querying or scanning the ontology terms.
+ */
+class OntologyTermHierarchy {
+  private static final char NODE_PATH_SEPARATOR = '.';
+  // first character after the separator, upper bound of a range of descendant node paths
+  private static final char NODE_PATH_SEPARATOR_UPPER_BOUND = NODE_PATH_SEPARATOR + 1;
+
+  private final String[] termIds;
+  private final Map<String, Integer> termIndexByIri;
+  private final String[] nodePaths;
+  private final int[] nodePathTermIndices;
+  private final int[][] termNodePathIndices;
+
+  private OntologyTermHierarchy(
+      String[] termIds,
+      Map<String, Integer> termIndexByIri,
+      String[] nodePaths,
+      int[] nodePathTermIndices,
+      int[][] termNodePathIndices) {
+    this.termIds = termIds;
+    this.termIndexByIri = termIndexByIri;
+    this.nodePaths = nodePaths;
+    this.nodePathTermIndices = nodePathTermIndices;
+    this.termNodePathIndices = termNodePathIndices;
+  }
+
+  static Builder builder() {
+    return new Builder();
+  }
+
+  boolean contains(String ontologyTermIri) {
+    return termIndexByIri.containsKey(ontologyTermIri);
+  }
+
+  /**
+   * Returns the ids of all descendants of the ontology term in node path order
+   *
+   * @return descendant ontology term ids or an empty list if the ontology term doesn't exist
+   */
+  List<String> getDescendantIds(String ontologyTermIri) {
+    Integer termIndex = termIndexByIri.get(ontologyTermIri);
+    if (termIndex == null) {
+      return List.of();
+    }
+
+    Set<Integer> descendantTermIndices = new LinkedHashSet<>();
+    for (int nodePathIndex : termNodePathIndices[termIndex]) {
+      String nodePath = nodePaths[nodePathIndex];
+      int from = lowerBound(nodePath + NODE_PATH_SEPARATOR);
+      int to = lowerBound(nodePath + NODE_PATH_SEPARATOR_UPPER_BOUND);
+      for (int i = from; i < to; i++) {
+        descendantTermIndices.add(nodePathTermIndices[i]);
+      }
+    }
+    descendantTermIndices.remove(termIndex);
+    return toTermIds(descendantTermIndices);
+  }
+
+  /**
+   * Returns the ids of all ancestors of the ontology term, from the root down to the parents of
+   * the ontology term for each of its node paths
+   *
+   * @return ancestor ontology term ids or an empty list if the ontology term doesn't exist
+   */
+  List<String> getAncestorIds(String ontologyTermIri) {
+    Integer termIndex = termIndexByIri.get(ontologyTermIri);
+    if (termIndex == null) {
+      return List.of();
+    }
+
+    Set<Integer> ancestorTermIndices = new LinkedHashSet<>();
+    for (int nodePathIndex : termNodePathIndices[termIndex]) {
+      String nodePath = nodePaths[nodePathIndex];
+      for (int i = nodePath.indexOf(NODE_PATH_SEPARATOR);
+          i != -1;
+          i = nodePath.indexOf(NODE_PATH_SEPARATOR, i + 1)) {
+        int ancestorNodePathIndex = Arrays.binarySearch(nodePaths, nodePath.substring(0, i));
+        if (ancestorNodePathIndex >= 0) {
+          ancestorTermIndices.add(nodePathTermIndices[ancestorNodePathIndex]);
+        }
+      }
+    }
+    ancestorTermIndices.remove(termIndex);
+    return toTermIds(ancestorTermIndices);
+  }
+
+  /**
+   * Returns the id of the deepest ontology term that is an ancestor of, or equal to, both ontology
+   * terms
+   *
+   * @return lowest common ancestor ontology term id or <code>null</code> if the ontology terms have
+   *     no common ancestor
+   */
+  @CheckForNull
+  @Nullable
+  String getLowestCommonAncestorId(String ontologyTermIri1, String ontologyTermIri2) {
+    Integer termIndex1 = termIndexByIri.get(ontologyTermIri1);
+    Integer termIndex2 = termIndexByIri.get(ontologyTermIri2);
+    if (termIndex1 == null || termIndex2 == null) {
+      return null;
+    }
+
+    String lowestCommonAncestorId = null;
+    int maxCommonSegments = 0;
+    for (int nodePathIndex1 : termNodePathIndices[termIndex1]) {
+      String nodePath1 = nodePaths[nodePathIndex1];
+      for (int nodePathIndex2 : termNodePathIndices[termIndex2]) {
+        int commonSegments = countCommonSegments(nodePath1, nodePaths[nodePathIndex2]);
+        if (commonSegments > maxCommonSegments) {
+          int ancestorNodePathIndex =
+              Arrays.binarySearch(nodePaths, getPrefix(nodePath1, commonSegments));
+          if (ancestorNodePathIndex >= 0) {
+            maxCommonSegments = commonSegments;
+            lowestCommonAncestorId = termIds[nodePathTermIndices[ancestorNodePathIndex]];
+          }
+        }
+      }
+    }
+    return lowestCommonAncestorId;
+  }
+
+  /**
+   * Returns the shortest distance between the node paths of two ontology terms
+   *
+   * @return distance or -1 if one of the ontology terms doesn't exist
+   */
+  int getDistance(String ontologyTermIri1, String ontologyTermIri2) {
+    Integer termIndex1 = termIndexByIri.get(ontologyTermIri1);
+    Integer termIndex2 = termIndexByIri.get(ontologyTermIri2);
+    if (termIndex1 == null || termIndex2 == null) {
+      return -1;
+    }
+
+    int minDistance = Integer.MAX_VALUE;
+    for (int nodePathIndex1 : termNodePathIndices[termIndex1]) {
+      for (int nodePathIndex2 : termNodePathIndices[termIndex2]) {
+        minDistance =
+            Math.min(
+                minDistance,
+                getNodePathDistance(nodePaths[nodePathIndex1], nodePaths[nodePathIndex2]));
+      }
+    }
+    return minDistance != Integer.MAX_VALUE ? minDistance : -1;
+  }
+
+  /** Distance between node paths: the number of segments that the node paths don't share */
+  static int getNodePathDistance(String nodePath1, String nodePath2) {
+    return countSegments(nodePath1)
+        + countSegments(nodePath2)
+        - 2 * countCommonSegments(nodePath1, nodePath2);
+  }
+
+  private static int countSegments(String nodePath) {
+    int nrSegments = 1;
+    for (int i = 0; i < nodePath.length(); i++) {
+      if (nodePath.charAt(i) == NODE_PATH_SEPARATOR) {
+        nrSegments++;
+      }
+    }
+    return nrSegments;
+  }
+
+  private static int countCommonSegments(String nodePath1, String nodePath2) {
+    int length = Math.min(nodePath1.length(), nodePath2.length());
+    int nrCommonSegments = 0;
+    int i = 0;
+    for (; i < length; i++) {
+      char c = nodePath1.charAt(i);
+      if (c != nodePath2.charAt(i)) {
+        return nrCommonSegments;
+      }
+      if (c == NODE_PATH_SEPARATOR) {
+        nrCommonSegments++;
+      }
+    }
+    if (isSegmentEnd(nodePath1, i) && isSegmentEnd(nodePath2, i)) {
+      nrCommonSegments++;
+    }
+    return nrCommonSegments;
+  }
+
+  private static boolean isSegmentEnd(String nodePath, int index) {
+    return index == nodePath.length() || nodePath.charAt(index) == NODE_PATH_SEPARATOR;
+  }
+
+  private static String getPrefix(String nodePath, int nrSegments) {
+    int end = -1;
+    for (int i = 0; i < nrSegments; i++) {
+      end = nodePath.indexOf(NODE_PATH_SEPARATOR, end + 1);
+      if (end == -1) {
+        return nodePath;
+      }
+    }
+    return nodePath.substring(0, end);
+  }
+
+  /** Returns the index of the first node path that is greater than or equal to the key */
+  private int lowerBound(String key) {
+    int index = Arrays.binarySearch(nodePaths, key);
+    return index >= 0 ? index : -index - 1;
+  }
+
+  private List<String> toTermIds(Set<Integer> termIndices) {
+    List<String> ids = new ArrayList<>(termIndices.size());
+    termIndices.forEach(termIndex -> ids.add(termIds[termIndex]));
+    return ids;
+  }
+
+  static class Builder {
+    private final List<String> termIds = new ArrayList<>();
+    private final Map<String, Integer> termIndexByIri = new HashMap<>();
+    private final Map<String, Integer> nodePathTermIndices = new HashMap<>();
+
+    private Builder() {}
+
+    /** Adds an ontology term, a node path belongs to the first ontology term that is added */
+    Builder addOntologyTerm(String id, String iri, List<String> nodePaths) {
+      int termIndex = termIds.size();
+      termIds.add(requireNonNull(id));
+      termIndexByIri.putIfAbsent(requireNonNull(iri), termIndex);
+      nodePaths.forEach(nodePath -> nodePathTermIndices.putIfAbsent(nodePath, termIndex));
+      return this;
+    }
+
+    OntologyTermHierarchy build() {
+      String[] nodePaths = nodePathTermIndices.keySet().toArray(new String[0]);
+      Arrays.sort(nodePaths);
+
+      int[] nodePathTermIndexArray = new int[nodePaths.length];
+      int[] nrTermNodePaths = new int[termIds.size()];
+      for (int i = 0; i < nodePaths.length; i++) {
+        int termIndex = nodePathTermIndices.get(nodePaths[i]);
+        nodePathTermIndexArray[i] = termIndex;
+        nrTermNodePaths[termIndex]++;
+      }
+
+      int[][] termNodePathIndices = new int[termIds.size()][];
+      for (int termIndex = 0; termIndex < termNodePathIndices.length; termIndex++) {
+        termNodePathIndices[termIndex] = new int[nrTermNodePaths[termIndex]];
+        nrTermNodePaths[termIndex] = 0;
+      }
+      for (int i = 0; i < nodePaths.length; i++) {
+        int termIndex = nodePathTermIndexArray[i];
+        termNodePathIndices[termIndex][nrTermNodePaths[termIndex]++] = i;
+      }
+
+      return new OntologyTermHierarchy(
+          termIds.toArray(new String[0]),
+          new HashMap<>(termIndexByIri),
+          nodePaths,
+          nodePathTermIndexArray,
+          termNodePathIndices);
+    }
+  }
+}
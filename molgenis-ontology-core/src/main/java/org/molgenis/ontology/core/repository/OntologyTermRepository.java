@@ -1,13 +1,18 @@
 package org.molgenis.ontology.core.repository;
 
+import static java.util.Collections.disjoint;
 import static java.util.Collections.emptyList;
 import static java.util.Objects.requireNonNull;
+import static java.util.stream.Collectors.toList;
+import static org.molgenis.ontology.core.meta.OntologyTermMetadata.ID;
 import static org.molgenis.ontology.core.meta.OntologyTermMetadata.ONTOLOGY;
 import static org.molgenis.ontology.core.meta.OntologyTermMetadata.ONTOLOGY_TERM;
 import static org.molgenis.ontology.core.meta.OntologyTermMetadata.ONTOLOGY_TERM_IRI;
 import static org.molgenis.ontology.core.meta.OntologyTermMetadata.ONTOLOGY_TERM_NAME;
+import static org.molgenis.ontology.core.meta.OntologyTermMetadata.ONTOLOGY_TERM_NODE_PATH;
 
-import com.google.common.collect.FluentIterable;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
 import com.google.common.collect.Iterables;
 import com.google.common.collect.Lists;
 import java.util.ArrayList;
@@ -15,14 +20,24 @@ import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
 import java.util.Set;
+import java.util.function.Function;
 import java.util.stream.Collectors;
+import javax.annotation.CheckForNull;
+import javax.annotation.Nullable;
 import org.apache.commons.lang3.StringUtils;
 import org.molgenis.data.DataService;
 import org.molgenis.data.Entity;
+import org.molgenis.data.Fetch;
 import org.molgenis.data.MolgenisDataAccessException;
 import org.molgenis.data.QueryRule;
 import org.molgenis.data.QueryRule.Operator;
 import org.molgenis.data.support.QueryImpl;
+import org.molgenis.data.transaction.CacheInvalidation;
+import org.molgenis.data.transaction.CacheInvalidationBus;
+import org.molgenis.data.transaction.CacheInvalidationListener;
+import org.molgenis.data.transaction.TransactionInformation;
+import org.molgenis.data.transaction.TransactionListener;
+import org.molgenis.data.transaction.TransactionManager;
 import org.molgenis.ontology.core.meta.OntologyMetadata;
 import org.molgenis.ontology.core.meta.OntologyTermMetadata;
 import org.molgenis.ontology.core.meta.OntologyTermNodePathMetadata;
@@ -30,12 +45,43 @@ import org.molgenis.ontology.core.meta.OntologyTermSynonymMetadata;
 import org.molgenis.ontology.core.model.Ontology;
 import org.molgenis.ontology.core.model.OntologyTerm;
 
-/** Maps {@link OntologyTermMetadata} {@link Entity} <-> {@link OntologyTerm} */
-public class OntologyTermRepository {
-  private final DataService dataService;
+/**
+ * Maps {@link OntologyTermMetadata} {@link Entity} <-> {@link OntologyTerm}. The ontologies of
+ * ontology term IRIs and the hierarchies of ontologies are cached and evicted after ontologies,
+ * ontology terms or node paths are changed on this or another node.
+ */
+public class OntologyTermRepository implements TransactionListener, CacheInvalidationListener {
+  private static final int MAX_CACHED_ONTOLOGY_TERM_IRIS = 10000;
+  private static final int MAX_CACHED_HIERARCHIES = 16;
+
+  private static final Set<String> ONTOLOGY_ENTITY_TYPE_IDS =
+      Set.of(
+          OntologyMetadata.ONTOLOGY,
+          ONTOLOGY_TERM,
+          OntologyTermNodePathMetadata.ONTOLOGY_TERM_NODE_PATH);
 
-  public OntologyTermRepository(DataService dataService) {
+  private final DataService dataService;
+  private final TransactionInformation transactionInformation;
+
+  /** Ontology ids per ontology term IRI */
+  private final Cache<String, List<String>> ontologyIdsByTermIri =
+      CacheBuilder.newBuilder().maximumSize(MAX_CACHED_ONTOLOGY_TERM_IRIS).build();
+  /** Hierarchy per ontology id */
+  private final Cache<String, OntologyTermHierarchy> hierarchies =
+      CacheBuilder.newBuilder().maximumSize(MAX_CACHED_HIERARCHIES).build();
+
+  // guarded by this, incremented on each eviction
+  private long generation;
+
+  public OntologyTermRepository(
+      DataService dataService,
+      TransactionManager transactionManager,
+      TransactionInformation transactionInformation,
+      CacheInvalidationBus cacheInvalidationBus) {
     this.dataService = requireNonNull(dataService);
+    this.transactionInformation = requireNonNull(transactionInformation);
+    requireNonNull(transactionManager).addTransactionListener(this);
+    requireNonNull(cacheInvalidationBus).addCacheInvalidationListener(this);
   }
 
   /**
@@ -155,41 +201,24 @@ public class OntologyTermRepository {
 
   /**
    * Calculate the distance between any two ontology terms in the ontology tree structure by
-   * calculating the difference in nodePaths.
+   * calculating the difference in nodePaths. Ontology terms with multiple nodePaths are at the
+   * distance of their closest nodePaths.
    *
    * @return the distance between two ontology terms
    */
   public int getOntologyTermDistance(OntologyTerm ontologyTerm1, OntologyTerm ontologyTerm2) {
-    String nodePath1 = getOntologyTermNodePath(ontologyTerm1);
-    String nodePath2 = getOntologyTermNodePath(ontologyTerm2);
-
-    if (StringUtils.isEmpty(nodePath1)) {
-      throw new MolgenisDataAccessException(
-          "The nodePath cannot be null : " + ontologyTerm1.toString());
-    }
-
-    if (StringUtils.isEmpty(nodePath2)) {
-      throw new MolgenisDataAccessException(
-          "The nodePath cannot be null : " + ontologyTerm2.toString());
+    boolean ontologyTerm2Found = false;
+    for (OntologyTermHierarchy hierarchy : getHierarchies(ontologyTerm1)) {
+      int distance = hierarchy.getDistance(ontologyTerm1.getIRI(), ontologyTerm2.getIRI());
+      if (distance != -1) {
+        return distance;
+      }
+      ontologyTerm2Found |= hierarchy.contains(ontologyTerm2.getIRI());
     }
 
-    return calculateNodePathDistance(nodePath1, nodePath2);
-  }
-
-  private String getOntologyTermNodePath(OntologyTerm ontologyTerm) {
-    Entity ontologyTermEntity =
-        dataService.findOne(
-            ONTOLOGY_TERM, new QueryImpl<>().eq(ONTOLOGY_TERM_IRI, ontologyTerm.getIRI()));
-
-    Iterable<Entity> ontologyTermNodePathEntities =
-        ontologyTermEntity != null
-            ? ontologyTermEntity.getEntities(OntologyTermMetadata.ONTOLOGY_TERM_NODE_PATH)
-            : emptyList();
-
-    return ontologyTermNodePathEntities
-        .iterator()
-        .next()
-        .getString(OntologyTermNodePathMetadata.NODE_PATH);
+    OntologyTerm ontologyTermWithoutNodePath = ontologyTerm2Found ? ontologyTerm1 : ontologyTerm2;
+    throw new MolgenisDataAccessException(
+        "The nodePath cannot be null : " + ontologyTermWithoutNodePath.toString());
   }
 
   /**
@@ -199,17 +228,7 @@ public class OntologyTermRepository {
    * @return distance
    */
   public int calculateNodePathDistance(String nodePath1, String nodePath2) {
-    String[] nodePathFragment1 = nodePath1.split("\\.");
-    String[] nodePathFragment2 = nodePath2.split("\\.");
-
-    int overlapBlock = 0;
-    while (overlapBlock < nodePathFragment1.length
-        && overlapBlock < nodePathFragment2.length
-        && nodePathFragment1[overlapBlock].equals(nodePathFragment2[overlapBlock])) {
-      overlapBlock++;
-    }
-
-    return nodePathFragment1.length + nodePathFragment2.length - overlapBlock * 2;
+    return OntologyTermHierarchy.getNodePathDistance(nodePath1, nodePath2);
   }
 
   /**
@@ -218,64 +237,159 @@ public class OntologyTermRepository {
    * @return a list of {@link OntologyTerm}
    */
   public List<OntologyTerm> getChildren(OntologyTerm ontologyTerm) {
-    Iterable<org.molgenis.ontology.core.meta.OntologyTerm> ontologyTermEntities =
-        () ->
-            dataService
-                .query(ONTOLOGY_TERM, org.molgenis.ontology.core.meta.OntologyTerm.class)
-                .eq(ONTOLOGY_TERM_IRI, ontologyTerm.getIRI())
-                .findAll()
-                .iterator();
+    List<Object> descendantIds = new ArrayList<>();
+    getHierarchies(ontologyTerm)
+        .forEach(
+            hierarchy -> descendantIds.addAll(hierarchy.getDescendantIds(ontologyTerm.getIRI())));
+    return findOntologyTerms(descendantIds);
+  }
+
+  /**
+   * Retrieve all ancestor ontology terms, from the root down to the parents of the ontology term
+   *
+   * @return a list of {@link OntologyTerm}
+   */
+  public List<OntologyTerm> getAncestors(OntologyTerm ontologyTerm) {
+    List<Object> ancestorIds = new ArrayList<>();
+    getHierarchies(ontologyTerm)
+        .forEach(hierarchy -> ancestorIds.addAll(hierarchy.getAncestorIds(ontologyTerm.getIRI())));
+    return findOntologyTerms(ancestorIds);
+  }
 
-    List<OntologyTerm> children = new ArrayList<>();
-    for (Entity ontologyTermEntity : ontologyTermEntities) {
-      Entity ontologyEntity = ontologyTermEntity.getEntity(OntologyTermMetadata.ONTOLOGY);
-      ontologyTermEntity
-          .getEntities(OntologyTermMetadata.ONTOLOGY_TERM_NODE_PATH)
-          .forEach(
-              ontologyTermNodePathEntity ->
-                  children.addAll(
-                      getChildOntologyTermsByNodePath(ontologyEntity, ontologyTermNodePathEntity)));
+  /**
+   * Retrieve the deepest ontology term that is an ancestor of, or equal to, both ontology terms
+   *
+   * @return the lowest common ancestor or <code>null</code> if the ontology terms are not part of
+   *     the same ontology tree
+   */
+  @CheckForNull
+  @Nullable
+  public OntologyTerm getLowestCommonAncestor(
+      OntologyTerm ontologyTerm1, OntologyTerm ontologyTerm2) {
+    for (OntologyTermHierarchy hierarchy : getHierarchies(ontologyTerm1)) {
+      String lowestCommonAncestorId =
+          hierarchy.getLowestCommonAncestorId(ontologyTerm1.getIRI(), ontologyTerm2.getIRI());
+      if (lowestCommonAncestorId != null) {
+        return toOntologyTerm(dataService.findOneById(ONTOLOGY_TERM, lowestCommonAncestorId));
+      }
     }
-    return children;
+    return null;
   }
 
-  public List<OntologyTerm> getChildOntologyTermsByNodePath(
-      Entity ontologyEntity, Entity nodePathEntity) {
-    String nodePath = nodePathEntity.getString(OntologyTermNodePathMetadata.NODE_PATH);
+  private List<OntologyTerm> findOntologyTerms(List<Object> ontologyTermIds) {
+    if (ontologyTermIds.isEmpty()) {
+      return emptyList();
+    }
+    return dataService
+        .findAll(ONTOLOGY_TERM, ontologyTermIds.stream().distinct())
+        .map(OntologyTermRepository::toOntologyTerm)
+        .collect(toList());
+  }
 
-    Iterable<Entity> relatedOntologyTermEntities =
-        () ->
-            dataService
-                .findAll(
-                    OntologyTermMetadata.ONTOLOGY_TERM,
-                    new QueryImpl<>(
-                            new QueryRule(
-                                OntologyTermMetadata.ONTOLOGY_TERM_NODE_PATH,
-                                Operator.FUZZY_MATCH,
-                                "\"" + nodePath + "\""))
-                        .and()
-                        .eq(OntologyTermMetadata.ONTOLOGY, ontologyEntity))
-                .iterator();
-    Iterable<Entity> childOntologyTermEntities =
-        FluentIterable.from(relatedOntologyTermEntities)
-            .filter(entity -> qualifiedNodePath(nodePath, entity))
-            .toList();
+  private List<OntologyTermHierarchy> getHierarchies(OntologyTerm ontologyTerm) {
+    // don't cache changes of the current transaction that might be rolled back
+    boolean cacheable = isOntologyDataClean();
+    return getCached(ontologyIdsByTermIri, ontologyTerm.getIRI(), this::findOntologyIds, cacheable)
+        .stream()
+        .map(ontologyId -> getCached(hierarchies, ontologyId, this::createHierarchy, cacheable))
+        .collect(toList());
+  }
 
-    return Lists.newArrayList(
-        Iterables.transform(childOntologyTermEntities, OntologyTermRepository::toOntologyTerm));
+  private <V> V getCached(
+      Cache<String, V> cache, String key, Function<String, V> valueCreator, boolean cacheable) {
+    V value = cache.getIfPresent(key);
+    if (value == null) {
+      long valueGeneration = getGeneration();
+      value = valueCreator.apply(key);
+      if (cacheable) {
+        putCached(cache, key, value, valueGeneration);
+      }
+    }
+    return value;
+  }
+
+  private synchronized long getGeneration() {
+    return generation;
+  }
+
+  private synchronized <V> void putCached(
+      Cache<String, V> cache, String key, V value, long valueGeneration) {
+    // the ontology data might have changed while the value was being created
+    if (valueGeneration == generation) {
+      cache.put(key, value);
+    }
+  }
+
+  private synchronized void evictAll() {
+    generation++;
+    ontologyIdsByTermIri.invalidateAll();
+    hierarchies.invalidateAll();
+  }
+
+  private boolean isOntologyDataClean() {
+    return disjoint(transactionInformation.getDirtyRepositories(), ONTOLOGY_ENTITY_TYPE_IDS);
+  }
+
+  @Override
+  public void afterCommitTransaction(String transactionId) {
+    if (!isOntologyDataClean()) {
+      evictAll();
+    }
+  }
+
+  @Override
+  public void onCacheInvalidation(CacheInvalidation cacheInvalidation) {
+    if (!disjoint(cacheInvalidation.getDirtyRepositories(), ONTOLOGY_ENTITY_TYPE_IDS)) {
+      evictAll();
+    }
+  }
+
+  @Override
+  public void onCacheInvalidationsMissed() {
+    evictAll();
+  }
+
+  private List<String> findOntologyIds(String ontologyTermIri) {
+    Fetch fetch = new Fetch().field(ID).field(ONTOLOGY);
+    return dataService
+        .findAll(
+            ONTOLOGY_TERM, new QueryImpl<>().eq(ONTOLOGY_TERM_IRI, ontologyTermIri).fetch(fetch))
+        .map(
+            ontologyTermEntity ->
+                ontologyTermEntity.getEntity(ONTOLOGY).getString(OntologyMetadata.ID))
+        .distinct()
+        .collect(toList());
   }
 
-  private boolean qualifiedNodePath(String nodePath, Entity entity) {
-    Iterable<Entity> nodePathEntities =
-        entity.getEntities(OntologyTermMetadata.ONTOLOGY_TERM_NODE_PATH);
-    return Lists.newArrayList(nodePathEntities).stream()
-        .anyMatch(
-            nodePathEntity -> {
-              String childNodePath =
-                  nodePathEntity.getString(OntologyTermNodePathMetadata.NODE_PATH);
-              return !StringUtils.equals(nodePath, childNodePath)
-                  && childNodePath.startsWith(nodePath);
+  private OntologyTermHierarchy createHierarchy(String ontologyId) {
+    Fetch fetch =
+        new Fetch()
+            .field(ID)
+            .field(ONTOLOGY_TERM_IRI)
+            .field(
+                ONTOLOGY_TERM_NODE_PATH,
+                new Fetch()
+                    .field(OntologyTermNodePathMetadata.ID)
+                    .field(OntologyTermNodePathMetadata.NODE_PATH));
+
+    OntologyTermHierarchy.Builder hierarchyBuilder = OntologyTermHierarchy.builder();
+    dataService
+        .findAll(ONTOLOGY_TERM, new QueryImpl<>().eq(ONTOLOGY, ontologyId).fetch(fetch))
+        .forEach(
+            ontologyTermEntity -> {
+              List<String> nodePaths = new ArrayList<>();
+              ontologyTermEntity
+                  .getEntities(ONTOLOGY_TERM_NODE_PATH)
+                  .forEach(
+                      nodePathEntity ->
+                          nodePaths.add(
+                              nodePathEntity.getString(OntologyTermNodePathMetadata.NODE_PATH)));
+              hierarchyBuilder.addOntologyTerm(
+                  ontologyTermEntity.getString(ID),
+                  ontologyTermEntity.getString(ONTOLOGY_TERM_IRI),
+                  nodePaths);
             });
+    return hierarchyBuilder.build();
   }
 
   private static OntologyTerm toOntologyTerm(Entity entity) {
@@ -2,6 +2,8 @@ package org.molgenis.ontology.core.service;
 
 import java.util.List;
 import java.util.Set;
+import javax.annotation.CheckForNull;
+import javax.annotation.Nullable;
 import org.molgenis.ontology.core.model.Ontology;
 import org.molgenis.ontology.core.model.OntologyTerm;
 
@@ -52,6 +54,22 @@ public interface OntologyService {
    */
   List<OntologyTerm> getChildren(OntologyTerm ontologyTerm);
 
+  /**
+   * Retrieves all ancestors of the current ontology term
+   *
+   * @return a list of {@link OntologyTerm} as ancestors, from the root down to the parents
+   */
+  List<OntologyTerm> getAncestors(OntologyTerm ontologyTerm);
+
+  /**
+   * Retrieves the deepest ontology term that is an ancestor of, or equal to, both ontology terms
+   *
+   * @return the lowest common ancestor or <code>null</code> if there is none
+   */
+  @CheckForNull
+  @Nullable
+  OntologyTerm getLowestCommonAncestor(OntologyTerm ontologyTerm1, OntologyTerm ontologyTerm2);
+
   /** Calculate distance between two ontology terms */
   Integer getOntologyTermDistance(OntologyTerm ontologyTerm1, OntologyTerm ontologyTerm2);
 
@@ -81,6 +81,17 @@ public class OntologyServiceImpl implements OntologyService {
     return ontologyTermRepository.getChildren(ontologyTerm);
   }
 
+  @Override
+  public List<OntologyTerm> getAncestors(OntologyTerm ontologyTerm) {
+    return ontologyTermRepository.getAncestors(ontologyTerm);
+  }
+
+  @Override
+  public OntologyTerm getLowestCommonAncestor(
+      OntologyTerm ontologyTerm1, OntologyTerm ontologyTerm2) {
+    return ontologyTermRepository.getLowestCommonAncestor(ontologyTerm1, ontologyTerm2);
+  }
+
   @Override
   public Integer getOntologyTermDistance(OntologyTerm ontologyTerm1, OntologyTerm ontologyTerm2) {
     return ontologyTermRepository.getOntologyTermDistance(ontologyTerm1, ontologyTerm2);
@@ -0,0 +1,102 @@
+package org.molgenis.ontology.core.repository;
+
+import static java.util.Arrays.asList;
+import static java.util.Collections.singletonList;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class OntologyTermHierarchyTest {
+  private OntologyTermHierarchy ontologyTermHierarchy;
+
+  @BeforeEach
+  void setUpBeforeEach() {
+    ontologyTermHierarchy =
+        OntologyTermHierarchy.builder()
+            .addOntologyTerm("id0", "iri0", singletonList("0[0].0[1]"))
+            .addOntologyTerm("id1", "iri1", singletonList("0[0].0[1].0[2]"))
+            .addOntologyTerm("id2", "iri2", asList("0[0].0[1].1[2]", "0[0].1[1].0[2]"))
+            .addOntologyTerm("id3", "iri3", singletonList("0[0].1[1]"))
+            .addOntologyTerm("id4", "iri4", singletonList("0[0].0[1].0[2].0[3]"))
+            .addOntologyTerm("id5", "iri5", singletonList("0[0].0[1].10[2]"))
+            .build();
+  }
+
+  @Test
+  void testContains() {
+    assertTrue(ontologyTermHierarchy.contains("iri2"));
+    assertFalse(ontologyTermHierarchy.contains("unknownIri"));
+  }
+
+  @Test
+  void testGetDescendantIds() {
+    assertEquals(
+        asList("id1", "id4", "id5", "id2"), ontologyTermHierarchy.getDescendantIds("iri0"));
+  }
+
+  @Test
+  void testGetDescendantIdsSiblingWithSamePrefix() {
+    assertEquals(List.of(), ontologyTermHierarchy.getDescendantIds("iri2"));
+  }
+
+  @Test
+  void testGetDescendantIdsMultipleNodePaths() {
+    assertEquals(singletonList("id2"), ontologyTermHierarchy.getDescendantIds("iri3"));
+  }
+
+  @Test
+  void testGetDescendantIdsUnknownOntologyTerm() {
+    assertEquals(List.of(), ontologyTermHierarchy.getDescendantIds("unknownIri"));
+  }
+
+  @Test
+  void testGetAncestorIds() {
+    assertEquals(asList("id0", "id1"), ontologyTermHierarchy.getAncestorIds("iri4"));
+  }
+
+  @Test
+  void testGetAncestorIdsMultipleNodePaths() {
+    assertEquals(asList("id0", "id3"), ontologyTermHierarchy.getAncestorIds("iri2"));
+  }
+
+  @Test
+  void testGetLowestCommonAncestorId() {
+    assertEquals("id0", ontologyTermHierarchy.getLowestCommonAncestorId("iri4", "iri2"));
+  }
+
+  @Test
+  void testGetLowestCommonAncestorIdAncestor() {
+    assertEquals("id1", ontologyTermHierarchy.getLowestCommonAncestorId("iri1", "iri4"));
+  }
+
+  @Test
+  void testGetLowestCommonAncestorIdNoCommonAncestor() {
+    assertNull(ontologyTermHierarchy.getLowestCommonAncestorId("iri0", "iri3"));
+  }
+
+  @Test
+  void testGetDistance() {
+    assertEquals(3, ontologyTermHierarchy.getDistance("iri4", "iri2"));
+  }
+
+  @Test
+  void testGetDistanceClosestNodePath() {
+    assertEquals(1, ontologyTermHierarchy.getDistance("iri3", "iri2"));
+  }
+
+  @Test
+  void testGetDistanceUnknownOntologyTerm() {
+    assertEquals(-1, ontologyTermHierarchy.getDistance("iri0", "unknownIri"));
+  }
+
+  @Test
+  void testGetNodePathDistance() {
+    assertEquals(
+        2, OntologyTermHierarchy.getNodePathDistance("0[0].0[1].1[2]", "0[0].0[1].10[2]"));
+  }
+}
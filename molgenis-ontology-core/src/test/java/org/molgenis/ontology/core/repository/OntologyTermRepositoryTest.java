@@ -3,9 +3,13 @@ package org.molgenis.ontology.core.repository;
 import static com.google.common.collect.ImmutableSet.of;
 import static java.util.Arrays.asList;
 import static java.util.Collections.emptyList;
+import static java.util.Collections.emptySet;
 import static java.util.Collections.singletonList;
+import static java.util.stream.Collectors.toList;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentCaptor.forClass;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.RETURNS_SELF;
 import static org.mockito.Mockito.mock;
@@ -19,20 +23,26 @@ import static org.molgenis.ontology.core.meta.OntologyTermMetadata.ONTOLOGY_TERM
 import static org.molgenis.ontology.core.meta.OntologyTermMetadata.ONTOLOGY_TERM_SYNONYM;
 import static org.molgenis.ontology.core.model.OntologyTerm.create;
 
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Set;
 import java.util.stream.Stream;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoSettings;
 import org.mockito.quality.Strictness;
 import org.molgenis.data.AbstractMolgenisSpringTest;
 import org.molgenis.data.DataService;
 import org.molgenis.data.Entity;
+import org.molgenis.data.MolgenisDataAccessException;
 import org.molgenis.data.Query;
-import org.molgenis.data.QueryRule;
 import org.molgenis.data.support.DynamicEntity;
-import org.molgenis.data.support.QueryImpl;
+import org.molgenis.data.transaction.CacheInvalidation;
+import org.molgenis.data.transaction.CacheInvalidationBus;
+import org.molgenis.data.transaction.TransactionInformation;
+import org.molgenis.data.transaction.TransactionManager;
 import org.molgenis.ontology.core.config.OntologyTestConfig;
 import org.molgenis.ontology.core.meta.OntologyMetadata;
 import org.molgenis.ontology.core.meta.OntologyTermMetadata;
@@ -58,6 +68,12 @@ class OntologyTermRepositoryTest extends AbstractMolgenisSpringTest {
 
   @Autowired private OntologyTermNodePathMetadata ontologyTermNodePathMetadata;
 
+  @Mock private TransactionManager transactionManager;
+
+  @Mock private TransactionInformation transactionInformation;
+
+  @Mock private CacheInvalidationBus cacheInvalidationBus;
+
   private org.molgenis.ontology.core.meta.OntologyTerm ontologyTermEntity;
 
   @BeforeEach
@@ -150,58 +166,6 @@ class OntologyTermRepositoryTest extends AbstractMolgenisSpringTest {
     verifyNoInteractions(dataService);
   }
 
-  @Test
-  void testGetChildOntologyTermsByNodePath() {
-    Entity ontologyEntity = new DynamicEntity(ontologyMetadata);
-    ontologyEntity.set(OntologyMetadata.ONTOLOGY_IRI, "http://www.molgenis.org");
-    ontologyEntity.set(OntologyMetadata.ONTOLOGY_NAME, "molgenis");
-
-    Entity nodePathEntity_1 = new DynamicEntity(ontologyTermNodePathMetadata);
-    nodePathEntity_1.set(OntologyTermNodePathMetadata.NODE_PATH, "0[0].1[1]");
-    Entity nodePathEntity_2 = new DynamicEntity(ontologyTermNodePathMetadata);
-    nodePathEntity_2.set(OntologyTermNodePathMetadata.NODE_PATH, "0[0].1[1].0[2]");
-    Entity nodePathEntity_3 = new DynamicEntity(ontologyTermNodePathMetadata);
-    nodePathEntity_3.set(OntologyTermNodePathMetadata.NODE_PATH, "0[0].1[1].1[2]");
-
-    Entity ontologyTerm_2 = new DynamicEntity(ontologyTermMetadata);
-    ontologyTerm_2.set(ONTOLOGY, ontologyEntity);
-    ontologyTerm_2.set(ONTOLOGY_TERM_IRI, "iri 2");
-    ontologyTerm_2.set(ONTOLOGY_TERM_NAME, "name 2");
-    ontologyTerm_2.set(
-        OntologyTermMetadata.ONTOLOGY_TERM_NODE_PATH, asList(nodePathEntity_1, nodePathEntity_2));
-    ontologyTerm_2.set(ONTOLOGY_TERM_SYNONYM, emptyList());
-
-    Entity ontologyTerm_3 = new DynamicEntity(ontologyTermMetadata);
-    ontologyTerm_3.set(ONTOLOGY, ontologyEntity);
-    ontologyTerm_3.set(ONTOLOGY_TERM_IRI, "iri 3");
-    ontologyTerm_3.set(ONTOLOGY_TERM_NAME, "name 3");
-    ontologyTerm_3.set(
-        OntologyTermMetadata.ONTOLOGY_TERM_NODE_PATH, singletonList(nodePathEntity_3));
-    ontologyTerm_3.set(ONTOLOGY_TERM_SYNONYM, emptyList());
-
-    when(dataService.findAll(
-            ONTOLOGY_TERM,
-            new QueryImpl<>(
-                    new QueryRule(
-                        OntologyTermMetadata.ONTOLOGY_TERM_NODE_PATH,
-                        QueryRule.Operator.FUZZY_MATCH,
-                        "\"0[0].1[1]\""))
-                .and()
-                .eq(ONTOLOGY, ontologyEntity)))
-        .thenReturn(Stream.of(ontologyTerm_2, ontologyTerm_3));
-
-    List<OntologyTerm> childOntologyTermsByNodePath =
-        ontologyTermRepository.getChildOntologyTermsByNodePath(ontologyEntity, nodePathEntity_1);
-
-    assertEquals(2, childOntologyTermsByNodePath.size());
-    assertEquals(
-        create("iri 2", "name 2", null, singletonList("name 2")),
-        childOntologyTermsByNodePath.get(0));
-    assertEquals(
-        create("iri 3", "name 3", null, singletonList("name 3")),
-        childOntologyTermsByNodePath.get(1));
-  }
-
   @Test
   void testCalculateNodePathDistance() {
     // Case 1
@@ -227,6 +191,102 @@ class OntologyTermRepositoryTest extends AbstractMolgenisSpringTest {
     assertEquals(0, ontologyTermRepository.calculateNodePathDistance("0[0].0[1]", "0[0].0[1]"));
   }
 
+  @Test
+  void testGetChildren() {
+    Entity ontologyTermEntity1 = createOntologyTermEntity("1", "iri 1", "0[0].0[1]");
+    Entity ontologyTermEntity2 = createOntologyTermEntity("2", "iri 2", "0[0].0[1].0[2]");
+    Entity ontologyTermEntity3 = createOntologyTermEntity("3", "iri 3", "0[0].1[1]");
+    when(dataService.findAll(eq(ONTOLOGY_TERM), any(Query.class)))
+        .thenAnswer(
+            invocation -> Stream.of(ontologyTermEntity1, ontologyTermEntity2, ontologyTermEntity3));
+    @SuppressWarnings("unchecked")
+    ArgumentCaptor<Stream<Object>> idsCaptor = forClass(Stream.class);
+    when(dataService.findAll(eq(ONTOLOGY_TERM), idsCaptor.capture()))
+        .thenReturn(Stream.of(ontologyTermEntity2));
+
+    assertEquals(
+        singletonList(create("iri 2", "name 2", null, singletonList("name 2"))),
+        createOntologyTermRepository().getChildren(create("iri 1", "name 1")));
+    assertEquals(singletonList("2"), idsCaptor.getValue().collect(toList()));
+  }
+
+  @Test
+  void testGetOntologyTermDistance() {
+    Entity ontologyTermEntity1 = createOntologyTermEntity("1", "iri 1", "0[0].0[1].0[2]");
+    Entity ontologyTermEntity2 = createOntologyTermEntity("2", "iri 2", "0[0].1[1]");
+    when(dataService.findAll(eq(ONTOLOGY_TERM), any(Query.class)))
+        .thenAnswer(invocation -> Stream.of(ontologyTermEntity1, ontologyTermEntity2));
+
+    assertEquals(
+        3,
+        createOntologyTermRepository()
+            .getOntologyTermDistance(create("iri 1", "name 1"), create("iri 2", "name 2")));
+  }
+
+  @Test
+  void testGetOntologyTermDistanceUnknownOntologyTerm() {
+    Entity ontologyTermEntity1 = createOntologyTermEntity("1", "iri 1", "0[0].0[1].0[2]");
+    when(dataService.findAll(eq(ONTOLOGY_TERM), any(Query.class)))
+        .thenAnswer(invocation -> Stream.of(ontologyTermEntity1));
+
+    OntologyTermRepository repository = createOntologyTermRepository();
+    OntologyTerm ontologyTerm1 = create("iri 1", "name 1");
+    OntologyTerm ontologyTerm2 = create("unknown iri", "unknown");
+    assertThrows(
+        MolgenisDataAccessException.class,
+        () -> repository.getOntologyTermDistance(ontologyTerm1, ontologyTerm2));
+  }
+
+  @Test
+  void testGetOntologyTermDistanceAfterCommitOntologyTermsChanged() {
+    List<Entity> ontologyTermEntities = new ArrayList<>();
+    ontologyTermEntities.add(createOntologyTermEntity("1", "iri 1", "0[0].0[1].0[2]"));
+    when(dataService.findAll(eq(ONTOLOGY_TERM), any(Query.class)))
+        .thenAnswer(invocation -> ontologyTermEntities.stream());
+
+    OntologyTermRepository repository = createOntologyTermRepository();
+    OntologyTerm ontologyTerm1 = create("iri 1", "name 1");
+    OntologyTerm ontologyTerm2 = create("iri 2", "name 2");
+    assertThrows(
+        MolgenisDataAccessException.class,
+        () -> repository.getOntologyTermDistance(ontologyTerm1, ontologyTerm2));
+
+    ontologyTermEntities.add(createOntologyTermEntity("2", "iri 2", "0[0].1[1]"));
+    when(transactionInformation.getDirtyRepositories()).thenReturn(Set.of(ONTOLOGY_TERM));
+    repository.afterCommitTransaction("transactionId");
+    when(transactionInformation.getDirtyRepositories()).thenReturn(emptySet());
+
+    assertEquals(3, repository.getOntologyTermDistance(ontologyTerm1, ontologyTerm2));
+  }
+
+  @SuppressWarnings("unchecked")
+  @Test
+  void testGetChildrenOnCacheInvalidation() {
+    List<Entity> ontologyTermEntities = new ArrayList<>();
+    ontologyTermEntities.add(createOntologyTermEntity("1", "iri 1", "0[0].0[1]"));
+    when(dataService.findAll(eq(ONTOLOGY_TERM), any(Query.class)))
+        .thenAnswer(invocation -> ontologyTermEntities.stream());
+
+    OntologyTermRepository repository = createOntologyTermRepository();
+    OntologyTerm ontologyTerm = create("iri 1", "name 1");
+    assertEquals(emptyList(), repository.getChildren(ontologyTerm));
+
+    Entity ontologyTermEntity2 = createOntologyTermEntity("2", "iri 2", "0[0].0[1].0[2]");
+    ontologyTermEntities.add(ontologyTermEntity2);
+    repository.onCacheInvalidation(
+        CacheInvalidation.create(
+            emptySet(),
+            Set.of(OntologyTermNodePathMetadata.ONTOLOGY_TERM_NODE_PATH),
+            emptySet(),
+            false));
+    when(dataService.findAll(eq(ONTOLOGY_TERM), any(Stream.class)))
+        .thenReturn(Stream.of(ontologyTermEntity2));
+
+    assertEquals(
+        singletonList(create("iri 2", "name 2", null, singletonList("name 2"))),
+        repository.getChildren(ontologyTerm));
+  }
+
   @Test
   void testGetOntologyTerm() {
     @SuppressWarnings("unchecked")
@@ -244,6 +304,28 @@ class OntologyTermRepositoryTest extends AbstractMolgenisSpringTest {
         ontologyTerm);
   }
 
+  private OntologyTermRepository createOntologyTermRepository() {
+    return new OntologyTermRepository(
+        dataService, transactionManager, transactionInformation, cacheInvalidationBus);
+  }
+
+  private Entity createOntologyTermEntity(String id, String iri, String nodePath) {
+    Entity ontologyEntity = new DynamicEntity(ontologyMetadata);
+    ontologyEntity.set(OntologyMetadata.ID, "34");
+
+    Entity nodePathEntity = new DynamicEntity(ontologyTermNodePathMetadata);
+    nodePathEntity.set(OntologyTermNodePathMetadata.NODE_PATH, nodePath);
+
+    Entity ontologyTerm = new DynamicEntity(ontologyTermMetadata);
+    ontologyTerm.set(ID, id);
+    ontologyTerm.set(ONTOLOGY, ontologyEntity);
+    ontologyTerm.set(ONTOLOGY_TERM_IRI, iri);
+    ontologyTerm.set(ONTOLOGY_TERM_NAME, "name " + id);
+    ontologyTerm.set(OntologyTermMetadata.ONTOLOGY_TERM_NODE_PATH, singletonList(nodePathEntity));
+    ontologyTerm.set(ONTOLOGY_TERM_SYNONYM, emptyList());
+    return ontologyTerm;
+  }
+
   @Configuration
   @Import(OntologyTestConfig.class)
   static class Config {
@@ -256,7 +338,11 @@ class OntologyTermRepositoryTest extends AbstractMolgenisSpringTest {
 
     @Bean
     OntologyTermRepository ontologyTermRepository() {
-      return new OntologyTermRepository(dataService);
+      return new OntologyTermRepository(
+          dataService,
+          mock(TransactionManager.class),
+          mock(TransactionInformation.class),
+          mock(CacheInvalidationBus.class));
     }
   }
 }
@@ -1,48 +1,61 @@
 package org.molgenis.ontology.sorta.job;
 
-import static com.google.common.collect.Lists.newArrayList;
 import static java.util.Objects.requireNonNull;
-import static org.molgenis.ontology.sorta.meta.OntologyTermHitMetaData.SCORE;
+import static java.util.stream.Collectors.toList;
 import static org.molgenis.util.ApplicationContextProvider.getApplicationContext;
 
-import com.google.common.collect.Iterables;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
 import org.molgenis.data.DataService;
 import org.molgenis.data.Entity;
 import org.molgenis.data.populate.IdGenerator;
 import org.molgenis.data.support.DynamicEntity;
 import org.molgenis.data.support.QueryImpl;
 import org.molgenis.jobs.Progress;
-import org.molgenis.ontology.core.meta.OntologyTermMetadata;
 import org.molgenis.ontology.sorta.controller.SortaController;
 import org.molgenis.ontology.sorta.meta.MatchingTaskContentMetaData;
+import org.molgenis.ontology.sorta.service.OntologyTermMatch;
+import org.molgenis.ontology.sorta.service.OntologyTermMatcher;
 import org.molgenis.ontology.sorta.service.SortaService;
 import org.molgenis.security.core.runas.RunAsSystemAspect;
+import org.molgenis.util.ExecutorServiceUtils;
 import org.molgenis.web.menu.MenuReaderService;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
+/**
+ * Matches the input terms against an in-memory index of the ontology. The input terms are read
+ * and written in batches. The matches of a batch are prepared on the job thread and then found in
+ * parallel without accessing the data service.
+ */
 @Component
 public class SortaJobProcessor {
   private static final int ADD_BATCH_SIZE = 1000;
-  private static final int PROGRESS_UPDATE_BATCH_SIZE = 50;
 
   private final DataService dataService;
   private final SortaService sortaService;
   private final IdGenerator idGenerator;
-  private final AtomicInteger counter;
   private final MenuReaderService menuReaderService;
+  private final int nrMatchThreads;
 
   SortaJobProcessor(
       DataService dataService,
       SortaService sortaService,
       IdGenerator idGenerator,
-      MenuReaderService menuReaderService) {
+      MenuReaderService menuReaderService,
+      @Value("${sorta.job.matchThreads:4}") int nrMatchThreads) {
     this.dataService = requireNonNull(dataService);
     this.sortaService = requireNonNull(sortaService);
     this.idGenerator = requireNonNull(idGenerator);
-    this.counter = new AtomicInteger(0);
     this.menuReaderService = requireNonNull(menuReaderService);
+    this.nrMatchThreads = nrMatchThreads;
   }
 
   public Void process(
@@ -67,60 +80,48 @@ public class SortaJobProcessor {
           MatchingTaskContentMetaData matchingTaskContentMetaData =
               getApplicationContext().getBean(MatchingTaskContentMetaData.class);
 
-          // Match input terms with code
-          List<Entity> entitiesToAdd = newArrayList();
-          dataService
-              .findAll(inputRepositoryName)
-              .forEach(
-                  inputRow -> {
-                    Entity resultEntity =
-                        new DynamicEntity(matchingTaskContentMetaData) {
-                          @Override
-                          protected void validateValueType(String attrName, Object value) {
-                            // FIXME enable validation by not overriding this method
-                          }
-                        };
-                    resultEntity.set(MatchingTaskContentMetaData.INPUT_TERM, inputRow);
-                    resultEntity.set(
-                        MatchingTaskContentMetaData.IDENTIFIER, idGenerator.generateId());
-                    resultEntity.set(MatchingTaskContentMetaData.VALIDATED, false);
-                    resultEntity.set(MatchingTaskContentMetaData.REVIEW, false);
-                    entitiesToAdd.add(resultEntity);
-
-                    Iterable<Entity> ontologyTermEntities =
-                        sortaService.findOntologyTermEntities(ontologyIri, inputRow);
-                    if (Iterables.size(ontologyTermEntities) > 0) {
-                      Entity firstMatchedOntologyTerm =
-                          Iterables.getFirst(
-                              ontologyTermEntities, new DynamicEntity(matchingTaskContentMetaData));
-                      resultEntity.set(
-                          MatchingTaskContentMetaData.MATCHED_TERM,
-                          firstMatchedOntologyTerm.get(OntologyTermMetadata.ONTOLOGY_TERM_IRI));
-                      resultEntity.set(
-                          MatchingTaskContentMetaData.SCORE, firstMatchedOntologyTerm.get(SCORE));
-                    } else {
-                      resultEntity.set(MatchingTaskContentMetaData.SCORE, 0.0);
-                    }
-
-                    // Add entity in batch
-                    if (entitiesToAdd.size() >= ADD_BATCH_SIZE) {
-                      dataService.add(resultRepositoryName, entitiesToAdd.stream());
-                      entitiesToAdd.clear();
-                    }
-
-                    // Increase the number of the progress
-                    counter.incrementAndGet();
-
-                    // Update the progress only when the progress proceeds the threshold
-                    if (counter.get() % PROGRESS_UPDATE_BATCH_SIZE == 0) {
-                      progress.progress(counter.get(), "Processed " + counter + " input terms.");
-                    }
-                  });
-          // Add the rest
-          if (!entitiesToAdd.isEmpty()) {
-            dataService.add(resultRepositoryName, entitiesToAdd.stream());
+          OntologyTermMatcher ontologyTermMatcher =
+              sortaService.createOntologyTermMatcher(ontologyIri);
+
+          ExecutorService executorService =
+              Executors.newFixedThreadPool(nrMatchThreads, createMatchThreadFactory());
+          try {
+            // Match input terms with code
+            AtomicInteger counter = new AtomicInteger(0);
+            List<Entity> inputRows = new ArrayList<>(ADD_BATCH_SIZE);
+            dataService
+                .findAll(inputRepositoryName)
+                .forEach(
+                    inputRow -> {
+                      inputRows.add(inputRow);
+                      if (inputRows.size() >= ADD_BATCH_SIZE) {
+                        processBatch(
+                            inputRows,
+                            resultRepositoryName,
+                            matchingTaskContentMetaData,
+                            ontologyTermMatcher,
+                            executorService);
+                        progress.progress(
+                            counter.addAndGet(inputRows.size()),
+                            "Processed " + counter + " input terms.");
+                        inputRows.clear();
+                      }
+                    });
+            // Process the rest
+            if (!inputRows.isEmpty()) {
+              processBatch(
+                  inputRows,
+                  resultRepositoryName,
+                  matchingTaskContentMetaData,
+                  ontologyTermMatcher,
+                  executorService);
+              counter.addAndGet(inputRows.size());
+            }
+            progress.progress(counter.get(), "Processed " + counter + " input terms.");
+          } finally {
+            ExecutorServiceUtils.shutdownAndAwaitTermination(executorService);
           }
-          progress.progress(counter.get(), "Processed " + counter + " input terms.");
+
           progress.setResultUrl(
               menuReaderService.findMenuItemPath(SortaController.ID)
                   + "/result/"
@@ -128,4 +129,74 @@ public class SortaJobProcessor {
         });
     return null;
   }
+
+  /** Matches the input rows in parallel and adds the results in input order */
+  private void processBatch(
+      List<Entity> inputRows,
+      String resultRepositoryName,
+      MatchingTaskContentMetaData matchingTaskContentMetaData,
+      OntologyTermMatcher ontologyTermMatcher,
+      ExecutorService executorService) {
+    // prepare on the job thread so that all data service reads happen in the job transaction, the
+    // prepared matches don't access the data service
+    List<Supplier<OntologyTermMatch>> preparedMatches =
+        inputRows.stream().map(ontologyTermMatcher::prepareMatch).collect(toList());
+    List<CompletableFuture<OntologyTermMatch>> matchFutures =
+        preparedMatches.stream()
+            .map(preparedMatch -> CompletableFuture.supplyAsync(preparedMatch, executorService))
+            .collect(toList());
+
+    List<Entity> entitiesToAdd = new ArrayList<>(inputRows.size());
+    for (int i = 0; i < inputRows.size(); i++) {
+      OntologyTermMatch ontologyTermMatch = getMatch(matchFutures.get(i));
+      entitiesToAdd.add(
+          createResultEntity(inputRows.get(i), ontologyTermMatch, matchingTaskContentMetaData));
+    }
+    dataService.add(resultRepositoryName, entitiesToAdd.stream());
+  }
+
+  private static OntologyTermMatch getMatch(CompletableFuture<OntologyTermMatch> matchFuture) {
+    try {
+      return matchFuture.join();
+    } catch (CompletionException e) {
+      if (e.getCause() instanceof RuntimeException) {
+        throw (RuntimeException) e.getCause();
+      }
+      throw e;
+    }
+  }
+
+  private Entity createResultEntity(
+      Entity inputRow,
+      OntologyTermMatch ontologyTermMatch,
+      MatchingTaskContentMetaData matchingTaskContentMetaData) {
+    Entity resultEntity =
+        new DynamicEntity(matchingTaskContentMetaData) {
+          @Override
+          protected void validateValueType(String attrName, Object value) {
+            // FIXME enable validation by not overriding this method
+          }
+        };
+    resultEntity.set(MatchingTaskContentMetaData.INPUT_TERM, inputRow);
+    resultEntity.set(MatchingTaskContentMetaData.IDENTIFIER, idGenerator.generateId());
+    resultEntity.set(MatchingTaskContentMetaData.VALIDATED, false);
+    resultEntity.set(MatchingTaskContentMetaData.REVIEW, false);
+    if (ontologyTermMatch != null) {
+      resultEntity.set(
+          MatchingTaskContentMetaData.MATCHED_TERM, ontologyTermMatch.getOntologyTermIri());
+      resultEntity.set(MatchingTaskContentMetaData.SCORE, ontologyTermMatch.getScore());
+    } else {
+      resultEntity.set(MatchingTaskContentMetaData.SCORE, 0.0);
+    }
+    return resultEntity;
+  }
+
+  private static ThreadFactory createMatchThreadFactory() {
+    AtomicInteger threadCounter = new AtomicInteger(0);
+    return runnable -> {
+      Thread thread = new Thread(runnable, "sorta-match-" + threadCounter.incrementAndGet());
+      thread.setDaemon(true);
+      return thread;
+    };
+  }
 }
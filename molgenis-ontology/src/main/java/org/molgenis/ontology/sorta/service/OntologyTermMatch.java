@@ -0,0 +1,30 @@
+package org.molgenis.ontology.sorta.service;
+
+import static java.util.Objects.requireNonNull;
+
+/** Ontology term that matches an input entity with its similarity scores. */
+public class OntologyTermMatch {
+  private final String ontologyTermIri;
+  private final double score;
+  private final double combinedScore;
+
+  public OntologyTermMatch(String ontologyTermIri, double score, double combinedScore) {
+    this.ontologyTermIri = requireNonNull(ontologyTermIri);
+    this.score = score;
+    this.combinedScore = combinedScore;
+  }
+
+  public String getOntologyTermIri() {
+    return ontologyTermIri;
+  }
+
+  /** @return NGram similarity score */
+  public double getScore() {
+    return score;
+  }
+
+  /** @return NGram similarity score adjusted for the inverse document frequency of the words */
+  public double getCombinedScore() {
+    return combinedScore;
+  }
+}
@@ -0,0 +1,20 @@
+package org.molgenis.ontology.sorta.service;
+
+import java.util.function.Supplier;
+import org.molgenis.data.Entity;
+
+/**
+ * Matches input entities against the terms of one ontology. Matching is split in two steps so that
+ * input entities can be matched in parallel: preparing a match reads the word frequencies of the
+ * input entity from the data service and must happen on the thread that runs the job, finding the
+ * best match doesn't access the data service and is thread-safe.
+ */
+public interface OntologyTermMatcher {
+  /**
+   * Prepares finding the ontology term that matches the input entity best
+   *
+   * @return supplier of the best matching ontology term or <code>null</code> if no ontology term
+   *     matches
+   */
+  Supplier<OntologyTermMatch> prepareMatch(Entity inputEntity);
+}
@@ -32,4 +32,13 @@ public interface SortaService {
    * @return a list of ontologyterm entities in generic type
    */
   Iterable<Entity> findOntologyTermEntities(String ontologyIri, Entity inputEntity);
+
+  /**
+   * Create a matcher that matches input entities against an in-memory index of the terms and
+   * synonyms of the ontology with the given ontologyIri. Creating the matcher loads all ontology
+   * terms, so the matcher should be reused to match many input entities.
+   *
+   * @return ontology term matcher
+   */
+  OntologyTermMatcher createOntologyTermMatcher(String ontologyIri);
 }
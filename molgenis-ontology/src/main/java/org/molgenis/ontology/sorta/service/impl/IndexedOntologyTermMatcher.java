@@ -0,0 +1,123 @@
+package org.molgenis.ontology.sorta.service.impl;
+
+import static java.util.Objects.requireNonNull;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Supplier;
+import org.apache.commons.lang3.StringUtils;
+import org.molgenis.data.Entity;
+import org.molgenis.ontology.sorta.service.OntologyTermMatch;
+import org.molgenis.ontology.sorta.service.OntologyTermMatcher;
+
+/**
+ * {@link OntologyTermMatcher} that finds candidate ontology terms in an {@link
+ * OntologyTermNGramIndex} instead of querying the ontology terms for each input entity. The
+ * candidates are scored like {@link SortaServiceImpl#findOntologyTermEntities(String, Entity)}
+ * scores the ontology terms it finds.
+ */
+class IndexedOntologyTermMatcher implements OntologyTermMatcher {
+  private static final double ANNOTATION_MATCH_SCORE = 100d;
+
+  private final SortaServiceImpl sortaService;
+  private final String ontologyIri;
+  private final OntologyTermNGramIndex ontologyTermIndex;
+  private final int maxNumberMatches;
+
+  IndexedOntologyTermMatcher(
+      SortaServiceImpl sortaService,
+      String ontologyIri,
+      OntologyTermNGramIndex ontologyTermIndex,
+      int maxNumberMatches) {
+    this.sortaService = requireNonNull(sortaService);
+    this.ontologyIri = requireNonNull(ontologyIri);
+    this.ontologyTermIndex = requireNonNull(ontologyTermIndex);
+    this.maxNumberMatches = maxNumberMatches;
+  }
+
+  @Override
+  public Supplier<OntologyTermMatch> prepareMatch(Entity inputEntity) {
+    List<LexicalQuery> lexicalQueries = new ArrayList<>();
+    Map<String, String> annotations = new LinkedHashMap<>();
+    for (String attributeName : inputEntity.getAttributeNames()) {
+      String value = inputEntity.getString(attributeName);
+      if (StringUtils.isNotEmpty(value)
+          && !attributeName.equalsIgnoreCase(SortaServiceImpl.DEFAULT_MATCHING_IDENTIFIER)) {
+        if (SortaServiceImpl.isAttrNameValidForLexicalMatch(attributeName)) {
+          // creating a lexical query reads word frequencies from the data service
+          lexicalQueries.add(sortaService.createLexicalQuery(value, ontologyIri));
+        } else {
+          annotations.put(attributeName, value);
+        }
+      }
+    }
+    return () -> findBestMatch(lexicalQueries, annotations);
+  }
+
+  private OntologyTermMatch findBestMatch(
+      List<LexicalQuery> lexicalQueries, Map<String, String> annotations) {
+    Set<Integer> annotationMatchedOntologyTerms = new LinkedHashSet<>();
+    annotations.forEach(
+        (attributeName, value) -> {
+          for (int index : ontologyTermIndex.findOntologyTermsByAnnotation(attributeName, value)) {
+            annotationMatchedOntologyTerms.add(index);
+          }
+        });
+
+    // ontology terms with a matching annotation are considered a good match
+    OntologyTermMatch bestMatch = null;
+    for (int index : annotationMatchedOntologyTerms) {
+      bestMatch =
+          getBestMatch(
+              bestMatch,
+              new OntologyTermMatch(
+                  ontologyTermIndex.getOntologyTermIri(index),
+                  ANNOTATION_MATCH_SCORE,
+                  ANNOTATION_MATCH_SCORE));
+    }
+
+    Set<Integer> lexicalMatchedOntologyTerms = new LinkedHashSet<>();
+    for (LexicalQuery lexicalQuery : lexicalQueries) {
+      int[] indices =
+          ontologyTermIndex.findOntologyTerms(
+              lexicalQuery.getCleanedQueryString(), maxNumberMatches);
+      for (int index : indices) {
+        if (!annotationMatchedOntologyTerms.contains(index)) {
+          lexicalMatchedOntologyTerms.add(index);
+        }
+      }
+    }
+    for (int index : lexicalMatchedOntologyTerms) {
+      bestMatch = getBestMatch(bestMatch, createLexicalMatch(index, lexicalQueries));
+    }
+    return bestMatch;
+  }
+
+  private OntologyTermMatch createLexicalMatch(int index, List<LexicalQuery> lexicalQueries) {
+    List<String> synonyms = ontologyTermIndex.getOntologyTermSynonyms(index);
+    double maxNgramScore = 0;
+    double maxNgramIDFScore = 0;
+    if (!synonyms.isEmpty()) {
+      for (LexicalQuery lexicalQuery : lexicalQueries) {
+        SynonymMatch synonymMatch =
+            sortaService.findSynonymWithHighestNgramScore(lexicalQuery, synonyms);
+        maxNgramScore = Math.max(maxNgramScore, synonymMatch.getScore());
+        maxNgramIDFScore = Math.max(maxNgramIDFScore, synonymMatch.getCombinedScore());
+      }
+    }
+    return new OntologyTermMatch(
+        ontologyTermIndex.getOntologyTermIri(index), maxNgramScore, maxNgramIDFScore);
+  }
+
+  /** Returns the match with the highest combined score, the current match in case of a tie */
+  private static OntologyTermMatch getBestMatch(
+      OntologyTermMatch bestMatch, OntologyTermMatch match) {
+    return bestMatch == null || match.getCombinedScore() > bestMatch.getCombinedScore()
+        ? match
+        : bestMatch;
+  }
+}
@@ -0,0 +1,34 @@
+package org.molgenis.ontology.sorta.service.impl;
+
+import static java.util.Objects.requireNonNull;
+
+import java.util.Map;
+import java.util.Set;
+
+/** Input query string with the word weights used to score ontology term synonyms. */
+class LexicalQuery {
+  private final String cleanedQueryString;
+  private final Map<String, Double> weightedWordSimilarity;
+  private final Set<String> stemmedWords;
+
+  LexicalQuery(
+      String cleanedQueryString,
+      Map<String, Double> weightedWordSimilarity,
+      Set<String> stemmedWords) {
+    this.cleanedQueryString = requireNonNull(cleanedQueryString);
+    this.weightedWordSimilarity = requireNonNull(weightedWordSimilarity);
+    this.stemmedWords = requireNonNull(stemmedWords);
+  }
+
+  String getCleanedQueryString() {
+    return cleanedQueryString;
+  }
+
+  Map<String, Double> getWeightedWordSimilarity() {
+    return weightedWordSimilarity;
+  }
+
+  Set<String> getStemmedWords() {
+    return stemmedWords;
+  }
+}
@@ -0,0 +1,325 @@
+package org.molgenis.ontology.sorta.service.impl;
+
+import static java.util.Objects.requireNonNull;
+
+import com.google.common.primitives.ImmutableIntArray;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.PriorityQueue;
+import org.molgenis.semanticsearch.string.NGramDistanceAlgorithm;
+
+/**
+ * Immutable in-memory inverted index of the n-grams of the synonyms of all terms of one ontology.
+ * The n-gram profile of each synonym is computed once when the index is built. Searching the index
+ * scores the synonyms that share n-grams with the query string the same way as {@link
+ * NGramDistanceAlgorithm#stringMatching(String, String)} does.
+ *
+ * <p>Only n-grams that occur in a limited number of synonyms are used to find candidate synonyms,
+ * common n-grams only contribute to the scores of these candidates. If a query only consists of
+ * common n-grams, the least common n-gram is used to find candidates.
+ *
+ * <p>Instances are thread-safe.
+ */
+class OntologyTermNGramIndex {
+  /** maximum fraction of the synonyms that an n-gram occurs in to be used to find candidates */
+  private static final double MAX_CANDIDATE_SYNONYMS_FRACTION = 0.01;
+
+  private static final int MIN_MAX_CANDIDATE_SYNONYMS = 1000;
+
+  private final String[] ontologyTermIris;
+  private final List<List<String>> ontologyTermSynonyms;
+  private final Map<String, int[]> annotationOntologyTermIndices;
+
+  private final int[] synonymOntologyTermIndices;
+  private final int[] synonymTotalNGrams;
+  /** sorted n-gram ids per synonym */
+  private final int[][] synonymNGramIds;
+
+  private final int[][] synonymNGramCounts;
+
+  private final Map<String, Integer> nGramIds;
+  private final int[][] nGramSynonymIndices;
+  private final int[][] nGramSynonymCounts;
+  private final int maxCandidateSynonyms;
+
+  private final ThreadLocal<SearchState> searchStates;
+
+  private OntologyTermNGramIndex(Builder builder) {
+    this.ontologyTermIris = builder.ontologyTermIris.toArray(new String[0]);
+    this.ontologyTermSynonyms = builder.ontologyTermSynonyms;
+    this.annotationOntologyTermIndices = new HashMap<>();
+    builder.annotationOntologyTermIndices.forEach(
+        (annotation, indices) ->
+            annotationOntologyTermIndices.put(annotation, indices.build().toArray()));
+
+    int nrSynonyms = builder.synonymNGramIds.size();
+    this.synonymOntologyTermIndices = builder.synonymOntologyTermIndices.build().toArray();
+    this.synonymTotalNGrams = builder.synonymTotalNGrams.build().toArray();
+    this.synonymNGramIds = builder.synonymNGramIds.toArray(new int[0][]);
+    this.synonymNGramCounts = builder.synonymNGramCounts.toArray(new int[0][]);
+
+    this.nGramIds = builder.nGramIds;
+    int nrNGrams = nGramIds.size();
+    this.nGramSynonymIndices = new int[nrNGrams][];
+    this.nGramSynonymCounts = new int[nrNGrams][];
+    for (int i = 0; i < nrNGrams; i++) {
+      nGramSynonymIndices[i] = builder.nGramSynonymIndices.get(i).build().toArray();
+      nGramSynonymCounts[i] = builder.nGramSynonymCounts.get(i).build().toArray();
+    }
+    this.maxCandidateSynonyms =
+        Math.max(MIN_MAX_CANDIDATE_SYNONYMS, (int) (nrSynonyms * MAX_CANDIDATE_SYNONYMS_FRACTION));
+
+    int nrOntologyTerms = ontologyTermIris.length;
+    this.searchStates =
+        ThreadLocal.withInitial(() -> new SearchState(nrSynonyms, nrOntologyTerms));
+  }
+
+  static Builder builder() {
+    return new Builder();
+  }
+
+  String getOntologyTermIri(int ontologyTermIndex) {
+    return ontologyTermIris[ontologyTermIndex];
+  }
+
+  List<String> getOntologyTermSynonyms(int ontologyTermIndex) {
+    return ontologyTermSynonyms.get(ontologyTermIndex);
+  }
+
+  /** @return indices of the ontology terms with an annotation with the given name and value */
+  int[] findOntologyTermsByAnnotation(String name, String value) {
+    int[] indices = annotationOntologyTermIndices.get(createAnnotationKey(name, value));
+    return indices != null ? indices : new int[0];
+  }
+
+  /**
+   * Finds the ontology terms of which a synonym shares the most n-grams with the query string.
+   *
+   * @param cleanedQueryString query string without illegal characters
+   * @param maxOntologyTerms maximum number of ontology terms to return
+   * @return ontology term indices ordered by descending score of their best matching synonym
+   */
+  int[] findOntologyTerms(String cleanedQueryString, int maxOntologyTerms) {
+    Map<String, Integer> queryNGrams = createNGrams(cleanedQueryString);
+    int queryTotalNGrams = 0;
+    List<int[]> queryNGramIdsAndCounts = new ArrayList<>(queryNGrams.size());
+    for (Entry<String, Integer> entry : queryNGrams.entrySet()) {
+      queryTotalNGrams += entry.getValue();
+      Integer nGramId = nGramIds.get(entry.getKey());
+      if (nGramId != null) {
+        queryNGramIdsAndCounts.add(new int[] {nGramId, entry.getValue()});
+      }
+    }
+    if (queryNGramIdsAndCounts.isEmpty()) {
+      return new int[0];
+    }
+    // least common n-grams first
+    queryNGramIdsAndCounts.sort(
+        Comparator.comparingInt(nGramIdAndCount -> nGramSynonymIndices[nGramIdAndCount[0]].length));
+
+    SearchState searchState = searchStates.get();
+    try {
+      matchNGrams(queryNGramIdsAndCounts, searchState);
+      return findTopOntologyTerms(queryTotalNGrams, maxOntologyTerms, searchState);
+    } finally {
+      searchState.reset();
+    }
+  }
+
+  private void matchNGrams(List<int[]> queryNGramIdsAndCounts, SearchState searchState) {
+    int[] matchedNGrams = searchState.matchedNGrams;
+    for (int[] nGramIdAndCount : queryNGramIdsAndCounts) {
+      int nGramId = nGramIdAndCount[0];
+      int queryCount = nGramIdAndCount[1];
+      int[] synonymIndices = nGramSynonymIndices[nGramId];
+      if (searchState.nrCandidateSynonyms == 0 || synonymIndices.length <= maxCandidateSynonyms) {
+        int[] synonymCounts = nGramSynonymCounts[nGramId];
+        for (int i = 0; i < synonymIndices.length; i++) {
+          int synonymIndex = synonymIndices[i];
+          if (matchedNGrams[synonymIndex] == 0) {
+            searchState.addCandidateSynonym(synonymIndex);
+          }
+          matchedNGrams[synonymIndex] += Math.min(queryCount, synonymCounts[i]);
+        }
+      } else {
+        // common n-gram: only update the scores of the candidates
+        for (int i = 0; i < searchState.nrCandidateSynonyms; i++) {
+          int synonymIndex = searchState.candidateSynonyms[i];
+          int pos = Arrays.binarySearch(synonymNGramIds[synonymIndex], nGramId);
+          if (pos >= 0) {
+            matchedNGrams[synonymIndex] +=
+                Math.min(queryCount, synonymNGramCounts[synonymIndex][pos]);
+          }
+        }
+      }
+    }
+  }
+
+  private int[] findTopOntologyTerms(
+      int queryTotalNGrams, int maxOntologyTerms, SearchState searchState) {
+    double[] ontologyTermScores = searchState.ontologyTermScores;
+    for (int i = 0; i < searchState.nrCandidateSynonyms; i++) {
+      int synonymIndex = searchState.candidateSynonyms[i];
+      double score =
+          2.0
+              * searchState.matchedNGrams[synonymIndex]
+              / (queryTotalNGrams + synonymTotalNGrams[synonymIndex])
+              * 100;
+      int ontologyTermIndex = synonymOntologyTermIndices[synonymIndex];
+      if (ontologyTermScores[ontologyTermIndex] < 0) {
+        searchState.addCandidateOntologyTerm(ontologyTermIndex);
+      }
+      if (score > ontologyTermScores[ontologyTermIndex]) {
+        ontologyTermScores[ontologyTermIndex] = score;
+      }
+    }
+
+    // lowest score first, ties are broken by index so that results are deterministic
+    Comparator<Integer> comparator =
+        Comparator.<Integer>comparingDouble(index -> ontologyTermScores[index])
+            .thenComparing(Comparator.reverseOrder());
+    PriorityQueue<Integer> topOntologyTerms = new PriorityQueue<>(maxOntologyTerms + 1, comparator);
+    for (int i = 0; i < searchState.nrCandidateOntologyTerms; i++) {
+      topOntologyTerms.add(searchState.candidateOntologyTerms[i]);
+      if (topOntologyTerms.size() > maxOntologyTerms) {
+        topOntologyTerms.poll();
+      }
+    }
+    int[] ontologyTermIndices = new int[topOntologyTerms.size()];
+    for (int i = ontologyTermIndices.length - 1; i >= 0; i--) {
+      ontologyTermIndices[i] = topOntologyTerms.poll();
+    }
+    return ontologyTermIndices;
+  }
+
+  private static Map<String, Integer> createNGrams(String cleanedString) {
+    return NGramDistanceAlgorithm.createNGrams(cleanedString.toLowerCase().trim(), true);
+  }
+
+  private static String createAnnotationKey(String name, String value) {
+    return name.toLowerCase(Locale.ROOT) + '\u0000' + value.toLowerCase(Locale.ROOT);
+  }
+
+  /** Reusable per-thread arrays to search without allocating arrays of the size of the index */
+  private static class SearchState {
+    private final int[] matchedNGrams;
+    private final double[] ontologyTermScores;
+    private int[] candidateSynonyms = new int[16];
+    private int nrCandidateSynonyms;
+    private int[] candidateOntologyTerms = new int[16];
+    private int nrCandidateOntologyTerms;
+
+    SearchState(int nrSynonyms, int nrOntologyTerms) {
+      this.matchedNGrams = new int[nrSynonyms];
+      this.ontologyTermScores = new double[nrOntologyTerms];
+      Arrays.fill(ontologyTermScores, -1);
+    }
+
+    void addCandidateSynonym(int synonymIndex) {
+      if (nrCandidateSynonyms == candidateSynonyms.length) {
+        candidateSynonyms = Arrays.copyOf(candidateSynonyms, candidateSynonyms.length * 2);
+      }
+      candidateSynonyms[nrCandidateSynonyms++] = synonymIndex;
+    }
+
+    void addCandidateOntologyTerm(int ontologyTermIndex) {
+      if (nrCandidateOntologyTerms == candidateOntologyTerms.length) {
+        candidateOntologyTerms =
+            Arrays.copyOf(candidateOntologyTerms, candidateOntologyTerms.length * 2);
+      }
+      candidateOntologyTerms[nrCandidateOntologyTerms++] = ontologyTermIndex;
+    }
+
+    void reset() {
+      for (int i = 0; i < nrCandidateSynonyms; i++) {
+        matchedNGrams[candidateSynonyms[i]] = 0;
+      }
+      nrCandidateSynonyms = 0;
+      for (int i = 0; i < nrCandidateOntologyTerms; i++) {
+        ontologyTermScores[candidateOntologyTerms[i]] = -1;
+      }
+      nrCandidateOntologyTerms = 0;
+    }
+  }
+
+  static class Builder {
+    private final List<String> ontologyTermIris = new ArrayList<>();
+    private final List<List<String>> ontologyTermSynonyms = new ArrayList<>();
+    private final Map<String, ImmutableIntArray.Builder> annotationOntologyTermIndices =
+        new HashMap<>();
+
+    private final ImmutableIntArray.Builder synonymOntologyTermIndices =
+        ImmutableIntArray.builder();
+    private final ImmutableIntArray.Builder synonymTotalNGrams = ImmutableIntArray.builder();
+    private final List<int[]> synonymNGramIds = new ArrayList<>();
+    private final List<int[]> synonymNGramCounts = new ArrayList<>();
+
+    private final Map<String, Integer> nGramIds = new HashMap<>();
+    private final List<ImmutableIntArray.Builder> nGramSynonymIndices = new ArrayList<>();
+    private final List<ImmutableIntArray.Builder> nGramSynonymCounts = new ArrayList<>();
+
+    private Builder() {}
+
+    /**
+     * @param synonyms ontology term synonyms
+     * @param annotations ontology term annotation names and values
+     */
+    Builder addOntologyTerm(
+        String ontologyTermIri, List<String> synonyms, Map<String, String> annotations) {
+      int ontologyTermIndex = ontologyTermIris.size();
+      ontologyTermIris.add(requireNonNull(ontologyTermIri));
+      ontologyTermSynonyms.add(List.copyOf(synonyms));
+      annotations.forEach(
+          (name, value) ->
+              annotationOntologyTermIndices
+                  .computeIfAbsent(
+                      createAnnotationKey(name, value), key -> ImmutableIntArray.builder())
+                  .add(ontologyTermIndex));
+      synonyms.forEach(synonym -> addSynonym(ontologyTermIndex, synonym));
+      return this;
+    }
+
+    private void addSynonym(int ontologyTermIndex, String synonym) {
+      int synonymIndex = synonymNGramIds.size();
+      Map<String, Integer> nGrams =
+          createNGrams(SortaServiceImpl.removeIllegalCharWithSingleWhiteSpace(synonym));
+
+      int[] ids = new int[nGrams.size()];
+      int i = 0;
+      int totalNGrams = 0;
+      for (Entry<String, Integer> entry : nGrams.entrySet()) {
+        ids[i++] = nGramIds.computeIfAbsent(entry.getKey(), this::createNGramId);
+        totalNGrams += entry.getValue();
+      }
+      Arrays.sort(ids);
+      int[] counts = new int[ids.length];
+      for (Entry<String, Integer> entry : nGrams.entrySet()) {
+        int nGramId = nGramIds.get(entry.getKey());
+        counts[Arrays.binarySearch(ids, nGramId)] = entry.getValue();
+        nGramSynonymIndices.get(nGramId).add(synonymIndex);
+        nGramSynonymCounts.get(nGramId).add(entry.getValue());
+      }
+
+      synonymOntologyTermIndices.add(ontologyTermIndex);
+      synonymTotalNGrams.add(totalNGrams);
+      synonymNGramIds.add(ids);
+      synonymNGramCounts.add(counts);
+    }
+
+    private int createNGramId(String nGram) {
+      nGramSynonymIndices.add(ImmutableIntArray.builder());
+      nGramSynonymCounts.add(ImmutableIntArray.builder());
+      return nGramSynonymIndices.size() - 1;
+    }
+
+    OntologyTermNGramIndex build() {
+      return new OntologyTermNGramIndex(this);
+    }
+  }
+}
@@ -1,5 +1,6 @@
 package org.molgenis.ontology.sorta.service.impl;
 
+import static com.google.common.collect.Lists.newArrayList;
 import static java.util.Objects.requireNonNull;
 import static org.molgenis.data.QueryRule.Operator.AND;
 import static org.molgenis.data.QueryRule.Operator.DIS_MAX;
@@ -14,19 +15,21 @@ import static org.molgenis.ontology.core.meta.OntologyTermMetadata.ONTOLOGY_TERM
 import static org.molgenis.ontology.sorta.meta.OntologyTermHitMetaData.COMBINED_SCORE;
 import static org.molgenis.ontology.sorta.meta.OntologyTermHitMetaData.SCORE;
 
-import com.google.common.collect.FluentIterable;
-import com.google.common.collect.Iterables;
 import com.google.common.collect.Sets;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 import java.util.stream.Stream;
 import org.apache.commons.lang3.StringUtils;
 import org.molgenis.data.DataService;
 import org.molgenis.data.Entity;
+import org.molgenis.data.Fetch;
+import org.molgenis.data.Query;
 import org.molgenis.data.QueryRule;
 import org.molgenis.data.support.QueryImpl;
 import org.molgenis.ontology.core.meta.OntologyMetadata;
@@ -37,6 +40,7 @@ import org.molgenis.ontology.core.meta.OntologyTermSynonymMetadata;
 import org.molgenis.ontology.roc.InformationContentService;
 import org.molgenis.ontology.sorta.bean.OntologyTermHitEntity;
 import org.molgenis.ontology.sorta.meta.OntologyTermHitMetaData;
+import org.molgenis.ontology.sorta.service.OntologyTermMatcher;
 import org.molgenis.ontology.sorta.service.SortaService;
 import org.molgenis.semanticsearch.string.NGramDistanceAlgorithm;
 import org.molgenis.semanticsearch.string.Stemmer;
@@ -188,6 +192,71 @@ public class SortaServiceImpl implements SortaService {
     return relevantEntities;
   }
 
+  @Override
+  public OntologyTermMatcher createOntologyTermMatcher(String ontologyIri) {
+    Entity ontologyEntity = getOntologyEntity(ontologyIri);
+    if (ontologyEntity == null) {
+      throw new IllegalArgumentException(
+          "Ontology IRI " + ontologyIri + " does not exist in the database!");
+    }
+
+    Fetch fetch =
+        new Fetch()
+            .field(OntologyTermMetadata.ID)
+            .field(OntologyTermMetadata.ONTOLOGY_TERM_IRI)
+            .field(
+                OntologyTermMetadata.ONTOLOGY_TERM_SYNONYM,
+                new Fetch()
+                    .field(OntologyTermSynonymMetadata.ID)
+                    .field(OntologyTermSynonymMetadata.ONTOLOGY_TERM_SYNONYM_ATTR))
+            .field(
+                OntologyTermMetadata.ONTOLOGY_TERM_DYNAMIC_ANNOTATION,
+                new Fetch()
+                    .field(OntologyTermDynamicAnnotationMetadata.ID)
+                    .field(OntologyTermDynamicAnnotationMetadata.NAME)
+                    .field(OntologyTermDynamicAnnotationMetadata.VALUE));
+    Query<Entity> query =
+        new QueryImpl<>().eq(OntologyTermMetadata.ONTOLOGY, ontologyEntity).fetch(fetch);
+
+    OntologyTermNGramIndex.Builder indexBuilder = OntologyTermNGramIndex.builder();
+    dataService
+        .findAll(ONTOLOGY_TERM, query)
+        .forEach(
+            ontologyTermEntity ->
+                indexBuilder.addOntologyTerm(
+                    ontologyTermEntity.getString(OntologyTermMetadata.ONTOLOGY_TERM_IRI),
+                    getSynonyms(ontologyTermEntity),
+                    getAnnotations(ontologyTermEntity)));
+    return new IndexedOntologyTermMatcher(
+        this, ontologyIri, indexBuilder.build(), MAX_NUMBER_MATCHES);
+  }
+
+  private static List<String> getSynonyms(Entity ontologyTermEntity) {
+    List<String> synonyms = new ArrayList<>();
+    for (Entity synonymEntity :
+        ontologyTermEntity.getEntities(OntologyTermMetadata.ONTOLOGY_TERM_SYNONYM)) {
+      String synonym =
+          synonymEntity.getString(OntologyTermSynonymMetadata.ONTOLOGY_TERM_SYNONYM_ATTR);
+      if (synonym != null) {
+        synonyms.add(synonym);
+      }
+    }
+    return synonyms;
+  }
+
+  private static Map<String, String> getAnnotations(Entity ontologyTermEntity) {
+    Map<String, String> annotations = new LinkedHashMap<>();
+    for (Entity annotationEntity :
+        ontologyTermEntity.getEntities(OntologyTermMetadata.ONTOLOGY_TERM_DYNAMIC_ANNOTATION)) {
+      String name = annotationEntity.getString(OntologyTermDynamicAnnotationMetadata.NAME);
+      String value = annotationEntity.getString(OntologyTermDynamicAnnotationMetadata.VALUE);
+      if (name != null && value != null) {
+        annotations.put(name, value);
+      }
+    }
+    return annotations;
+  }
+
   private void annotationMatchOntologyTerms(
       Entity inputEntity,
       Entity ontologyEntity,
@@ -318,118 +387,122 @@ public class SortaServiceImpl implements SortaService {
   /** A helper function to calculate the best NGram score from a list ontologyTerm synonyms */
   private Entity findSynonymWithHighestNgramScore(
       String ontologyIri, String queryString, Entity ontologyTermEntity) {
-    Iterable<Entity> entities =
-        ontologyTermEntity.getEntities(OntologyTermMetadata.ONTOLOGY_TERM_SYNONYM);
-    if (Iterables.size(entities) > 0) {
-      String cleanedQueryString = removeIllegalCharWithSingleWhiteSpace(queryString);
-
-      // Calculate the Ngram silmiarity score for all the synonyms and sort them in descending order
-      List<Entity> synonymEntities =
-          FluentIterable.from(entities)
-              .transform(
-                  ontologyTermSynonymEntity -> {
-                    Entity mapEntity = ontologyTermSynonymFactory.create();
-                    mapEntity.set(ontologyTermSynonymEntity);
-                    String ontologyTermSynonym =
-                        removeIllegalCharWithSingleWhiteSpace(
-                            ontologyTermSynonymEntity.getString(
-                                OntologyTermSynonymMetadata.ONTOLOGY_TERM_SYNONYM_ATTR));
-                    mapEntity.set(
-                        SCORE,
-                        NGramDistanceAlgorithm.stringMatching(
-                            cleanedQueryString, ontologyTermSynonym));
-                    return mapEntity;
-                  })
-              .toSortedList(
-                  (entity1, entity2) ->
-                      entity2.getDouble(SCORE).compareTo(entity1.getDouble(SCORE)));
-
-      Entity firstMatchedSynonymEntity =
-          Iterables.getFirst(synonymEntities, ontologyTermSynonymFactory.create());
-      double topNgramScore = firstMatchedSynonymEntity.getDouble(SCORE);
-      String topMatchedSynonym =
-          firstMatchedSynonymEntity.getString(
-              OntologyTermSynonymMetadata.ONTOLOGY_TERM_SYNONYM_ATTR);
-
-      // the algorithm to combine synonyms to re-calculate the similarity scores to deal with the
-      // case where the
-      // input query string contains multiple words from different synonyms of the same ontology
-      // term. E.g.
-      // query string "propotosis, protruding eyeball, Exophthalmos" contains three synonyms of OT
-      // (propotosis),
-      // if it was matched to each of the synonyms, all the similarity score would be fairly low
-      // (25%), therefore
-      // need to combine those synonyms to recalculate the similarity score.
-      //
-      // The idea of the algorithm is quite simple, we add up the current synonym (the most) and
-      // next synonym (the
-      // second most), if the combined string yields a higher score, the synonyms will be combined
-      // together. The
-      // same process is repeated until all the synonyms have been checked
-      // A --> 30%
-      // B --> 25%
-      // C --> 20%
-      //
-      // if(score(a+b, query) > score(a)) combine
-      // else move to next synonym
-      for (Entity nextMatchedSynonymEntity : Iterables.skip(synonymEntities, 1)) {
-        String nextMatchedSynonym =
-            nextMatchedSynonymEntity.getString(
-                OntologyTermSynonymMetadata.ONTOLOGY_TERM_SYNONYM_ATTR);
-
-        StringBuilder tempCombinedSynonym = new StringBuilder();
-        tempCombinedSynonym
-            .append(topMatchedSynonym)
-            .append(SINGLE_WHITESPACE)
-            .append(nextMatchedSynonym);
-
-        double newScore =
-            NGramDistanceAlgorithm.stringMatching(
-                cleanedQueryString,
-                removeIllegalCharWithSingleWhiteSpace(tempCombinedSynonym.toString()));
-
-        if (newScore > topNgramScore) {
-          topNgramScore = newScore;
-          topMatchedSynonym = tempCombinedSynonym.toString();
-        }
-      }
+    List<Entity> synonymEntities =
+        newArrayList(ontologyTermEntity.getEntities(OntologyTermMetadata.ONTOLOGY_TERM_SYNONYM));
+    if (synonymEntities.isEmpty()) {
+      return null;
+    }
+
+    List<String> synonyms =
+        synonymEntities.stream()
+            .map(
+                synonymEntity ->
+                    synonymEntity.getString(OntologyTermSynonymMetadata.ONTOLOGY_TERM_SYNONYM_ATTR))
+            .collect(Collectors.toList());
+    SynonymMatch synonymMatch =
+        findSynonymWithHighestNgramScore(createLexicalQuery(queryString, ontologyIri), synonyms);
+
+    Entity firstMatchedSynonymEntity = ontologyTermSynonymFactory.create();
+    firstMatchedSynonymEntity.set(synonymEntities.get(synonymMatch.getSynonymIndex()));
+    firstMatchedSynonymEntity.set(
+        OntologyTermSynonymMetadata.ONTOLOGY_TERM_SYNONYM_ATTR, synonymMatch.getSynonym());
+    firstMatchedSynonymEntity.set(SCORE, synonymMatch.getScore());
+    firstMatchedSynonymEntity.set(COMBINED_SCORE, synonymMatch.getCombinedScore());
+    return firstMatchedSynonymEntity;
+  }
+
+  /** Creates a query string with word weights for matching against ontology term synonyms */
+  LexicalQuery createLexicalQuery(String queryString, String ontologyIri) {
+    String cleanedQueryString = removeIllegalCharWithSingleWhiteSpace(queryString);
+    // The similarity scores are adjusted based on the inverse document frequency of the words.
+    // The idea is that all the words from query string are weighted (important words occur fewer
+    // times across all ontology terms than common words), the final score should be compensated
+    // for according to the word weight.
+    Map<String, Double> weightedWordSimilarity =
+        informationContentService.redistributedNGramScore(cleanedQueryString, ontologyIri);
+    Set<String> stemmedWords = informationContentService.createStemmedWordSet(cleanedQueryString);
+    return new LexicalQuery(cleanedQueryString, weightedWordSimilarity, stemmedWords);
+  }
+
+  /**
+   * Calculates the best NGram score for a non-empty list of ontology term synonyms
+   *
+   * @param synonyms ontology term synonyms
+   * @return the best matching (combination of) synonyms
+   */
+  SynonymMatch findSynonymWithHighestNgramScore(LexicalQuery lexicalQuery, List<String> synonyms) {
+    String cleanedQueryString = lexicalQuery.getCleanedQueryString();
+
+    // Calculate the Ngram silmiarity score for all the synonyms and sort them in descending order
+    double[] synonymScores = new double[synonyms.size()];
+    for (int i = 0; i < synonyms.size(); i++) {
+      synonymScores[i] =
+          NGramDistanceAlgorithm.stringMatching(
+              cleanedQueryString, removeIllegalCharWithSingleWhiteSpace(synonyms.get(i)));
+    }
+    List<Integer> synonymIndices =
+        IntStream.range(0, synonyms.size())
+            .boxed()
+            .sorted(
+                (index1, index2) -> Double.compare(synonymScores[index2], synonymScores[index1]))
+            .collect(Collectors.toList());
 
-      firstMatchedSynonymEntity.set(
-          OntologyTermSynonymMetadata.ONTOLOGY_TERM_SYNONYM_ATTR, topMatchedSynonym);
-      firstMatchedSynonymEntity.set(SCORE, topNgramScore);
-      firstMatchedSynonymEntity.set(COMBINED_SCORE, topNgramScore);
-
-      // The similarity scores are adjusted based on the inverse document frequency of the words.
-      // The idea is that all the words from query string are weighted (important words occur fewer
-      // times across
-      // all ontology terms than common words), the final score should be compensated for according
-      // to the word
-      // // weight.
-      Map<String, Double> weightedWordSimilarity =
-          informationContentService.redistributedNGramScore(cleanedQueryString, ontologyIri);
-
-      Set<String> synonymStemmedWords =
-          informationContentService.createStemmedWordSet(topMatchedSynonym);
-
-      Set<String> createStemmedWordSet =
-          informationContentService.createStemmedWordSet(cleanedQueryString);
-
-      createStemmedWordSet.stream()
-          .filter(
-              originalWord ->
-                  Iterables.contains(synonymStemmedWords, originalWord)
-                      && weightedWordSimilarity.containsKey(originalWord))
-          .forEach(
-              word ->
-                  firstMatchedSynonymEntity.set(
-                      COMBINED_SCORE,
-                      (firstMatchedSynonymEntity.getDouble(COMBINED_SCORE)
-                          + weightedWordSimilarity.get(word))));
-
-      return firstMatchedSynonymEntity;
+    int topSynonymIndex = synonymIndices.get(0);
+    double topNgramScore = synonymScores[topSynonymIndex];
+    String topMatchedSynonym = synonyms.get(topSynonymIndex);
+
+    // the algorithm to combine synonyms to re-calculate the similarity scores to deal with the
+    // case where the
+    // input query string contains multiple words from different synonyms of the same ontology
+    // term. E.g.
+    // query string "propotosis, protruding eyeball, Exophthalmos" contains three synonyms of OT
+    // (propotosis),
+    // if it was matched to each of the synonyms, all the similarity score would be fairly low
+    // (25%), therefore
+    // need to combine those synonyms to recalculate the similarity score.
+    //
+    // The idea of the algorithm is quite simple, we add up the current synonym (the most) and
+    // next synonym (the
+    // second most), if the combined string yields a higher score, the synonyms will be combined
+    // together. The
+    // same process is repeated until all the synonyms have been checked
+    // A --> 30%
+    // B --> 25%
+    // C --> 20%
+    //
+    // if(score(a+b, query) > score(a)) combine
+    // else move to next synonym
+    for (int synonymIndex : synonymIndices.subList(1, synonymIndices.size())) {
+      String nextMatchedSynonym = synonyms.get(synonymIndex);
+
+      StringBuilder tempCombinedSynonym = new StringBuilder();
+      tempCombinedSynonym
+          .append(topMatchedSynonym)
+          .append(SINGLE_WHITESPACE)
+          .append(nextMatchedSynonym);
+
+      double newScore =
+          NGramDistanceAlgorithm.stringMatching(
+              cleanedQueryString,
+              removeIllegalCharWithSingleWhiteSpace(tempCombinedSynonym.toString()));
+
+      if (newScore > topNgramScore) {
+        topNgramScore = newScore;
+        topMatchedSynonym = tempCombinedSynonym.toString();
+      }
     }
 
-    return null;
+    Map<String, Double> weightedWordSimilarity = lexicalQuery.getWeightedWordSimilarity();
+    Set<String> synonymStemmedWords =
+        informationContentService.createStemmedWordSet(topMatchedSynonym);
+
+    double combinedScore = topNgramScore;
+    for (String word : lexicalQuery.getStemmedWords()) {
+      if (synonymStemmedWords.contains(word) && weightedWordSimilarity.containsKey(word)) {
+        combinedScore = combinedScore + weightedWordSimilarity.get(word);
+      }
+    }
+    return new SynonymMatch(topSynonymIndex, topMatchedSynonym, topNgramScore, combinedScore);
   }
 
   /**
@@ -461,7 +534,7 @@ public class SortaServiceImpl implements SortaService {
     return stringBuilder.toString().trim();
   }
 
-  private static String removeIllegalCharWithSingleWhiteSpace(String string) {
+  static String removeIllegalCharWithSingleWhiteSpace(String string) {
     return string.replaceAll(ILLEGAL_CHARACTERS_PATTERN, SINGLE_WHITESPACE);
   }
 
@@ -469,7 +542,7 @@ public class SortaServiceImpl implements SortaService {
     return string.replaceAll(ILLEGAL_CHARACTERS_PATTERN, StringUtils.EMPTY);
   }
 
-  private boolean isAttrNameValidForLexicalMatch(String attr) {
+  static boolean isAttrNameValidForLexicalMatch(String attr) {
     return StringUtils.equalsIgnoreCase(attr, DEFAULT_MATCHING_NAME_FIELD)
         || StringUtils.containsIgnoreCase(attr, DEFAULT_MATCHING_SYNONYM_PREFIX_FIELD);
   }
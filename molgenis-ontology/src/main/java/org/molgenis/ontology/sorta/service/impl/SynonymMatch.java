@@ -0,0 +1,38 @@
+package org.molgenis.ontology.sorta.service.impl;
+
+import static java.util.Objects.requireNonNull;
+
+/** Best matching (combination of) synonyms of an ontology term. */
+class SynonymMatch {
+  private final int synonymIndex;
+  private final String synonym;
+  private final double score;
+  private final double combinedScore;
+
+  /**
+   * @param synonymIndex index of the best matching synonym in the list of synonyms
+   * @param synonym best matching synonym or combination of synonyms
+   */
+  SynonymMatch(int synonymIndex, String synonym, double score, double combinedScore) {
+    this.synonymIndex = synonymIndex;
+    this.synonym = requireNonNull(synonym);
+    this.score = score;
+    this.combinedScore = combinedScore;
+  }
+
+  int getSynonymIndex() {
+    return synonymIndex;
+  }
+
+  String getSynonym() {
+    return synonym;
+  }
+
+  double getScore() {
+    return score;
+  }
+
+  double getCombinedScore() {
+    return combinedScore;
+  }
+}
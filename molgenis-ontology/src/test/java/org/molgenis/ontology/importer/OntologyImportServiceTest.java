@@ -7,12 +7,22 @@ import static java.util.Collections.singletonList;
 import static java.util.stream.Collectors.toList;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.mockito.Mockito.any;
+import static org.mockito.Mockito.anyInt;
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.doReturn;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 import static org.molgenis.data.importer.MetadataAction.IGNORE;
+import static org.molgenis.ontology.core.meta.OntologyMetadata.ONTOLOGY;
+import static org.molgenis.ontology.core.meta.OntologyTermDynamicAnnotationMetadata.ONTOLOGY_TERM_DYNAMIC_ANNOTATION;
+import static org.molgenis.ontology.core.meta.OntologyTermMetadata.ONTOLOGY_TERM;
+import static org.molgenis.ontology.core.meta.OntologyTermNodePathMetadata.ONTOLOGY_TERM_NODE_PATH;
+import static org.molgenis.ontology.core.meta.OntologyTermSynonymMetadata.ONTOLOGY_TERM_SYNONYM;
 
+import java.util.function.Consumer;
 import java.util.stream.Stream;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -26,6 +36,12 @@ import org.molgenis.data.RepositoryCollection;
 import org.molgenis.data.importer.EntityImportReport;
 import org.molgenis.data.importer.MetadataAction;
 import org.molgenis.ontology.core.importer.OntologyImportService;
+import org.molgenis.ontology.core.importer.repository.OntologyRepositoryCollection;
+import org.molgenis.ontology.core.importer.repository.OntologyTermBatch;
+import org.molgenis.ontology.core.meta.Ontology;
+import org.molgenis.ontology.core.meta.OntologyTerm;
+import org.molgenis.ontology.core.meta.OntologyTermNodePath;
+import org.molgenis.ontology.core.meta.OntologyTermSynonym;
 import org.molgenis.test.AbstractMockitoTest;
 
 class OntologyImportServiceTest extends AbstractMockitoTest {
@@ -80,6 +96,66 @@ class OntologyImportServiceTest extends AbstractMockitoTest {
     assertEquals(singletonList(entity1), entityTypeId1Captor.getValue().collect(toList()));
   }
 
+  @SuppressWarnings("unchecked")
+  @Test
+  void testDoImportOntologyRepositoryCollection() {
+    Ontology ontology = mock(Ontology.class);
+    OntologyTermNodePath nodePath = mock(OntologyTermNodePath.class);
+    OntologyTermSynonym synonym = mock(OntologyTermSynonym.class);
+    OntologyTerm ontologyTerm = mock(OntologyTerm.class);
+    OntologyTermBatch batch = mock(OntologyTermBatch.class);
+    when(batch.getNodePaths()).thenReturn(singletonList(nodePath));
+    when(batch.getSynonyms()).thenReturn(singletonList(synonym));
+    when(batch.getDynamicAnnotations()).thenReturn(emptyList());
+    when(batch.getOntologyTerms()).thenReturn(singletonList(ontologyTerm));
+
+    OntologyRepositoryCollection repositoryCollection = mock(OntologyRepositoryCollection.class);
+    when(repositoryCollection.getOntology()).thenReturn(ontology);
+    doAnswer(
+            invocation -> {
+              Consumer<OntologyTermBatch> consumer = invocation.getArgument(1);
+              consumer.accept(batch);
+              consumer.accept(batch);
+              return null;
+            })
+        .when(repositoryCollection)
+        .forEachOntologyTermBatch(anyInt(), any(Consumer.class));
+
+    Repository<Entity> nodePathRepository = createTargetRepository(ONTOLOGY_TERM_NODE_PATH);
+    Repository<Entity> synonymRepository = createTargetRepository(ONTOLOGY_TERM_SYNONYM);
+    Repository<Entity> annotationRepository = mock(Repository.class);
+    doReturn(annotationRepository)
+        .when(dataService)
+        .getRepository(ONTOLOGY_TERM_DYNAMIC_ANNOTATION);
+    Repository<Entity> ontologyTermRepository = createTargetRepository(ONTOLOGY_TERM);
+
+    EntityImportReport entityImportReport =
+        ontologyImportService.doImport(
+            repositoryCollection, MetadataAction.IGNORE, DataAction.ADD, null);
+
+    assertEquals(
+        of(ONTOLOGY, 1, ONTOLOGY_TERM_NODE_PATH, 2, ONTOLOGY_TERM_SYNONYM, 2, ONTOLOGY_TERM, 2),
+        entityImportReport.getNrImportedEntitiesMap());
+    verify(dataService).add(ONTOLOGY, ontology);
+
+    @SuppressWarnings("unchecked")
+    ArgumentCaptor<Stream<Entity>> ontologyTermCaptor = ArgumentCaptor.forClass(Stream.class);
+    verify(ontologyTermRepository, times(2)).add(ontologyTermCaptor.capture());
+    assertEquals(singletonList(ontologyTerm), ontologyTermCaptor.getValue().collect(toList()));
+    verify(nodePathRepository, times(2)).add(any(Stream.class));
+    verify(synonymRepository, times(2)).add(any(Stream.class));
+    verifyNoInteractions(annotationRepository);
+  }
+
+  @SuppressWarnings("unchecked")
+  private Repository<Entity> createTargetRepository(String entityTypeId) {
+    Repository<Entity> repository = mock(Repository.class);
+    when(repository.getName()).thenReturn(entityTypeId);
+    when(repository.add(any(Stream.class))).thenReturn(1);
+    doReturn(repository).when(dataService).getRepository(entityTypeId);
+    return repository;
+  }
+
   @Test
   void getMetadataAction() {
     RepositoryCollection source = mock(RepositoryCollection.class);
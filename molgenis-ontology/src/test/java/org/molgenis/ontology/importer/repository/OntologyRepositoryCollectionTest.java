@@ -4,6 +4,7 @@ import static com.google.common.collect.Streams.stream;
 import static java.util.Arrays.asList;
 import static java.util.Collections.emptyList;
 import static java.util.Collections.singletonList;
+import static java.util.stream.Collectors.toList;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
@@ -27,6 +28,7 @@ import static org.molgenis.ontology.core.meta.OntologyTermSynonymMetadata.ONTOLO
 
 import java.io.File;
 import java.io.IOException;
+import java.util.ArrayList;
 import java.util.Iterator;
 import java.util.List;
 import java.util.UUID;
@@ -39,9 +41,14 @@ import org.molgenis.data.Repository;
 import org.molgenis.data.populate.IdGenerator;
 import org.molgenis.ontology.core.config.OntologyTestConfig;
 import org.molgenis.ontology.core.importer.repository.OntologyRepositoryCollection;
+import org.molgenis.ontology.core.importer.repository.OntologyTermBatch;
+import org.molgenis.ontology.core.meta.OntologyTerm;
+import org.molgenis.ontology.core.meta.OntologyTermDynamicAnnotation;
 import org.molgenis.ontology.core.meta.OntologyTermDynamicAnnotationMetadata;
 import org.molgenis.ontology.core.meta.OntologyTermMetadata;
+import org.molgenis.ontology.core.meta.OntologyTermNodePath;
 import org.molgenis.ontology.core.meta.OntologyTermNodePathMetadata;
+import org.molgenis.ontology.core.meta.OntologyTermSynonym;
 import org.molgenis.ontology.core.meta.OntologyTermSynonymMetadata;
 import org.molgenis.util.ResourceUtils;
 import org.semanticweb.owlapi.model.OWLOntologyCreationException;
@@ -62,13 +69,14 @@ class OntologyRepositoryCollectionTest extends AbstractMolgenisSpringTest {
   private Repository<Entity> ontologyTermNodePathRepository;
   private Repository<Entity> ontologyTermSynonymRepository;
   private Repository<Entity> ontologyTermRepository;
+  private OntologyRepositoryCollection ontologyRepoCollection;
 
   @BeforeEach
   void beforeMethod() throws IOException, OWLOntologyCreationException, NoSuchMethodException {
 
     // ontology repository collection is not spring managed, see FileRepositoryCollectionFactory
     File file = ResourceUtils.getFile("small_test_data_NGtest.owl.zip");
-    OntologyRepositoryCollection ontologyRepoCollection =
+    ontologyRepoCollection =
         BeanUtils.instantiateClass(
             OntologyRepositoryCollection.class.getConstructor(File.class), file);
     autowireCapableBeanFactory.autowireBeanProperties(
@@ -130,21 +138,17 @@ class OntologyRepositoryCollectionTest extends AbstractMolgenisSpringTest {
 
   @Test
   void ontologyTermNodePathRepositoryIterator() throws OWLOntologyCreationException {
+    // node paths are created per ontology term in the order of the ontology terms
     Iterator<Entity> i = ontologyTermNodePathRepository.iterator();
     assertTrue(i.hasNext());
     Entity entity = i.next();
     assertNotNull(entity.get(OntologyTermNodePathMetadata.ID));
-    assertEquals("0[0]", entity.get(NODE_PATH));
-    assertTrue(entity.getBoolean(OntologyTermNodePathMetadata.ROOT));
-
-    entity = i.next();
-    assertNotNull(entity.get(OntologyTermNodePathMetadata.ID));
     assertEquals("0[0].0[1]", entity.get(NODE_PATH));
     assertFalse(entity.getBoolean(OntologyTermNodePathMetadata.ROOT));
 
     entity = i.next();
     assertNotNull(entity.get(OntologyTermNodePathMetadata.ID));
-    assertEquals("0[0].0[1].0[2]", entity.get(NODE_PATH));
+    assertEquals("0[0].1[1]", entity.get(NODE_PATH));
     assertFalse(entity.getBoolean(OntologyTermNodePathMetadata.ROOT));
 
     entity = i.next();
@@ -154,14 +158,19 @@ class OntologyRepositoryCollectionTest extends AbstractMolgenisSpringTest {
 
     entity = i.next();
     assertNotNull(entity.get(OntologyTermNodePathMetadata.ID));
-    assertEquals("0[0].1[1]", entity.get(NODE_PATH));
+    assertEquals("0[0].1[1].0[2]", entity.get(NODE_PATH));
     assertFalse(entity.getBoolean(OntologyTermNodePathMetadata.ROOT));
 
     entity = i.next();
     assertNotNull(entity.get(OntologyTermNodePathMetadata.ID));
-    assertEquals("0[0].1[1].0[2]", entity.get(NODE_PATH));
+    assertEquals("0[0].2[1].0[2]", entity.get(NODE_PATH));
     assertFalse(entity.getBoolean(OntologyTermNodePathMetadata.ROOT));
 
+    entity = i.next();
+    assertNotNull(entity.get(OntologyTermNodePathMetadata.ID));
+    assertEquals("0[0]", entity.get(NODE_PATH));
+    assertTrue(entity.getBoolean(OntologyTermNodePathMetadata.ROOT));
+
     entity = i.next();
     assertNotNull(entity.get(OntologyTermNodePathMetadata.ID));
     assertEquals("0[0].2[1]", entity.get(NODE_PATH));
@@ -169,7 +178,7 @@ class OntologyRepositoryCollectionTest extends AbstractMolgenisSpringTest {
 
     entity = i.next();
     assertNotNull(entity.get(OntologyTermNodePathMetadata.ID));
-    assertEquals("0[0].2[1].0[2]", entity.get(NODE_PATH));
+    assertEquals("0[0].2[1].1[2].0[3]", entity.get(NODE_PATH));
     assertFalse(entity.getBoolean(OntologyTermNodePathMetadata.ROOT));
 
     entity = i.next();
@@ -179,12 +188,46 @@ class OntologyRepositoryCollectionTest extends AbstractMolgenisSpringTest {
 
     entity = i.next();
     assertNotNull(entity.get(OntologyTermNodePathMetadata.ID));
-    assertEquals("0[0].2[1].1[2].0[3]", entity.get(NODE_PATH));
+    assertEquals("0[0].0[1].0[2]", entity.get(NODE_PATH));
     assertFalse(entity.getBoolean(OntologyTermNodePathMetadata.ROOT));
 
     assertFalse(i.hasNext());
   }
 
+  @Test
+  void testForEachOntologyTermBatch() {
+    List<OntologyTermBatch> batches = new ArrayList<>();
+    ontologyRepoCollection.forEachOntologyTermBatch(4, batches::add);
+
+    assertEquals(
+        asList(4, 4, 1),
+        batches.stream().map(batch -> batch.getOntologyTerms().size()).collect(toList()));
+    assertEquals(
+        asList(5, 4, 1),
+        batches.stream().map(batch -> batch.getNodePaths().size()).collect(toList()));
+    assertEquals(
+        asList(4, 4, 1),
+        batches.stream().map(batch -> batch.getSynonyms().size()).collect(toList()));
+    assertEquals(
+        asList(4, 0, 0),
+        batches.stream().map(batch -> batch.getDynamicAnnotations().size()).collect(toList()));
+
+    // ontology terms only refer to entities in their own batch
+    for (OntologyTermBatch batch : batches) {
+      List<OntologyTermNodePath> nodePaths = new ArrayList<>();
+      List<OntologyTermSynonym> synonyms = new ArrayList<>();
+      List<OntologyTermDynamicAnnotation> annotations = new ArrayList<>();
+      for (OntologyTerm ontologyTerm : batch.getOntologyTerms()) {
+        ontologyTerm.getOntologyTermNodePaths().forEach(nodePaths::add);
+        ontologyTerm.getOntologyTermSynonyms().forEach(synonyms::add);
+        ontologyTerm.getOntologyTermDynamicAnnotations().forEach(annotations::add);
+      }
+      assertEquals(batch.getNodePaths(), nodePaths);
+      assertEquals(batch.getSynonyms(), synonyms);
+      assertEquals(batch.getDynamicAnnotations(), annotations);
+    }
+  }
+
   @Test
   void ontologyTermSynonymRepositoryIterator() throws OWLOntologyCreationException {
 
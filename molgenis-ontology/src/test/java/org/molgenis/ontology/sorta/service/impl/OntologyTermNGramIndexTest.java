@@ -0,0 +1,69 @@
+package org.molgenis.ontology.sorta.service.impl;
+
+import static java.util.Arrays.asList;
+import static java.util.Collections.emptyMap;
+import static java.util.Collections.singletonList;
+import static java.util.Collections.singletonMap;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class OntologyTermNGramIndexTest {
+  private OntologyTermNGramIndex ontologyTermIndex;
+
+  @BeforeEach
+  void setUpBeforeEach() {
+    ontologyTermIndex =
+        OntologyTermNGramIndex.builder()
+            .addOntologyTerm(
+                "iri0", singletonList("hearing impairment"), singletonMap("OMIM", "124325"))
+            .addOntologyTerm("iri1", singletonList("mixed hearing impairment"), emptyMap())
+            .addOntologyTerm(
+                "iri2", asList("proptosis", "protruding eyeball", "exophthalmos"), emptyMap())
+            .addOntologyTerm("iri3", List.of(), singletonMap("HPO", "hp:0000520"))
+            .build();
+  }
+
+  @Test
+  void testFindOntologyTerms() {
+    assertArrayEquals(new int[] {0, 1, 2}, ontologyTermIndex.findOntologyTerms("hearing loss", 10));
+  }
+
+  @Test
+  void testFindOntologyTermsMaxOntologyTerms() {
+    assertArrayEquals(new int[] {0}, ontologyTermIndex.findOntologyTerms("hearing loss", 1));
+  }
+
+  @Test
+  void testFindOntologyTermsBestSynonym() {
+    assertArrayEquals(new int[] {2}, ontologyTermIndex.findOntologyTerms("eyeball", 10));
+  }
+
+  @Test
+  void testFindOntologyTermsNoMatch() {
+    assertArrayEquals(new int[0], ontologyTermIndex.findOntologyTerms("qqq", 10));
+  }
+
+  @Test
+  void testFindOntologyTermsByAnnotation() {
+    assertArrayEquals(
+        new int[] {3}, ontologyTermIndex.findOntologyTermsByAnnotation("hpo", "HP:0000520"));
+  }
+
+  @Test
+  void testFindOntologyTermsByAnnotationNoMatch() {
+    assertArrayEquals(
+        new int[0], ontologyTermIndex.findOntologyTermsByAnnotation("OMIM", "hp:0000520"));
+  }
+
+  @Test
+  void testGetOntologyTerm() {
+    assertEquals("iri2", ontologyTermIndex.getOntologyTermIri(2));
+    assertEquals(
+        asList("proptosis", "protruding eyeball", "exophthalmos"),
+        ontologyTermIndex.getOntologyTermSynonyms(2));
+  }
+}
@@ -3,6 +3,8 @@ package org.molgenis.integrationtest.config;
 import org.molgenis.jobs.JobExecutionConfig;
 import org.molgenis.jobs.JobExecutionUpdaterImpl;
 import org.molgenis.jobs.JobFactoryRegistrar;
+import org.molgenis.jobs.model.JobExecutionLogChunkFactory;
+import org.molgenis.jobs.model.JobExecutionLogChunkMetadata;
 import org.molgenis.jobs.model.JobPackage;
 import org.molgenis.jobs.model.ScheduledJobTypeFactory;
 import org.molgenis.jobs.model.ScheduledJobTypeMetadata;
@@ -24,6 +26,8 @@ import org.springframework.context.annotation.Import;
   ScheduledJobTypeFactory.class,
   ScheduledJobTypeMetadata.class,
   JobExecutionUpdaterImpl.class,
+  JobExecutionLogChunkFactory.class,
+  JobExecutionLogChunkMetadata.class,
   MailSenderImpl.class,
   MailSettingsImpl.class,
   JavaMailSenderFactory.class,
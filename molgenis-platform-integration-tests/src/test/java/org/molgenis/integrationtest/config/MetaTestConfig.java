@@ -15,6 +15,8 @@ import org.molgenis.data.meta.persist.PackagePersister;
 import org.molgenis.data.meta.system.SystemEntityTypeInitializer;
 import org.molgenis.data.meta.system.SystemEntityTypePersister;
 import org.molgenis.data.meta.system.SystemEntityTypeRegistrar;
+import org.molgenis.data.meta.system.SystemMetadataFingerprintRepository;
+import org.molgenis.data.meta.system.SystemMetadataFingerprinter;
 import org.molgenis.data.meta.system.SystemPackageRegistrar;
 import org.molgenis.data.meta.system.SystemPackageRegistry;
 import org.molgenis.data.platform.decorators.SystemRepositoryDecoratorRegistryImpl;
@@ -38,6 +40,8 @@ import org.springframework.context.annotation.Import;
   SystemPackageRegistry.class,
   PackagePersister.class,
   SystemEntityTypePersister.class,
+  SystemMetadataFingerprinter.class,
+  SystemMetadataFingerprintRepository.class,
   SystemEntityTypeRegistrar.class,
   SystemPackageRegistrar.class,
   EntityFactoryRegistrar.class,
@@ -7,6 +7,7 @@ import org.molgenis.data.file.FileRepositoryCollectionFactory;
 import org.molgenis.data.index.IndexedRepositoryDecoratorFactory;
 import org.molgenis.data.platform.RepositoryCollectionDecoratorFactoryImpl;
 import org.molgenis.data.platform.decorators.MolgenisRepositoryDecoratorFactory;
+import org.molgenis.data.platform.decorators.RepositoryDecoratorMetrics;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.Import;
 
@@ -17,6 +18,7 @@ import org.springframework.context.annotation.Import;
   RepositoryCollectionBootstrapper.class,
   IndexedRepositoryDecoratorFactory.class,
   MolgenisRepositoryDecoratorFactory.class,
+  RepositoryDecoratorMetrics.class,
   FileRepositoryCollectionFactory.class,
   SystemRepositoryDecoratorFactoryRegistrar.class
 })
@@ -1,6 +1,7 @@
 package org.molgenis.questionnaires.service.impl;
 
 import static java.util.Objects.requireNonNull;
+import static java.util.stream.Collectors.toList;
 import static org.molgenis.data.EntityManager.CreationMode.POPULATE;
 import static org.molgenis.data.meta.model.EntityTypeMetadata.ENTITY_TYPE_META_DATA;
 import static org.molgenis.questionnaires.meta.QuestionnaireMetaData.OWNER_USERNAME;
@@ -8,6 +9,8 @@ import static org.molgenis.questionnaires.meta.QuestionnaireMetaData.QUESTIONNAI
 import static org.molgenis.questionnaires.meta.QuestionnaireStatus.OPEN;
 import static org.molgenis.security.core.utils.SecurityUtils.getCurrentUsername;
 
+import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.stream.Stream;
 import javax.annotation.CheckForNull;
@@ -28,6 +31,7 @@ import org.molgenis.questionnaires.response.QuestionnaireResponse;
 import org.molgenis.questionnaires.service.QuestionnaireService;
 import org.molgenis.security.acl.MutableAclClassService;
 import org.molgenis.security.core.UserPermissionEvaluator;
+import org.springframework.security.acls.model.ObjectIdentity;
 import org.springframework.stereotype.Service;
 
 @Service
@@ -59,18 +63,28 @@ public class QuestionnaireServiceImpl implements QuestionnaireService {
 
   @Override
   public Stream<EntityType> getQuestionnaires() {
-    return dataService
-        .query(ENTITY_TYPE_META_DATA, EntityType.class)
-        .eq(EntityTypeMetadata.EXTENDS, QUESTIONNAIRE)
-        .findAll()
+    List<EntityType> entityTypes =
+        dataService
+            .query(ENTITY_TYPE_META_DATA, EntityType.class)
+            .eq(EntityTypeMetadata.EXTENDS, QUESTIONNAIRE)
+            .findAll()
+            .collect(toList());
+    List<EntityTypeIdentity> entityTypeIdentities =
+        entityTypes.stream()
+            .map(entityType -> new EntityTypeIdentity(entityType.getId()))
+            .collect(toList());
+    Map<ObjectIdentity, Boolean> addDataPermissions =
+        userPermissionEvaluator.hasPermissions(entityTypeIdentities, EntityTypePermission.ADD_DATA);
+    Map<ObjectIdentity, Boolean> updateDataPermissions =
+        userPermissionEvaluator.hasPermissions(
+            entityTypeIdentities, EntityTypePermission.UPDATE_DATA);
+    return entityTypes.stream()
         .filter(
-            entityType ->
-                userPermissionEvaluator.hasPermission(
-                    new EntityTypeIdentity(entityType.getId()), EntityTypePermission.ADD_DATA))
-        .filter(
-            entityType ->
-                userPermissionEvaluator.hasPermission(
-                    new EntityTypeIdentity(entityType.getId()), EntityTypePermission.UPDATE_DATA));
+            entityType -> {
+              EntityTypeIdentity entityTypeIdentity = new EntityTypeIdentity(entityType.getId());
+              return addDataPermissions.get(entityTypeIdentity)
+                  && updateDataPermissions.get(entityTypeIdentity);
+            });
   }
 
   @Override
@@ -14,6 +14,7 @@ import static org.molgenis.questionnaires.meta.QuestionnaireMetaData.QUESTIONNAI
 
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 import org.junit.jupiter.api.AfterAll;
@@ -97,12 +98,13 @@ class QuestionnaireServiceTest extends AbstractMockitoTest {
     when(dataService.query(ENTITY_TYPE_META_DATA, EntityType.class)).thenReturn(typedQuery);
 
     when(query.findAll()).thenReturn(Stream.of(entityType));
-    doReturn(true)
+    EntityTypeIdentity entityTypeIdentity = new EntityTypeIdentity(QUESTIONNAIRE_ID);
+    doReturn(Map.of(entityTypeIdentity, true))
         .when(userPermissionEvaluator)
-        .hasPermission(new EntityTypeIdentity(QUESTIONNAIRE_ID), EntityTypePermission.ADD_DATA);
-    doReturn(true)
+        .hasPermissions(List.of(entityTypeIdentity), EntityTypePermission.ADD_DATA);
+    doReturn(Map.of(entityTypeIdentity, true))
         .when(userPermissionEvaluator)
-        .hasPermission(new EntityTypeIdentity(QUESTIONNAIRE_ID), EntityTypePermission.UPDATE_DATA);
+        .hasPermissions(List.of(entityTypeIdentity), EntityTypePermission.UPDATE_DATA);
 
     // =========== Test ===========
     List<EntityType> questionnaires =
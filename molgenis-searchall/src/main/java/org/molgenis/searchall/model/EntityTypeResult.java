@@ -23,13 +23,17 @@ public abstract class EntityTypeResult implements Described {
 
   public abstract ImmutableList<AttributeResult> getAttributes();
 
-  public abstract long getNrOfMatchingEntities();
+  /** Returns the number of matching entities or <code>null</code> if the number is unknown */
+  @Nullable
+  @CheckForNull
+  public abstract Long getNrOfMatchingEntities();
 
   public boolean isMatch() {
+    Long nrOfMatchingEntities = getNrOfMatchingEntities();
     return isLabelMatch()
         || isDescriptionMatch()
         || !getAttributes().isEmpty()
-        || getNrOfMatchingEntities() > 0;
+        || (nrOfMatchingEntities != null && nrOfMatchingEntities > 0);
   }
 
   @AutoValue.Builder
@@ -48,7 +52,7 @@ public abstract class EntityTypeResult implements Described {
 
     public abstract Builder setAttributes(List<AttributeResult> attributes);
 
-    public abstract Builder setNrOfMatchingEntities(long nrOfMatchingEntites);
+    public abstract Builder setNrOfMatchingEntities(Long nrOfMatchingEntites);
 
     public abstract EntityTypeResult build();
   }
@@ -0,0 +1,106 @@
+package org.molgenis.searchall.service;
+
+import static com.google.common.base.Predicates.not;
+import static com.google.common.collect.ImmutableList.toImmutableList;
+import static com.google.common.collect.Streams.stream;
+import static java.util.Objects.requireNonNull;
+
+import com.google.common.collect.ImmutableList;
+import java.util.stream.Stream;
+import javax.annotation.CheckForNull;
+import javax.annotation.Nullable;
+import org.molgenis.data.meta.model.EntityType;
+import org.molgenis.data.meta.model.Package;
+import org.molgenis.data.util.EntityTypeUtils;
+import org.molgenis.data.util.PackageUtils;
+import org.molgenis.searchall.model.AttributeResult;
+import org.molgenis.searchall.model.PackageResult;
+
+/**
+ * Searchable metadata of all non-system entity types and packages in one language. The labels,
+ * descriptions and attributes are copied when the snapshot is created so that searching does not
+ * touch the entity types and packages.
+ */
+class MetadataSnapshot {
+  private final ImmutableList<EntityTypeSnapshot> entityTypes;
+  private final ImmutableList<PackageResult> packages;
+
+  private MetadataSnapshot(
+      ImmutableList<EntityTypeSnapshot> entityTypes, ImmutableList<PackageResult> packages) {
+    this.entityTypes = requireNonNull(entityTypes);
+    this.packages = requireNonNull(packages);
+  }
+
+  static MetadataSnapshot create(
+      Stream<EntityType> entityTypes, Stream<Package> packages, String languageCode) {
+    ImmutableList<EntityTypeSnapshot> entityTypeSnapshots =
+        entityTypes
+            .filter(not(EntityTypeUtils::isSystemEntity))
+            .filter(not(EntityType::isAbstract))
+            .map(entityType -> new EntityTypeSnapshot(entityType, languageCode))
+            .collect(toImmutableList());
+    ImmutableList<PackageResult> packageResults =
+        packages
+            .filter(not(PackageUtils::isSystemPackage))
+            .map(PackageResult::create)
+            .collect(toImmutableList());
+    return new MetadataSnapshot(entityTypeSnapshots, packageResults);
+  }
+
+  ImmutableList<EntityTypeSnapshot> getEntityTypes() {
+    return entityTypes;
+  }
+
+  ImmutableList<PackageResult> getPackages() {
+    return packages;
+  }
+
+  static class EntityTypeSnapshot {
+    private final EntityType entityType;
+    private final String label;
+    private final String description;
+    private final String packageId;
+    private final ImmutableList<AttributeResult> attributes;
+
+    private EntityTypeSnapshot(EntityType entityType, String languageCode) {
+      this.entityType = entityType;
+      this.label = entityType.getLabel(languageCode);
+      this.description = entityType.getDescription(languageCode);
+      Package entityTypePackage = entityType.getPackage();
+      this.packageId = entityTypePackage != null ? entityTypePackage.getId() : null;
+      this.attributes =
+          stream(entityType.getAllAttributes())
+              .map(attribute -> AttributeResult.create(attribute, languageCode))
+              .collect(toImmutableList());
+    }
+
+    /** Returns the entity type, only to be used to identify the entity type */
+    EntityType getEntityType() {
+      return entityType;
+    }
+
+    String getId() {
+      return entityType.getId();
+    }
+
+    String getLabel() {
+      return label;
+    }
+
+    @Nullable
+    @CheckForNull
+    String getDescription() {
+      return description;
+    }
+
+    @Nullable
+    @CheckForNull
+    String getPackageId() {
+      return packageId;
+    }
+
+    ImmutableList<AttributeResult> getAttributes() {
+      return attributes;
+    }
+  }
+}
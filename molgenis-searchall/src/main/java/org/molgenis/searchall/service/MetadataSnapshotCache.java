@@ -0,0 +1,112 @@
+package org.molgenis.searchall.service;
+
+import static java.util.Collections.disjoint;
+import static java.util.Objects.requireNonNull;
+import static org.molgenis.data.meta.model.AttributeMetadata.ATTRIBUTE_META_DATA;
+import static org.molgenis.data.meta.model.EntityTypeMetadata.ENTITY_TYPE_META_DATA;
+import static org.molgenis.data.meta.model.PackageMetadata.PACKAGE;
+import static org.molgenis.security.core.runas.RunAsSystemAspect.runAsSystem;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import org.molgenis.data.DataService;
+import org.molgenis.data.meta.model.EntityType;
+import org.molgenis.data.meta.model.Package;
+import org.molgenis.data.transaction.CacheInvalidation;
+import org.molgenis.data.transaction.CacheInvalidationBus;
+import org.molgenis.data.transaction.CacheInvalidationListener;
+import org.molgenis.data.transaction.TransactionInformation;
+import org.molgenis.data.transaction.TransactionListener;
+import org.molgenis.data.transaction.TransactionManager;
+import org.springframework.stereotype.Component;
+
+/**
+ * Caches a {@link MetadataSnapshot} per language. The snapshots contain the metadata of all entity
+ * types and packages regardless of the permissions of the current user and are evicted after
+ * entity types, attributes or packages are changed on this or another node.
+ */
+@Component
+class MetadataSnapshotCache implements TransactionListener, CacheInvalidationListener {
+  private static final Set<String> METADATA_ENTITY_TYPE_IDS =
+      Set.of(ENTITY_TYPE_META_DATA, ATTRIBUTE_META_DATA, PACKAGE);
+
+  private final DataService dataService;
+  private final TransactionInformation transactionInformation;
+  private final Map<String, MetadataSnapshot> snapshots = new ConcurrentHashMap<>();
+
+  // guarded by this, incremented on each eviction
+  private long generation;
+
+  MetadataSnapshotCache(
+      DataService dataService,
+      TransactionManager transactionManager,
+      TransactionInformation transactionInformation,
+      CacheInvalidationBus cacheInvalidationBus) {
+    this.dataService = requireNonNull(dataService);
+    this.transactionInformation = requireNonNull(transactionInformation);
+    requireNonNull(transactionManager).addTransactionListener(this);
+    requireNonNull(cacheInvalidationBus).addCacheInvalidationListener(this);
+  }
+
+  MetadataSnapshot getSnapshot(String languageCode) {
+    MetadataSnapshot snapshot = snapshots.get(languageCode);
+    if (snapshot == null) {
+      // don't cache metadata changes of the current transaction that might be rolled back
+      boolean cacheable = isMetadataClean();
+      long snapshotGeneration = getGeneration();
+      snapshot = runAsSystem(() -> createSnapshot(languageCode));
+      if (cacheable) {
+        putSnapshot(languageCode, snapshot, snapshotGeneration);
+      }
+    }
+    return snapshot;
+  }
+
+  private MetadataSnapshot createSnapshot(String languageCode) {
+    return MetadataSnapshot.create(
+        dataService.findAll(ENTITY_TYPE_META_DATA, EntityType.class),
+        dataService.findAll(PACKAGE, Package.class),
+        languageCode);
+  }
+
+  private boolean isMetadataClean() {
+    return disjoint(transactionInformation.getDirtyRepositories(), METADATA_ENTITY_TYPE_IDS);
+  }
+
+  private synchronized long getGeneration() {
+    return generation;
+  }
+
+  private synchronized void putSnapshot(
+      String languageCode, MetadataSnapshot snapshot, long snapshotGeneration) {
+    // the metadata might have changed while the snapshot was being created
+    if (snapshotGeneration == generation) {
+      snapshots.put(languageCode, snapshot);
+    }
+  }
+
+  private synchronized void evictAll() {
+    generation++;
+    snapshots.clear();
+  }
+
+  @Override
+  public void afterCommitTransaction(String transactionId) {
+    if (!isMetadataClean()) {
+      evictAll();
+    }
+  }
+
+  @Override
+  public void onCacheInvalidation(CacheInvalidation cacheInvalidation) {
+    if (!disjoint(cacheInvalidation.getDirtyRepositories(), METADATA_ENTITY_TYPE_IDS)) {
+      evictAll();
+    }
+  }
+
+  @Override
+  public void onCacheInvalidationsMissed() {
+    evictAll();
+  }
+}
@@ -1,84 +1,166 @@
 package org.molgenis.searchall.service;
 
-import static com.google.common.base.Predicates.not;
-import static com.google.common.collect.Streams.stream;
 import static java.util.Objects.requireNonNull;
 import static java.util.stream.Collectors.toList;
 import static org.apache.commons.lang3.StringUtils.containsIgnoreCase;
-import static org.molgenis.data.meta.model.EntityTypeMetadata.ENTITY_TYPE_META_DATA;
-import static org.molgenis.data.meta.model.PackageMetadata.PACKAGE;
 import static org.molgenis.util.i18n.LanguageService.getCurrentUserLanguageCode;
 
+import java.time.Duration;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import org.molgenis.data.DataService;
-import org.molgenis.data.meta.model.Attribute;
+import org.molgenis.data.Entity;
+import org.molgenis.data.Query;
+import org.molgenis.data.index.SearchService;
 import org.molgenis.data.meta.model.EntityType;
-import org.molgenis.data.meta.model.Package;
+import org.molgenis.data.security.EntityIdentityUtils;
+import org.molgenis.data.security.EntityTypeIdentity;
+import org.molgenis.data.security.EntityTypePermission;
+import org.molgenis.data.security.PackageIdentity;
+import org.molgenis.data.security.PackagePermission;
 import org.molgenis.data.support.QueryImpl;
-import org.molgenis.data.util.EntityTypeUtils;
-import org.molgenis.data.util.PackageUtils;
 import org.molgenis.searchall.model.AttributeResult;
 import org.molgenis.searchall.model.EntityTypeResult;
-import org.molgenis.searchall.model.PackageResult;
 import org.molgenis.searchall.model.Result;
+import org.molgenis.searchall.service.MetadataSnapshot.EntityTypeSnapshot;
+import org.molgenis.security.acl.MutableAclClassService;
+import org.molgenis.security.core.UserPermissionEvaluator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
+/**
+ * Searches the metadata and data of all entity types and packages that the current user is allowed
+ * to see. Metadata is matched against a cached {@link MetadataSnapshot}, matching entities of all
+ * entity types are counted in the index with as few requests as possible.
+ */
 @Component
 public class SearchAllService {
+  private static final Logger LOG = LoggerFactory.getLogger(SearchAllService.class);
+
   private final DataService dataService;
+  private final SearchService searchService;
+  private final MetadataSnapshotCache metadataSnapshotCache;
+  private final UserPermissionEvaluator userPermissionEvaluator;
+  private final MutableAclClassService mutableAclClassService;
+  private final Duration countTimeout;
 
-  public SearchAllService(DataService dataService) {
+  /** @param countTimeoutMillis time budget for counting the matching entities of entity types */
+  public SearchAllService(
+      DataService dataService,
+      SearchService searchService,
+      MetadataSnapshotCache metadataSnapshotCache,
+      UserPermissionEvaluator userPermissionEvaluator,
+      MutableAclClassService mutableAclClassService,
+      @Value("${searchall.count.timeoutMillis:5000}") long countTimeoutMillis) {
     this.dataService = requireNonNull(dataService);
+    this.searchService = requireNonNull(searchService);
+    this.metadataSnapshotCache = requireNonNull(metadataSnapshotCache);
+    this.userPermissionEvaluator = requireNonNull(userPermissionEvaluator);
+    this.mutableAclClassService = requireNonNull(mutableAclClassService);
+    this.countTimeout = Duration.ofMillis(countTimeoutMillis);
   }
 
   public Result searchAll(final String searchTerm) {
     final String lang = getCurrentUserLanguageCode();
+    MetadataSnapshot metadataSnapshot = metadataSnapshotCache.getSnapshot(lang);
+
+    List<EntityTypeSnapshot> entityTypes =
+        metadataSnapshot.getEntityTypes().stream()
+            .filter(entityType -> hasPermission(entityType, EntityTypePermission.READ_METADATA))
+            .collect(toList());
+    Map<String, Long> nrOfMatchingEntities = countMatchingEntities(entityTypes, searchTerm);
+
     return Result.builder()
         .setEntityTypes(
-            dataService
-                .findAll(ENTITY_TYPE_META_DATA, EntityType.class)
-                .filter(not(EntityTypeUtils::isSystemEntity))
-                .filter(not(EntityType::isAbstract))
-                .map(entityType -> toEntityTypeResult(searchTerm, entityType, lang))
+            entityTypes.stream()
+                .map(
+                    entityType ->
+                        toEntityTypeResult(
+                            searchTerm, entityType, nrOfMatchingEntities.get(entityType.getId())))
                 .filter(EntityTypeResult::isMatch)
                 .collect(toList()))
         .setPackages(
-            dataService
-                .findAll(PACKAGE, Package.class)
-                .filter(not(PackageUtils::isSystemPackage))
-                .map(PackageResult::create)
+            metadataSnapshot.getPackages().stream()
+                .filter(
+                    packageResult ->
+                        userPermissionEvaluator.hasPermission(
+                            new PackageIdentity(packageResult.getId()), PackagePermission.VIEW))
                 .filter(packageResult -> packageResult.isLabelOrDescriptionMatch(searchTerm))
                 .collect(toList()))
         .build();
   }
 
-  private EntityTypeResult toEntityTypeResult(
-      final String searchTerm, final EntityType entityType, final String lang) {
-    EntityTypeResult.Builder builder =
-        EntityTypeResult.builder()
-            .setId(entityType.getId())
-            .setLabel(entityType.getLabel(lang))
-            .setDescription(entityType.getDescription(lang));
-
-    Package entityTypePackage = entityType.getPackage();
-    if (entityTypePackage != null) {
-      builder.setPackageId(entityTypePackage.getId());
+  /**
+   * Counts the matching entities of entity types in the index in one go. Entity types with row
+   * level security are counted through the data service that filters the entities that the user is
+   * not allowed to see. Entity types whose entities can't be counted within the time budget are
+   * absent.
+   */
+  private Map<String, Long> countMatchingEntities(
+      List<EntityTypeSnapshot> entityTypes, String searchTerm) {
+    Query<Entity> query = new QueryImpl<>().search(searchTerm);
+
+    List<EntityTypeSnapshot> countableEntityTypes =
+        entityTypes.stream()
+            .filter(entityType -> hasPermission(entityType, EntityTypePermission.COUNT_DATA))
+            .collect(toList());
+    List<EntityType> indexCountableEntityTypes =
+        countableEntityTypes.stream()
+            .map(EntityTypeSnapshot::getEntityType)
+            .filter(entityType -> !isRowLevelSecured(entityType))
+            .collect(toList());
+
+    Map<String, Long> nrOfMatchingEntities = new HashMap<>();
+    if (!indexCountableEntityTypes.isEmpty()) {
+      nrOfMatchingEntities.putAll(
+          searchService.count(indexCountableEntityTypes, query, countTimeout));
+    }
+    countableEntityTypes.stream()
+        .map(EntityTypeSnapshot::getEntityType)
+        .filter(this::isRowLevelSecured)
+        .forEach(
+            entityType ->
+                nrOfMatchingEntities.put(
+                    entityType.getId(), dataService.count(entityType.getId(), query)));
+
+    if (nrOfMatchingEntities.size() < countableEntityTypes.size()) {
+      LOG.debug(
+          "Counted matching entities of {} of {} entity types",
+          nrOfMatchingEntities.size(),
+          countableEntityTypes.size());
     }
+    return nrOfMatchingEntities;
+  }
 
-    builder
-        .setLabelMatch(containsIgnoreCase(entityType.getLabel(lang), searchTerm))
-        .setDescriptionMatch(containsIgnoreCase(entityType.getDescription(lang), searchTerm))
-        .setAttributes(matchingAttributes(searchTerm, entityType.getAllAttributes(), lang))
-        .setNrOfMatchingEntities(
-            dataService.count(entityType.getId(), new QueryImpl<>().search(searchTerm)));
+  private boolean hasPermission(EntityTypeSnapshot entityType, EntityTypePermission permission) {
+    return userPermissionEvaluator.hasPermission(
+        new EntityTypeIdentity(entityType.getId()), permission);
+  }
 
-    return builder.build();
+  private boolean isRowLevelSecured(EntityType entityType) {
+    return mutableAclClassService.hasAclClass(EntityIdentityUtils.toType(entityType));
+  }
+
+  private EntityTypeResult toEntityTypeResult(
+      final String searchTerm, final EntityTypeSnapshot entityType, Long nrOfMatchingEntities) {
+    return EntityTypeResult.builder()
+        .setId(entityType.getId())
+        .setLabel(entityType.getLabel())
+        .setDescription(entityType.getDescription())
+        .setPackageId(entityType.getPackageId())
+        .setLabelMatch(containsIgnoreCase(entityType.getLabel(), searchTerm))
+        .setDescriptionMatch(containsIgnoreCase(entityType.getDescription(), searchTerm))
+        .setAttributes(matchingAttributes(searchTerm, entityType.getAttributes()))
+        .setNrOfMatchingEntities(nrOfMatchingEntities)
+        .build();
   }
 
   private List<AttributeResult> matchingAttributes(
-      String searchterm, Iterable<Attribute> allAttributes, String lang) {
-    return stream(allAttributes)
-        .map(attribute -> AttributeResult.create(attribute, lang))
+      String searchterm, List<AttributeResult> allAttributes) {
+    return allAttributes.stream()
         .filter(attributeResult -> attributeResult.isLabelOrDescriptionMatch(searchterm))
         .collect(toList());
   }
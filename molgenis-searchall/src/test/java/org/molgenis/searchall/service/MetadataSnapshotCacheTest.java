@@ -0,0 +1,84 @@
+package org.molgenis.searchall.service;
+
+import static java.util.Collections.emptySet;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.mockito.Mockito.when;
+import static org.molgenis.data.meta.model.EntityTypeMetadata.ENTITY_TYPE_META_DATA;
+import static org.molgenis.data.meta.model.PackageMetadata.PACKAGE;
+
+import java.util.Set;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.molgenis.data.DataService;
+import org.molgenis.data.meta.model.EntityType;
+import org.molgenis.data.meta.model.Package;
+import org.molgenis.data.transaction.CacheInvalidation;
+import org.molgenis.data.transaction.CacheInvalidationBus;
+import org.molgenis.data.transaction.TransactionInformation;
+import org.molgenis.data.transaction.TransactionManager;
+import org.molgenis.test.AbstractMockitoTest;
+
+class MetadataSnapshotCacheTest extends AbstractMockitoTest {
+  @Mock private DataService dataService;
+  @Mock private TransactionManager transactionManager;
+  @Mock private TransactionInformation transactionInformation;
+  @Mock private CacheInvalidationBus cacheInvalidationBus;
+  private MetadataSnapshotCache metadataSnapshotCache;
+
+  @BeforeEach
+  void setUpBeforeEach() {
+    metadataSnapshotCache =
+        new MetadataSnapshotCache(
+            dataService, transactionManager, transactionInformation, cacheInvalidationBus);
+    when(dataService.findAll(ENTITY_TYPE_META_DATA, EntityType.class))
+        .thenAnswer(invocation -> Stream.empty());
+    when(dataService.findAll(PACKAGE, Package.class)).thenAnswer(invocation -> Stream.empty());
+  }
+
+  @Test
+  void testGetSnapshotCached() {
+    when(transactionInformation.getDirtyRepositories()).thenReturn(emptySet());
+    MetadataSnapshot snapshot = metadataSnapshotCache.getSnapshot("en");
+    assertSame(snapshot, metadataSnapshotCache.getSnapshot("en"));
+  }
+
+  @Test
+  void testGetSnapshotMetadataChangedInTransaction() {
+    when(transactionInformation.getDirtyRepositories()).thenReturn(Set.of(PACKAGE));
+    MetadataSnapshot snapshot = metadataSnapshotCache.getSnapshot("en");
+    assertNotSame(snapshot, metadataSnapshotCache.getSnapshot("en"));
+  }
+
+  @Test
+  void testAfterCommitTransactionMetadataChanged() {
+    when(transactionInformation.getDirtyRepositories())
+        .thenReturn(emptySet())
+        .thenReturn(Set.of(ENTITY_TYPE_META_DATA))
+        .thenReturn(emptySet());
+    MetadataSnapshot snapshot = metadataSnapshotCache.getSnapshot("en");
+    metadataSnapshotCache.afterCommitTransaction("transactionId");
+    assertNotSame(snapshot, metadataSnapshotCache.getSnapshot("en"));
+  }
+
+  @Test
+  void testAfterCommitTransactionDataChanged() {
+    when(transactionInformation.getDirtyRepositories())
+        .thenReturn(emptySet())
+        .thenReturn(Set.of("myEntityType"));
+    MetadataSnapshot snapshot = metadataSnapshotCache.getSnapshot("en");
+    metadataSnapshotCache.afterCommitTransaction("transactionId");
+    assertSame(snapshot, metadataSnapshotCache.getSnapshot("en"));
+  }
+
+  @Test
+  void testOnCacheInvalidation() {
+    when(transactionInformation.getDirtyRepositories()).thenReturn(emptySet());
+    MetadataSnapshot snapshot = metadataSnapshotCache.getSnapshot("en");
+    metadataSnapshotCache.onCacheInvalidation(
+        CacheInvalidation.create(emptySet(), Set.of(PACKAGE), emptySet(), false));
+    assertNotSame(snapshot, metadataSnapshotCache.getSnapshot("en"));
+  }
+}
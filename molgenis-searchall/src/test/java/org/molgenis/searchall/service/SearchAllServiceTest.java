@@ -1,34 +1,50 @@
-package org.molgenis.searchall.controller;
+package org.molgenis.searchall.service;
 
+import static java.util.Arrays.asList;
 import static java.util.Collections.singletonList;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.molgenis.data.meta.AttributeType.BOOL;
 import static org.molgenis.data.system.model.RootSystemPackage.PACKAGE_SYSTEM;
 
-import java.util.Arrays;
+import java.time.Duration;
 import java.util.Collections;
 import java.util.Locale;
+import java.util.Map;
 import java.util.stream.Stream;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.molgenis.data.DataService;
+import org.molgenis.data.Entity;
+import org.molgenis.data.Query;
+import org.molgenis.data.index.SearchService;
 import org.molgenis.data.meta.model.Attribute;
 import org.molgenis.data.meta.model.EntityType;
-import org.molgenis.data.meta.model.EntityTypeMetadata;
 import org.molgenis.data.meta.model.Package;
-import org.molgenis.data.meta.model.PackageMetadata;
+import org.molgenis.data.security.EntityTypeIdentity;
+import org.molgenis.data.security.EntityTypePermission;
+import org.molgenis.data.security.PackageIdentity;
+import org.molgenis.data.security.PackagePermission;
 import org.molgenis.data.support.QueryImpl;
 import org.molgenis.searchall.model.AttributeResult;
 import org.molgenis.searchall.model.EntityTypeResult;
 import org.molgenis.searchall.model.PackageResult;
 import org.molgenis.searchall.model.Result;
-import org.molgenis.searchall.service.SearchAllService;
+import org.molgenis.security.acl.MutableAclClassService;
+import org.molgenis.security.core.UserPermissionEvaluator;
 import org.springframework.context.i18n.LocaleContextHolder;
+import org.springframework.security.acls.model.Permission;
 
 class SearchAllServiceTest {
   private DataService dataService;
+  private SearchService searchService;
+  private MetadataSnapshotCache metadataSnapshotCache;
+  private UserPermissionEvaluator userPermissionEvaluator;
+  private MutableAclClassService mutableAclClassService;
   private SearchAllService searchAllService;
   private EntityType entity1;
   private EntityType entity2;
@@ -50,7 +66,19 @@ class SearchAllServiceTest {
   @BeforeEach
   void setUp() {
     dataService = mock(DataService.class);
-    searchAllService = new SearchAllService(dataService);
+    searchService = mock(SearchService.class);
+    metadataSnapshotCache = mock(MetadataSnapshotCache.class);
+    userPermissionEvaluator = mock(UserPermissionEvaluator.class);
+    when(userPermissionEvaluator.hasPermission(any(), any(Permission.class))).thenReturn(true);
+    mutableAclClassService = mock(MutableAclClassService.class);
+    searchAllService =
+        new SearchAllService(
+            dataService,
+            searchService,
+            metadataSnapshotCache,
+            userPermissionEvaluator,
+            mutableAclClassService,
+            1000L);
 
     LocaleContextHolder.setLocale(Locale.ENGLISH);
 
@@ -120,7 +148,7 @@ class SearchAllServiceTest {
     when(entity2.getLabel("en")).thenReturn("entity nr 2");
     when(entity2.getId()).thenReturn("entity id 2");
     when(entity2.getDescription("en")).thenReturn("entity description 2");
-    when(entity2.getAllAttributes()).thenReturn(Arrays.asList(attr2, attr5));
+    when(entity2.getAllAttributes()).thenReturn(asList(attr2, attr5));
     when(entity2.getPackage()).thenReturn(pack2);
 
     entity3 = mock(EntityType.class);
@@ -147,14 +175,18 @@ class SearchAllServiceTest {
   }
 
   @Test
-  void testFindAll() throws Exception {
-    when(dataService.findAll(PackageMetadata.PACKAGE, Package.class))
-        .thenReturn(Stream.of(pack1, pack2, pack3, pack_sys));
-    when(dataService.findAll(EntityTypeMetadata.ENTITY_TYPE_META_DATA, EntityType.class))
-        .thenReturn(Stream.of(entity1, entity2, entity3, entity4, abstractEntity));
-    when(dataService.count("entity id 1", new QueryImpl<>().search("test"))).thenReturn(2L);
-    when(dataService.count("entity id 3", new QueryImpl<>().search("test"))).thenReturn(6L);
-    when(dataService.count("entity id 4", new QueryImpl<>().search("test"))).thenReturn(11L);
+  void testFindAll() {
+    when(metadataSnapshotCache.getSnapshot("en"))
+        .thenReturn(
+            MetadataSnapshot.create(
+                Stream.of(entity1, entity2, entity3, entity4, abstractEntity),
+                Stream.of(pack1, pack2, pack3, pack_sys),
+                "en"));
+    Query<Entity> query = new QueryImpl<>().search("test");
+    when(searchService.count(asList(entity1, entity2, entity3), query, Duration.ofSeconds(1)))
+        .thenReturn(Map.of("entity id 1", 2L, "entity id 3", 6L));
+    when(mutableAclClassService.hasAclClass("entity-entity id 4")).thenReturn(true);
+    when(dataService.count("entity id 4", query)).thenReturn(11L);
 
     PackageResult packageResult =
         PackageResult.create("package id 1", "package test nr 1", "package description 1");
@@ -170,7 +202,7 @@ class SearchAllServiceTest {
             .setLabelMatch(false)
             .setDescriptionMatch(false)
             .setAttributes(singletonList(attributeResult))
-            .setNrOfMatchingEntities(2)
+            .setNrOfMatchingEntities(2L)
             .build();
     EntityTypeResult entityTypeResult2 =
         EntityTypeResult.builder()
@@ -181,7 +213,7 @@ class SearchAllServiceTest {
             .setLabelMatch(true)
             .setDescriptionMatch(false)
             .setAttributes(Collections.emptyList())
-            .setNrOfMatchingEntities(6)
+            .setNrOfMatchingEntities(6L)
             .build();
     EntityTypeResult entityTypeResult3 =
         EntityTypeResult.builder()
@@ -192,14 +224,67 @@ class SearchAllServiceTest {
             .setLabelMatch(false)
             .setDescriptionMatch(true)
             .setAttributes(Collections.emptyList())
-            .setNrOfMatchingEntities(11)
+            .setNrOfMatchingEntities(11L)
             .build();
     Result result =
         Result.builder()
-            .setEntityTypes(Arrays.asList(entityTypeResult1, entityTypeResult2, entityTypeResult3))
+            .setEntityTypes(asList(entityTypeResult1, entityTypeResult2, entityTypeResult3))
             .setPackages(singletonList(packageResult))
             .build();
 
     assertEquals(result, searchAllService.searchAll("test"));
   }
+
+  @Test
+  void testFindAllPermissionsAndUnknownCounts() {
+    when(metadataSnapshotCache.getSnapshot("en"))
+        .thenReturn(
+            MetadataSnapshot.create(
+                Stream.of(entity1, entity3, entity4), Stream.of(pack1, pack2), "en"));
+    when(userPermissionEvaluator.hasPermission(
+            new EntityTypeIdentity("entity id 4"), EntityTypePermission.READ_METADATA))
+        .thenReturn(false);
+    when(userPermissionEvaluator.hasPermission(
+            new EntityTypeIdentity("entity id 3"), EntityTypePermission.COUNT_DATA))
+        .thenReturn(false);
+    when(userPermissionEvaluator.hasPermission(
+            new PackageIdentity("package id 1"), PackagePermission.VIEW))
+        .thenReturn(false);
+    Query<Entity> query = new QueryImpl<>().search("test");
+    when(searchService.count(singletonList(entity1), query, Duration.ofSeconds(1)))
+        .thenReturn(Map.of());
+
+    EntityTypeResult entityTypeResult1 =
+        EntityTypeResult.builder()
+            .setId("entity id 1")
+            .setLabel("entity nr 1")
+            .setDescription("entity description 1")
+            .setPackageId("package id 2")
+            .setLabelMatch(false)
+            .setDescriptionMatch(false)
+            .setAttributes(
+                singletonList(
+                    AttributeResult.create("attr test nr 1", "attr description 1", "BOOL")))
+            .setNrOfMatchingEntities(null)
+            .build();
+    EntityTypeResult entityTypeResult3 =
+        EntityTypeResult.builder()
+            .setId("entity id 3")
+            .setLabel("entity test nr 3")
+            .setDescription("entity description 3")
+            .setPackageId("package id 3")
+            .setLabelMatch(true)
+            .setDescriptionMatch(false)
+            .setAttributes(Collections.emptyList())
+            .setNrOfMatchingEntities(null)
+            .build();
+    Result result =
+        Result.builder()
+            .setEntityTypes(asList(entityTypeResult1, entityTypeResult3))
+            .setPackages(Collections.emptyList())
+            .build();
+
+    assertEquals(result, searchAllService.searchAll("test"));
+    verify(dataService, never()).count("entity id 4", query);
+  }
 }
@@ -0,0 +1,34 @@
+package org.molgenis.security.acl;
+
+import java.util.Collection;
+import javax.annotation.Nullable;
+import org.springframework.security.acls.model.Acl;
+import org.springframework.security.acls.model.MutableAclService;
+import org.springframework.security.acls.model.ObjectIdentity;
+import org.springframework.security.acls.model.Permission;
+
+/**
+ * Provides support for creating and deleting the {@link Acl}s of many object identities at once,
+ * e.g. for all rows of a row-level secured entity type.
+ *
+ * @see MutableAclService
+ */
+public interface BulkMutableAclService {
+  /**
+   * Creates ACLs owned by the security context SID for the given object identities.
+   *
+   * @param objectIdentities object identities without ACL
+   * @param ownerPermission permission granted to the owner or <code>null</code> to create ACLs
+   *     without entries
+   * @throws ObjectIdentityAlreadyExistsException if an ACL exists for one of the object identities
+   */
+  void createAcls(
+      Collection<? extends ObjectIdentity> objectIdentities, @Nullable Permission ownerPermission);
+
+  /**
+   * Deletes the ACLs, including the ACLs of their children, for the given object identities.
+   *
+   * @param objectIdentities object identities
+   */
+  void deleteAcls(Collection<? extends ObjectIdentity> objectIdentities);
+}
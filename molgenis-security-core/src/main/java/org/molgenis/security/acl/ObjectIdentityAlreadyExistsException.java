@@ -0,0 +1,20 @@
+package org.molgenis.security.acl;
+
+import static java.util.Objects.requireNonNull;
+
+import org.springframework.security.acls.model.AlreadyExistsException;
+import org.springframework.security.acls.model.ObjectIdentity;
+
+/** Thrown when creating an ACL for an object identity that already has an ACL. */
+public class ObjectIdentityAlreadyExistsException extends AlreadyExistsException {
+  private final ObjectIdentity objectIdentity;
+
+  public ObjectIdentityAlreadyExistsException(ObjectIdentity objectIdentity) {
+    super("Object identity '" + objectIdentity + "' already exists");
+    this.objectIdentity = requireNonNull(objectIdentity);
+  }
+
+  public ObjectIdentity getObjectIdentity() {
+    return objectIdentity;
+  }
+}
@@ -1,6 +1,8 @@
 package org.molgenis.security.core;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 import org.springframework.security.acls.model.ObjectIdentity;
 
@@ -31,4 +33,16 @@ public interface UserPermissionEvaluator {
   boolean hasPermission(ObjectIdentity objectIdentity, List<Permission> permissions);
 
   Set<Permission> getPermissions(ObjectIdentity objectIdentity, Permission[] permissions);
+
+  /**
+   * Returns for each of the given domain objects whether the currently authenticated user has a
+   * given {@link Permission} on the domain object. Use this method instead of {@link
+   * #hasPermission(ObjectIdentity, Permission)} to check the permission on many domain objects.
+   *
+   * @param objectIdentities domain object identities
+   * @param permission the {@link Permission} to check.
+   * @return map with for each of the domain object identities whether the permission is granted
+   */
+  Map<ObjectIdentity, Boolean> hasPermissions(
+      Collection<? extends ObjectIdentity> objectIdentities, Permission permission);
 }
@@ -1,21 +1,92 @@
 package org.molgenis.security.acl;
 
 import static java.util.Objects.requireNonNull;
+import static org.molgenis.data.transaction.TransactionConstants.TRANSACTION_ID_RESOURCE_NAME;
 
+import com.google.common.collect.Sets;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+import org.molgenis.data.transaction.CacheInvalidation;
+import org.molgenis.data.transaction.CacheInvalidationBus;
+import org.molgenis.data.transaction.CacheInvalidationListener;
 import org.molgenis.data.transaction.TransactionListener;
 import org.springframework.security.acls.model.AclCache;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
-public class AclCacheTransactionListener implements TransactionListener {
+/**
+ * Clears the ACL cache on rollback and publishes committed ACL changes on the {@link
+ * CacheInvalidationBus}, so that other nodes clear their ACL cache as well. Keeps an ACL version
+ * that changes whenever ACLs might have changed, so that permission decisions derived from ACLs
+ * can be discarded.
+ */
+public class AclCacheTransactionListener
+    implements TransactionListener, CacheInvalidationListener {
   private final AclCache aclCache;
   private final MutableAclClassService aclClassService;
+  private final CacheInvalidationBus cacheInvalidationBus;
 
-  public AclCacheTransactionListener(AclCache aclCache, MutableAclClassService aclClassService) {
+  /** ids of transactions that created, updated or deleted ACLs */
+  private final Set<String> aclChangingTransactionIds = Sets.newConcurrentHashSet();
+
+  private final AtomicLong aclVersion = new AtomicLong();
+
+  public AclCacheTransactionListener(
+      AclCache aclCache,
+      MutableAclClassService aclClassService,
+      CacheInvalidationBus cacheInvalidationBus) {
     this.aclCache = requireNonNull(aclCache);
     this.aclClassService = requireNonNull(aclClassService);
+    this.cacheInvalidationBus = requireNonNull(cacheInvalidationBus);
+  }
+
+  /** Registers that ACLs were changed in the current transaction. */
+  void registerAclChange() {
+    aclVersion.incrementAndGet();
+    String transactionId =
+        (String) TransactionSynchronizationManager.getResource(TRANSACTION_ID_RESOURCE_NAME);
+    if (transactionId != null) {
+      aclChangingTransactionIds.add(transactionId);
+    }
+  }
+
+  @Override
+  public void afterCommitTransaction(String transactionId) {
+    if (aclChangingTransactionIds.remove(transactionId)) {
+      // decisions made while the transaction was committing might be outdated
+      aclVersion.incrementAndGet();
+      cacheInvalidationBus.publish(CacheInvalidation.createAclInvalidation());
+    }
   }
 
   @Override
   public void rollbackTransaction(String transactionId) {
+    clearCaches();
+  }
+
+  @Override
+  public void doCleanupAfterCompletion(String transactionId) {
+    aclChangingTransactionIds.remove(transactionId);
+  }
+
+  @Override
+  public void onCacheInvalidation(CacheInvalidation cacheInvalidation) {
+    if (cacheInvalidation.isAclChanged()) {
+      clearCaches();
+    }
+  }
+
+  @Override
+  public void onCacheInvalidationsMissed() {
+    clearCaches();
+  }
+
+  /** Returns the ACL version, the version changes whenever ACLs might have changed. */
+  public long getAclVersion() {
+    return aclVersion.get();
+  }
+
+  private void clearCaches() {
+    aclVersion.incrementAndGet();
     aclCache.clearCache();
     aclClassService.clearCache();
   }
@@ -6,6 +6,7 @@ import com.github.benmanes.caffeine.cache.Caffeine;
 import javax.sql.DataSource;
 import org.molgenis.data.config.DataSourceConfig;
 import org.molgenis.data.security.permission.EntityHelper;
+import org.molgenis.data.transaction.CacheInvalidationBus;
 import org.molgenis.data.transaction.TransactionManager;
 import org.molgenis.security.NoOpAuditLogger;
 import org.molgenis.security.core.utils.SecurityUtils;
@@ -43,6 +44,7 @@ public class AclConfig {
   private final RoleHierarchy roleHierarchy;
   private final ConversionService conversionService;
   private final EntityHelper entityHelper;
+  private final CacheInvalidationBus cacheInvalidationBus;
   @Autowired JdbcTemplate jdbcTemplate;
 
   public AclConfig(
@@ -50,12 +52,14 @@ public class AclConfig {
       TransactionManager transactionManager,
       RoleHierarchy roleHierarchy,
       ConversionService conversionService,
-      EntityHelper entityHelper) {
+      EntityHelper entityHelper,
+      CacheInvalidationBus cacheInvalidationBus) {
     this.dataSource = requireNonNull(dataSource);
     this.transactionManager = requireNonNull(transactionManager);
     this.roleHierarchy = requireNonNull(roleHierarchy);
     this.conversionService = requireNonNull(conversionService);
     this.entityHelper = requireNonNull(entityHelper);
+    this.cacheInvalidationBus = requireNonNull(cacheInvalidationBus);
   }
 
   @Bean
@@ -97,8 +101,10 @@ public class AclConfig {
   @Bean
   public AclCacheTransactionListener aclCacheTransactionListener() {
     AclCacheTransactionListener aclCacheTransactionListener =
-        new AclCacheTransactionListener(aclCache(), mutableAclClassService());
+        new AclCacheTransactionListener(
+            aclCache(), mutableAclClassService(), cacheInvalidationBus);
     transactionManager.addTransactionListener(aclCacheTransactionListener);
+    cacheInvalidationBus.addCacheInvalidationListener(aclCacheTransactionListener);
     return aclCacheTransactionListener;
   }
 
@@ -130,7 +136,8 @@ public class AclConfig {
   @Bean
   public MutableAclService aclService() {
     JdbcMutableAclService aclService =
-        new TransactionalJdbcMutableAclService(dataSource, lookupStrategy(), aclCache());
+        new TransactionalJdbcMutableAclService(
+            dataSource, lookupStrategy(), aclCache(), aclCacheTransactionListener());
     aclService.setAclClassIdSupported(true);
     aclService.setConversionService(conversionService);
     aclService.setClassIdentityQuery("select currval(pg_get_serial_sequence('acl_class', 'id'))");
@@ -146,6 +153,11 @@ public class AclConfig {
     return aclService;
   }
 
+  @Bean
+  public BulkMutableAclService bulkMutableAclService() {
+    return new BulkMutableAclServiceImpl(jdbcTemplate, aclCache(), aclCacheTransactionListener());
+  }
+
   @Bean
   public AclPermissionEvaluator aclPermissionEvaluator() {
     AclPermissionEvaluator permissionEvaluator = new AclPermissionEvaluator(aclService());
@@ -0,0 +1,215 @@
+package org.molgenis.security.acl;
+
+import static com.google.common.collect.Lists.partition;
+import static java.lang.String.join;
+import static java.util.Collections.nCopies;
+import static java.util.Objects.requireNonNull;
+import static java.util.stream.Collectors.groupingBy;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+import javax.annotation.Nullable;
+import org.molgenis.security.core.SidUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.acls.domain.PrincipalSid;
+import org.springframework.security.acls.jdbc.JdbcMutableAclService;
+import org.springframework.security.acls.model.AclCache;
+import org.springframework.security.acls.model.ObjectIdentity;
+import org.springframework.security.acls.model.Permission;
+import org.springframework.security.acls.model.Sid;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Creates and deletes ACLs with one multi-row statement per batch of object identities. The ACL
+ * class and owner SID are resolved once per type instead of once per object identity.
+ *
+ * @see JdbcMutableAclService
+ */
+public class BulkMutableAclServiceImpl implements BulkMutableAclService {
+  private static final Logger LOGGER = LoggerFactory.getLogger(BulkMutableAclServiceImpl.class);
+
+  static final int BATCH_SIZE = 1000;
+
+  private static final String SQL_SELECT_ACL_CLASS_ID = "select id from acl_class where class=?";
+  /** @see JdbcMutableAclService#DEFAULT_INSERT_INTO_ACL_CLASS_WITH_ID */
+  private static final String SQL_INSERT_INTO_ACL_CLASS =
+      "insert into acl_class (class, class_id_type) values (?, ?)";
+
+  private static final String SQL_SELECT_ACL_SID_ID =
+      "select id from acl_sid where principal=? and sid=?";
+  private static final String SQL_INSERT_INTO_ACL_SID =
+      "insert into acl_sid (principal, sid) values (?, ?)";
+
+  private static final String SQL_INSERT_INTO_ACL_OBJECT_IDENTITY =
+      "insert into acl_object_identity"
+          + " (object_id_class, object_id_identity, owner_sid, entries_inheriting) values ";
+  private static final String SQL_INSERT_INTO_ACL_OBJECT_IDENTITY_VALUES = "(?, ?, ?, true)";
+  private static final String SQL_INSERT_INTO_ACL_OBJECT_IDENTITY_ON_CONFLICT =
+      " on conflict do nothing returning id, object_id_identity";
+  private static final String SQL_INSERT_INTO_ACL_ENTRY =
+      ", acl_entries as (insert into acl_entry"
+          + " (acl_object_identity, ace_order, sid, mask, granting, audit_success, audit_failure)"
+          + " select id, 0, ?, ?, true, false, false from acl_object_identities)";
+
+  private static final String SQL_DELETE_FROM_ACL_OBJECT_IDENTITY =
+      "with recursive acl_object_identities as ("
+          + "select id from acl_object_identity"
+          + " where object_id_class=? and object_id_identity in (%s)"
+          + " union all select child.id from acl_object_identity child"
+          + " join acl_object_identities parent on child.parent_object = parent.id)"
+          + " delete from acl_object_identity where id in (select id from acl_object_identities)"
+          + " returning id";
+
+  private final JdbcTemplate jdbcTemplate;
+  private final AclCache aclCache;
+  private final AclCacheTransactionListener aclCacheTransactionListener;
+
+  public BulkMutableAclServiceImpl(
+      JdbcTemplate jdbcTemplate,
+      AclCache aclCache,
+      AclCacheTransactionListener aclCacheTransactionListener) {
+    this.jdbcTemplate = requireNonNull(jdbcTemplate);
+    this.aclCache = requireNonNull(aclCache);
+    this.aclCacheTransactionListener = requireNonNull(aclCacheTransactionListener);
+  }
+
+  @Transactional
+  @Override
+  public void createAcls(
+      Collection<? extends ObjectIdentity> objectIdentities, @Nullable Permission ownerPermission) {
+    if (objectIdentities.isEmpty()) {
+      return;
+    }
+    long ownerSidId = getOrCreateSidId(SidUtils.createSecurityContextSid());
+    groupByType(objectIdentities)
+        .forEach(
+            (type, typeObjectIdentities) -> {
+              long classId = getOrCreateClassId(type, typeObjectIdentities.get(0));
+              partition(typeObjectIdentities, BATCH_SIZE)
+                  .forEach(batch -> createAclsBatch(classId, ownerSidId, batch, ownerPermission));
+            });
+    aclCacheTransactionListener.registerAclChange();
+  }
+
+  private void createAclsBatch(
+      long classId,
+      long ownerSidId,
+      List<ObjectIdentity> objectIdentities,
+      @Nullable Permission ownerPermission) {
+    String values =
+        join(", ", nCopies(objectIdentities.size(), SQL_INSERT_INTO_ACL_OBJECT_IDENTITY_VALUES));
+    StringBuilder sql =
+        new StringBuilder("with acl_object_identities as (")
+            .append(SQL_INSERT_INTO_ACL_OBJECT_IDENTITY)
+            .append(values)
+            .append(SQL_INSERT_INTO_ACL_OBJECT_IDENTITY_ON_CONFLICT)
+            .append(')');
+    List<Object> parameters = new ArrayList<>(objectIdentities.size() * 3 + 2);
+    for (ObjectIdentity objectIdentity : objectIdentities) {
+      parameters.add(classId);
+      parameters.add(objectIdentity.getIdentifier().toString());
+      parameters.add(ownerSidId);
+    }
+    if (ownerPermission != null) {
+      sql.append(SQL_INSERT_INTO_ACL_ENTRY);
+      parameters.add(ownerSidId);
+      parameters.add(ownerPermission.getMask());
+    }
+    sql.append(" select object_id_identity from acl_object_identities");
+
+    LOGGER.debug("Create {} ACLs.", objectIdentities.size());
+    List<String> createdIdentifiers =
+        jdbcTemplate.queryForList(sql.toString(), String.class, parameters.toArray());
+    if (createdIdentifiers.size() != objectIdentities.size()) {
+      throwAlreadyExistsException(objectIdentities, createdIdentifiers);
+    }
+  }
+
+  private static void throwAlreadyExistsException(
+      List<ObjectIdentity> objectIdentities, List<String> createdIdentifiers) {
+    Set<String> remainingIdentifiers = new HashSet<>(createdIdentifiers);
+    for (ObjectIdentity objectIdentity : objectIdentities) {
+      if (!remainingIdentifiers.remove(objectIdentity.getIdentifier().toString())) {
+        throw new ObjectIdentityAlreadyExistsException(objectIdentity);
+      }
+    }
+    throw new IllegalStateException("Unknown existing object identity");
+  }
+
+  @Transactional
+  @Override
+  public void deleteAcls(Collection<? extends ObjectIdentity> objectIdentities) {
+    if (objectIdentities.isEmpty()) {
+      return;
+    }
+    groupByType(objectIdentities)
+        .forEach(
+            (type, typeObjectIdentities) -> {
+              Long classId = getClassId(type);
+              if (classId != null) {
+                partition(typeObjectIdentities, BATCH_SIZE)
+                    .forEach(batch -> deleteAclsBatch(classId, batch));
+              }
+            });
+    aclCacheTransactionListener.registerAclChange();
+  }
+
+  private void deleteAclsBatch(long classId, List<ObjectIdentity> objectIdentities) {
+    String sql =
+        String.format(
+            SQL_DELETE_FROM_ACL_OBJECT_IDENTITY, join(",", nCopies(objectIdentities.size(), "?")));
+    List<Object> parameters = new ArrayList<>(objectIdentities.size() + 1);
+    parameters.add(classId);
+    objectIdentities.forEach(
+        objectIdentity -> parameters.add(objectIdentity.getIdentifier().toString()));
+
+    LOGGER.debug("Delete {} ACLs.", objectIdentities.size());
+    List<Long> deletedIds = jdbcTemplate.queryForList(sql, Long.class, parameters.toArray());
+    deletedIds.forEach(aclCache::evictFromCache);
+  }
+
+  private static Map<String, List<ObjectIdentity>> groupByType(
+      Collection<? extends ObjectIdentity> objectIdentities) {
+    return objectIdentities.stream()
+        .collect(
+            groupingBy(
+                ObjectIdentity::getType, LinkedHashMap::new, Collectors.<ObjectIdentity>toList()));
+  }
+
+  @Nullable
+  private Long getClassId(String type) {
+    List<Long> classIds = jdbcTemplate.queryForList(SQL_SELECT_ACL_CLASS_ID, Long.class, type);
+    return classIds.isEmpty() ? null : classIds.get(0);
+  }
+
+  /** Same as {@link JdbcMutableAclService} which creates the ACL class on demand. */
+  private long getOrCreateClassId(String type, ObjectIdentity objectIdentity) {
+    Long classId = getClassId(type);
+    if (classId == null) {
+      String idType = objectIdentity.getIdentifier().getClass().getCanonicalName();
+      jdbcTemplate.update(SQL_INSERT_INTO_ACL_CLASS, type, idType);
+      classId = getClassId(type);
+    }
+    return requireNonNull(classId);
+  }
+
+  private long getOrCreateSidId(Sid sid) {
+    boolean principal = sid instanceof PrincipalSid;
+    String sidValue = SidUtils.getStringValue(sid);
+    List<Long> sidIds =
+        jdbcTemplate.queryForList(SQL_SELECT_ACL_SID_ID, Long.class, principal, sidValue);
+    if (sidIds.isEmpty()) {
+      jdbcTemplate.update(SQL_INSERT_INTO_ACL_SID, principal, sidValue);
+      sidIds = jdbcTemplate.queryForList(SQL_SELECT_ACL_SID_ID, Long.class, principal, sidValue);
+    }
+    return sidIds.get(0);
+  }
+}
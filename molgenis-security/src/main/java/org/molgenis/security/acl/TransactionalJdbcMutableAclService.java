@@ -18,14 +18,22 @@ import org.springframework.security.acls.model.Sid;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.util.Assert;
 
-/** {@link Transactional} {@link JdbcMutableAclService}. */
+/**
+ * {@link Transactional} {@link JdbcMutableAclService} that registers ACL changes with the {@link
+ * AclCacheTransactionListener}.
+ */
 public class TransactionalJdbcMutableAclService extends JdbcMutableAclService {
   private final AclCache aclCache;
+  private final AclCacheTransactionListener aclCacheTransactionListener;
 
   public TransactionalJdbcMutableAclService(
-      DataSource dataSource, LookupStrategy lookupStrategy, AclCache aclCache) {
+      DataSource dataSource,
+      LookupStrategy lookupStrategy,
+      AclCache aclCache,
+      AclCacheTransactionListener aclCacheTransactionListener) {
     super(dataSource, lookupStrategy, aclCache);
     this.aclCache = requireNonNull(aclCache);
+    this.aclCacheTransactionListener = requireNonNull(aclCacheTransactionListener);
   }
 
   /**
@@ -47,6 +55,7 @@ public class TransactionalJdbcMutableAclService extends JdbcMutableAclService {
     } catch (DuplicateKeyException e) {
       throw new AlreadyExistsException("Object identity '" + objectIdentity + "' already exists");
     }
+    aclCacheTransactionListener.registerAclChange();
     // Retrieve the ACL via superclass (ensures cache registration, proper retrieval
     // etc)
     Acl acl = readAclById(objectIdentity);
@@ -59,6 +68,7 @@ public class TransactionalJdbcMutableAclService extends JdbcMutableAclService {
   @Override
   public void deleteAcl(ObjectIdentity objectIdentity, boolean deleteChildren) {
     super.deleteAcl(objectIdentity, deleteChildren);
+    aclCacheTransactionListener.registerAclChange();
   }
 
   /**
@@ -81,6 +91,7 @@ public class TransactionalJdbcMutableAclService extends JdbcMutableAclService {
 
     // Clear all cache
     aclCache.clearCache();
+    aclCacheTransactionListener.registerAclChange();
 
     // Retrieve the ACL via superclass (ensures cache registration, proper retrieval
     // etc)
@@ -1,11 +1,22 @@
 package org.molgenis.security.permission;
 
+import static java.util.Collections.singletonList;
 import static java.util.Objects.requireNonNull;
+import static org.springframework.web.context.request.RequestAttributes.SCOPE_REQUEST;
 
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.stream.Collectors;
+import javax.annotation.CheckForNull;
+import javax.annotation.Nullable;
+import org.molgenis.security.acl.AclCacheTransactionListener;
 import org.molgenis.security.core.Permission;
 import org.molgenis.security.core.PermissionRegistry;
 import org.molgenis.security.core.PermissionSet;
@@ -13,35 +24,71 @@ import org.molgenis.security.core.UserPermissionEvaluator;
 import org.molgenis.security.core.utils.SecurityUtils;
 import org.springframework.security.access.PermissionEvaluator;
 import org.springframework.security.acls.domain.CumulativePermission;
+import org.springframework.security.acls.jdbc.LookupStrategy;
+import org.springframework.security.acls.model.Acl;
+import org.springframework.security.acls.model.NotFoundException;
 import org.springframework.security.acls.model.ObjectIdentity;
+import org.springframework.security.acls.model.Sid;
+import org.springframework.security.acls.model.SidRetrievalStrategy;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
 
+/**
+ * Permission decisions are memoized for the duration of a request. The decisions are discarded
+ * when the authentication changes or when ACLs might have changed.
+ */
 @Component
 public class UserPermissionEvaluatorImpl implements UserPermissionEvaluator {
+  private static final String PERMISSION_DECISIONS_ATTRIBUTE =
+      UserPermissionEvaluatorImpl.class.getName() + ".permissionDecisions";
+
   private final PermissionEvaluator permissionEvaluator;
   private final PermissionRegistry permissionRegistry;
+  private final LookupStrategy lookupStrategy;
+  private final SidRetrievalStrategy sidRetrievalStrategy;
+  private final AclCacheTransactionListener aclCacheTransactionListener;
 
   UserPermissionEvaluatorImpl(
-      PermissionEvaluator permissionEvaluator, PermissionRegistry permissionRegistry) {
+      PermissionEvaluator permissionEvaluator,
+      PermissionRegistry permissionRegistry,
+      LookupStrategy lookupStrategy,
+      SidRetrievalStrategy sidRetrievalStrategy,
+      AclCacheTransactionListener aclCacheTransactionListener) {
     this.permissionEvaluator = requireNonNull(permissionEvaluator);
     this.permissionRegistry = requireNonNull(permissionRegistry);
+    this.lookupStrategy = requireNonNull(lookupStrategy);
+    this.sidRetrievalStrategy = requireNonNull(sidRetrievalStrategy);
+    this.aclCacheTransactionListener = requireNonNull(aclCacheTransactionListener);
   }
 
   @Override
   public boolean hasPermission(ObjectIdentity objectIdentity, Permission action) {
     if (SecurityUtils.currentUserIsSuOrSystem()) {
       return true;
-    } else {
-      Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
-      return authentication != null
-          && permissionEvaluator.hasPermission(
+    }
+    Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+    if (authentication == null) {
+      return false;
+    }
+
+    PermissionDecisions permissionDecisions = getPermissionDecisions(authentication);
+    Boolean decision =
+        permissionDecisions != null ? permissionDecisions.get(objectIdentity, action) : null;
+    if (decision == null) {
+      decision =
+          permissionEvaluator.hasPermission(
               authentication,
               objectIdentity.getIdentifier(),
               objectIdentity.getType(),
               getCumulativePermissionToCheck(action));
+      if (permissionDecisions != null) {
+        permissionDecisions.put(objectIdentity, action, decision);
+      }
     }
+    return decision;
   }
 
   @Override
@@ -56,10 +103,114 @@ public class UserPermissionEvaluatorImpl implements UserPermissionEvaluator {
         .collect(Collectors.toSet());
   }
 
+  /** Retrieves the ACLs of the domain objects that were not decided yet in batches. */
+  @Override
+  public Map<ObjectIdentity, Boolean> hasPermissions(
+      Collection<? extends ObjectIdentity> objectIdentities, Permission permission) {
+    Map<ObjectIdentity, Boolean> decisions = new LinkedHashMap<>();
+    Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+    if (SecurityUtils.currentUserIsSuOrSystem() || authentication == null) {
+      boolean decision = authentication != null;
+      objectIdentities.forEach(objectIdentity -> decisions.put(objectIdentity, decision));
+      return decisions;
+    }
+
+    PermissionDecisions permissionDecisions = getPermissionDecisions(authentication);
+    List<ObjectIdentity> undecidedObjectIdentities = new ArrayList<>();
+    for (ObjectIdentity objectIdentity : new LinkedHashSet<>(objectIdentities)) {
+      Boolean decision =
+          permissionDecisions != null ? permissionDecisions.get(objectIdentity, permission) : null;
+      if (decision != null) {
+        decisions.put(objectIdentity, decision);
+      } else {
+        undecidedObjectIdentities.add(objectIdentity);
+      }
+    }
+
+    if (!undecidedObjectIdentities.isEmpty()) {
+      List<Sid> sids = sidRetrievalStrategy.getSids(authentication);
+      Map<ObjectIdentity, Acl> acls = lookupStrategy.readAclsById(undecidedObjectIdentities, sids);
+      List<org.springframework.security.acls.model.Permission> requiredPermissions =
+          singletonList(getCumulativePermissionToCheck(permission));
+      for (ObjectIdentity objectIdentity : undecidedObjectIdentities) {
+        boolean decision = isGranted(acls.get(objectIdentity), requiredPermissions, sids);
+        decisions.put(objectIdentity, decision);
+        if (permissionDecisions != null) {
+          permissionDecisions.put(objectIdentity, permission, decision);
+        }
+      }
+    }
+    return decisions;
+  }
+
+  /** Same as the check performed by {@link PermissionEvaluator} once the ACL is retrieved. */
+  private static boolean isGranted(
+      @Nullable Acl acl,
+      List<org.springframework.security.acls.model.Permission> requiredPermissions,
+      List<Sid> sids) {
+    if (acl == null) {
+      return false;
+    }
+    try {
+      return acl.isGranted(requiredPermissions, sids, false);
+    } catch (NotFoundException e) {
+      return false;
+    }
+  }
+
   private CumulativePermission getCumulativePermissionToCheck(Permission permission) {
     CumulativePermission result = new CumulativePermission();
     Set<PermissionSet> permissionSets = permissionRegistry.getPermissions(permission);
     permissionSets.forEach(result::set);
     return result;
   }
+
+  /** Returns the permission decisions of the current request or null outside of a request. */
+  @Nullable
+  @CheckForNull
+  private PermissionDecisions getPermissionDecisions(Authentication authentication) {
+    RequestAttributes requestAttributes = RequestContextHolder.getRequestAttributes();
+    if (requestAttributes == null) {
+      return null;
+    }
+
+    long aclVersion = aclCacheTransactionListener.getAclVersion();
+    PermissionDecisions permissionDecisions =
+        (PermissionDecisions)
+            requestAttributes.getAttribute(PERMISSION_DECISIONS_ATTRIBUTE, SCOPE_REQUEST);
+    if (permissionDecisions == null
+        || permissionDecisions.authentication != authentication
+        || permissionDecisions.aclVersion != aclVersion) {
+      permissionDecisions = new PermissionDecisions(authentication, aclVersion);
+      requestAttributes.setAttribute(
+          PERMISSION_DECISIONS_ATTRIBUTE, permissionDecisions, SCOPE_REQUEST);
+    }
+    return permissionDecisions;
+  }
+
+  /** Permission decisions for an authentication, valid as long as the ACL version is unchanged */
+  private static class PermissionDecisions {
+    private final Authentication authentication;
+    private final long aclVersion;
+    private final Map<Permission, Map<ObjectIdentity, Boolean>> decisions =
+        new ConcurrentHashMap<>();
+
+    private PermissionDecisions(Authentication authentication, long aclVersion) {
+      this.authentication = authentication;
+      this.aclVersion = aclVersion;
+    }
+
+    @Nullable
+    @CheckForNull
+    private Boolean get(ObjectIdentity objectIdentity, Permission permission) {
+      Map<ObjectIdentity, Boolean> permissionDecisions = decisions.get(permission);
+      return permissionDecisions != null ? permissionDecisions.get(objectIdentity) : null;
+    }
+
+    private void put(ObjectIdentity objectIdentity, Permission permission, boolean decision) {
+      decisions
+          .computeIfAbsent(permission, key -> new ConcurrentHashMap<>())
+          .put(objectIdentity, decision);
+    }
+  }
 }
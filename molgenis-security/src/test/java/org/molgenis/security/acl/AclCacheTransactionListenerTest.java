@@ -1,29 +1,39 @@
 package org.molgenis.security.acl;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.molgenis.data.transaction.TransactionConstants.TRANSACTION_ID_RESOURCE_NAME;
 
+import java.util.Set;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mock;
+import org.molgenis.data.transaction.CacheInvalidation;
+import org.molgenis.data.transaction.CacheInvalidationBus;
 import org.molgenis.test.AbstractMockitoTest;
 import org.springframework.security.acls.model.AclCache;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 class AclCacheTransactionListenerTest extends AbstractMockitoTest {
   @Mock private AclCache aclCache;
   @Mock private MutableAclClassService mutableAclClassService;
+  @Mock private CacheInvalidationBus cacheInvalidationBus;
   private AclCacheTransactionListener aclCacheTransactionListener;
 
   @BeforeEach
   void setUpBeforeMethod() {
-    aclCacheTransactionListener = new AclCacheTransactionListener(aclCache, mutableAclClassService);
+    aclCacheTransactionListener =
+        new AclCacheTransactionListener(aclCache, mutableAclClassService, cacheInvalidationBus);
   }
 
   @Test
   void testAclCacheTransactionListener() {
     assertThrows(
         NullPointerException.class,
-        () -> new AclCacheTransactionListener(null, mutableAclClassService));
+        () -> new AclCacheTransactionListener(null, mutableAclClassService, cacheInvalidationBus));
   }
 
   @Test
@@ -32,4 +42,57 @@ class AclCacheTransactionListenerTest extends AbstractMockitoTest {
     verify(aclCache).clearCache();
     verify(mutableAclClassService).clearCache();
   }
+
+  @Test
+  void testAfterCommitTransactionAclChanged() {
+    TransactionSynchronizationManager.bindResource(TRANSACTION_ID_RESOURCE_NAME, "transactionId");
+    try {
+      aclCacheTransactionListener.registerAclChange();
+    } finally {
+      TransactionSynchronizationManager.unbindResource(TRANSACTION_ID_RESOURCE_NAME);
+    }
+    aclCacheTransactionListener.afterCommitTransaction("transactionId");
+    verify(cacheInvalidationBus).publish(CacheInvalidation.createAclInvalidation());
+  }
+
+  @Test
+  void testAfterCommitTransactionAclUnchanged() {
+    aclCacheTransactionListener.afterCommitTransaction("transactionId");
+    verifyNoInteractions(cacheInvalidationBus);
+  }
+
+  @Test
+  void testOnCacheInvalidation() {
+    aclCacheTransactionListener.onCacheInvalidation(CacheInvalidation.createAclInvalidation());
+    verify(aclCache).clearCache();
+    verify(mutableAclClassService).clearCache();
+  }
+
+  @Test
+  void testOnCacheInvalidationAclUnchanged() {
+    aclCacheTransactionListener.onCacheInvalidation(
+        CacheInvalidation.create(Set.of(), Set.of("entityTypeId"), Set.of(), false));
+    verifyNoInteractions(aclCache, mutableAclClassService);
+  }
+
+  @Test
+  void testGetAclVersionRegisterAclChange() {
+    long aclVersion = aclCacheTransactionListener.getAclVersion();
+    aclCacheTransactionListener.registerAclChange();
+    assertNotEquals(aclVersion, aclCacheTransactionListener.getAclVersion());
+  }
+
+  @Test
+  void testGetAclVersionRollbackTransaction() {
+    long aclVersion = aclCacheTransactionListener.getAclVersion();
+    aclCacheTransactionListener.rollbackTransaction("transactionId");
+    assertNotEquals(aclVersion, aclCacheTransactionListener.getAclVersion());
+  }
+
+  @Test
+  void testGetAclVersionAfterCommitTransactionAclUnchanged() {
+    long aclVersion = aclCacheTransactionListener.getAclVersion();
+    aclCacheTransactionListener.afterCommitTransaction("transactionId");
+    assertEquals(aclVersion, aclCacheTransactionListener.getAclVersion());
+  }
 }
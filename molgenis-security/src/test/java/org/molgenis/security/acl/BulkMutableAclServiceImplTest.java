@@ -0,0 +1,148 @@
+package org.molgenis.security.acl;
+
+import static java.util.Arrays.asList;
+import static java.util.Collections.emptyList;
+import static java.util.Collections.singletonList;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyZeroInteractions;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.molgenis.test.AbstractMockitoSpringContextTests;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.acls.domain.BasePermission;
+import org.springframework.security.acls.domain.ObjectIdentityImpl;
+import org.springframework.security.acls.model.AclCache;
+import org.springframework.security.acls.model.ObjectIdentity;
+import org.springframework.security.test.context.annotation.SecurityTestExecutionListeners;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.ContextConfiguration;
+
+@ContextConfiguration(classes = {BulkMutableAclServiceImplTest.Config.class})
+@SecurityTestExecutionListeners
+class BulkMutableAclServiceImplTest extends AbstractMockitoSpringContextTests {
+  private static final String SQL_CREATE_ACLS =
+      "with acl_object_identities as (insert into acl_object_identity"
+          + " (object_id_class, object_id_identity, owner_sid, entries_inheriting)"
+          + " values (?, ?, ?, true), (?, ?, ?, true)"
+          + " on conflict do nothing returning id, object_id_identity)";
+  private static final String SQL_CREATE_ACL_ENTRIES =
+      ", acl_entries as (insert into acl_entry"
+          + " (acl_object_identity, ace_order, sid, mask, granting, audit_success, audit_failure)"
+          + " select id, 0, ?, ?, true, false, false from acl_object_identities)";
+  private static final String SQL_SELECT_CREATED =
+      " select object_id_identity from acl_object_identities";
+
+  @Mock private JdbcTemplate jdbcTemplate;
+  @Mock private AclCache aclCache;
+  @Mock private AclCacheTransactionListener aclCacheTransactionListener;
+  private BulkMutableAclServiceImpl bulkMutableAclService;
+
+  @BeforeEach
+  void setUpBeforeMethod() {
+    bulkMutableAclService =
+        new BulkMutableAclServiceImpl(jdbcTemplate, aclCache, aclCacheTransactionListener);
+  }
+
+  @WithMockUser(username = "user")
+  @Test
+  void testCreateAcls() {
+    setUpSidAndClass();
+    when(jdbcTemplate.queryForList(
+            SQL_CREATE_ACLS + SQL_CREATE_ACL_ENTRIES + SQL_SELECT_CREATED,
+            String.class,
+            3L,
+            "1",
+            2L,
+            3L,
+            "2",
+            2L,
+            2L,
+            BasePermission.WRITE.getMask()))
+        .thenReturn(asList("1", "2"));
+
+    bulkMutableAclService.createAcls(
+        asList(new ObjectIdentityImpl("type", "1"), new ObjectIdentityImpl("type", "2")),
+        BasePermission.WRITE);
+
+    verify(aclCacheTransactionListener).registerAclChange();
+  }
+
+  @WithMockUser(username = "user")
+  @Test
+  void testCreateAclsWithoutEntries() {
+    setUpSidAndClass();
+    when(jdbcTemplate.queryForList(
+            SQL_CREATE_ACLS + SQL_SELECT_CREATED, String.class, 3L, "1", 2L, 3L, "2", 2L))
+        .thenReturn(asList("1", "2"));
+
+    bulkMutableAclService.createAcls(
+        asList(new ObjectIdentityImpl("type", "1"), new ObjectIdentityImpl("type", "2")), null);
+
+    verify(aclCacheTransactionListener).registerAclChange();
+  }
+
+  @WithMockUser(username = "user")
+  @Test
+  void testCreateAclsAlreadyExists() {
+    setUpSidAndClass();
+    when(jdbcTemplate.queryForList(
+            SQL_CREATE_ACLS + SQL_SELECT_CREATED, String.class, 3L, "1", 2L, 3L, "2", 2L))
+        .thenReturn(singletonList("2"));
+
+    List<ObjectIdentity> objectIdentities =
+        asList(new ObjectIdentityImpl("type", "1"), new ObjectIdentityImpl("type", "2"));
+    ObjectIdentityAlreadyExistsException exception =
+        assertThrows(
+            ObjectIdentityAlreadyExistsException.class,
+            () -> bulkMutableAclService.createAcls(objectIdentities, null));
+    assertEquals(new ObjectIdentityImpl("type", "1"), exception.getObjectIdentity());
+  }
+
+  @Test
+  void testCreateAclsNoObjectIdentities() {
+    bulkMutableAclService.createAcls(emptyList(), null);
+    verifyZeroInteractions(jdbcTemplate, aclCacheTransactionListener);
+  }
+
+  @Test
+  void testDeleteAcls() {
+    when(jdbcTemplate.queryForList("select id from acl_class where class=?", Long.class, "type"))
+        .thenReturn(singletonList(3L));
+    when(jdbcTemplate.queryForList(
+            "with recursive acl_object_identities as (select id from acl_object_identity"
+                + " where object_id_class=? and object_id_identity in (?,?)"
+                + " union all select child.id from acl_object_identity child"
+                + " join acl_object_identities parent on child.parent_object = parent.id)"
+                + " delete from acl_object_identity"
+                + " where id in (select id from acl_object_identities) returning id",
+            Long.class,
+            3L,
+            "1",
+            "2"))
+        .thenReturn(asList(10L, 11L, 12L));
+
+    bulkMutableAclService.deleteAcls(
+        asList(new ObjectIdentityImpl("type", "1"), new ObjectIdentityImpl("type", "2")));
+
+    verify(aclCache).evictFromCache(10L);
+    verify(aclCache).evictFromCache(11L);
+    verify(aclCache).evictFromCache(12L);
+    verify(aclCacheTransactionListener).registerAclChange();
+  }
+
+  private void setUpSidAndClass() {
+    when(jdbcTemplate.queryForList(
+            "select id from acl_sid where principal=? and sid=?", Long.class, true, "user"))
+        .thenReturn(singletonList(2L));
+    when(jdbcTemplate.queryForList("select id from acl_class where class=?", Long.class, "type"))
+        .thenReturn(singletonList(3L));
+  }
+
+  static class Config {}
+}
@@ -1,7 +1,13 @@
 package org.molgenis.security.permission;
 
+import static java.util.Arrays.asList;
+import static java.util.Collections.singletonList;
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.molgenis.data.plugin.model.PluginPermission.VIEW_PLUGIN;
 import static org.molgenis.data.security.EntityTypePermission.READ_DATA;
@@ -9,7 +15,9 @@ import static org.molgenis.security.core.PermissionSet.READ;
 import static org.molgenis.security.core.PermissionSet.WRITE;
 import static org.molgenis.security.core.PermissionSet.WRITEMETA;
 
+import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.ImmutableSet;
+import java.util.List;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mock;
@@ -17,28 +25,45 @@ import org.molgenis.data.plugin.model.PluginIdentity;
 import org.molgenis.data.plugin.model.PluginPermission;
 import org.molgenis.data.security.EntityTypeIdentity;
 import org.molgenis.data.security.EntityTypePermission;
+import org.molgenis.security.acl.AclCacheTransactionListener;
 import org.molgenis.security.core.PermissionRegistry;
 import org.molgenis.test.AbstractMockitoSpringContextTests;
+import org.springframework.mock.web.MockHttpServletRequest;
 import org.springframework.security.access.PermissionEvaluator;
 import org.springframework.security.acls.domain.CumulativePermission;
+import org.springframework.security.acls.domain.PrincipalSid;
+import org.springframework.security.acls.jdbc.LookupStrategy;
+import org.springframework.security.acls.model.Acl;
+import org.springframework.security.acls.model.Sid;
+import org.springframework.security.acls.model.SidRetrievalStrategy;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.test.context.annotation.SecurityTestExecutionListeners;
 import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.context.ContextConfiguration;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
 
 @ContextConfiguration(classes = {UserPermissionEvaluatorImplTest.Config.class})
 @SecurityTestExecutionListeners
 class UserPermissionEvaluatorImplTest extends AbstractMockitoSpringContextTests {
   @Mock private PermissionEvaluator permissionEvaluator;
   @Mock private PermissionRegistry permissionRegistry;
+  @Mock private LookupStrategy lookupStrategy;
+  @Mock private SidRetrievalStrategy sidRetrievalStrategy;
+  @Mock private AclCacheTransactionListener aclCacheTransactionListener;
 
   private UserPermissionEvaluatorImpl userPermissionEvaluator;
 
   @BeforeEach
   void setUpBeforeMethod() {
     userPermissionEvaluator =
-        new UserPermissionEvaluatorImpl(permissionEvaluator, permissionRegistry);
+        new UserPermissionEvaluatorImpl(
+            permissionEvaluator,
+            permissionRegistry,
+            lookupStrategy,
+            sidRetrievalStrategy,
+            aclCacheTransactionListener);
   }
 
   @WithMockUser(username = "USER")
@@ -196,5 +221,77 @@ class UserPermissionEvaluatorImplTest extends AbstractMockitoSpringContextTests
     assertTrue(userPermissionEvaluator.hasPermission(new PluginIdentity("plugin1"), VIEW_PLUGIN));
   }
 
+  @WithMockUser(username = "USER")
+  @Test
+  void hasPermissionMemoizedInRequest() {
+    Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+    when(permissionRegistry.getPermissions(READ_DATA)).thenReturn(ImmutableSet.of(READ));
+    when(permissionEvaluator.hasPermission(authentication, "entityType0", "entityType", READ))
+        .thenReturn(true);
+
+    RequestContextHolder.setRequestAttributes(
+        new ServletRequestAttributes(new MockHttpServletRequest()));
+    try {
+      EntityTypeIdentity entityTypeIdentity = new EntityTypeIdentity("entityType0");
+      assertTrue(userPermissionEvaluator.hasPermission(entityTypeIdentity, READ_DATA));
+      assertTrue(userPermissionEvaluator.hasPermission(entityTypeIdentity, READ_DATA));
+    } finally {
+      RequestContextHolder.resetRequestAttributes();
+    }
+    verify(permissionEvaluator).hasPermission(authentication, "entityType0", "entityType", READ);
+  }
+
+  @WithMockUser(username = "USER")
+  @Test
+  void hasPermissionAclChangedInRequest() {
+    Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+    when(permissionRegistry.getPermissions(READ_DATA)).thenReturn(ImmutableSet.of(READ));
+    when(aclCacheTransactionListener.getAclVersion()).thenReturn(0L, 1L);
+
+    RequestContextHolder.setRequestAttributes(
+        new ServletRequestAttributes(new MockHttpServletRequest()));
+    try {
+      EntityTypeIdentity entityTypeIdentity = new EntityTypeIdentity("entityType0");
+      assertFalse(userPermissionEvaluator.hasPermission(entityTypeIdentity, READ_DATA));
+      assertFalse(userPermissionEvaluator.hasPermission(entityTypeIdentity, READ_DATA));
+    } finally {
+      RequestContextHolder.resetRequestAttributes();
+    }
+    verify(permissionEvaluator, times(2))
+        .hasPermission(authentication, "entityType0", "entityType", READ);
+  }
+
+  @WithMockUser(username = "USER")
+  @Test
+  void hasPermissions() {
+    Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+    when(permissionRegistry.getPermissions(READ_DATA)).thenReturn(ImmutableSet.of(READ));
+    List<Sid> sids = singletonList(new PrincipalSid("USER"));
+    when(sidRetrievalStrategy.getSids(authentication)).thenReturn(sids);
+    EntityTypeIdentity entityTypeIdentity0 = new EntityTypeIdentity("entityType0");
+    EntityTypeIdentity entityTypeIdentity1 = new EntityTypeIdentity("entityType1");
+    Acl acl = mock(Acl.class);
+    when(acl.isGranted(singletonList(new CumulativePermission().set(READ)), sids, false))
+        .thenReturn(true);
+    when(lookupStrategy.readAclsById(asList(entityTypeIdentity0, entityTypeIdentity1), sids))
+        .thenReturn(ImmutableMap.of(entityTypeIdentity0, acl));
+
+    assertEquals(
+        ImmutableMap.of(entityTypeIdentity0, true, entityTypeIdentity1, false),
+        userPermissionEvaluator.hasPermissions(
+            asList(entityTypeIdentity0, entityTypeIdentity1), READ_DATA));
+  }
+
+  @WithMockUser(
+      username = "USER",
+      authorities = {"ROLE_SU"})
+  @Test
+  void hasPermissionsSuperuser() {
+    EntityTypeIdentity entityTypeIdentity = new EntityTypeIdentity("entityType0");
+    assertEquals(
+        ImmutableMap.of(entityTypeIdentity, true),
+        userPermissionEvaluator.hasPermissions(singletonList(entityTypeIdentity), READ_DATA));
+  }
+
   static class Config {}
 }
@@ -33,6 +33,9 @@ import org.molgenis.data.populate.IdGenerator;
 import org.molgenis.data.security.permission.PermissionSystemService;
 import org.molgenis.data.security.user.UserService;
 import org.molgenis.data.support.DynamicEntity;
+import org.molgenis.data.transaction.CacheInvalidationBus;
+import org.molgenis.data.transaction.TransactionInformation;
+import org.molgenis.data.transaction.TransactionManager;
 import org.molgenis.data.util.EntityUtils;
 import org.molgenis.js.magma.JsMagmaScriptEvaluator;
 import org.molgenis.ontology.core.config.OntologyConfig;
@@ -286,5 +289,20 @@ class AttributeMappingRepositoryImplTest extends AbstractMolgenisSpringTest {
     SystemPackageRegistry systemPackageRegistry() {
       return mock(SystemPackageRegistry.class);
     }
+
+    @Bean
+    TransactionManager transactionManager() {
+      return mock(TransactionManager.class);
+    }
+
+    @Bean
+    TransactionInformation transactionInformation() {
+      return mock(TransactionInformation.class);
+    }
+
+    @Bean
+    CacheInvalidationBus cacheInvalidationBus() {
+      return mock(CacheInvalidationBus.class);
+    }
   }
 }
@@ -1,11 +1,13 @@
 package org.molgenis.semanticsearch.string;
 
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheLoader;
+import com.google.common.cache.LoadingCache;
 import com.google.common.collect.ImmutableSet;
 import com.google.common.collect.Lists;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.Map.Entry;
 import java.util.Set;
 import java.util.stream.Collectors;
 import org.apache.commons.lang3.StringUtils;
@@ -24,9 +26,12 @@ import org.apache.commons.lang3.StringUtils;
  * similarityScore = model.stringMatching("Smoking", "Smoker", false);
  * System.out.println(similarityScore);
  *
- * <p>The other way List<String> tokens_1 = model.createNGrams("Smoking", false); List<String>
- * tokens_2 = model.createNGrams("Have you smoked last year?", true); //remove stop words! double
- * similarityScore = model.calculateScore(tokens_1, tokens_2);
+ * <p>The other way NGramProfile profile1 = NGramProfile.create("Smoking", false); NGramProfile
+ * profile2 = NGramProfile.create("Have you smoked last year?", true); //remove stop words! double
+ * similarityScore = profile1.score(profile2);
+ *
+ * <p>stringMatching() caches the n-gram profiles of the most recently matched strings, since the
+ * same ontology term synonyms and attribute labels are matched over and over again.
  *
  * @author Chao Pang
  */
@@ -34,8 +39,20 @@ import org.apache.commons.lang3.StringUtils;
 public class NGramDistanceAlgorithm {
 
   private static int N_GRAMS = 2;
+  private static final int MAX_CACHED_PROFILES = 100000;
   public static final Set<String> STOPWORDSLIST;
 
+  private static final LoadingCache<String, NGramProfile> N_GRAM_PROFILES =
+      CacheBuilder.newBuilder()
+          .maximumSize(MAX_CACHED_PROFILES)
+          .build(
+              new CacheLoader<String, NGramProfile>() {
+                @Override
+                public NGramProfile load(String query) {
+                  return NGramProfile.create(query.toLowerCase().trim(), true);
+                }
+              });
+
   static {
     STOPWORDSLIST =
         ImmutableSet.of(
@@ -222,9 +239,15 @@ public class NGramDistanceAlgorithm {
   private NGramDistanceAlgorithm() {}
 
   public static double stringMatching(String queryOne, String queryTwo) {
-    return calculateScore(
-        createNGrams(queryOne.toLowerCase().trim(), true),
-        createNGrams(queryTwo.toLowerCase().trim(), true));
+    return getNGramProfile(queryOne).score(getNGramProfile(queryTwo));
+  }
+
+  /**
+   * Returns the cached n-gram profile of the string as used by {@link #stringMatching(String,
+   * String)}: lowercased, trimmed, stemmed and without stop words.
+   */
+  public static NGramProfile getNGramProfile(String query) {
+    return N_GRAM_PROFILES.getUnchecked(query);
   }
 
   /**
@@ -268,35 +291,4 @@ public class NGramDistanceAlgorithm {
 
     return tokens;
   }
-
-  /** Calculate the ngram distance */
-  private static double calculateScore(
-      Map<String, Integer> inputStringTokens, Map<String, Integer> ontologyTermTokens) {
-    if (inputStringTokens.size() == 0 || ontologyTermTokens.size() == 0) {
-      return (double) 0;
-    }
-    int totalToken = getTotalNumTokens(inputStringTokens) + getTotalNumTokens(ontologyTermTokens);
-    int numMatchedToken = 0;
-
-    for (Entry<String, Integer> token : inputStringTokens.entrySet()) {
-      if (ontologyTermTokens.containsKey(token.getKey())) {
-        numMatchedToken += Math.min(token.getValue(), ontologyTermTokens.get(token.getKey()));
-      }
-    }
-
-    if (totalToken == 0) {
-      return 0;
-    } else {
-      return 2.0 * numMatchedToken / totalToken * 100;
-    }
-  }
-
-  private static int getTotalNumTokens(Map<String, Integer> inputStringTokens) {
-    int totalNum = 0;
-
-    for (Integer frequency : inputStringTokens.values()) {
-      totalNum += frequency;
-    }
-    return totalNum;
-  }
 }
@@ -0,0 +1,95 @@
+package org.molgenis.semanticsearch.string;
+
+import static java.util.Objects.requireNonNull;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.Map.Entry;
+
+/**
+ * Immutable bigram profile of a string as created by {@link
+ * NGramDistanceAlgorithm#createNGrams(String, boolean)}. Each bigram is packed in an int and the
+ * bigrams are stored in a sorted array with a parallel array of frequencies, so that two profiles
+ * can be scored with a merge-walk that doesn't allocate.
+ */
+public final class NGramProfile {
+  private static final NGramProfile EMPTY_PROFILE = new NGramProfile(new int[0], new int[0], 0);
+
+  private final int[] nGrams;
+  private final int[] counts;
+  private final int totalCount;
+
+  private NGramProfile(int[] nGrams, int[] counts, int totalCount) {
+    this.nGrams = nGrams;
+    this.counts = counts;
+    this.totalCount = totalCount;
+  }
+
+  /** Creates the profile of the n-grams returned by {@link NGramDistanceAlgorithm#createNGrams} */
+  public static NGramProfile create(String inputQuery, boolean removeStopWords) {
+    return create(NGramDistanceAlgorithm.createNGrams(inputQuery, removeStopWords));
+  }
+
+  static NGramProfile create(Map<String, Integer> nGramFrequencies) {
+    requireNonNull(nGramFrequencies);
+    if (nGramFrequencies.isEmpty()) {
+      return EMPTY_PROFILE;
+    }
+
+    // sort on packed bigram, the frequency is carried along in the lower half
+    long[] nGramCounts = new long[nGramFrequencies.size()];
+    int i = 0;
+    for (Entry<String, Integer> entry : nGramFrequencies.entrySet()) {
+      nGramCounts[i++] = ((long) pack(entry.getKey()) << 32) | entry.getValue();
+    }
+    Arrays.sort(nGramCounts);
+
+    int[] nGrams = new int[nGramCounts.length];
+    int[] counts = new int[nGramCounts.length];
+    int totalCount = 0;
+    for (int j = 0; j < nGramCounts.length; j++) {
+      nGrams[j] = (int) (nGramCounts[j] >> 32);
+      counts[j] = (int) nGramCounts[j];
+      totalCount += counts[j];
+    }
+    return new NGramProfile(nGrams, counts, totalCount);
+  }
+
+  private static int pack(String nGram) {
+    if (nGram.length() != 2) {
+      throw new IllegalArgumentException(String.format("'%s' is not a bigram", nGram));
+    }
+    return (nGram.charAt(0) << 16) | nGram.charAt(1);
+  }
+
+  /** Returns the total number of n-grams including duplicates */
+  public int getTotalCount() {
+    return totalCount;
+  }
+
+  /**
+   * Calculates the n-gram distance between this profile and the other profile as a percentage,
+   * identical to the score of {@link NGramDistanceAlgorithm#stringMatching(String, String)}.
+   */
+  public double score(NGramProfile other) {
+    if (totalCount == 0 || other.totalCount == 0) {
+      return 0;
+    }
+
+    int numMatchedToken = 0;
+    int i = 0;
+    int j = 0;
+    while (i < nGrams.length && j < other.nGrams.length) {
+      int nGram = nGrams[i];
+      int otherNGram = other.nGrams[j];
+      if (nGram == otherNGram) {
+        numMatchedToken += Math.min(counts[i++], other.counts[j++]);
+      } else if (nGram < otherNGram) {
+        i++;
+      } else {
+        j++;
+      }
+    }
+    return 2.0 * numMatchedToken / (totalCount + other.totalCount) * 100;
+  }
+}
@@ -0,0 +1,112 @@
+package org.molgenis.semanticsearch.string;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Random;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+
+class NGramProfileTest {
+  private static final String[] WORDS = {
+    "hypertensive", "disorder", "hearing", "impairment", "mixed", "loss", "of", "the", "smoking",
+    "smoker", "diabetes", "mellitus", "type", "2", "eyeball", "protruding", "WHERE", "IS",
+    "PAitent", "aaaa", "ab", "ba", "x", "(", "Ärztin", "血圧"
+  };
+
+  static Stream<Arguments> scoreProvider() {
+    return Stream.of(
+        Arguments.of("hypertensive", "hypertensive"),
+        Arguments.of("hypertensive disorder", "hypertensive order"),
+        Arguments.of("hypertensive", "diabetes"),
+        Arguments.of("", ""),
+        Arguments.of("hypertensive", ""),
+        Arguments.of("the", "hypertensive"),
+        Arguments.of("aaaa", "aa aaa"),
+        Arguments.of("hypertensive disorder disorder", "disorder"),
+        Arguments.of("WHERE IS PAitent", "patient"),
+        Arguments.of("血圧 high", "血圧"));
+  }
+
+  @ParameterizedTest
+  @MethodSource("scoreProvider")
+  void testScore(String queryOne, String queryTwo) {
+    assertEquals(referenceScore(queryOne, queryTwo), score(queryOne, queryTwo));
+    assertEquals(referenceScore(queryTwo, queryOne), score(queryTwo, queryOne));
+  }
+
+  @Test
+  void testScoreRandom() {
+    Random random = new Random(42);
+    for (int i = 0; i < 1000; i++) {
+      String queryOne = createRandomQuery(random);
+      String queryTwo = createRandomQuery(random);
+      assertEquals(
+          referenceScore(queryOne, queryTwo),
+          score(queryOne, queryTwo),
+          () -> queryOne + " <-> " + queryTwo);
+    }
+  }
+
+  @Test
+  void testStringMatching() {
+    assertEquals(
+        referenceScore("hypertensive disorder", "hypertensive order"),
+        NGramDistanceAlgorithm.stringMatching("hypertensive disorder", "hypertensive order"));
+  }
+
+  @Test
+  void testGetTotalCount() {
+    assertEquals(17, NGramProfile.create("hypertensive disorder", true).getTotalCount());
+  }
+
+  @Test
+  void testCreateNotABigram() {
+    Map<String, Integer> nGrams = Map.of("abc", 1);
+    assertThrows(IllegalArgumentException.class, () -> NGramProfile.create(nGrams));
+  }
+
+  private static double score(String queryOne, String queryTwo) {
+    return NGramProfile.create(queryOne.toLowerCase().trim(), true)
+        .score(NGramProfile.create(queryTwo.toLowerCase().trim(), true));
+  }
+
+  private static String createRandomQuery(Random random) {
+    StringBuilder query = new StringBuilder();
+    int nrWords = random.nextInt(5);
+    for (int i = 0; i < nrWords; i++) {
+      query.append(WORDS[random.nextInt(WORDS.length)]).append(' ');
+    }
+    return query.toString();
+  }
+
+  /** Map based implementation that NGramDistanceAlgorithm.stringMatching used to have */
+  private static double referenceScore(String queryOne, String queryTwo) {
+    Map<String, Integer> inputStringTokens =
+        NGramDistanceAlgorithm.createNGrams(queryOne.toLowerCase().trim(), true);
+    Map<String, Integer> ontologyTermTokens =
+        NGramDistanceAlgorithm.createNGrams(queryTwo.toLowerCase().trim(), true);
+    if (inputStringTokens.size() == 0 || ontologyTermTokens.size() == 0) {
+      return 0;
+    }
+    int totalToken = 0;
+    for (Integer frequency : inputStringTokens.values()) {
+      totalToken += frequency;
+    }
+    for (Integer frequency : ontologyTermTokens.values()) {
+      totalToken += frequency;
+    }
+    int numMatchedToken = 0;
+    for (Entry<String, Integer> token : inputStringTokens.entrySet()) {
+      if (ontologyTermTokens.containsKey(token.getKey())) {
+        numMatchedToken += Math.min(token.getValue(), ontologyTermTokens.get(token.getKey()));
+      }
+    }
+    return 2.0 * numMatchedToken / totalToken * 100;
+  }
+}
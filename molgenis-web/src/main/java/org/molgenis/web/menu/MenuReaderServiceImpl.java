@@ -5,7 +5,10 @@ import static java.util.stream.Collectors.joining;
 import static org.molgenis.data.plugin.model.PluginPermission.VIEW_PLUGIN;
 
 import com.google.gson.Gson;
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import javax.annotation.Nullable;
 import org.molgenis.data.plugin.model.PluginIdentity;
@@ -14,6 +17,7 @@ import org.molgenis.settings.AppSettings;
 import org.molgenis.web.menu.model.Menu;
 import org.molgenis.web.menu.model.MenuItem;
 import org.molgenis.web.menu.model.MenuNode;
+import org.springframework.security.acls.model.ObjectIdentity;
 
 public class MenuReaderServiceImpl implements MenuReaderService {
   private final AppSettings appSettings;
@@ -27,19 +31,39 @@ public class MenuReaderServiceImpl implements MenuReaderService {
     this.userPermissionEvaluator = requireNonNull(userPermissionEvaluator);
   }
 
-  private boolean userHasViewPermission(MenuNode it) {
+  private static boolean userHasViewPermission(
+      MenuNode it, Map<ObjectIdentity, Boolean> viewPluginPermissions) {
     if (it instanceof MenuItem) {
-      return userPermissionEvaluator.hasPermission(new PluginIdentity(it.getId()), VIEW_PLUGIN);
+      return viewPluginPermissions.get(new PluginIdentity(it.getId()));
     } else {
       return !((Menu) it).getItems().isEmpty();
     }
   }
 
+  /** Checks the permissions of all menu items at once instead of per menu item */
+  private Optional<MenuNode> filterViewableMenuItems(Menu menu) {
+    List<PluginIdentity> pluginIdentities = new ArrayList<>();
+    collectPluginIdentities(menu, pluginIdentities);
+    Map<ObjectIdentity, Boolean> viewPluginPermissions =
+        userPermissionEvaluator.hasPermissions(pluginIdentities, VIEW_PLUGIN);
+    return menu.filter(it -> userHasViewPermission(it, viewPluginPermissions));
+  }
+
+  private static void collectPluginIdentities(Menu menu, List<PluginIdentity> pluginIdentities) {
+    for (MenuNode item : menu.getItems()) {
+      if (item instanceof MenuItem) {
+        pluginIdentities.add(new PluginIdentity(item.getId()));
+      } else {
+        collectPluginIdentities((Menu) item, pluginIdentities);
+      }
+    }
+  }
+
   @Override
   public Optional<Menu> getMenu() {
     return Optional.ofNullable(appSettings.getMenu())
         .map(menuJson -> gson.fromJson(menuJson, Menu.class))
-        .flatMap(menu -> menu.filter(this::userHasViewPermission))
+        .flatMap(this::filterViewableMenuItems)
         .map(Menu.class::cast);
   }
 
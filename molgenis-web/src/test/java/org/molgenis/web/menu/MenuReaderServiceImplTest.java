@@ -1,6 +1,8 @@
 package org.molgenis.web.menu;
 
 import static java.util.Optional.of;
+import static java.util.function.Function.identity;
+import static java.util.stream.Collectors.toMap;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
@@ -10,12 +12,14 @@ import static org.mockito.Mockito.when;
 
 import com.google.common.collect.ImmutableList;
 import com.google.gson.Gson;
+import java.util.Collection;
 import java.util.Collections;
+import java.util.Map;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mock;
+import org.mockito.invocation.InvocationOnMock;
 import org.molgenis.data.AbstractMolgenisSpringTest;
-import org.molgenis.data.plugin.model.PluginIdentity;
 import org.molgenis.data.plugin.model.PluginPermission;
 import org.molgenis.security.core.UserPermissionEvaluator;
 import org.molgenis.settings.AppSettings;
@@ -23,6 +27,7 @@ import org.molgenis.web.converter.GsonConfig;
 import org.molgenis.web.menu.model.Menu;
 import org.molgenis.web.menu.model.MenuItem;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.security.acls.model.ObjectIdentity;
 import org.springframework.test.context.ContextConfiguration;
 
 @ContextConfiguration(classes = {GsonConfig.class})
@@ -58,9 +63,8 @@ class MenuReaderServiceImplTest extends AbstractMolgenisSpringTest {
   void findMenuItemPath() {
     String menuString = gson.toJson(menu);
     when(appSettings.getMenu()).thenReturn(menuString);
-    when(userPermissionEvaluator.hasPermission(
-            any(PluginIdentity.class), eq(PluginPermission.VIEW_PLUGIN)))
-        .thenReturn(true);
+    when(userPermissionEvaluator.hasPermissions(any(), eq(PluginPermission.VIEW_PLUGIN)))
+        .thenAnswer(invocation -> getPermissions(invocation, true));
     assertEquals("/menu/root/p1_0", menuReaderService.findMenuItemPath("p1_0"));
     assertEquals("/menu/root/p1_1", menuReaderService.findMenuItemPath("p1_1"));
     assertEquals("/menu/p1_1/p2_0", menuReaderService.findMenuItemPath("p2_0"));
@@ -100,9 +104,24 @@ class MenuReaderServiceImplTest extends AbstractMolgenisSpringTest {
     MenuItem plugin1 = MenuItem.create("plugin1", "Plugin #1");
     Menu submenu = Menu.create("submenu", "Submenu", Collections.singletonList(plugin1));
     Menu menu = Menu.create("menu", "Menu", ImmutableList.of(plugin0, submenu));
-    when(userPermissionEvaluator.hasPermission(any(), eq(PluginPermission.VIEW_PLUGIN)))
-        .thenReturn(true);
+    when(userPermissionEvaluator.hasPermissions(any(), eq(PluginPermission.VIEW_PLUGIN)))
+        .thenAnswer(invocation -> getPermissions(invocation, true));
 
     assertEquals(of(menu), menuReaderService.getMenu());
   }
+
+  @Test
+  void findMenuItemPathNoViewPermission() {
+    String menuString = gson.toJson(menu);
+    when(appSettings.getMenu()).thenReturn(menuString);
+    when(userPermissionEvaluator.hasPermissions(any(), eq(PluginPermission.VIEW_PLUGIN)))
+        .thenAnswer(invocation -> getPermissions(invocation, false));
+    assertNull(menuReaderService.findMenuItemPath("p1_0"));
+  }
+
+  private static Map<ObjectIdentity, Boolean> getPermissions(
+      InvocationOnMock invocation, boolean granted) {
+    Collection<ObjectIdentity> objectIdentities = invocation.getArgument(0);
+    return objectIdentities.stream().collect(toMap(identity(), objectIdentity -> granted));
+  }
 }